@@ -0,0 +1,113 @@
+package com.portfolio.davidreyes.booksapi;
+
+import com.portfolio.davidreyes.booksapi.author.Author;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.comment.Comment;
+import com.portfolio.davidreyes.booksapi.creditcard.CreditCard;
+import com.portfolio.davidreyes.booksapi.rating.Rating;
+import com.portfolio.davidreyes.booksapi.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds detached entity graphs shaped like the ones the API loads and serializes:
+ * books with their author, ratings and comments, and users with credit cards and a shopping cart.
+ * Graphs are generated from a fixed seed so runs are comparable.
+ */
+public final class BookGraphs {
+
+    private static final String[] GENRES = {"Fiction", "Mystery", "Science", "History", "Fantasy", "Biography"};
+
+    private final List<Books> books;
+    private final List<User> users;
+
+    private BookGraphs(List<Books> books, List<User> users) {
+        this.books = books;
+        this.users = users;
+    }
+
+    /**
+     * Generates a graph.
+     *
+     * @param bookCount        Number of books.
+     * @param userCount        Number of users who rate, comment and shop.
+     * @param ratingsPerBook   Ratings attached to every book.
+     * @param commentsPerBook  Comments attached to every book.
+     * @param cartSize         Books in every user's shopping cart.
+     * @return The generated graph.
+     */
+    public static BookGraphs generate(int bookCount, int userCount, int ratingsPerBook, int commentsPerBook, int cartSize) {
+        Random random = new Random(42);
+        long nextId = 1;
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, bookCount / 5); i++) {
+            Author author = new Author("First" + i, "Last" + i, "Biography of author " + i, "Publisher " + (i % 7));
+            author.setId(nextId++);
+            authors.add(author);
+        }
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setId(nextId++);
+            user.setUsername("reader" + i);
+            user.setPassword("$2a$12$" + "x".repeat(53));
+            user.setName("Reader " + i);
+            user.setEmailAddress("reader" + i + "@example.com");
+            user.setHomeAddress(i + " Main Street");
+            CreditCard card = new CreditCard(nextId++, "4111111111111" + String.format("%03d", i % 1000), "12/29", "123", user);
+            user.getCreditCards().add(card);
+            users.add(user);
+        }
+
+        List<Books> books = new ArrayList<>();
+        for (int i = 0; i < bookCount; i++) {
+            Author author = authors.get(i % authors.size());
+            Books book = new Books(9_780_000_000_000L + i, "Book " + i, "Description of book " + i, 10 + random.nextInt(40),
+                    author, GENRES[i % GENRES.length], author.getPublisher(), 1950 + random.nextInt(75), random.nextInt(100_000));
+            book.setId(nextId++);
+            author.getBooks().add(book);
+            for (int r = 0; r < ratingsPerBook; r++) {
+                Rating rating = new Rating(book, users.get(random.nextInt(userCount)), 1 + random.nextInt(5));
+                rating.setId(nextId++);
+                book.getRatings().add(rating);
+            }
+            for (int c = 0; c < commentsPerBook; c++) {
+                Comment comment = new Comment();
+                comment.setId(nextId++);
+                comment.setComment("Comment " + c + " on book " + i);
+                comment.setUser(users.get(random.nextInt(userCount)));
+                comment.setBook(book);
+                book.getComments().add(comment);
+            }
+            books.add(book);
+        }
+
+        for (User user : users) {
+            for (int i = 0; i < cartSize; i++) {
+                user.addBookToShoppingCart(books.get(random.nextInt(bookCount)));
+            }
+            if (user.getShoppingCart() != null) {
+                user.getShoppingCart().setId(nextId++);
+            }
+        }
+        return new BookGraphs(books, users);
+    }
+
+    /**
+     * @return The generated books.
+     */
+    public List<Books> books() {
+        return books;
+    }
+
+    /**
+     * @return The generated users.
+     */
+    public List<User> users() {
+        return users;
+    }
+}
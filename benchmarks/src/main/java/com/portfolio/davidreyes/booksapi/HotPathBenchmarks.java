@@ -0,0 +1,45 @@
+package com.portfolio.davidreyes.booksapi;
+
+import com.portfolio.davidreyes.booksapi.isbn.IsbnValidationBenchmark;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the hot path benchmarks with the GC profiler and writes the results as JSON,
+ * so allocation rates are reported and two commits can be compared with {@link JmhResultDiff}.
+ *
+ * Run with:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.HotPathBenchmarks [result.json]}
+ *
+ * The same results can be produced through the JMH launcher:
+ * {@code java -jar benchmarks/target/benchmarks.jar "IsbnValidation|JsonSerialization|ServiceHotPath" -prof gc -rf json -rff result.json}
+ */
+public final class HotPathBenchmarks {
+
+    private HotPathBenchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args Optional path of the JSON result file; defaults to {@code jmh-result.json}.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+        Options options = new OptionsBuilder()
+                .include(IsbnValidationBenchmark.class.getSimpleName())
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .include(ServiceHotPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + resultFile);
+    }
+}
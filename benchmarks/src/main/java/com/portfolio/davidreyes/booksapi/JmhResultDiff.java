@@ -0,0 +1,105 @@
+package com.portfolio.davidreyes.booksapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, for example from the commit before and after a change.
+ *
+ * For every benchmark and parameter combination present in both files, prints the primary score
+ * and the bytes allocated per operation ({@code gc.alloc.rate.norm}, when run with the GC profiler)
+ * with their relative change. Exits with status 1 when any score got worse by more than the threshold.
+ *
+ * Run with:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.JmhResultDiff base.json new.json [threshold-percent]}
+ */
+public final class JmhResultDiff {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhResultDiff() {
+    }
+
+    /**
+     * Compares the result files.
+     *
+     * @param args The baseline file, the new file and an optional regression threshold in percent (default 10).
+     * @throws IOException if a file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultDiff <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = index(mapper.readTree(new File(args[1])));
+
+        boolean regressed = false;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Base", "Current", "Change", "Base B/op", "Curr B/op", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double currentScore = after.path("primaryMetric").path("score").asDouble();
+            double scoreChange = change(baseScore, currentScore);
+            // Throughput modes are better when higher; time modes are better when lower
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean worse = higherIsBetter ? -scoreChange > threshold : scoreChange > threshold;
+            regressed |= worse;
+
+            JsonNode baseAlloc = before.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score");
+            JsonNode currentAlloc = after.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score");
+            String allocation = baseAlloc.isMissingNode() || currentAlloc.isMissingNode()
+                    ? String.format("%12s %12s %8s", "-", "-", "-")
+                    : String.format("%12.1f %12.1f %+7.1f%%", baseAlloc.asDouble(), currentAlloc.asDouble(),
+                    change(baseAlloc.asDouble(), currentAlloc.asDouble()));
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %s%s%n", entry.getKey(), baseScore, currentScore,
+                    scoreChange, allocation, worse ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-70s %s%n", key, "(removed)");
+            }
+        }
+        if (regressed) {
+            System.out.printf("At least one benchmark regressed by more than %.1f%%%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Indexes results by benchmark name, mode and parameter values.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replaceFirst("^com\\.portfolio\\.davidreyes\\.booksapi\\.", ""));
+            key.append(" (").append(result.path("mode").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(", ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            indexed.put(key.append(')').toString(), result);
+        }
+        return indexed;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.davidreyes.booksapi;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserProfile;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the entity graphs the controllers return, against flat DTOs
+ * carrying the fields a client needs.
+ *
+ * The entities use {@code @JsonIdentityInfo}, so serializing them walks the whole reachable graph
+ * (author, ratings, comments, the users behind them and their carts and cards) and tracks every
+ * object it has written. The DTO variants include the cost of mapping the entities.
+ * Use {@code -prof gc} to compare bytes allocated per operation.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar JsonSerializationBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int bookCount;
+
+    private ObjectMapper objectMapper;
+    private List<Books> books;
+    private User user;
+
+    /**
+     * Flat view of a book with its author's name and the average rating.
+     */
+    public record BookSummary(Long id, Long isbn, String bookName, Integer price, String genre,
+                              Long authorId, String authorName, double rating) {
+
+        static BookSummary of(Books book) {
+            return new BookSummary(book.getId(), book.getIsbn(), book.getBookName(), book.getPrice(), book.getGenre(),
+                    book.getAuthor().getId(), book.getAuthor().getFirstName() + " " + book.getAuthor().getLastName(),
+                    book.getRating());
+        }
+    }
+
+    /**
+     * Builds an object mapper configured like the application's and the graphs to serialize.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BookGraphs graphs = BookGraphs.generate(bookCount, 20, 5, 3, 5);
+        books = graphs.books();
+        user = graphs.users().get(0);
+    }
+
+    /**
+     * Serializes a page of book entities with everything reachable from them.
+     */
+    @Benchmark
+    public byte[] booksGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    /**
+     * Maps a page of books to flat summaries and serializes them.
+     */
+    @Benchmark
+    public byte[] booksFlat() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books.stream().map(BookSummary::of).toList());
+    }
+
+    /**
+     * Serializes a user entity with its credit cards and shopping cart.
+     */
+    @Benchmark
+    public byte[] userGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    /**
+     * Maps a user to its profile and serializes it.
+     */
+    @Benchmark
+    public byte[] userProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(UserProfile.of(user));
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.davidreyes.booksapi;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates in-memory stand-ins for Spring Data repositories, so service methods can be benchmarked
+ * without a database. Methods without an answer do nothing if they return void and fail otherwise.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    /**
+     * Creates a stub of a repository interface.
+     *
+     * @param type    The repository interface.
+     * @param answers Answers keyed by method name, computed from the call's arguments.
+     * @param <T>     The repository type.
+     * @return The stub.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getReturnType() == void.class) {
+                return null;
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,144 @@
+package com.portfolio.davidreyes.booksapi;
+
+import com.portfolio.davidreyes.booksapi.author.Author;
+import com.portfolio.davidreyes.booksapi.author.AuthorRepository;
+import com.portfolio.davidreyes.booksapi.author.RemoveDuplicateAuthorsJob;
+import com.portfolio.davidreyes.booksapi.books.BookListCache;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.books.BooksService;
+import com.portfolio.davidreyes.booksapi.books.RemoveDuplicateBooksJob;
+import com.portfolio.davidreyes.booksapi.job.JobHandler;
+import com.portfolio.davidreyes.booksapi.rating.Rating;
+import com.portfolio.davidreyes.booksapi.rating.RatingRepository;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartRepository;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory part of service methods that walk whole collections: a chunk of the duplicate
+ * sweeps of {@link RemoveDuplicateBooksJob} and {@link RemoveDuplicateAuthorsJob}, the shopping cart
+ * subtotal and the average rating of a book.
+ *
+ * The services and job handlers are the real ones, wired to in-memory repository stubs, so the numbers
+ * exclude the database and show only the loops, hashing, boxing and stream pipelines. The stubs answer
+ * the duplicate checks of the sweeps from a map of the first ID of each key.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar ServiceHotPathBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long BOOK_ID = 1L;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private BooksService booksService;
+    private RemoveDuplicateBooksJob removeDuplicateBooksJob;
+    private RemoveDuplicateAuthorsJob removeDuplicateAuthorsJob;
+    private ShoppingCartService shoppingCartService;
+
+    /**
+     * Generates the rows behind each service, about one in ten of them duplicates, and wires the services.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<Author> authors = new ArrayList<>();
+        List<Books> books = new ArrayList<>();
+        Map<String, Long> firstAuthorIds = new HashMap<>();
+        Map<Long, Long> firstBookIds = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt(10) == 0 && i > 0 ? random.nextInt(i) : i;
+            Author author = new Author("First" + key, "Last" + key, null, "Publisher " + (key % 7));
+            author.setId(i + 1L);
+            authors.add(author);
+            firstAuthorIds.putIfAbsent(author.getFirstName() + "|" + author.getLastName() + "|" + author.getPublisher(), author.getId());
+            Books book = new Books(9_780_000_000_000L + key, "Book " + key, null, 10 + random.nextInt(40),
+                    author, "Fiction", author.getPublisher(), 2000, 0);
+            book.setId(i + 1L);
+            books.add(book);
+            firstBookIds.putIfAbsent(book.getIsbn(), book.getId());
+        }
+
+        Books ratedBook = books.get(0);
+        List<Rating> ratings = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ratings.add(new Rating(ratedBook, null, 1 + random.nextInt(5)));
+        }
+
+        User user = new User();
+        user.setId(USER_ID);
+        books.forEach(user::addBookToShoppingCart);
+
+        BooksRepository booksRepository = RepositoryStubs.stub(BooksRepository.class, Map.of(
+                "findByIdGreaterThanOrderById", args -> books,
+                "existsByIsbnAndIdLessThan", args -> firstBookIds.get((Long) args[0]) < (Long) args[1],
+                "findById", args -> Optional.of(ratedBook)));
+        AuthorRepository authorRepository = RepositoryStubs.stub(AuthorRepository.class, Map.of(
+                "findByIdGreaterThanOrderById", args -> authors,
+                "existsByFirstNameAndLastNameAndPublisherAndIdLessThan",
+                args -> firstAuthorIds.get(args[0] + "|" + args[1] + "|" + args[2]) < (Long) args[3]));
+        RatingRepository ratingRepository = RepositoryStubs.stub(RatingRepository.class, Map.of(
+                "findByBookId", args -> ratings));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(user)));
+
+        booksService = new BooksService(booksRepository, authorRepository, ratingRepository, new BookListCache(1000), event -> { });
+        removeDuplicateBooksJob = new RemoveDuplicateBooksJob(booksRepository, event -> { });
+        removeDuplicateAuthorsJob = new RemoveDuplicateAuthorsJob(authorRepository, event -> { });
+        // The subtotal reserves no stock, so the cart service runs without an inventory
+        shoppingCartService = new ShoppingCartService(userRepository, booksRepository,
+                RepositoryStubs.stub(ShoppingCartRepository.class, Map.of()), null, event -> { });
+    }
+
+    /**
+     * Sweeps a chunk of all the books for duplicate ISBNs.
+     */
+    @Benchmark
+    public JobHandler.Chunk removeDuplicateBooks() {
+        return removeDuplicateBooksJob.process(Map.of(), null, size);
+    }
+
+    /**
+     * Sweeps a chunk of all the authors for duplicate name and publisher combinations.
+     */
+    @Benchmark
+    public JobHandler.Chunk removeDuplicateAuthors() {
+        return removeDuplicateAuthorsJob.process(Map.of(), null, size);
+    }
+
+    /**
+     * Sums the prices of the books in a shopping cart.
+     */
+    @Benchmark
+    public double calculateSubtotal() {
+        return shoppingCartService.calculateSubtotalForUser(USER_ID);
+    }
+
+    /**
+     * Averages the ratings of a book.
+     */
+    @Benchmark
+    public double averageRating() {
+        return booksService.getAverageRatingForBook(BOOK_ID);
+    }
+}
@@ -0,0 +1,91 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import com.portfolio.davidreyes.booksapi.loadtest.EmbeddedApplication;
+import com.portfolio.davidreyes.booksapi.loadtest.OpenModelDriver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Load test comparing the MVC API with the reactive catalog API on read-only catalog traffic.
+ *
+ * Each application is started from its executable jar in its own JVM by {@link EmbeddedApplication},
+ * seeded with the same synthetic catalog ({@code catalog-seed.sql}), warmed up on every scenario, and then
+ * driven one scenario at a time at a fixed arrival rate by {@link OpenModelDriver}. The applications run one after the other so
+ * they never compete for CPU. Note that the MVC API serializes the JPA entity graph (author, ratings,
+ * comments) while the reactive API returns flat rows, so the comparison includes that payload difference.
+ *
+ * Build with {@code mvn -B package -DskipTests}, then run from the repository root with:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.catalog.CatalogReadLoadTest}
+ * ({@code -DrateScale}, {@code -DdurationSeconds}, {@code -Dmvc.jar} and {@code -Dreactive.jar} are optional).
+ */
+public class CatalogReadLoadTest {
+
+    private static final long FIRST_ISBN = 9780000000001L;
+    private static final int BOOKS = 10_000;
+    private static final int GENRES = 20;
+
+    /**
+     * A read scenario: a name, its arrival rate, and the path of the i-th request.
+     */
+    private record Scenario(String name, int rate, IntFunction<String> path) {
+    }
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("book by ISBN", 100, i -> "/api/v1/book/" + (FIRST_ISBN + (i * 7919L) % BOOKS)),
+            new Scenario("top sellers", 50, i -> "/api/v1/book/top-sellers"),
+            new Scenario("comments by book", 50, i -> "/api/v1/comments/by-book/" + (1_000_001 + (i * 104_729L) % BOOKS)),
+            new Scenario("books by genre", 5, i -> "/api/v1/book/genre/Genre" + i % GENRES));
+
+    /**
+     * Runs every scenario against both applications and prints throughput and latency percentiles.
+     *
+     * @param args Unused; the test is configured through system properties.
+     */
+    public static void main(String[] args) throws Exception {
+        double rateScale = Double.parseDouble(System.getProperty("rateScale", "1.0"));
+        int durationSeconds = Integer.getInteger("durationSeconds", 20);
+
+        run("mvc", Path.of(System.getProperty("mvc.jar", "demo/target/demo-0.0.1-SNAPSHOT-exec.jar")), rateScale, durationSeconds);
+        run("reactive", Path.of(System.getProperty("reactive.jar", "catalog-reactive/target/catalog-reactive-0.0.1-SNAPSHOT.jar")),
+                rateScale, durationSeconds);
+    }
+
+    /**
+     * Starts one application, runs every scenario against it, and stops it.
+     */
+    private static void run(String label, Path jar, double rateScale, int durationSeconds) throws Exception {
+        try (EmbeddedApplication application = EmbeddedApplication.start(label, jar, 18080, "/api/v1/book/top-sellers",
+                List.of("/catalog-seed.sql"))) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String base = application.baseUrl();
+            for (Scenario scenario : SCENARIOS) {
+                OpenModelDriver.drive(client, requests(base, scenario), rate(scenario, rateScale), Math.max(1, durationSeconds / 4), 1000); // Warm up
+            }
+            for (Scenario scenario : SCENARIOS) {
+                int rate = rate(scenario, rateScale);
+                OpenModelDriver.Result result = OpenModelDriver.drive(client, requests(base, scenario), rate, durationSeconds, 1000);
+                System.out.println(result.format(label + " " + scenario.name() + " @" + rate + "/s"));
+            }
+        }
+    }
+
+    /**
+     * Returns the arrival rate of a scenario after scaling.
+     */
+    private static int rate(Scenario scenario, double rateScale) {
+        return Math.max(1, (int) Math.round(scenario.rate() * rateScale));
+    }
+
+    /**
+     * Creates the requests of a scenario against an application.
+     */
+    private static IntFunction<HttpRequest> requests(String base, Scenario scenario) {
+        return i -> HttpRequest.newBuilder(URI.create(base + scenario.path().apply(i))).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.portfolio.davidreyes.booksapi.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endpoint standing in for a blocking repository call in {@link VirtualThreadsLoadTest}.
+ * Borrows a "connection" from a fixed-size pool, holds it for the configured latency, and gives up
+ * after two seconds like a Hikari pool with {@code connection-timeout=2000}.
+ */
+@RestController
+class SimulatedRepositoryController {
+
+    private final Semaphore connections;
+    private final Duration latency;
+
+    SimulatedRepositoryController(@Value("${simulated.pool-size}") int poolSize,
+                                  @Value("${simulated.latency}") Duration latency) {
+        this.connections = new Semaphore(poolSize, true);
+        this.latency = latency;
+    }
+
+    @GetMapping("/simulated/books/{id}")
+    ResponseEntity<String> findBook(@PathVariable Long id) throws InterruptedException {
+        if (!connections.tryAcquire(2, TimeUnit.SECONDS)) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Connection is not available");
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+            return ResponseEntity.ok("Book " + id);
+        } finally {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.portfolio.davidreyes.booksapi.concurrency;
+
+import com.portfolio.davidreyes.booksapi.loadtest.OpenModelDriver;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Load test comparing request handling on platform threads with virtual threads.
+ *
+ * Boots a minimal web application twice, once per mode, whose only endpoint simulates a blocking JPA
+ * round trip: it borrows one of {@code poolSize} connections and holds it for {@code latencyMs}. Requests
+ * arrive at a fixed rate (open model), and latency is measured from each request's scheduled start, so
+ * queueing in front of a saturated worker pool shows up in the percentiles. Platform mode uses Tomcat's
+ * 200 workers; virtual mode uses virtual threads behind {@link RequestBulkheadFilter}, sized to the pool.
+ * Load is generated by {@link OpenModelDriver}.
+ *
+ * Run on Java 21 with: {@code java -Drate=300 -DlatencyMs=1000 -DpoolSize=400 -DdurationSeconds=15
+ * -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.concurrency.VirtualThreadsLoadTest}
+ */
+public class VirtualThreadsLoadTest {
+
+    /**
+     * Runs the load test in both modes and prints throughput and latency percentiles.
+     *
+     * @param args Unused; the test is configured through system properties.
+     */
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("rate", 300);
+        int latencyMs = Integer.getInteger("latencyMs", 1000);
+        int poolSize = Integer.getInteger("poolSize", 400);
+        int durationSeconds = Integer.getInteger("durationSeconds", 15);
+        int maxInFlight = Integer.getInteger("maxInFlight", 2000);
+
+        System.out.printf("rate=%d/s latency=%dms pool=%d duration=%ds%n", rate, latencyMs, poolSize, durationSeconds);
+        for (boolean virtual : new boolean[]{false, true}) {
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("virtual: skipped, requires Java 21");
+                continue;
+            }
+            try (ConfigurableApplicationContext context = start(virtual, latencyMs, poolSize)) {
+                URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/simulated/books/1");
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+                HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+                OpenModelDriver.drive(client, i -> request, rate, Math.max(1, durationSeconds / 4), maxInFlight); // Warm up
+                OpenModelDriver.Result result = OpenModelDriver.drive(client, i -> request, rate, durationSeconds, maxInFlight);
+                System.out.println(result.format(virtual ? "virtual" : "platform"));
+            }
+        }
+    }
+
+    /**
+     * Boots the simulated application on a random port.
+     */
+    private static ConfigurableApplicationContext start(boolean virtual, int latencyMs, int poolSize) {
+        return new SpringApplicationBuilder(SimulatedApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "booksapi.virtual-threads.max-concurrent-requests=" + poolSize,
+                        "simulated.pool-size=" + poolSize,
+                        "simulated.latency=" + latencyMs + "ms")
+                .run();
+    }
+
+    /**
+     * Minimal application serving the simulated endpoint, without a real database.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = DataSourceAutoConfiguration.class)
+    @Import({SimulatedRepositoryController.class, RequestBulkheadFilter.class})
+    static class SimulatedApplication {
+    }
+}
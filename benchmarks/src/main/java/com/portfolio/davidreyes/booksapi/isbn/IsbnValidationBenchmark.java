@@ -0,0 +1,121 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ISBN validation: numeric ISBNs as stored on books, hyphenated ISBNs as submitted,
+ * and a plain-text feed as sent to the bulk validation endpoint.
+ *
+ * Each single-ISBN invocation checks the next of a fixed set of generated ISBN-10s or ISBN-13s;
+ * a sixth of the ISBN-10s end in {@code X}. The feed benchmark reports the time per line.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar IsbnValidationBenchmark -prof gc}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsbnValidationBenchmark {
+
+    private static final int COUNT = 1024;
+    private static final int FEED_LINES = 100_000;
+
+    private final long[] isbn10s = new long[COUNT];
+    private final long[] isbn13s = new long[COUNT];
+    private final long[] invalidIsbn13s = new long[COUNT];
+    private final String[] hyphenatedIsbn10s = new String[COUNT];
+    private final String[] hyphenatedIsbn13s = new String[COUNT];
+    private byte[] feed;
+    private IsbnService isbnService;
+    private int next;
+
+    /**
+     * Generates the ISBNs and the feed from a fixed seed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < COUNT; i++) {
+            long body10 = random.nextInt(1_000_000_000);
+            int check10 = Isbn.isbn10CheckDigit(body10);
+            String isbn10 = String.format("%09d", body10) + (check10 == 10 ? "X" : String.valueOf(check10));
+            long isbn13 = Isbn.parse(isbn10);
+            isbn10s[i] = check10 == 10 ? isbn13 : body10 * 10 + check10;
+            isbn13s[i] = isbn13;
+            invalidIsbn13s[i] = isbn13 / 10 * 10 + (isbn13 % 10 + 1) % 10;
+            hyphenatedIsbn10s[i] = isbn10.charAt(0) + "-" + isbn10.substring(1, 4) + "-" + isbn10.substring(4, 9) + "-" + isbn10.charAt(9);
+            String digits13 = Long.toString(isbn13);
+            hyphenatedIsbn13s[i] = digits13.substring(0, 3) + "-" + digits13.charAt(3) + "-" + digits13.substring(4, 7)
+                    + "-" + digits13.substring(7, 12) + "-" + digits13.charAt(12);
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < FEED_LINES; i++) {
+            lines.append(i % 2 == 0 ? hyphenatedIsbn13s[i % COUNT] : hyphenatedIsbn10s[i % COUNT]).append('\n');
+        }
+        feed = lines.toString().getBytes(StandardCharsets.US_ASCII);
+        isbnService = new IsbnService(1000);
+    }
+
+    /**
+     * Validates a numeric ISBN-10.
+     */
+    @Benchmark
+    public boolean validateIsbn10() {
+        return Isbn.isValid(isbn10s[next++ & (COUNT - 1)]);
+    }
+
+    /**
+     * Validates a numeric ISBN-13.
+     */
+    @Benchmark
+    public boolean validateIsbn13() {
+        return Isbn.isValid(isbn13s[next++ & (COUNT - 1)]);
+    }
+
+    /**
+     * Rejects a numeric ISBN-13 whose check digit does not match, as {@code BooksService} does,
+     * including the cost of the exception.
+     */
+    @Benchmark
+    public void rejectInvalidIsbn13(Blackhole blackhole) {
+        try {
+            Isbn.validate(invalidIsbn13s[next++ & (COUNT - 1)]);
+        } catch (IllegalArgumentException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    /**
+     * Parses a hyphenated ISBN-10 to its ISBN-13.
+     */
+    @Benchmark
+    public long parseHyphenatedIsbn10() {
+        return Isbn.parse(hyphenatedIsbn10s[next++ & (COUNT - 1)]);
+    }
+
+    /**
+     * Parses a hyphenated ISBN-13.
+     */
+    @Benchmark
+    public long parseHyphenatedIsbn13() {
+        return Isbn.parse(hyphenatedIsbn13s[next++ & (COUNT - 1)]);
+    }
+
+    /**
+     * Validates a plain-text feed of hyphenated ISBNs; the score is per line.
+     */
+    @Benchmark
+    @OperationsPerInvocation(FEED_LINES)
+    public IsbnValidationReport validateFeed() {
+        return isbnService.validateLines(new ByteArrayInputStream(feed));
+    }
+}
@@ -0,0 +1,156 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Load test of the whole API with mixed, open-model traffic over every controller.
+ *
+ * The application is started from its executable jar by {@link EmbeddedApplication} on an in-memory
+ * database seeded with {@code catalog-seed.sql} and {@code users-seed.sql}. Each scenario of
+ * {@link ApiScenarios} is warmed up and then driven at its arrival rate by {@link OpenModelDriver},
+ * with every request going to an endpoint chosen by the scenario's weights from a fixed seed.
+ * Throughput and HdrHistogram latency percentiles are reported per endpoint, followed by the hit ratio
+ * of each second-level cache region under the mix, and the run exits with status 1 if any endpoint
+ * misses an objective of {@link SloPolicy}.
+ *
+ * Build with {@code mvn -B package -DskipTests}, then run from the repository root with:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.loadtest.ApiLoadTest}
+ * Optional system properties: {@code -Dscenarios=browse,shop}, {@code -DrateScale}, {@code -DdurationSeconds},
+ * {@code -DwarmupSeconds}, {@code -DmaxInFlight}, {@code -Djar}, {@code -Dport}, {@code -Dseed}, and
+ * {@code -Dhistograms=<dir>} to write each endpoint's percentile distribution as an {@code .hgrm} file.
+ * {@code -DappArgs} passes space-separated arguments to the application, e.g.
+ * {@code -DappArgs="--management.metrics.enable.all=false --spring.jpa.properties.hibernate.generate_statistics=false"}
+ * to measure the overhead of metrics by comparing a run without them.
+ */
+public class ApiLoadTest {
+
+    /**
+     * Runs the scenarios, prints the report and fails if an objective is missed.
+     *
+     * @param args Unused; the test is configured through system properties.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> selected = Arrays.asList(System.getProperty("scenarios", "browse,shop,review").split(","));
+        double rateScale = Double.parseDouble(System.getProperty("rateScale", "1.0"));
+        int durationSeconds = Integer.getInteger("durationSeconds", 30);
+        int warmupSeconds = Integer.getInteger("warmupSeconds", 10);
+        int maxInFlight = Integer.getInteger("maxInFlight", 1000);
+        long seed = Long.getLong("seed", 42L);
+        String histograms = System.getProperty("histograms");
+        String appArgs = System.getProperty("appArgs", "").trim();
+        SloPolicy sloPolicy = SloPolicy.load();
+
+        List<String> violations = new ArrayList<>();
+        try (EmbeddedApplication application = EmbeddedApplication.start("api",
+                Path.of(System.getProperty("jar", "demo/target/demo-0.0.1-SNAPSHOT-exec.jar")),
+                Integer.getInteger("port", 18080), "/api/v1/book/top-sellers",
+                List.of("/catalog-seed.sql", "/users-seed.sql"),
+                appArgs.isEmpty() ? new String[0] : appArgs.split("\\s+"))) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            for (ApiScenarios.Scenario scenario : ApiScenarios.ALL) {
+                if (!selected.contains(scenario.name())) {
+                    continue;
+                }
+                int rate = Math.max(1, (int) Math.round(scenario.rate() * rateScale));
+                run(client, application.baseUrl(), scenario, rate, warmupSeconds, maxInFlight, seed - 1); // Warm up
+                List<EndpointStats> results = new ArrayList<>();
+                long elapsed = run(client, application.baseUrl(), scenario, rate, durationSeconds, maxInFlight, seed, results);
+
+                System.out.printf("%s @%d/s for %ds%n", scenario.name(), rate, durationSeconds);
+                for (EndpointStats stats : results) {
+                    System.out.println(stats.format(elapsed));
+                    violations.addAll(sloPolicy.check(scenario.name(), stats));
+                    if (histograms != null) {
+                        writeHistogram(Path.of(histograms), scenario.name(), stats);
+                    }
+                }
+            }
+            printCacheRegions(client, application.baseUrl());
+        }
+
+        if (!violations.isEmpty()) {
+            System.out.println("SLO violations:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+            System.exit(1);
+        }
+        System.out.println("All SLOs met");
+    }
+
+    /**
+     * Drives a scenario without keeping its results.
+     */
+    private static void run(HttpClient client, String baseUrl, ApiScenarios.Scenario scenario, int rate, int seconds,
+                            int maxInFlight, long seed) {
+        run(client, baseUrl, scenario, rate, seconds, maxInFlight, seed, new ArrayList<>());
+    }
+
+    /**
+     * Drives a scenario and collects per-endpoint statistics.
+     *
+     * @return The duration of the run in nanoseconds.
+     */
+    private static long run(HttpClient client, String baseUrl, ApiScenarios.Scenario scenario, int rate, int seconds,
+                            int maxInFlight, long seed, List<EndpointStats> results) {
+        List<ApiScenarios.Weighted> endpoints = scenario.endpoints();
+        EndpointStats[] stats = new EndpointStats[endpoints.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new EndpointStats(endpoints.get(i).endpoint());
+            results.add(stats[i]);
+        }
+
+        // Choose every request's endpoint and parameters up front so runs with the same seed are identical
+        SplittableRandom random = new SplittableRandom(seed);
+        int total = rate * seconds;
+        int[] chosen = new int[total];
+        SplittableRandom[] parameters = new SplittableRandom[total];
+        for (int i = 0; i < total; i++) {
+            chosen[i] = scenario.pick(random);
+            parameters[i] = random.split();
+        }
+
+        return OpenModelDriver.drive(client, i -> stats[chosen[i]].endpoint().request(baseUrl, parameters[i]),
+                rate, seconds, maxInFlight, new OpenModelDriver.Listener() {
+                    @Override
+                    public void completed(int request, long latencyNanos, boolean failed) {
+                        stats[chosen[request]].recordCompleted(latencyNanos, failed);
+                    }
+
+                    @Override
+                    public void dropped(int request) {
+                        stats[chosen[request]].recordDropped();
+                    }
+                });
+    }
+
+    /**
+     * Prints the second-level cache statistics accumulated over all scenarios, warm-ups included.
+     */
+    private static void printCacheRegions(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/cacheregions")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        System.out.println("Second-level cache regions: " + (response.statusCode() == 200 ? response.body() : "unavailable"));
+    }
+
+    /**
+     * Writes an endpoint's latency distribution in milliseconds, in HdrHistogram's percentile format.
+     */
+    private static void writeHistogram(Path directory, String scenario, EndpointStats stats) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario + "-" + stats.endpoint().id() + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            stats.histogram().outputPercentileDistribution(out, 1e6);
+        }
+    }
+}
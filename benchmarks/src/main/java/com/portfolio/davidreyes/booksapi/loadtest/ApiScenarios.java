@@ -0,0 +1,154 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Endpoints of every controller of the API and the mixed scenarios built from them, with IDs
+ * drawn from the synthetic data in {@code catalog-seed.sql} and {@code users-seed.sql}.
+ */
+public final class ApiScenarios {
+
+    private static final long FIRST_ID = 1_000_001L;
+    private static final long FIRST_ISBN = 9_780_000_000_001L;
+    private static final int BOOKS = 10_000;
+    private static final int USERS = 2_000;
+    private static final int GENRES = 20;
+
+    // BooksController
+    public static final Endpoint BOOK_BY_ISBN = Endpoint.get("book.by-isbn",
+            random -> "/api/v1/book/" + (FIRST_ISBN + random.nextInt(BOOKS)));
+    public static final Endpoint BOOK_TOP_SELLERS = Endpoint.get("book.top-sellers",
+            random -> "/api/v1/book/top-sellers");
+    public static final Endpoint BOOK_BY_GENRE = Endpoint.get("book.by-genre",
+            random -> "/api/v1/book/genre/Genre" + random.nextInt(GENRES));
+    public static final Endpoint BOOK_AVERAGE_RATING = Endpoint.get("book.average-rating",
+            random -> "/api/v1/book/" + book(random) + "/average-rating");
+
+    // CommentController
+    public static final Endpoint COMMENTS_BY_BOOK = Endpoint.get("comment.by-book",
+            random -> "/api/v1/comments/by-book/" + book(random));
+    public static final Endpoint COMMENT_ADD = Endpoint.post("comment.add",
+            random -> "/api/v1/comments/add?userId=" + user(random) + "&bookId=" + book(random) + "&comment=Great+read");
+
+    // RatingController
+    public static final Endpoint RATING_ADD = Endpoint.post("rating.add",
+            random -> "/api/v1/ratings/add?userId=" + user(random) + "&bookId=" + book(random) + "&rating=" + (1 + random.nextInt(5)));
+
+    // ShoppingCartController
+    public static final Endpoint CART_ADD = Endpoint.post("cart.add",
+            random -> "/api/v1/shopping-cart/add-to-cart?userId=" + user(random) + "&bookId=" + book(random));
+    public static final Endpoint CART_REMOVE = Endpoint.post("cart.remove",
+            random -> "/api/v1/shopping-cart/delete-from-cart?userId=" + user(random) + "&bookId=" + book(random));
+    public static final Endpoint CART_SUBTOTAL = Endpoint.get("cart.subtotal",
+            random -> "/api/v1/shopping-cart/subtotal/" + user(random));
+    public static final Endpoint CART_BOOKS = Endpoint.get("cart.books",
+            random -> "/api/v1/shopping-cart/books-byshoppingcart/" + user(random));
+
+    // WishlistController
+    public static final Endpoint WISHLIST_BOOKS = Endpoint.get("wishlist.books",
+            random -> "/api/v1/wishlists/" + wishlist(random) + "/books?page=0&size=20");
+    public static final Endpoint WISHLIST_ADD = Endpoint.post("wishlist.add",
+            random -> "/api/v1/wishlists/" + wishlist(random) + "/add-book?bookId=" + book(random));
+
+    // UserController
+    public static final Endpoint USER_BY_USERNAME = Endpoint.get("user.by-username",
+            random -> "/api/v1/user/by-username/reader" + (1 + random.nextInt(USERS)));
+    public static final Endpoint USER_AVAILABLE = Endpoint.get("user.available",
+            random -> "/api/v1/user/available/" + (random.nextBoolean() ? "reader" : "newcomer") + (1 + random.nextInt(USERS)));
+    public static final Endpoint USER_WISHLISTS = Endpoint.get("user.wishlists",
+            random -> "/api/v1/user/" + user(random) + "/wishlists");
+
+    /**
+     * Catalog browsing: book lookups, listings, comments and username checks during signup.
+     */
+    public static final Scenario BROWSE = new Scenario("browse", 150, List.of(
+            new Weighted(BOOK_BY_ISBN, 40),
+            new Weighted(BOOK_TOP_SELLERS, 10),
+            new Weighted(BOOK_BY_GENRE, 2),
+            new Weighted(BOOK_AVERAGE_RATING, 15),
+            new Weighted(COMMENTS_BY_BOOK, 20),
+            new Weighted(USER_BY_USERNAME, 5),
+            new Weighted(USER_AVAILABLE, 8)));
+
+    /**
+     * Shopping: cart and wishlist reads and updates.
+     */
+    public static final Scenario SHOP = new Scenario("shop", 80, List.of(
+            new Weighted(CART_ADD, 25),
+            new Weighted(CART_SUBTOTAL, 25),
+            new Weighted(CART_BOOKS, 20),
+            new Weighted(CART_REMOVE, 10),
+            new Weighted(WISHLIST_BOOKS, 10),
+            new Weighted(WISHLIST_ADD, 5),
+            new Weighted(USER_WISHLISTS, 5)));
+
+    /**
+     * Reviewing: ratings and comments written while other readers look at them.
+     */
+    public static final Scenario REVIEW = new Scenario("review", 40, List.of(
+            new Weighted(RATING_ADD, 40),
+            new Weighted(COMMENT_ADD, 30),
+            new Weighted(COMMENTS_BY_BOOK, 20),
+            new Weighted(BOOK_AVERAGE_RATING, 10)));
+
+    /**
+     * All scenarios, in the order they run.
+     */
+    public static final List<Scenario> ALL = List.of(BROWSE, SHOP, REVIEW);
+
+    private ApiScenarios() {
+    }
+
+    private static long book(SplittableRandom random) {
+        return FIRST_ID + random.nextInt(BOOKS);
+    }
+
+    private static long user(SplittableRandom random) {
+        return FIRST_ID + random.nextInt(USERS);
+    }
+
+    private static long wishlist(SplittableRandom random) {
+        return FIRST_ID + random.nextInt(USERS);
+    }
+
+    /**
+     * An endpoint's share of a scenario's requests.
+     *
+     * @param endpoint The endpoint.
+     * @param weight   Its relative weight.
+     */
+    public record Weighted(Endpoint endpoint, int weight) {
+    }
+
+    /**
+     * A named mix of endpoints driven together at one arrival rate.
+     *
+     * @param name      The scenario's name.
+     * @param rate      The default arrival rate in requests per second.
+     * @param endpoints The endpoints and their weights.
+     */
+    public record Scenario(String name, int rate, List<Weighted> endpoints) {
+
+        /**
+         * Chooses the endpoint of a request in proportion to the weights.
+         *
+         * @param random The random source.
+         * @return The index of the chosen endpoint in {@link #endpoints()}.
+         */
+        public int pick(SplittableRandom random) {
+            int total = 0;
+            for (Weighted weighted : endpoints) {
+                total += weighted.weight();
+            }
+            int roll = random.nextInt(total);
+            for (int i = 0; i < endpoints.size(); i++) {
+                roll -= endpoints.get(i).weight();
+                if (roll < 0) {
+                    return i;
+                }
+            }
+            return endpoints.size() - 1;
+        }
+    }
+}
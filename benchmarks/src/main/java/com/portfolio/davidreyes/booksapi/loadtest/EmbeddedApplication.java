@@ -0,0 +1,139 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An application started from its executable jar in a separate JVM for a load test, running on the
+ * {@code embedded} profile against an in-memory database seeded from SQL scripts on the classpath.
+ * The scripts are handed to Flyway as {@code afterMigrate} callbacks, so they run once the migrations
+ * created the tables, whether the application reads the database over JDBC or R2DBC.
+ * Its output goes to a temporary log file, which is named in the error if the application fails to start.
+ */
+public final class EmbeddedApplication implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+    private final Path seedDirectory;
+    private final List<Path> seeds;
+
+    private EmbeddedApplication(Process process, String baseUrl, Path seedDirectory, List<Path> seeds) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.seedDirectory = seedDirectory;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Starts an application and waits until it answers on a path.
+     *
+     * @param label          Name of the application, used for its log file.
+     * @param jar            The executable jar.
+     * @param port           The HTTP port to listen on.
+     * @param readinessPath  A path that returns 200 once the application is ready and seeded.
+     * @param seedResources  Classpath resources with the SQL to seed the database with, in order.
+     * @param extraArguments Additional application arguments.
+     * @return The running application.
+     * @throws IOException           if the seeds cannot be written or the process cannot be started.
+     * @throws IllegalStateException if the application does not become ready within three minutes.
+     */
+    public static EmbeddedApplication start(String label, Path jar, int port, String readinessPath, List<String> seedResources,
+                                            String... extraArguments) throws IOException, InterruptedException {
+        Path seedDirectory = Files.createTempDirectory(label + "-seed");
+        List<Path> seeds = new ArrayList<>();
+        for (String resource : seedResources) {
+            // Flyway runs callbacks of the same event in the order of their names
+            Path seed = seedDirectory.resolve(String.format("afterMigrate__%02d_seed.sql", seeds.size() + 1));
+            try (InputStream in = EmbeddedApplication.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("Seed " + resource + " not found on the classpath");
+                }
+                Files.copy(in, seed, StandardCopyOption.REPLACE_EXISTING);
+            }
+            seeds.add(seed);
+        }
+
+        Path log = Files.createTempFile(label, ".log");
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx512m", "-jar", jar.toString(),
+                "--spring.profiles.active=embedded",
+                "--server.port=" + port,
+                "--spring.flyway.locations=classpath:db/migration,filesystem:" + seedDirectory,
+                "--logging.level.root=WARN"));
+        command.addAll(List.of(extraArguments));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        EmbeddedApplication application = new EmbeddedApplication(process, "http://localhost:" + port, seedDirectory, seeds);
+        try {
+            application.awaitReady(readinessPath, log);
+        } catch (RuntimeException | InterruptedException ex) {
+            application.close();
+            throw ex;
+        }
+        return application;
+    }
+
+    /**
+     * @return The URL the application listens on, without a trailing slash.
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Stops the application and deletes its seed files and their directory.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+        for (Path seed : seeds) {
+            try {
+                Files.deleteIfExists(seed);
+            } catch (IOException ex) {
+                // Temporary file; nothing else to do
+            }
+        }
+        try {
+            Files.deleteIfExists(seedDirectory);
+        } catch (IOException ex) {
+            // Temporary directory; nothing else to do
+        }
+    }
+
+    /**
+     * Polls the application until it answers, failing after three minutes.
+     */
+    private void awaitReady(String path, Path log) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(3).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application at " + baseUrl + path + " did not become ready, see " + log);
+    }
+}
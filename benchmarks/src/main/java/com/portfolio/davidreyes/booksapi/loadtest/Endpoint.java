@@ -0,0 +1,55 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * An API endpoint exercised by the load tests.
+ *
+ * @param id     Short identifier, used in reports and as the key of the endpoint's SLOs.
+ * @param method The HTTP method.
+ * @param path   Creates the path and query of a request, choosing IDs and values from the random source.
+ */
+public record Endpoint(String id, String method, Function<SplittableRandom, String> path) {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Creates a GET endpoint.
+     *
+     * @param id   The endpoint's identifier.
+     * @param path Creates the path of a request.
+     * @return The endpoint.
+     */
+    public static Endpoint get(String id, Function<SplittableRandom, String> path) {
+        return new Endpoint(id, "GET", path);
+    }
+
+    /**
+     * Creates a POST endpoint whose parameters travel in the query string.
+     *
+     * @param id   The endpoint's identifier.
+     * @param path Creates the path and query of a request.
+     * @return The endpoint.
+     */
+    public static Endpoint post(String id, Function<SplittableRandom, String> path) {
+        return new Endpoint(id, "POST", path);
+    }
+
+    /**
+     * Creates a request to this endpoint.
+     *
+     * @param baseUrl The application's URL.
+     * @param random  The source for the request's IDs and values.
+     * @return The request.
+     */
+    public HttpRequest request(String baseUrl, SplittableRandom random) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path.apply(random)))
+                .timeout(TIMEOUT)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
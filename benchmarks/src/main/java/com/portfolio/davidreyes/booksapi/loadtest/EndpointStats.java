@@ -0,0 +1,118 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one endpoint's requests during a load run. Latencies are recorded in an HdrHistogram
+ * with three significant digits up to one minute; requests are recorded from the HTTP client's threads.
+ */
+public final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Endpoint endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates empty statistics for an endpoint.
+     *
+     * @param endpoint The endpoint.
+     */
+    public EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos The time from the request's scheduled start to its completion.
+     * @param failed       Whether the request failed or returned an error status.
+     */
+    public void recordCompleted(long latencyNanos, boolean failed) {
+        latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Records a request that was not sent because too many were outstanding.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * @return The endpoint.
+     */
+    public Endpoint endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return The number of requests sent.
+     */
+    public long sent() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * @return The number of requests that failed or returned an error status.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return The number of requests not sent because too many were outstanding.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the share of requests that failed or were dropped.
+     *
+     * @return The error rate as a fraction of all scheduled requests.
+     */
+    public double errorRate() {
+        long scheduled = sent() + dropped();
+        return scheduled == 0 ? 0 : (double) (errors() + dropped()) / scheduled;
+    }
+
+    /**
+     * Returns the latency at a percentile, in milliseconds.
+     *
+     * @param percentile The percentile, e.g. 99.0.
+     * @return The latency in milliseconds.
+     */
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * @return The latency histogram, in nanoseconds.
+     */
+    public Histogram histogram() {
+        return latencies;
+    }
+
+    /**
+     * Formats the statistics as a single report line.
+     *
+     * @param elapsedNanos The duration of the run, to compute the throughput.
+     * @return The report line.
+     */
+    public String format(long elapsedNanos) {
+        return String.format("  %-22s %-4s %8.1f/s sent=%7d errors=%5d dropped=%5d p50=%8.1fms p90=%8.1fms p99=%8.1fms p99.9=%8.1fms max=%8.1fms",
+                endpoint.id(), endpoint.method(), (sent() - errors()) * 1e9 / elapsedNanos, sent(), errors(), dropped(),
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                latencies.getMaxValue() / 1e6);
+    }
+}
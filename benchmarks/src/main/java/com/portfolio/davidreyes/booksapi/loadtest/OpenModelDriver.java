@@ -0,0 +1,162 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model HTTP load generator shared by the load tests.
+ *
+ * Requests are started at a fixed arrival rate regardless of how quickly earlier ones complete, and each
+ * latency is measured from the request's scheduled start, so queueing on the server shows up in the
+ * percentiles instead of silently lowering the offered load. Requests that would exceed {@code maxInFlight}
+ * outstanding requests are not sent and count as dropped.
+ */
+public final class OpenModelDriver {
+
+    private OpenModelDriver() {
+    }
+
+    /**
+     * Sends requests at a fixed arrival rate for the given duration and waits for all of them to complete.
+     *
+     * @param client          The client to send requests with.
+     * @param requests        Creates the i-th request of the run.
+     * @param rate            The arrival rate in requests per second.
+     * @param durationSeconds How long to keep sending requests.
+     * @param maxInFlight     The maximum number of outstanding requests.
+     * @return The throughput, error counts and latencies of the run.
+     */
+    public static Result drive(HttpClient client, IntFunction<HttpRequest> requests, int rate, int durationSeconds, int maxInFlight) {
+        int total = rate * durationSeconds;
+        long[] latencies = new long[total];
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long elapsed = drive(client, requests, rate, durationSeconds, maxInFlight, new Listener() {
+            @Override
+            public void completed(int request, long latencyNanos, boolean failed) {
+                latencies[request] = latencyNanos;
+                sent.incrementAndGet();
+                if (failed) {
+                    errors.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void dropped(int request) {
+                latencies[request] = -1;
+            }
+        });
+
+        long[] sentLatencies = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        return new Result((sent.get() - errors.get()) * 1e9 / elapsed, errors.get(), total - sent.get(), sentLatencies);
+    }
+
+    /**
+     * Sends requests at a fixed arrival rate for the given duration, reports each outcome to a listener,
+     * and waits for all of them to complete.
+     *
+     * @param client          The client to send requests with.
+     * @param requests        Creates the i-th request of the run.
+     * @param rate            The arrival rate in requests per second.
+     * @param durationSeconds How long to keep sending requests.
+     * @param maxInFlight     The maximum number of outstanding requests.
+     * @param listener        Receives the outcome of every request, from the client's threads.
+     * @return The duration of the run in nanoseconds.
+     */
+    public static long drive(HttpClient client, IntFunction<HttpRequest> requests, int rate, int durationSeconds, int maxInFlight,
+                             Listener listener) {
+        int total = rate * durationSeconds;
+        long intervalNanos = 1_000_000_000L / rate;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<?>> pending = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                listener.dropped(i);
+                continue;
+            }
+            int index = i;
+            pending.add(client.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        listener.completed(index, System.nanoTime() - intended, failure != null || response.statusCode() >= 400);
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new)).join();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Receives the outcome of each request of a run.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a request completes.
+         *
+         * @param request      The index of the request in the run.
+         * @param latencyNanos The time from the request's scheduled start to its completion.
+         * @param failed       Whether the request failed or returned an error status.
+         */
+        void completed(int request, long latencyNanos, boolean failed);
+
+        /**
+         * Called when a request is not sent because too many are outstanding.
+         *
+         * @param request The index of the request in the run.
+         */
+        void dropped(int request);
+    }
+
+    /**
+     * Outcome of one load phase.
+     *
+     * @param throughput Successful requests per second.
+     * @param errors     Requests that failed or returned an error status.
+     * @param dropped    Requests not sent because too many were outstanding.
+     * @param latencies  Sorted latencies of the sent requests in nanoseconds.
+     */
+    public record Result(double throughput, int errors, int dropped, long[] latencies) {
+
+        /**
+         * Returns the latency at a percentile, in milliseconds.
+         *
+         * @param percentile The percentile as a fraction, e.g. 0.99.
+         * @return The latency in milliseconds.
+         */
+        public double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+
+        /**
+         * Formats the result as a single report line.
+         *
+         * @param label The name of the run.
+         * @return The report line.
+         */
+        public String format(String label) {
+            return String.format("%-28s throughput=%7.1f/s errors=%6d dropped=%6d p50=%7.1fms p99=%8.1fms max=%8.1fms",
+                    label, throughput, errors, dropped, percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.portfolio.davidreyes.booksapi.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Service level objectives the load tests check each endpoint against.
+ *
+ * Objectives are read from {@code loadtest-slo.properties} on the classpath as
+ * {@code <endpoint-id>.p99-ms} and {@code <endpoint-id>.error-rate}, falling back to the
+ * {@code default.} entries. System properties prefixed with {@code slo.}, such as
+ * {@code -Dslo.book.by-genre.p99-ms=3000}, take precedence over the file.
+ */
+public final class SloPolicy {
+
+    private final Properties objectives;
+
+    private SloPolicy(Properties objectives) {
+        this.objectives = objectives;
+    }
+
+    /**
+     * Loads the objectives from the classpath and system properties.
+     *
+     * @return The policy.
+     * @throws IOException if the objectives file cannot be read.
+     */
+    public static SloPolicy load() throws IOException {
+        Properties objectives = new Properties();
+        try (InputStream in = SloPolicy.class.getResourceAsStream("/loadtest-slo.properties")) {
+            if (in != null) {
+                objectives.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("slo."))
+                .forEach(name -> objectives.setProperty(name.substring("slo.".length()), System.getProperty(name)));
+        return new SloPolicy(objectives);
+    }
+
+    /**
+     * Checks an endpoint's results against its objectives.
+     *
+     * @param scenario The scenario the results come from.
+     * @param stats    The endpoint's results.
+     * @return A description of every objective that was missed; empty if all were met.
+     */
+    public List<String> check(String scenario, EndpointStats stats) {
+        List<String> violations = new ArrayList<>();
+        String id = stats.endpoint().id();
+        double maxP99 = objective(id, "p99-ms");
+        double maxErrorRate = objective(id, "error-rate");
+        if (stats.percentileMillis(99) > maxP99) {
+            violations.add(String.format("%s %s: p99 %.1fms exceeds %.1fms", scenario, id, stats.percentileMillis(99), maxP99));
+        }
+        if (stats.errorRate() > maxErrorRate) {
+            violations.add(String.format("%s %s: error rate %.2f%% exceeds %.2f%%", scenario, id,
+                    stats.errorRate() * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+
+    /**
+     * Returns an endpoint's objective, or the default.
+     */
+    private double objective(String endpointId, String name) {
+        String value = objectives.getProperty(endpointId + "." + name, objectives.getProperty("default." + name));
+        if (value == null) {
+            throw new IllegalStateException("No " + name + " objective for " + endpointId + " and no default");
+        }
+        return Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.portfolio.davidreyes.booksapi.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the application's metrics cost on each request, on a {@link PrometheusMeterRegistry}
+ * configured like {@code metrics.properties}.
+ *
+ * {@code recordWithHistogram} is one sample of a timer with a percentile histogram, as recorded for
+ * every request and repository call, {@code recordWithoutHistogram} the same timer without buckets,
+ * and {@code lookupAndRecord} the tag lookup Spring performs before recording. {@code scrape} is the
+ * cost of rendering the registry for Prometheus, paid once per scrape rather than per request.
+ *
+ * For the end-to-end overhead, compare {@code ApiLoadTest} runs with and without
+ * {@code -DappArgs="--management.metrics.enable.all=false --spring.jpa.properties.hibernate.generate_statistics=false"}.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar MetricsOverheadBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final Tags TAGS = Tags.of("method", "GET", "uri", "/api/v1/book/top-sellers",
+            "status", "200", "outcome", "SUCCESS", "exception", "none");
+
+    private PrometheusMeterRegistry registry;
+    private Timer histogramTimer;
+    private Timer plainTimer;
+    private long sample;
+
+    /**
+     * Creates the registry and a timer of each kind, with the application's expected value range.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        histogramTimer = histogramTimer();
+        plainTimer = Timer.builder("plain.requests").tags(TAGS).register(registry);
+        // A registry with as many endpoint series as the API, so the scrape has a realistic size
+        for (int i = 0; i < 40; i++) {
+            Timer.builder("http.server.requests").tags(TAGS.and("uri", "/endpoint/" + i))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry)
+                    .record(i + 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records a sample in a timer with a percentile histogram.
+     */
+    @Benchmark
+    public void recordWithHistogram() {
+        histogramTimer.record(nextSample(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a sample in a timer without a histogram.
+     */
+    @Benchmark
+    public void recordWithoutHistogram() {
+        plainTimer.record(nextSample(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Looks the timer up by its name and tags, then records a sample, as the request observation does.
+     */
+    @Benchmark
+    public void lookupAndRecord() {
+        histogramTimer().record(nextSample(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Renders the registry in the Prometheus text format.
+     */
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    /**
+     * Finds or registers the histogram timer.
+     */
+    private Timer histogramTimer() {
+        return Timer.builder("http.server.requests").tags(TAGS)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    /**
+     * Returns latencies spread between 1 and 65 milliseconds, so samples land in different buckets.
+     */
+    private long nextSample() {
+        sample = (sample + 7_919_993) & 0x3FFFFFF;
+        return 1_000_000 + sample;
+    }
+}
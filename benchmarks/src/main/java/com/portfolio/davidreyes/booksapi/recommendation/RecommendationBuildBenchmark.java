@@ -0,0 +1,136 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import com.portfolio.davidreyes.booksapi.seed.CatalogGenerator;
+import com.portfolio.davidreyes.booksapi.seed.SeedPlan;
+import com.portfolio.davidreyes.booksapi.seed.SeedTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recommendation index: a full parallel build, and looking up the similar books of a book.
+ *
+ * The interactions are those of the synthetic catalog, by default a million users with 3 books in their
+ * cart, 5 in their wishlist and ten million ratings over 500,000 books, of which those rated 4 or 5 count.
+ * Popularity follows a Zipf distribution, so a few books go with almost everything. After the trial the
+ * estimated size of the interactions and of the index is printed.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar RecommendationBuildBenchmark -p users=100000 -p books=50000 -p ratings=1000000}
+ * for a smaller scale.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class RecommendationBuildBenchmark {
+
+    private static final int LIKED_RATING = 4;
+    private static final int LOOKUPS = 1024;
+
+    @Param("1000000")
+    private int users;
+
+    @Param("500000")
+    private int books;
+
+    @Param("10000000")
+    private int ratings;
+
+    @Param("200")
+    private int maxBooksPerUser;
+
+    @Param("64")
+    private int shards;
+
+    private Interactions interactions;
+    private ForkJoinPool pool;
+    private CooccurrenceIndex index;
+    private long[] lookups;
+    private int next;
+
+    /**
+     * Generates the interactions and builds the index the lookups run on.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SeedPlan plan = new SeedPlan(42, Math.max(1, books / 10), books, users, ratings, 0, 3, 5, 1.0);
+        CatalogGenerator generator = new CatalogGenerator(plan, "");
+        Pairs pairs = new Pairs();
+        for (SeedTable table : List.of(SeedTable.CART_BOOKS, SeedTable.WISHLIST_BOOKS)) {
+            generator.generate(table, 0, plan.units(table), values -> pairs.add((Long) values[0], (Long) values[1]));
+        }
+        generator.generate(SeedTable.RATING, 0, plan.units(SeedTable.RATING), values -> {
+            if ((Integer) values[1] >= LIKED_RATING) {
+                pairs.add((Long) values[3], (Long) values[2]);
+            }
+        });
+        interactions = pairs.toInteractions(maxBooksPerUser);
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        index = CooccurrenceIndex.build(interactions, shards, pool);
+        lookups = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = interactions.book((int) ((long) i * interactions.size() / LOOKUPS));
+        }
+    }
+
+    /**
+     * Prints the size of the interactions and of the index.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d users, %d interactions: %d MB; index of %d books, %d entries: %d MB%n",
+                interactions.users(), interactions.size(), interactions.sizeInBytes() >> 20,
+                index.books(), index.entries(), index.sizeInBytes() >> 20);
+        pool.shutdown();
+    }
+
+    /**
+     * Builds the whole index.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CooccurrenceIndex build() {
+        return CooccurrenceIndex.build(interactions, shards, pool);
+    }
+
+    /**
+     * Looks up the ten books most similar to the next of a fixed set of books, popular ones more often.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<CooccurrenceIndex.Similarity> similar() {
+        return index.similar(lookups[next++ & (LOOKUPS - 1)], 10);
+    }
+
+    /**
+     * Collects user and book pairs packed into longs, to group them by user without boxing.
+     */
+    private static final class Pairs {
+
+        private long[] packed = new long[1 << 20];
+        private int size;
+
+        void add(long userId, long bookId) {
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = userId << 32 | bookId;
+        }
+
+        Interactions toInteractions(int maxBooksPerUser) {
+            Arrays.parallelSort(packed, 0, size);
+            Interactions.Builder builder = Interactions.builder(maxBooksPerUser);
+            for (int i = 0; i < size; i++) {
+                builder.add(packed[i] >>> 32, packed[i] & 0xFFFFFFFFL);
+            }
+            packed = null;
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import com.portfolio.davidreyes.booksapi.user.UserProfile;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request overhead of {@link JwtAuthenticationFilter}.
+ *
+ * {@code withoutToken} is the cost on public requests, {@code withCachedToken} the cost on authenticated
+ * requests once the token has been verified, and {@code verifyUncached} the signature check and claim
+ * parsing a filter without the verified-token cache would perform on every request.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar JwtAuthenticationFilterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret";
+
+    private JwtAuthenticationFilter filter;
+    private SecretKeySpec key;
+    private String authorization;
+    private String token;
+
+    /**
+     * Creates the filter and issues the token used by every request.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = new JwtService(SECRET, Duration.ofHours(1), 10_000);
+        filter = new JwtAuthenticationFilter(jwtService, new String[]{"/api/v1/user/me"});
+        key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS256.getJcaName());
+        token = jwtService.issue(new UserProfile(1L, "reader", "Reader", "reader@example.com", null)).token();
+        authorization = "Bearer " + token;
+    }
+
+    /**
+     * A public request without an Authorization header.
+     */
+    @Benchmark
+    public Object withoutToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest();
+    }
+
+    /**
+     * An authenticated request whose token is already in the verified-token cache.
+     */
+    @Benchmark
+    public Object withCachedToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/me");
+        request.addHeader("Authorization", authorization);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+    }
+
+    /**
+     * Verifies the signature and parses the claims of the token from scratch.
+     */
+    @Benchmark
+    public void verifyUncached(Blackhole blackhole) {
+        blackhole.consume(Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody());
+    }
+}
@@ -0,0 +1,84 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signup throughput under load and its effect on unrelated requests.
+ *
+ * Each group runs signup threads that hash passwords next to "browse" threads doing a short,
+ * fixed amount of CPU work that stands in for a cheap catalog request. In {@code inline} mode
+ * signups hash on their own (request) threads, as the API did before hashing was offloaded;
+ * in {@code offloaded} mode they go through {@link PasswordHashingService}. Compare the signup
+ * throughput and the browse latency percentiles between the two modes.
+ *
+ * Run with: {@code java -jar benchmarks/target/benchmarks.jar SignupThroughputBenchmark}
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SignupThroughputBenchmark {
+
+    @Param({"inline", "offloaded"})
+    public String mode;
+
+    @Param({"10"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingService hashingService;
+
+    /**
+     * Creates the encoder and a hashing service sized to the available cores.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hashingService = new PasswordHashingService(strength, 0, 1024, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Shuts down the hashing pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    /**
+     * A signup request: hashes a new user's password.
+     */
+    @Benchmark
+    @Group("load")
+    @GroupThreads(16)
+    public void signup(Blackhole blackhole) {
+        if ("inline".equals(mode)) {
+            blackhole.consume(encoder.encode("correct horse battery staple"));
+            return;
+        }
+        try {
+            blackhole.consume(hashingService.hash("correct horse battery staple"));
+        } catch (RejectedExecutionException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    /**
+     * A cheap catalog request competing for CPU with the signups.
+     */
+    @Benchmark
+    @Group("load")
+    @GroupThreads(4)
+    public void browse() {
+        Blackhole.consumeCPU(20_000);
+    }
+}
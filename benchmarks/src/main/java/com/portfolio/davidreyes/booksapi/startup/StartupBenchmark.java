@@ -0,0 +1,135 @@
+package com.portfolio.davidreyes.booksapi.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup benchmark comparing the executable jar with the {@code fast-startup} build.
+ *
+ * Each variant is started {@code -Druns} times in a fresh JVM on the {@code embedded} profile with seeding off,
+ * and timed from launching the process to the first 200 response from {@code /api/v1/book}, so the time
+ * includes JVM startup, the context refresh and whatever the first request still has to initialize.
+ * The variants are the executable jar, the fast-startup build without its class-data sharing archive,
+ * which isolates AOT processing and lazy initialization, and the fast-startup build with the archive.
+ * The minimum, median and maximum of each variant are reported.
+ *
+ * Build with {@code mvn -B package -DskipTests} and {@code mvn -B -Pfast-startup -pl demo package -DskipTests},
+ * then run from the repository root with:
+ * {@code java -cp benchmarks/target/benchmarks.jar com.portfolio.davidreyes.booksapi.startup.StartupBenchmark}
+ * Optional system properties: {@code -Druns} (default 5), {@code -Dvariants=exec-jar,aot,aot-cds},
+ * {@code -Djar} and {@code -DfastStartupDir}.
+ */
+public class StartupBenchmark {
+
+    private static final String PATH = "/api/v1/book";
+
+    /**
+     * Starts each variant repeatedly and prints its startup times.
+     *
+     * @param args Unused; the benchmark is configured through system properties.
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("runs", 5);
+        List<String> selected = Arrays.asList(System.getProperty("variants", "exec-jar,aot,aot-cds").split(","));
+        Path jar = Path.of(System.getProperty("jar", "demo/target/demo-0.0.1-SNAPSHOT-exec.jar")).toAbsolutePath();
+        Path fastStartupDir = Path.of(System.getProperty("fastStartupDir", "demo/target/fast-startup")).toAbsolutePath();
+        Path fastStartupJar = fastStartupDir.resolve("demo-0.0.1-SNAPSHOT-fast-startup.jar");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Variant> variants = List.of(
+                new Variant("exec-jar", jar.getParent(), List.of(java, "-jar", jar.toString(),
+                        "--spring.profiles.active=embedded")),
+                new Variant("aot", fastStartupDir, List.of(java, "-Dspring.aot.enabled=true", "-jar", fastStartupJar.toString(),
+                        "--spring.profiles.active=embedded,fast-startup")),
+                new Variant("aot-cds", fastStartupDir, List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off",
+                        "-Dspring.aot.enabled=true", "-jar", fastStartupJar.toString(),
+                        "--spring.profiles.active=embedded,fast-startup")));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        for (Variant variant : variants) {
+            if (!selected.contains(variant.name())) {
+                continue;
+            }
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstResponse(client, variant);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-10s min %6d ms  median %6d ms  max %6d ms  (%d runs)%n",
+                    variant.name(), millis[0], millis[runs / 2], millis[runs - 1], runs);
+        }
+    }
+
+    /**
+     * Starts a variant, polls it until the book list answers and stops it.
+     *
+     * @return The milliseconds from launching the process to the first successful response.
+     * @throws IllegalStateException if the application exits or does not answer within three minutes.
+     */
+    private static long timeToFirstResponse(HttpClient client, Variant variant) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command());
+        command.addAll(List.of("--server.port=" + port, "--booksapi.seed.enabled=false", "--logging.level.root=WARN"));
+        Path log = Files.createTempFile("startup-" + variant.name(), ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                .timeout(Duration.ofSeconds(30)).GET().build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = started + Duration.ofMinutes(3).toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with status " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long elapsed = (System.nanoTime() - started) / 1_000_000;
+                        Files.deleteIfExists(log);
+                        return elapsed;
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer on " + PATH + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * Finds a port nothing listens on, so a run is not answered by the previous one while it shuts down.
+     */
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A way of starting the application.
+     *
+     * @param name      The name in the report.
+     * @param directory The working directory, which holds the class-data sharing archive if there is one.
+     * @param command   The command line, without the arguments added for each run.
+     */
+    private record Variant(String name, Path directory, List<String> command) {
+    }
+}
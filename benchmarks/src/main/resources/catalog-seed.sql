@@ -0,0 +1,20 @@
+-- Synthetic catalog for load tests on the embedded H2 database: 500 authors, 10,000 books in 20 genres,
+-- 30,000 ratings and 20,000 comments. Author and book IDs start above 1,000,000 so they never collide
+-- with rows the applications create through their own sequences.
+INSERT INTO author (id, first_name, last_name, biography, publisher)
+SELECT 1000000 + r.n, 'First' || r.n, 'Last' || r.n, 'Biography of author ' || r.n, 'Publisher ' || MOD(r.n, 50)
+FROM SYSTEM_RANGE(1, 500) AS r(n);
+
+INSERT INTO books (id, isbn, book_name, book_description, price, author_id, genre, publisher, year_published, copies_sold, rating)
+SELECT 1000000 + r.n, 9780000000000 + r.n, 'Book ' || r.n, 'Description of book ' || r.n, 5 + MOD(r.n * 7, 60),
+       1000001 + MOD(r.n, 500), 'Genre' || MOD(r.n, 20), 'Publisher ' || MOD(r.n, 50), 1950 + MOD(r.n, 75),
+       MOD(r.n * 7919, 1000000), 1 + MOD(r.n, 5)
+FROM SYSTEM_RANGE(1, 10000) AS r(n);
+
+INSERT INTO rating (rating, book_id, date_rated)
+SELECT 1 + MOD(r.n * 31, 5), 1000001 + MOD(r.n, 10000), CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 30000) AS r(n);
+
+INSERT INTO comment (comment, book_id, date_commented)
+SELECT 'Comment ' || r.n, 1000001 + MOD(r.n, 10000), CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 20000) AS r(n);
@@ -0,0 +1,22 @@
+-- Synthetic users for load tests on the embedded H2 database, applied after catalog-seed.sql: 2,000 users
+-- (reader1 to reader2000, plain-text password "password"), each with a shopping cart holding 5 books and a
+-- wishlist holding 10 books. IDs start above 1,000,000 like the catalog's.
+INSERT INTO users (id, username, password, name, email_address, home_address)
+SELECT 1000000 + r.n, 'reader' || r.n, 'password', 'Reader ' || r.n, 'reader' || r.n || '@example.com', r.n || ' Main Street'
+FROM SYSTEM_RANGE(1, 2000) AS r(n);
+
+INSERT INTO shopping_cart (id, user_id)
+SELECT 1000000 + r.n, 1000000 + r.n
+FROM SYSTEM_RANGE(1, 2000) AS r(n);
+
+INSERT INTO cart_books (cart_id, book_id)
+SELECT 1000001 + MOD(r.n, 2000), 1000001 + MOD(r.n * 7919, 10000)
+FROM SYSTEM_RANGE(0, 9999) AS r(n);
+
+INSERT INTO wishlist (id, name, user_id)
+SELECT 1000000 + r.n, 'Wishlist ' || r.n, 1000000 + r.n
+FROM SYSTEM_RANGE(1, 2000) AS r(n);
+
+INSERT INTO wishlist_books (wishlist_id, book_id, added_at)
+SELECT 1000001 + r.n / 10, 1000001 + MOD((r.n / 10) * 37 + MOD(r.n, 10) * 1000, 10000), CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(0, 19999) AS r(n);
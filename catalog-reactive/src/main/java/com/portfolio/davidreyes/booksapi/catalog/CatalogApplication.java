@@ -0,0 +1,21 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The main entry point for the reactive catalog API.
+ * Serves read-only catalog queries without blocking, next to the MVC API that owns all writes.
+ */
+@SpringBootApplication
+public class CatalogApplication {
+
+    /**
+     * The main method that starts the reactive catalog application.
+     *
+     * @param args Command-line arguments passed during application startup.
+     */
+    public static void main(String[] args) {
+        SpringApplication.run(CatalogApplication.class, args);
+    }
+}
@@ -0,0 +1,26 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read model of a row in the {@code books} table.
+ * Unlike the JPA entity, the author is referenced by ID and ratings and comments are not embedded,
+ * so each book maps to exactly one row.
+ *
+ * @param id              The unique identifier of the book.
+ * @param isbn            The ISBN of the book.
+ * @param bookName        The name of the book.
+ * @param bookDescription A short description of the book.
+ * @param price           The price of the book.
+ * @param authorId        The ID of the book's author.
+ * @param genre           The genre of the book.
+ * @param publisher       The publisher of the book.
+ * @param yearPublished   The year the book was published.
+ * @param copiesSold      The total number of copies sold.
+ * @param rating          The average rating of the book.
+ */
+@Table("books")
+public record CatalogBook(@Id Long id, Long isbn, String bookName, String bookDescription, Integer price, Long authorId,
+                          String genre, String publisher, Integer yearPublished, Integer copiesSold, double rating) {
+}
@@ -0,0 +1,72 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for reading books.
+ * Results are streamed from the database as the subscriber requests them.
+ */
+@Repository
+public interface CatalogBookRepository extends ReactiveCrudRepository<CatalogBook, Long> {
+
+    /**
+     * Finds a book by its ISBN.
+     *
+     * @param isbn The ISBN of the book.
+     * @return A Mono emitting the book, or empty if not found.
+     */
+    Mono<CatalogBook> findByIsbn(Long isbn);
+
+    /**
+     * Finds books by genre.
+     *
+     * @param genre The genre of the books.
+     * @return A Flux of the books in the specified genre.
+     */
+    Flux<CatalogBook> findByGenre(String genre);
+
+    /**
+     * Finds books by the author's ID.
+     *
+     * @param authorId The ID of the author.
+     * @return A Flux of the books by the specified author.
+     */
+    Flux<CatalogBook> findByAuthorId(Long authorId);
+
+    /**
+     * Finds books with a rating greater than or equal to the specified value.
+     *
+     * @param rating The minimum rating threshold.
+     * @return A Flux of the books with at least the specified rating.
+     */
+    Flux<CatalogBook> findByRatingGreaterThanEqual(double rating);
+
+    /**
+     * Finds the ten top-selling books, ordered by copies sold in descending order.
+     *
+     * @return A Flux of the top-selling books.
+     */
+    Flux<CatalogBook> findTop10ByOrderByCopiesSoldDesc();
+
+    /**
+     * Calculates the average of the individual ratings given to a book.
+     *
+     * @param bookId The ID of the book.
+     * @return A Mono emitting the average rating, or 0 if the book has no ratings.
+     */
+    @Query("SELECT COALESCE(AVG(CAST(rating AS DOUBLE PRECISION)), 0) FROM rating WHERE book_id = :bookId")
+    Mono<Double> findAverageRatingByBookId(Long bookId);
+
+    /**
+     * Checks whether an author exists.
+     *
+     * @param authorId The ID of the author.
+     * @return A Mono emitting true if the author exists.
+     */
+    @Query("SELECT COUNT(*) > 0 FROM author WHERE id = :authorId")
+    Mono<Boolean> existsAuthorById(Long authorId);
+}
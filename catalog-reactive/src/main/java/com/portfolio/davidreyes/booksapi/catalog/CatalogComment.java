@@ -0,0 +1,19 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a row in the {@code comment} table.
+ *
+ * @param id            The unique identifier of the comment.
+ * @param comment       The content of the comment.
+ * @param userId        The ID of the user who wrote the comment.
+ * @param bookId        The ID of the book the comment is about.
+ * @param dateCommented The date and time the comment was made.
+ */
+@Table("comment")
+public record CatalogComment(@Id Long id, String comment, Long userId, Long bookId, LocalDateTime dateCommented) {
+}
@@ -0,0 +1,20 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository for reading comments.
+ */
+@Repository
+public interface CatalogCommentRepository extends ReactiveCrudRepository<CatalogComment, Long> {
+
+    /**
+     * Finds the comments on a book, oldest first.
+     *
+     * @param bookId The ID of the book.
+     * @return A Flux of the comments on the book.
+     */
+    Flux<CatalogComment> findByBookIdOrderByDateCommentedAsc(Long bookId);
+}
@@ -0,0 +1,135 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive REST controller for read-only catalog queries.
+ *
+ * Offers non-blocking equivalents of the MVC API's GET endpoints under the same paths. Endpoints that
+ * return several items respond with a JSON array by default, or stream one JSON document per line when
+ * the client accepts {@code application/x-ndjson}; streamed rows are written as they arrive and the
+ * database is only read as fast as the client consumes.
+ */
+@RestController
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    /**
+     * Constructor for injecting the CatalogService dependency.
+     *
+     * @param catalogService Service handling catalog queries.
+     */
+    @Autowired
+    public CatalogController(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Retrieves all books.
+     *
+     * @return Flux of all books in the system.
+     */
+    @GetMapping(path = "/api/v1/book", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CatalogBook> getBooks() {
+        return catalogService.getBooks();
+    }
+
+    /**
+     * Retrieves a book by its ISBN.
+     *
+     * @param isbn The ISBN of the book.
+     * @return Mono of the book with the given ISBN.
+     */
+    @GetMapping("/api/v1/book/{isbn}")
+    public Mono<CatalogBook> getBookByIsbn(@PathVariable Long isbn) {
+        return catalogService.getBookByIsbn(isbn);
+    }
+
+    /**
+     * Retrieves books by genre as a JSON array.
+     *
+     * @param genre The genre of the books.
+     * @return The books in the specified genre, or HTTP 204 if none found.
+     */
+    @GetMapping(path = "/api/v1/book/genre/{genre}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<CatalogBook>>> getBooksByGenre(@PathVariable String genre) {
+        return catalogService.getBooksByGenre(genre)
+                .collectList()
+                .map(books -> books.isEmpty() ? ResponseEntity.noContent().<List<CatalogBook>>build() : ResponseEntity.ok(books));
+    }
+
+    /**
+     * Streams books by genre.
+     *
+     * @param genre The genre of the books.
+     * @return Flux of the books in the specified genre.
+     */
+    @GetMapping(path = "/api/v1/book/genre/{genre}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CatalogBook> streamBooksByGenre(@PathVariable String genre) {
+        return catalogService.getBooksByGenre(genre);
+    }
+
+    /**
+     * Retrieves the top-selling books.
+     *
+     * @return Flux of the top-selling books.
+     */
+    @GetMapping(path = "/api/v1/book/top-sellers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CatalogBook> getTopSellingBooks() {
+        return catalogService.getTopSellingBooks();
+    }
+
+    /**
+     * Retrieves books by rating.
+     *
+     * @param rating The minimum rating threshold.
+     * @return Flux of the books with the specified minimum rating.
+     */
+    @GetMapping(path = "/api/v1/book/by-rating/{rating}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CatalogBook> getBooksByRating(@PathVariable double rating) {
+        return catalogService.getBooksByRating(rating);
+    }
+
+    /**
+     * Retrieves the average rating for a book.
+     *
+     * @param bookId The ID of the book.
+     * @return Mono of the average rating for the book.
+     */
+    @GetMapping("/api/v1/book/{bookId}/average-rating")
+    public Mono<Double> getBookAverageRating(@PathVariable Long bookId) {
+        return catalogService.getAverageRatingForBook(bookId);
+    }
+
+    /**
+     * Retrieves all books by an author.
+     *
+     * @param authorId The ID of the author.
+     * @return Flux of the books by the author.
+     */
+    @GetMapping(path = "/api/v1/authors/{authorId}/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CatalogBook> getBooksByAuthor(@PathVariable Long authorId) {
+        return catalogService.getBooksByAuthorId(authorId);
+    }
+
+    /**
+     * Retrieves all comments on a book.
+     *
+     * @param bookId The ID of the book.
+     * @return Flux of the comments on the book.
+     */
+    @GetMapping(path = "/api/v1/comments/by-book/{bookId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CatalogComment> getCommentsByBookId(@PathVariable Long bookId) {
+        return catalogService.getCommentsByBookId(bookId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service layer for read-only catalog queries.
+ *
+ * Multi-row results are requested from the database in batches of {@value #PREFETCH} rows, so a slow
+ * client slows down the query instead of the whole result set being buffered in memory.
+ */
+@Service
+public class CatalogService {
+
+    private static final int PREFETCH = 256;
+
+    private final CatalogBookRepository bookRepository; // Repository for reading books
+    private final CatalogCommentRepository commentRepository; // Repository for reading comments
+
+    /**
+     * Constructor to inject dependencies.
+     *
+     * @param bookRepository    Repository for reading books.
+     * @param commentRepository Repository for reading comments.
+     */
+    @Autowired
+    public CatalogService(CatalogBookRepository bookRepository, CatalogCommentRepository commentRepository) {
+        this.bookRepository = bookRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    /**
+     * Streams all books.
+     */
+    public Flux<CatalogBook> getBooks() {
+        return bookRepository.findAll().limitRate(PREFETCH);
+    }
+
+    /**
+     * Retrieves a book by its ISBN.
+     *
+     * @throws IllegalStateException (as an error signal) if no book has the ISBN.
+     */
+    public Mono<CatalogBook> getBookByIsbn(Long isbn) {
+        return bookRepository.findByIsbn(isbn)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Book with ISBN " + isbn + " does not exist")));
+    }
+
+    /**
+     * Streams the books in a genre.
+     */
+    public Flux<CatalogBook> getBooksByGenre(String genre) {
+        return bookRepository.findByGenre(genre).limitRate(PREFETCH);
+    }
+
+    /**
+     * Streams the ten top-selling books.
+     */
+    public Flux<CatalogBook> getTopSellingBooks() {
+        return bookRepository.findTop10ByOrderByCopiesSoldDesc();
+    }
+
+    /**
+     * Streams the books with at least the given rating.
+     */
+    public Flux<CatalogBook> getBooksByRating(double rating) {
+        return bookRepository.findByRatingGreaterThanEqual(rating).limitRate(PREFETCH);
+    }
+
+    /**
+     * Calculates the average rating for a book based on its ratings.
+     *
+     * @throws IllegalStateException (as an error signal) if the book does not exist.
+     */
+    public Mono<Double> getAverageRatingForBook(Long bookId) {
+        return bookRepository.existsById(bookId)
+                .flatMap(exists -> exists
+                        ? bookRepository.findAverageRatingByBookId(bookId)
+                        : Mono.error(new IllegalStateException("Book with ID " + bookId + " does not exist")));
+    }
+
+    /**
+     * Streams the books by an author.
+     *
+     * @throws IllegalStateException (as an error signal) if the author does not exist.
+     */
+    public Flux<CatalogBook> getBooksByAuthorId(Long authorId) {
+        return bookRepository.existsAuthorById(authorId)
+                .flatMapMany(exists -> exists
+                        ? bookRepository.findByAuthorId(authorId).limitRate(PREFETCH)
+                        : Flux.error(new IllegalStateException("Author with id " + authorId + " does not exist")));
+    }
+
+    /**
+     * Streams the comments on a book, oldest first.
+     */
+    public Flux<CatalogComment> getCommentsByBookId(Long bookId) {
+        return commentRepository.findByBookIdOrderByDateCommentedAsc(bookId).limitRate(PREFETCH);
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.davidreyes.booksapi.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * Integration tests for the CatalogController class against the embedded database, created by the MVC API's
+ * migrations and seeded after them.
+ * Verifies JSON and streamed (NDJSON) responses, and the error and empty-result mappings
+ * shared with the MVC API.
+ */
+@SpringBootTest(properties = "spring.flyway.locations=classpath:db/migration,classpath:db/catalog-test-data")
+@AutoConfigureWebTestClient
+@ActiveProfiles("embedded")
+class CatalogControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * Verifies that a book can be retrieved by its ISBN and that unknown ISBNs return 404.
+     */
+    @Test
+    void getBookByIsbnShouldReturnBookOrNotFound() {
+        webTestClient.get().uri("/api/v1/book/9780743273565").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bookName").isEqualTo("The Great Gatsby")
+                .jsonPath("$.authorId").isEqualTo(1);
+
+        webTestClient.get().uri("/api/v1/book/1").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Verifies that books by genre are returned as a JSON array, and that an unknown genre returns 204.
+     */
+    @Test
+    void getBooksByGenreShouldReturnJsonArrayOrNoContent() {
+        webTestClient.get().uri("/api/v1/book/genre/Fiction").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+
+        webTestClient.get().uri("/api/v1/book/genre/Poetry").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isNoContent();
+    }
+
+    /**
+     * Verifies that the top sellers are streamed as NDJSON in order of copies sold.
+     */
+    @Test
+    void topSellersShouldStreamAsNdjson() {
+        Flux<CatalogBook> books = webTestClient.get().uri("/api/v1/book/top-sellers").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CatalogBook.class)
+                .getResponseBody();
+
+        StepVerifier.create(books.map(CatalogBook::id))
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+    }
+
+    /**
+     * Verifies the average rating, author and comment endpoints.
+     */
+    @Test
+    void relatedEndpointsShouldMatchMvcApi() {
+        webTestClient.get().uri("/api/v1/book/1/average-rating").exchange()
+                .expectStatus().isOk()
+                .expectBody(Double.class).isEqualTo(4.5);
+
+        webTestClient.get().uri("/api/v1/book/99/average-rating").exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get().uri("/api/v1/authors/1/books").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+
+        webTestClient.get().uri("/api/v1/comments/by-book/1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].comment").isEqualTo("A classic")
+                .jsonPath("$[1].comment").isEqualTo("Still relevant");
+    }
+}
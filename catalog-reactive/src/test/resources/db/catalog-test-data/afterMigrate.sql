@@ -0,0 +1,16 @@
+-- Seeds the catalog tests; a Flyway callback, so it runs after the MVC API's migrations created the tables.
+
+INSERT INTO author (id, first_name, last_name, biography, publisher) VALUES
+    (1, 'F. Scott', 'Fitzgerald', 'Short biography of F. Scott Fitzgerald', 'Charles Scribner''s Sons'),
+    (2, 'Harper', 'Lee', 'Short biography of Harper Lee', 'J. B. Lippincott & Co.');
+
+INSERT INTO books (id, isbn, book_name, book_description, price, author_id, genre, publisher, year_published, copies_sold, rating) VALUES
+    (1, 9780743273565, 'The Great Gatsby', 'A novel set in the Roaring Twenties', 20, 1, 'Fiction', 'Charles Scribner''s Sons', 1925, 5000000, 4.5),
+    (2, 9780061120084, 'To Kill a Mockingbird', 'A novel about innocence and experience', 15, 2, 'Historical Fiction', 'J. B. Lippincott & Co.', 1960, 3000000, 4.0),
+    (3, 9780684801520, 'Tender Is the Night', 'A novel set on the French Riviera', 18, 1, 'Fiction', 'Charles Scribner''s Sons', 1934, 1000000, 3.5);
+
+INSERT INTO rating (rating, book_id, date_rated) VALUES (5, 1, CURRENT_TIMESTAMP), (4, 1, CURRENT_TIMESTAMP);
+
+INSERT INTO comment (comment, book_id, date_commented) VALUES
+    ('A classic', 1, TIMESTAMP '2024-01-01 10:00:00'),
+    ('Still relevant', 1, TIMESTAMP '2024-01-02 10:00:00');
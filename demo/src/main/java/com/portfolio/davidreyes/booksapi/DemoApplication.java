@@ -2,12 +2,18 @@ package com.portfolio.davidreyes.booksapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The main entry point for the Books API application.
  * This class bootstraps the Spring Boot application.
+ * {@code @Async} methods and {@code @Scheduled} jobs run on Spring Boot's task executor and scheduler,
+ * which use virtual threads when the {@code virtual-threads} profile is active.
  */
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
 public class DemoApplication {
 
 	/**
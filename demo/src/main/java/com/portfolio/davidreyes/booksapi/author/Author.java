@@ -3,17 +3,26 @@ package com.portfolio.davidreyes.booksapi.author;
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,8 +36,11 @@ import java.util.Set;
  * - @Getter, @Setter: Lombok annotations to generate getter and setter methods.
  * - @JsonIdentityInfo: Prevents infinite recursion when serializing relationships.
  * - @JsonIgnoreProperties: Ignores Hibernate-specific properties during serialization.
+ * - @Cacheable, @Cache: Keeps authors in the "authors" region of the second-level cache.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
 @Getter
 @Setter
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
@@ -70,10 +82,30 @@ public class Author {
      * - @OneToMany: Specifies the relationship and mapping details.
      * - cascade = CascadeType.ALL: Propagates all operations (persist, merge, remove) to the associated books.
      * - fetch = FetchType.LAZY: Loads books lazily, meaning they are fetched only when accessed.
+     * - @Cache: Keeps the IDs of the books in the "author-books" region of the second-level cache.
      */
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author-books")
     private Set<Books> books = new HashSet<>();
 
+    /**
+     * The version of the author, incremented by every update.
+     * Used for optimistic locking and as the validator of its HTTP representation.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * The time the author was created or last updated.
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
+
     /**
      * Default constructor required by JPA.
      */
@@ -2,11 +2,16 @@ package com.portfolio.davidreyes.booksapi.author;
 
 import com.portfolio.davidreyes.booksapi.books.BooksService;
 import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.job.Job;
+import com.portfolio.davidreyes.booksapi.job.JobController;
+import com.portfolio.davidreyes.booksapi.job.JobService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing authors and their related books.
@@ -16,7 +21,7 @@ import java.util.List;
  * - POST /api/v1/authors: Register a new author.
  * - POST /api/v1/authors/register/multiple: Register multiple authors at once.
  * - GET /api/v1/authors/{authorId}/books: Get books by a specific author.
- * - DELETE /api/v1/authors/remove-duplicates: Remove duplicate authors.
+ * - DELETE /api/v1/authors/remove-duplicates: Start a background job removing duplicate authors.
  */
 @RestController
 @RequestMapping("/api/v1/authors")
@@ -24,17 +29,20 @@ public class AuthorController {
 
     private final AuthorService authorService;
     private final BooksService booksService;
+    private final JobService jobService;
 
     /**
      * Constructor for injecting required services.
      *
      * @param authorService Service for managing authors.
      * @param booksService  Service for managing books.
+     * @param jobService    Service running the bulk operations as background jobs.
      */
     @Autowired
-    public AuthorController(AuthorService authorService, BooksService booksService) {
+    public AuthorController(AuthorService authorService, BooksService booksService, JobService jobService) {
         this.authorService = authorService;
         this.booksService = booksService;
+        this.jobService = jobService;
     }
 
     /**
@@ -63,22 +71,22 @@ public class AuthorController {
      * Endpoint to retrieve books written by a specific author.
      *
      * @param authorId The ID of the author whose books are to be retrieved.
-     * @return A ResponseEntity containing a list of books.
+     * @return A ResponseEntity containing a list of books with its ETag and Last-Modified validators,
+     *         or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/{authorId}/books")
-    public ResponseEntity<List<Books>> getBooksByAuthor(@PathVariable Long authorId) {
-        List<Books> books = booksService.getBooksByAuthorId(authorId);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<Books>> getBooksByAuthor(@PathVariable Long authorId, WebRequest request) {
+        List<Long> bookIds = booksService.getBookIdsByAuthorId(authorId);
+        return booksService.getCatalogTag(bookIds).ok(request, () -> booksService.getBooksById(bookIds));
     }
 
     /**
-     * Endpoint to remove duplicate authors from the database.
+     * Endpoint to start a job removing duplicate authors from the database.
      *
-     * @return A ResponseEntity containing a success message.
+     * @return HTTP 202 response with the job, to be followed at /api/v1/jobs/{jobId}.
      */
     @DeleteMapping("/remove-duplicates")
-    public ResponseEntity<String> removeDuplicateAuthors() {
-        authorService.removeDuplicateAuthors();
-        return ResponseEntity.ok("Duplicate authors removed successfully");
+    public ResponseEntity<Job> removeDuplicateAuthors() {
+        return JobController.accepted(jobService.submit(RemoveDuplicateAuthorsJob.TYPE, Map.of()));
     }
 }
@@ -1,7 +1,10 @@
 package com.portfolio.davidreyes.booksapi.author;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing Author entities.
  *
@@ -16,4 +19,24 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - and more.
  */
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    /**
+     * Finds the authors following an ID in ID order, to walk them in chunks.
+     *
+     * @param id       The ID to start after.
+     * @param pageable The maximum number of authors to return.
+     * @return The authors.
+     */
+    List<Author> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Checks whether an author with a lower ID has the same name and publisher; null values match null values.
+     *
+     * @param firstName The first name.
+     * @param lastName  The last name.
+     * @param publisher The publisher.
+     * @param id        The ID of the author.
+     * @return Whether the author duplicates an earlier one.
+     */
+    boolean existsByFirstNameAndLastNameAndPublisherAndIdLessThan(String firstName, String lastName, String publisher, Long id);
 }
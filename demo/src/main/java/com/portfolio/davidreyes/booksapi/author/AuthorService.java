@@ -3,15 +3,14 @@ package com.portfolio.davidreyes.booksapi.author;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Service class for managing Author entities.
  *
  * This class contains business logic for managing authors, such as adding
- * new authors, adding multiple authors, and removing duplicate authors.
+ * new authors and adding multiple authors. Duplicate authors are removed by
+ * the {@link RemoveDuplicateAuthorsJob} background job.
  *
  * Responsibilities:
  * - Interacts with the AuthorRepository to perform database operations.
@@ -49,29 +48,4 @@ public class AuthorService {
     public void addAuthors(List<Author> authors) {
         authorRepository.saveAll(authors);
     }
-
-    /**
-     * Removes duplicate authors from the database.
-     *
-     * A duplicate is defined as an author with the same first name, last name,
-     * and publisher. This method iterates through all authors, uses a HashSet
-     * to identify duplicates, and deletes them from the database.
-     */
-    public void removeDuplicateAuthors() {
-        // Fetch all authors from the database
-        List<Author> allAuthors = authorRepository.findAll();
-
-        // Use a HashSet to track unique authors
-        Set<String> uniqueAuthors = new HashSet<>();
-
-        for (Author author : allAuthors) {
-            // Create a unique key based on firstName, lastName, and publisher
-            String authorKey = author.getFirstName() + "|" + author.getLastName() + "|" + author.getPublisher();
-
-            // If the key already exists, delete the duplicate author
-            if (!uniqueAuthors.add(authorKey)) {
-                authorRepository.delete(author);
-            }
-        }
-    }
 }
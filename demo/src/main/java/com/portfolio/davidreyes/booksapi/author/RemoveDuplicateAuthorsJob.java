@@ -0,0 +1,68 @@
+package com.portfolio.davidreyes.booksapi.author;
+
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
+import com.portfolio.davidreyes.booksapi.job.JobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job removing duplicate authors.
+ *
+ * A duplicate is an author with the same first name, last name and publisher as an author with a lower ID.
+ * Authors are walked in ID order, so the first of each is the one kept. The books of a deleted author are
+ * deleted with it, and announced as such.
+ */
+@Component
+public class RemoveDuplicateAuthorsJob implements JobHandler {
+
+    /**
+     * The job type.
+     */
+    public static final String TYPE = "remove-duplicate-authors";
+
+    private final AuthorRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor for injecting the dependencies.
+     *
+     * @param authorRepository The repository for managing Author entities.
+     * @param eventPublisher   Publisher of the {@link BookChangedEvent}s of books deleted with their author.
+     */
+    @Autowired
+    public RemoveDuplicateAuthorsJob(AuthorRepository authorRepository, ApplicationEventPublisher eventPublisher) {
+        this.authorRepository = authorRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public long count(Map<String, String> parameters) {
+        return authorRepository.count();
+    }
+
+    @Override
+    public Chunk process(Map<String, String> parameters, Long checkpoint, int chunkSize) {
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderById(checkpoint == null ? Long.MIN_VALUE : checkpoint,
+                PageRequest.of(0, chunkSize));
+        int removed = 0;
+        for (Author author : authors) {
+            if (authorRepository.existsByFirstNameAndLastNameAndPublisherAndIdLessThan(
+                    author.getFirstName(), author.getLastName(), author.getPublisher(), author.getId())) {
+                author.getBooks().forEach(book -> eventPublisher.publishEvent(BookChangedEvent.deleted(book)));
+                authorRepository.delete(author);
+                removed++;
+            }
+        }
+        return new Chunk(authors.isEmpty() ? checkpoint : authors.get(authors.size() - 1).getId(), authors.size(), removed);
+    }
+}
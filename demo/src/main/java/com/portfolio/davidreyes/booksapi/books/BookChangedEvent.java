@@ -0,0 +1,87 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Application event published whenever a book is created, updated or deleted.
+ *
+ * Carries the book's author and listing attributes before and after the change, so listeners can tell
+ * which lists it entered or left: {@code before} is null for a new book and {@code after} is null for a
+ * deleted one. Changes to the book's ratings or comments are published with identical snapshots.
+ * As a domain event it is also written to the outbox, under the book's ID.
+ *
+ * @param bookId The ID of the book.
+ * @param before The book's attributes before the change, or null if it was created.
+ * @param after  The book's attributes after the change, or null if it was deleted.
+ */
+public record BookChangedEvent(Long bookId, Snapshot before, Snapshot after) implements DomainEvent {
+
+    /**
+     * The aggregate type of the events about a book, its ratings and its comments.
+     */
+    public static final String AGGREGATE_TYPE = "book";
+
+    /**
+     * Creates the event for a new book.
+     *
+     * @param book The saved book.
+     * @return The event.
+     */
+    public static BookChangedEvent created(Books book) {
+        return new BookChangedEvent(book.getId(), null, Snapshot.of(book));
+    }
+
+    /**
+     * Creates the event for a changed book.
+     *
+     * @param before The book's attributes before the change.
+     * @param book   The changed book.
+     * @return The event.
+     */
+    public static BookChangedEvent updated(Snapshot before, Books book) {
+        return new BookChangedEvent(book.getId(), before, Snapshot.of(book));
+    }
+
+    /**
+     * Creates the event for a deleted book.
+     *
+     * @param book The book as it was before deletion.
+     * @return The event.
+     */
+    public static BookChangedEvent deleted(Books book) {
+        return new BookChangedEvent(book.getId(), Snapshot.of(book), null);
+    }
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return bookId;
+    }
+
+    /**
+     * The author of a book and the attributes book lists are selected or ordered by.
+     *
+     * @param authorId   The ID of the author, or null if the book has none.
+     * @param genre      The genre.
+     * @param price      The price.
+     * @param rating     The average rating.
+     * @param copiesSold The number of copies sold.
+     */
+    public record Snapshot(Long authorId, String genre, Integer price, double rating, Integer copiesSold) {
+
+        /**
+         * Captures the current attributes of a book.
+         *
+         * @param book The book.
+         * @return The snapshot.
+         */
+        public static Snapshot of(Books book) {
+            Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+            return new Snapshot(authorId, book.getGenre(), book.getPrice(), book.getRating(), book.getCopiesSold());
+        }
+    }
+}
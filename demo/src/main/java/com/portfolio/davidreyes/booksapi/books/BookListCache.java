@@ -0,0 +1,171 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of the results of the book list queries: books by genre, books by minimum rating
+ * and top sellers.
+ *
+ * Each entry is an immutable snapshot of the matching book IDs, keyed by query and parameter; the books
+ * themselves are loaded by ID through the second-level cache, so they are always current and managed by
+ * the caller's persistence context. Concurrent misses on the same key wait for a single load.
+ *
+ * Entries are invalidated by {@link BookChangedEvent}s, only where the change can alter the result:
+ * the lists of the book's old and new genre when it is created, deleted or moves genre, the rating lists
+ * whose threshold it crossed, and the top sellers when copies sold change. Price and detail changes
+ * invalidate nothing, as they cannot change which IDs a list holds. With read replicas, the lists are
+ * invalidated again on the {@link BookReplicatedEvent} of the change.
+ *
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged {@code cache=book-lists}.
+ */
+@Component
+public class BookListCache implements MeterBinder {
+
+    private final Cache<Key, List<Long>> idsByQuery;
+
+    /**
+     * Creates the cache with the configured bound.
+     *
+     * @param maximumSize The maximum number of lists kept in memory.
+     */
+    public BookListCache(@Value("${booksapi.book-list-cache.maximum-size:1000}") long maximumSize) {
+        this.idsByQuery = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Registers the cache's statistics with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, idsByQuery, "book-lists");
+    }
+
+    /**
+     * Returns the cached IDs for a query, loading and caching them on a miss.
+     *
+     * @param key    The query and its parameter.
+     * @param loader Function running the query.
+     * @return The immutable list of book IDs.
+     */
+    public List<Long> get(Key key, Function<Key, List<Long>> loader) {
+        return idsByQuery.get(key, query -> List.copyOf(loader.apply(query)));
+    }
+
+    /**
+     * Invalidates the lists a book change affects.
+     * When called inside a transaction, they are invalidated again after completion so that a
+     * concurrent reader cannot re-populate them with data from before the change.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(event);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidates the lists a book change affects again, once read replicas have applied it.
+     *
+     * @param event The replicated change.
+     */
+    @EventListener
+    public void onBookReplicated(BookReplicatedEvent event) {
+        invalidate(event.change());
+    }
+
+    /**
+     * Removes the lists whose content may differ after a change.
+     */
+    private void invalidate(BookChangedEvent event) {
+        BookChangedEvent.Snapshot before = event.before();
+        BookChangedEvent.Snapshot after = event.after();
+        boolean createdOrDeleted = before == null || after == null;
+
+        if (createdOrDeleted || !Objects.equals(before.genre(), after.genre())) {
+            if (before != null && before.genre() != null) {
+                idsByQuery.invalidate(Key.genre(before.genre()));
+            }
+            if (after != null && after.genre() != null) {
+                idsByQuery.invalidate(Key.genre(after.genre()));
+            }
+        }
+        idsByQuery.asMap().keySet().removeIf(key -> key.query() == Query.MIN_RATING
+                && atLeast(before, key.minRating()) != atLeast(after, key.minRating()));
+        if (createdOrDeleted || !Objects.equals(before.copiesSold(), after.copiesSold())) {
+            idsByQuery.invalidate(Key.topSellers());
+        }
+    }
+
+    /**
+     * Checks whether a book is in a minimum rating list.
+     */
+    private static boolean atLeast(BookChangedEvent.Snapshot book, double minRating) {
+        return book != null && book.rating() >= minRating;
+    }
+
+    /**
+     * The cached book list queries.
+     */
+    public enum Query {
+        GENRE, MIN_RATING, TOP_SELLERS
+    }
+
+    /**
+     * A query and its parameter.
+     *
+     * @param query     The query.
+     * @param genre     The genre, for {@link Query#GENRE}.
+     * @param minRating The minimum rating, for {@link Query#MIN_RATING}.
+     */
+    public record Key(Query query, String genre, double minRating) {
+
+        /**
+         * @param genre The genre.
+         * @return The key of the books in a genre.
+         */
+        public static Key genre(String genre) {
+            return new Key(Query.GENRE, genre, 0);
+        }
+
+        /**
+         * @param minRating The minimum rating.
+         * @return The key of the books rated at least a value.
+         */
+        public static Key minRating(double minRating) {
+            return new Key(Query.MIN_RATING, null, minRating);
+        }
+
+        /**
+         * @return The key of the top sellers.
+         */
+        public static Key topSellers() {
+            return new Key(Query.TOP_SELLERS, null, 0);
+        }
+    }
+}
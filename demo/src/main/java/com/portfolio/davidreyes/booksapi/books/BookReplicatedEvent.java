@@ -0,0 +1,13 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+/**
+ * Application event published when read replicas are expected to have applied a book change, the
+ * replica lag after its {@link BookChangedEvent}. Only published when read replicas are configured.
+ *
+ * Caches invalidated by the change invalidate again on this event, in case a read served by a replica
+ * that had not applied the change yet re-populated them in the meantime.
+ *
+ * @param change The change.
+ */
+public record BookReplicatedEvent(BookChangedEvent change) {
+}
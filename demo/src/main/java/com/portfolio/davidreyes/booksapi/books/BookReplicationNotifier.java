@@ -0,0 +1,95 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.author.Author;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Re-invalidates the caches of a book change once read replicas are expected to have applied it.
+ *
+ * Caches are invalidated when a change commits, but until the replicas apply it, a read-only transaction
+ * on a replica can load the old state and cache it again. {@code booksapi.datasource.replica.max-lag} after
+ * the commit, this evicts the book and its author's book collection from the second-level cache and
+ * publishes a {@link BookReplicatedEvent} for the application caches.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.datasource.replica.urls")
+public class BookReplicationNotifier {
+
+    private static final String AUTHOR_BOOKS_ROLE = Author.class.getName() + ".books";
+
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionFactory sessionFactory;
+    private final Duration maxLag;
+
+    /**
+     * Creates the notifier.
+     *
+     * @param taskScheduler        Scheduler running the delayed invalidations.
+     * @param eventPublisher       Publisher of the {@link BookReplicatedEvent}s.
+     * @param entityManagerFactory The entity manager factory owning the second-level cache.
+     * @param maxLag               The longest time the replicas are expected to take to apply a commit.
+     */
+    @Autowired
+    public BookReplicationNotifier(TaskScheduler taskScheduler, ApplicationEventPublisher eventPublisher,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${booksapi.datasource.replica.max-lag:1s}") Duration maxLag) {
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Schedules the invalidation for the replica lag after the change commits.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(event);
+            }
+        });
+    }
+
+    /**
+     * Schedules the invalidation of a change.
+     */
+    private void schedule(BookChangedEvent event) {
+        taskScheduler.schedule(() -> {
+            sessionFactory.getCache().evictEntityData(Books.class, event.bookId());
+            evictAuthorBooks(event.before());
+            evictAuthorBooks(event.after());
+            eventPublisher.publishEvent(new BookReplicatedEvent(event));
+        }, Instant.now().plus(maxLag));
+    }
+
+    /**
+     * Evicts the cached book collection of a book's author.
+     */
+    private void evictAuthorBooks(BookChangedEvent.Snapshot book) {
+        if (book != null && book.authorId() != null) {
+            sessionFactory.getCache().evictCollectionData(AUTHOR_BOOKS_ROLE, book.authorId());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of the versions the JSON of a single book is made of: those of the book, of its author
+ * and, summed up, of the author's books.
+ * Values are computed by one grouped query across a list of books, without loading the entities.
+ */
+public interface BookVersion {
+
+    /**
+     * @return The ID of the book.
+     */
+    Long getBookId();
+
+    /**
+     * @return The version of the book.
+     */
+    Long getVersion();
+
+    /**
+     * @return The last modification time of the book.
+     */
+    Instant getLastModified();
+
+    /**
+     * @return The ID of the author, or null if the book has none.
+     */
+    Long getAuthorId();
+
+    /**
+     * @return The version of the author, or null if the book has none.
+     */
+    Long getAuthorVersion();
+
+    /**
+     * @return The last modification time of the author, or null if the book has none.
+     */
+    Instant getAuthorLastModified();
+
+    /**
+     * @return The number of books of the author, including this one.
+     */
+    Long getAuthorBookCount();
+
+    /**
+     * @return The sum of the IDs of the author's books, or null if the book has no author.
+     */
+    Long getAuthorBookIdSum();
+
+    /**
+     * @return The sum of the versions of the author's books, or null if the book has no author.
+     */
+    Long getAuthorBookVersionSum();
+
+    /**
+     * @return The latest modification time of the author's books, or null if the book has no author.
+     */
+    Instant getAuthorBooksLastModified();
+}
@@ -5,12 +5,18 @@ import com.portfolio.davidreyes.booksapi.comment.Comment;
 import com.portfolio.davidreyes.booksapi.rating.Rating;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,9 +31,15 @@ import java.util.List;
  * - @Table(name = "books"): Specifies the table name in the database.
  * - @JsonIdentityInfo: Prevents infinite recursion when serializing relationships.
  * - @JsonIgnoreProperties: Ignores Hibernate-specific properties during serialization.
+ * - @Cacheable, @Cache: Keeps books in the "books" region of the second-level cache.
+ *
+ * The version and last modified time also change when a rating or comment is added to the book
+ * (see {@link #markModified()}), as both are part of its representation.
  */
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 @NoArgsConstructor
 @Getter
 @Setter
@@ -116,6 +128,24 @@ public class Books {
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * The version of the book, incremented by every update.
+     * Used for optimistic locking and as the validator of its HTTP representation.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * The time the book was created or last updated.
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
+
     /**
      * Constructs a new Book with the given details.
      *
@@ -140,4 +170,12 @@ public class Books {
         this.yearPublished = yearPublished;
         this.copiesSold = copiesSold;
     }
+
+    /**
+     * Marks the book as modified, so that its version and last modified time advance on flush
+     * even when none of its columns changed, e.g. after a rating or comment was added to it.
+     */
+    public void markModified() {
+        this.lastModified = Instant.now();
+    }
 }
@@ -1,11 +1,18 @@
 package com.portfolio.davidreyes.booksapi.books;
 
+import com.portfolio.davidreyes.booksapi.job.Job;
+import com.portfolio.davidreyes.booksapi.job.JobController;
+import com.portfolio.davidreyes.booksapi.job.JobService;
+import com.portfolio.davidreyes.booksapi.leaderboard.LeaderboardService;
+import com.portfolio.davidreyes.booksapi.leaderboard.RankedBook;
+import com.portfolio.davidreyes.booksapi.recommendation.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,8 +22,16 @@ import org.slf4j.LoggerFactory;
  *
  * This controller provides endpoints for CRUD operations and additional features like:
  * - Fetching books by genre, rating, or top sellers.
+ * - Ranking the top rated books, overall or per genre, by Bayesian average rating.
  * - Updating book details, prices, or ratings.
  * - Removing duplicates and calculating average ratings.
+ * - Recommending the books most often had together with a book.
+ *
+ * Removing duplicates and discounting a publisher's prices run as background jobs: the request answers
+ * 202 Accepted with the job, to be followed at /api/v1/jobs/{jobId}.
+ *
+ * Single books and book lists are returned with an ETag and a Last-Modified header (see {@link CatalogTag});
+ * a conditional GET whose validators still match is answered with 304 Not Modified and no body.
  *
  * Base URL: /api/v1/book
  */
@@ -26,15 +41,25 @@ public class BooksController {
 
     private static final Logger logger = LoggerFactory.getLogger(BooksController.class);
     private final BooksService bookService;
+    private final JobService jobService;
+    private final RecommendationService recommendationService;
+    private final LeaderboardService leaderboardService;
 
     /**
-     * Constructor for injecting the BooksService dependency.
+     * Constructor for injecting the dependencies.
      *
-     * @param bookService Service layer for book management operations.
+     * @param bookService           Service layer for book management operations.
+     * @param jobService            Service running the bulk operations as background jobs.
+     * @param recommendationService Service recommending similar books.
+     * @param leaderboardService    Service ranking the top rated books.
      */
     @Autowired
-    public BooksController(BooksService bookService) {
+    public BooksController(BooksService bookService, JobService jobService, RecommendationService recommendationService,
+                           LeaderboardService leaderboardService) {
         this.bookService = bookService;
+        this.jobService = jobService;
+        this.recommendationService = recommendationService;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -102,26 +127,26 @@ public class BooksController {
      * Retrieves a book by its ISBN.
      *
      * @param isbn The ISBN of the book.
-     * @return The book with the given ISBN.
+     * @return The book with the given ISBN, or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/{isbn}")
-    public Books getBookByIsbn(@PathVariable Long isbn) {
-        return bookService.getBookByIsbn(isbn);
+    public ResponseEntity<Books> getBookByIsbn(@PathVariable Long isbn, WebRequest request) {
+        Long bookId = bookService.getBookIdByIsbn(isbn);
+        return bookService.getCatalogTag(List.of(bookId)).ok(request, () -> bookService.getBookByIsbn(isbn));
     }
 
     /**
      * Retrieves books by genre.
      *
      * @param genre The genre of the books.
-     * @return A list of books in the specified genre or HTTP 204 if none found.
+     * @return A list of books in the specified genre, HTTP 204 if none found or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<Books>> getBooksByGenre(@PathVariable String genre) {
-        Optional<List<Books>> optionalBooks = bookService.getBooksByGenre(genre);
-        if (optionalBooks.isPresent()) {
-            List<Books> books = optionalBooks.get();
-            logger.info("Returning books: {}", books);
-            return ResponseEntity.ok().body(books);
+    public ResponseEntity<List<Books>> getBooksByGenre(@PathVariable String genre, WebRequest request) {
+        List<Long> bookIds = bookService.getBookIdsByGenre(genre);
+        if (!bookIds.isEmpty()) {
+            logger.info("Returning {} books for genre: {}", bookIds.size(), genre);
+            return bookService.getCatalogTag(bookIds).ok(request, () -> bookService.getBooksById(bookIds));
         } else {
             logger.info("No books found for genre: {}", genre);
             return ResponseEntity.noContent().build();
@@ -131,24 +156,37 @@ public class BooksController {
     /**
      * Retrieves the top-selling books.
      *
-     * @return A list of top-selling books.
+     * @return A list of top-selling books, or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/top-sellers")
-    public ResponseEntity<List<Books>> getTopSellingBooks() {
-        List<Books> books = bookService.getTopSellingBooks();
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<Books>> getTopSellingBooks(WebRequest request) {
+        List<Long> bookIds = bookService.getTopSellingBookIds();
+        return bookService.getCatalogTag(bookIds).ok(request, () -> bookService.getBooksById(bookIds));
     }
 
     /**
      * Retrieves books by rating.
      *
      * @param rating The minimum rating threshold.
-     * @return A list of books with the specified minimum rating.
+     * @return A list of books with the specified minimum rating, or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/by-rating/{rating}")
-    public ResponseEntity<List<Books>> getBooksByRating(@PathVariable double rating) {
-        List<Books> books = bookService.getBooksByRating(rating);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<Books>> getBooksByRating(@PathVariable double rating, WebRequest request) {
+        List<Long> bookIds = bookService.getBookIdsByRating(rating);
+        return bookService.getCatalogTag(bookIds).ok(request, () -> bookService.getBooksById(bookIds));
+    }
+
+    /**
+     * Retrieves the top rated books, ranked by their Bayesian average rating, from memory.
+     *
+     * @param genre Optional genre; all books if absent.
+     * @param limit The largest number of books to return, 10 by default.
+     * @return The ranked books, best first.
+     */
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<RankedBook>> getTopRatedBooks(@RequestParam(required = false) String genre,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.topRated(genre, limit));
     }
 
     /**
@@ -165,16 +203,16 @@ public class BooksController {
     }
 
     /**
-     * Updates book prices by applying a discount for books by a specific publisher.
+     * Starts a job applying a discount to the prices of the books by a specific publisher.
      *
      * @param publisher The publisher of the books.
      * @param discount  The discount percentage to apply.
-     * @return HTTP 200 response if successful.
+     * @return HTTP 202 response with the job.
      */
     @PutMapping(path = "/update-price-by-publisher")
-    public ResponseEntity<Void> updateBookPricesByPublisher(@RequestParam String publisher, @RequestParam double discount) {
-        bookService.updateBookPricesByPublisher(publisher, discount);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Job> updateBookPricesByPublisher(@RequestParam String publisher, @RequestParam double discount) {
+        return JobController.accepted(jobService.submit(DiscountPricesByPublisherJob.TYPE,
+                DiscountPricesByPublisherJob.parameters(publisher, discount)));
     }
 
     /**
@@ -190,13 +228,24 @@ public class BooksController {
     }
 
     /**
-     * Removes duplicate books from the database.
+     * Retrieves the books that readers of a book also put in their cart or wishlist or rated well.
+     *
+     * @param bookId The ID of the book.
+     * @param limit  The largest number of books to return, 10 by default.
+     * @return The similar books, most similar first.
+     */
+    @GetMapping("/{bookId}/similar")
+    public ResponseEntity<List<Books>> getSimilarBooks(@PathVariable Long bookId, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.similarBooks(bookId, limit));
+    }
+
+    /**
+     * Starts a job removing duplicate books from the database.
      *
-     * @return A message indicating success.
+     * @return HTTP 202 response with the job.
      */
     @PostMapping("/remove-duplicates")
-    public ResponseEntity<String> removeDuplicateBooks() {
-        bookService.removeDuplicateBooks();
-        return ResponseEntity.ok("Duplicate books removed successfully");
+    public ResponseEntity<Job> removeDuplicateBooks() {
+        return JobController.accepted(jobService.submit(RemoveDuplicateBooksJob.TYPE, Map.of()));
     }
 }
@@ -1,10 +1,14 @@
 package com.portfolio.davidreyes.booksapi.books;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +19,7 @@ import java.util.Optional;
  * for interacting with the database.
  */
 @Repository
-public interface BooksRepository extends JpaRepository<Books, Long> {
+public interface BooksRepository extends JpaRepository<Books, Long>, BooksRepositoryCustom {
 
     /**
      * Finds a book by its ISBN.
@@ -25,13 +29,72 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
      */
     Optional<Books> findBookByIsbn(Long isbn);
 
+    /**
+     * Finds a book by its ID from the database and locks its row until the end of the transaction.
+     * Used before changes derived from the book's current state, such as a new average rating,
+     * so that concurrent changes are applied one after the other instead of failing the version check.
+     *
+     * @param id The ID of the book.
+     * @return An Optional containing the locked book if found, or empty if not.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Books b WHERE b.id = :id")
+    Optional<Books> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds books by ID from the database and locks their rows until the end of the transaction.
+     * Rows are locked in ID order, so two transactions locking overlapping books cannot deadlock.
+     *
+     * @param ids The IDs of the books.
+     * @return The locked books in the order of their IDs, leaving out IDs that do not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Books b WHERE b.id IN :ids ORDER BY b.id")
+    List<Books> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the ID of a book by its ISBN.
+     *
+     * @param isbn The ISBN of the book.
+     * @return An Optional containing the ID of the book if found, or empty if not.
+     */
+    @Query("SELECT b.id FROM Books b WHERE b.isbn = :isbn")
+    Optional<Long> findIdByIsbn(@Param("isbn") Long isbn);
+
+    /**
+     * Finds the versions the JSON of each book is made of, in one grouped query that loads neither the books
+     * nor the books of their authors.
+     *
+     * @param ids The IDs of the books.
+     * @return The versions of the books, in no particular order, leaving out IDs that do not exist.
+     */
+    @Query("SELECT b.id AS bookId, b.version AS version, b.lastModified AS lastModified, "
+            + "a.id AS authorId, a.version AS authorVersion, a.lastModified AS authorLastModified, "
+            + "COUNT(o.id) AS authorBookCount, SUM(o.id) AS authorBookIdSum, SUM(o.version) AS authorBookVersionSum, "
+            + "MAX(o.lastModified) AS authorBooksLastModified "
+            + "FROM Books b LEFT JOIN b.author a LEFT JOIN a.books o WHERE b.id IN :ids "
+            + "GROUP BY b.id, b.version, b.lastModified, a.id, a.version, a.lastModified")
+    List<BookVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds books by the author's ID.
+     * Filters on the foreign key column; a derived query would join the author and filter on its ID, which
+     * keeps the index on {@code author_id} from being used.
      *
      * @param authorId The ID of the author.
      * @return A list of books associated with the specified author.
      */
-    List<Books> findByAuthorId(Long authorId);
+    @Query("SELECT b FROM Books b WHERE b.author.id = :authorId")
+    List<Books> findByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Finds the IDs of the books of an author, filtering on the foreign key column like {@link #findByAuthorId(Long)}.
+     *
+     * @param authorId The ID of the author.
+     * @return The IDs of the author's books, in ascending order.
+     */
+    @Query("SELECT b.id FROM Books b WHERE b.author.id = :authorId ORDER BY b.id")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
 
     /**
      * Finds books by genre.
@@ -41,6 +104,15 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
      */
     List<Books> findByGenre(String genre);
 
+    /**
+     * Finds the IDs of the books in a genre.
+     *
+     * @param genre The genre of the books.
+     * @return The IDs of the books in the specified genre, in ascending order.
+     */
+    @Query("SELECT b.id FROM Books b WHERE b.genre = :genre ORDER BY b.id")
+    List<Long> findIdsByGenre(@Param("genre") String genre);
+
     /**
      * Finds the top-selling books, ordered by copies sold in descending order.
      *
@@ -50,6 +122,15 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
     @Query("SELECT b FROM Books b ORDER BY b.copiesSold DESC")
     List<Books> findTopSellers(Pageable pageable);
 
+    /**
+     * Finds the IDs of the top-selling books, ordered by copies sold in descending order.
+     *
+     * @param pageable Pageable object to limit the number of results.
+     * @return The IDs of the top-selling books.
+     */
+    @Query("SELECT b.id FROM Books b ORDER BY b.copiesSold DESC, b.id")
+    List<Long> findTopSellerIds(Pageable pageable);
+
     /**
      * Finds books with a rating greater than or equal to the specified value.
      *
@@ -58,6 +139,15 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
      */
     List<Books> findByRatingGreaterThanEqual(double rating);
 
+    /**
+     * Finds the IDs of the books with a rating greater than or equal to the specified value.
+     *
+     * @param rating The minimum rating threshold.
+     * @return The IDs of the matching books, in ascending order.
+     */
+    @Query("SELECT b.id FROM Books b WHERE b.rating >= :rating ORDER BY b.id")
+    List<Long> findIdsByRatingGreaterThanEqual(@Param("rating") double rating);
+
     /**
      * Finds books by publisher.
      *
@@ -65,4 +155,48 @@ public interface BooksRepository extends JpaRepository<Books, Long> {
      * @return A list of books published by the specified publisher.
      */
     List<Books> findByPublisher(String publisher);
+
+    /**
+     * Checks whether a publisher has any books.
+     *
+     * @param publisher The publisher.
+     * @return Whether any book has that publisher.
+     */
+    boolean existsByPublisher(String publisher);
+
+    /**
+     * Counts the books of a publisher.
+     *
+     * @param publisher The publisher.
+     * @return The number of books with that publisher.
+     */
+    long countByPublisher(String publisher);
+
+    /**
+     * Finds the books following an ID in ID order, to walk the catalog in chunks.
+     *
+     * @param id       The ID to start after.
+     * @param pageable The maximum number of books to return.
+     * @return The books.
+     */
+    List<Books> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Finds the books of a publisher following an ID in ID order, to walk them in chunks.
+     *
+     * @param publisher The publisher.
+     * @param id        The ID to start after.
+     * @param pageable  The maximum number of books to return.
+     * @return The books.
+     */
+    List<Books> findByPublisherAndIdGreaterThanOrderById(String publisher, Long id, Pageable pageable);
+
+    /**
+     * Checks whether a book with a lower ID has the same ISBN; a null ISBN matches the books without one.
+     *
+     * @param isbn The ISBN.
+     * @param id   The ID of the book.
+     * @return Whether the book duplicates an earlier one.
+     */
+    boolean existsByIsbnAndIdLessThan(Long isbn, Long id);
 }
@@ -0,0 +1,18 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import java.util.List;
+
+/**
+ * Custom query methods of {@link BooksRepository} that Spring Data cannot derive.
+ */
+public interface BooksRepositoryCustom {
+
+    /**
+     * Loads books by ID, taking those in the second-level cache from there and fetching the rest
+     * in a single query.
+     *
+     * @param ids The IDs of the books.
+     * @return The books in the order of their IDs, leaving out IDs that no longer exist.
+     */
+    List<Books> findAllByIdInOrder(List<Long> ids);
+}
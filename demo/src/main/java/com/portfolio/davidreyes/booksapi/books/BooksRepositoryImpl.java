@@ -0,0 +1,36 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementation of {@link BooksRepositoryCustom} on Hibernate's multi-ID loading.
+ */
+class BooksRepositoryImpl implements BooksRepositoryCustom {
+
+    // Entity manager of the caller's persistence context
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Books> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Books.class)
+                // Without an explicit cache mode, multi-loading skips the second-level cache
+                .with(CacheMode.NORMAL)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
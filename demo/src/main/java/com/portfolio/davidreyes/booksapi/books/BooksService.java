@@ -2,9 +2,15 @@ package com.portfolio.davidreyes.booksapi.books;
 
 import com.portfolio.davidreyes.booksapi.author.AuthorRepository;
 import com.portfolio.davidreyes.booksapi.author.Author;
+import com.portfolio.davidreyes.booksapi.isbn.Isbn;
 import com.portfolio.davidreyes.booksapi.rating.RatingRepository;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.portfolio.davidreyes.booksapi.rating.Rating;
@@ -19,19 +25,29 @@ import org.slf4j.LoggerFactory;
  */
 @Service
 public class BooksService {
+    private static final int COPIES_SOLD_BATCH_SIZE = 50;
     private static final Logger log = LoggerFactory.getLogger(BooksService.class);
     private final BooksRepository booksRepository;
     private final AuthorRepository authorRepository;
     private final RatingRepository ratingRepository;
+    private final BookListCache bookListCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Entity manager of the caller's persistence context, for the JDBC batch size of bulk updates
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructor to inject necessary dependencies.
      */
     @Autowired
-    public BooksService(BooksRepository booksRepository, AuthorRepository authorRepository, RatingRepository ratingRepository) {
+    public BooksService(BooksRepository booksRepository, AuthorRepository authorRepository, RatingRepository ratingRepository,
+                        BookListCache bookListCache, ApplicationEventPublisher eventPublisher) {
         this.booksRepository = booksRepository;
         this.authorRepository = authorRepository;
         this.ratingRepository = ratingRepository;
+        this.bookListCache = bookListCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,73 +55,18 @@ public class BooksService {
      *
      * @param booksList List of books to add.
      * @throws IllegalStateException if an ISBN is already taken.
+     * @throws IllegalArgumentException if an ISBN is missing or invalid.
      */
+    @Transactional
     public void addNewBooks(List<Books> booksList) {
         for (Books book : booksList) {
             Optional<Books> bookOptional = booksRepository.findBookByIsbn(book.getIsbn());
             if (bookOptional.isPresent()) {
                 throw new IllegalStateException("ISBN " + book.getIsbn() + " is already taken");
             }
-            validateISBN(book.getIsbn());
+            Isbn.validate(book.getIsbn());
             booksRepository.save(book);
-        }
-    }
-
-    /**
-     * Validates the format of an ISBN (10 or 13 digits).
-     *
-     * @param isbn ISBN to validate.
-     * @throws IllegalArgumentException if the ISBN is invalid.
-     */
-    private void validateISBN(Long isbn) {
-        String isbnStr = isbn.toString();
-        if (isbnStr.length() != 10 && isbnStr.length() != 13) {
-            throw new IllegalArgumentException("Invalid ISBN length. ISBN must be 10 or 13 digits long.");
-        }
-
-        if (isbnStr.length() == 10) {
-            validateISBN10(isbnStr);
-        } else {
-            validateISBN13(isbnStr);
-        }
-    }
-
-    /**
-     * Validates the checksum for an ISBN-10.
-     */
-    private void validateISBN10(String isbn) {
-        int sum = 0;
-        for (int i = 0; i < 9; i++) {
-            int digit = isbn.charAt(i) - '0';
-            if (digit < 0 || digit > 9) {
-                throw new IllegalArgumentException("Invalid ISBN-10 format.");
-            }
-            sum += (digit * (10 - i));
-        }
-
-        char lastChar = isbn.charAt(9);
-        sum += (lastChar == 'X' ? 10 : (lastChar - '0'));
-
-        if (sum % 11 != 0) {
-            throw new IllegalArgumentException("Invalid ISBN-10 checksum.");
-        }
-    }
-
-    /**
-     * Validates the checksum for an ISBN-13.
-     */
-    private void validateISBN13(String isbn) {
-        int sum = 0;
-        for (int i = 0; i < 12; i++) {
-            int digit = isbn.charAt(i) - '0';
-            sum += digit * ((i % 2 == 0) ? 1 : 3);
-        }
-
-        int checksum = 10 - (sum % 10);
-        if (checksum == 10) checksum = 0;
-
-        if (checksum != isbn.charAt(12) - '0') {
-            throw new IllegalArgumentException("Invalid ISBN-13 checksum.");
+            eventPublisher.publishEvent(BookChangedEvent.created(book));
         }
     }
 
@@ -114,6 +75,7 @@ public class BooksService {
      *
      * @return List of all books.
      */
+    @Transactional(readOnly = true)
     public List<Books> getBooks() {
         return booksRepository.findAll();
     }
@@ -124,12 +86,11 @@ public class BooksService {
      * @param bookId ID of the book to delete.
      * @throws IllegalStateException if the book does not exist.
      */
+    @Transactional
     public void deleteBook(Long bookId) {
-        boolean exists = booksRepository.existsById(bookId);
-        if (!exists) {
-            throw new IllegalStateException("book with id " + bookId + " does not exist");
-        }
-        booksRepository.deleteById(bookId);
+        Books book = booksRepository.findById(bookId).orElseThrow(() -> new IllegalStateException("book with id " + bookId + " does not exist"));
+        booksRepository.delete(book);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(book));
     }
 
     /**
@@ -138,6 +99,7 @@ public class BooksService {
     @Transactional
     public void updateBook(Long bookId, Long isbn, String bookName, String bookDescription, Integer price, Long authorId, String genre, String publisher, Integer yearPublished, Integer copiesSold) {
         Books book = booksRepository.findById(bookId).orElseThrow(() -> new IllegalStateException("book with id " + bookId + " does not exist"));
+        BookChangedEvent.Snapshot before = BookChangedEvent.Snapshot.of(book);
 
         if (isbn != null && !Objects.equals(book.getIsbn(), isbn)) book.setIsbn(isbn);
         if (bookName != null && !bookName.isEmpty()) book.setBookName(bookName);
@@ -152,29 +114,94 @@ public class BooksService {
             Author author = authorRepository.findById(authorId).orElseThrow(() -> new IllegalStateException("Author with id " + authorId + " does not exist"));
             book.setAuthor(author);
         }
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, book));
+    }
+
+    /**
+     * Adds sold copies to books, in the caller's transaction. The books are locked in ID order and their
+     * updates are sent to the database in JDBC batches. Books deleted in the meantime are skipped.
+     *
+     * @param copiesByBook The number of copies sold per book ID.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addCopiesSold(Map<Long, Long> copiesByBook) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(COPIES_SOLD_BATCH_SIZE);
+        for (Books book : booksRepository.findAllByIdForUpdate(copiesByBook.keySet())) {
+            BookChangedEvent.Snapshot before = BookChangedEvent.Snapshot.of(book);
+            long copiesSold = (book.getCopiesSold() == null ? 0 : book.getCopiesSold()) + copiesByBook.get(book.getId());
+            book.setCopiesSold(Math.toIntExact(copiesSold));
+            eventPublisher.publishEvent(BookChangedEvent.updated(before, book));
+        }
     }
 
     /**
      * Retrieves a book by its ISBN.
      */
+    @Transactional(readOnly = true)
     public Books getBookByIsbn(Long isbn) {
         return booksRepository.findBookByIsbn(isbn).orElseThrow(() -> new IllegalStateException("Book with ISBN " + isbn + " does not exist"));
     }
 
+    /**
+     * Retrieves the ID of a book by its ISBN, without loading the book.
+     */
+    @Transactional(readOnly = true)
+    public Long getBookIdByIsbn(Long isbn) {
+        return booksRepository.findIdByIsbn(isbn).orElseThrow(() -> new IllegalStateException("Book with ISBN " + isbn + " does not exist"));
+    }
+
     /**
      * Retrieves books by author ID.
      */
+    @Transactional(readOnly = true)
     public List<Books> getBooksByAuthorId(Long authorId) {
-        authorRepository.findById(authorId).orElseThrow(() -> new IllegalStateException("Author with id " + authorId + " does not exist"));
-        return booksRepository.findByAuthorId(authorId);
+        return booksRepository.findAllByIdInOrder(getBookIdsByAuthorId(authorId));
+    }
+
+    /**
+     * Retrieves the IDs of an author's books, without loading the author or the books.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getBookIdsByAuthorId(Long authorId) {
+        if (!authorRepository.existsById(authorId)) {
+            throw new IllegalStateException("Author with id " + authorId + " does not exist");
+        }
+        return booksRepository.findIdsByAuthorId(authorId);
+    }
+
+    /**
+     * Retrieves books by ID, taking those in the second-level cache from there.
+     *
+     * @param bookIds The IDs of the books.
+     * @return The books in the order of their IDs, leaving out IDs that no longer exist.
+     */
+    @Transactional(readOnly = true)
+    public List<Books> getBooksById(List<Long> bookIds) {
+        return booksRepository.findAllByIdInOrder(bookIds);
+    }
+
+    /**
+     * Computes the HTTP validators of a book list from the versions of its books, their authors and the
+     * authors' books, without loading any of them.
+     *
+     * @param bookIds The IDs of the books, in the order they are returned.
+     * @return The validators.
+     */
+    @Transactional(readOnly = true)
+    public CatalogTag getCatalogTag(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return CatalogTag.ofBooks(bookIds, List.of());
+        }
+        return CatalogTag.ofBooks(bookIds, booksRepository.findVersionsByIdIn(bookIds));
     }
 
     /**
-     * Retrieves books by genre.
+     * Retrieves books by genre, through the book list cache.
      */
+    @Transactional(readOnly = true)
     public Optional<List<Books>> getBooksByGenre(String genre) {
         log.info("Querying books by genre: {}", genre);
-        List<Books> booksByGenre = booksRepository.findByGenre(genre);
+        List<Books> booksByGenre = booksRepository.findAllByIdInOrder(getBookIdsByGenre(genre));
         if (booksByGenre.isEmpty()) {
             log.warn("No books found for genre: {}", genre);
             return Optional.empty();
@@ -184,66 +211,60 @@ public class BooksService {
     }
 
     /**
-     * Retrieves top-selling books.
+     * Retrieves the IDs of the books in a genre, through the book list cache.
      */
+    public List<Long> getBookIdsByGenre(String genre) {
+        return bookListCache.get(BookListCache.Key.genre(genre), key -> booksRepository.findIdsByGenre(genre));
+    }
+
+    /**
+     * Retrieves top-selling books, through the book list cache.
+     */
+    @Transactional(readOnly = true)
     public List<Books> getTopSellingBooks() {
-        return booksRepository.findTopSellers(PageRequest.of(0, 10));
+        return booksRepository.findAllByIdInOrder(getTopSellingBookIds());
+    }
+
+    /**
+     * Retrieves the IDs of the top-selling books, through the book list cache.
+     */
+    public List<Long> getTopSellingBookIds() {
+        return bookListCache.get(BookListCache.Key.topSellers(), key -> booksRepository.findTopSellerIds(PageRequest.of(0, 10)));
     }
 
     /**
      * Updates the rating of a book.
      */
+    @Transactional
     public void updateBookRating(Long bookId, double rating) {
         Books book = booksRepository.findById(bookId).orElseThrow(() -> new IllegalStateException("Book with ID " + bookId + " does not exist."));
+        BookChangedEvent.Snapshot before = BookChangedEvent.Snapshot.of(book);
         book.setRating(rating);
         booksRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, book));
     }
 
     /**
-     * Updates book prices by applying a discount based on the publisher.
+     * Retrieves books with a rating greater than or equal to the specified value, through the book list cache.
      */
-    public void updateBookPricesByPublisher(String publisher, double discountPercentage) {
-        List<Books> booksByPublisher = booksRepository.findByPublisher(publisher);
-        if (booksByPublisher.isEmpty()) {
-            throw new IllegalStateException("No books found for publisher: " + publisher);
-        }
-
-        for (Books book : booksByPublisher) {
-            double originalPrice = book.getPrice();
-            double discountAmount = originalPrice * (discountPercentage / 100);
-            int newPrice = (int) Math.round(originalPrice - discountAmount);
-            book.setPrice(newPrice);
-        }
-
-        booksRepository.saveAll(booksByPublisher);
+    @Transactional(readOnly = true)
+    public List<Books> getBooksByRating(double rating) {
+        return booksRepository.findAllByIdInOrder(getBookIdsByRating(rating));
     }
 
     /**
-     * Retrieves books with a rating greater than or equal to the specified value.
+     * Retrieves the IDs of the books with a rating greater than or equal to the specified value, through the book list cache.
      */
-    public List<Books> getBooksByRating(double rating) {
-        return booksRepository.findByRatingGreaterThanEqual(rating);
+    public List<Long> getBookIdsByRating(double rating) {
+        return bookListCache.get(BookListCache.Key.minRating(rating), key -> booksRepository.findIdsByRatingGreaterThanEqual(rating));
     }
 
     /**
      * Calculates the average rating for a book based on its ratings.
      */
+    @Transactional(readOnly = true)
     public double getAverageRatingForBook(Long bookId) {
         booksRepository.findById(bookId).orElseThrow(() -> new IllegalStateException("Book with ID " + bookId + " does not exist"));
         return ratingRepository.findByBookId(bookId).stream().mapToInt(Rating::getRating).average().orElse(0.0);
     }
-
-    /**
-     * Removes duplicate books based on ISBN.
-     */
-    public void removeDuplicateBooks() {
-        Set<Long> checkedIsbns = new HashSet<>();
-        List<Books> allBooks = booksRepository.findAll();
-
-        for (Books book : allBooks) {
-            if (!checkedIsbns.add(book.getIsbn())) {
-                booksRepository.delete(book);
-            }
-        }
-    }
 }
@@ -0,0 +1,322 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory cache of the serialized responses of the hottest catalog endpoints, served by
+ * {@link CatalogResponseCacheFilter}.
+ *
+ * Each entry holds the JSON body as bytes together with a gzip-compressed copy, so a hit costs neither
+ * serialization nor compression. The cache is bounded by the total size of the bodies
+ * ({@code booksapi.response-cache.maximum-size}, 64MB by default). When full, Caffeine keeps the responses
+ * requested most often, so popular books stay while the long tail is evicted.
+ *
+ * Entries are invalidated by {@link BookChangedEvent}s. An entry is removed when the change touches a
+ * book or author in its body, as recorded by {@link CatalogTag}. A genre list is also removed when a
+ * book enters or leaves the genre, and the top sellers when copies sold change. With read replicas, they
+ * are invalidated again on the {@link BookReplicatedEvent} of the change. Entries expire after
+ * {@code booksapi.response-cache.time-to-live} (10 minutes by default), which bounds how long changes the
+ * events do not cover, such as a user renaming themselves, stay visible.
+ *
+ * An invalidation does not scan the cache. Every entry's key is indexed by the books and authors in its
+ * body, by its genre and, for the top sellers, by its kind, so a change looks up the keys it affects.
+ * Keys are added to the indexes after their entry is cached and removed when it is invalidated or
+ * evicted; a key left in an index after its entry was replaced only costs an unneeded invalidation.
+ *
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged {@code cache=responses},
+ * and the size of the bodies held as {@code booksapi.response.cache.size}.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.response-cache.enabled", matchIfMissing = true)
+public class CatalogResponseCache implements MeterBinder {
+
+    private final Cache<String, Entry> responses;
+
+    // The keys of the cached responses by the books, authors and genre in them, and the keys of the top sellers
+    private final Map<Long, Set<String>> keysByBook = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> keysByAuthor = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByGenre = new ConcurrentHashMap<>();
+    private final Map<Kind, Set<String>> keysByKind = new ConcurrentHashMap<>();
+
+    // Incremented by every invalidation, so responses rendered before a change are not stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates the cache with the configured bounds.
+     *
+     * @param maximumSize The maximum total size of the cached bodies, compressed copies included.
+     * @param timeToLive  How long a response is kept after it was cached.
+     */
+    public CatalogResponseCache(@Value("${booksapi.response-cache.maximum-size:64MB}") DataSize maximumSize,
+                                @Value("${booksapi.response-cache.time-to-live:10m}") Duration timeToLive) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, Entry entry) -> entry.size())
+                .expireAfterWrite(timeToLive)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        unindex(key, entry);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Registers the cache's statistics with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "responses");
+        Gauge.builder("booksapi.response.cache.size", responses,
+                        cache -> cache.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Total size of the cached response bodies")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached response for a key.
+     *
+     * @param key The endpoint and parameters of the request.
+     * @return The response, or null if it is not cached.
+     */
+    public Entry get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Returns the current generation, to be passed to {@link #put} once the response is rendered.
+     *
+     * @return The generation.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a response, unless the catalog changed since it started rendering.
+     *
+     * @param key        The endpoint and parameters of the request.
+     * @param entry      The response.
+     * @param generation The generation returned by {@link #generation()} before rendering.
+     */
+    public void put(String key, Entry entry, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        responses.put(key, entry);
+        index(key, entry);
+        // An invalidation between the check and the indexing may have missed the new entry
+        if (this.generation.get() != generation && responses.asMap().remove(key, entry)) {
+            unindex(key, entry);
+        }
+    }
+
+    /**
+     * Invalidates the responses a book change affects.
+     * When called inside a transaction, they are invalidated again after completion so that a
+     * concurrent request cannot re-populate them with data from before the change.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(event);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidates the responses a book change affects again, once read replicas have applied it.
+     *
+     * @param event The replicated change.
+     */
+    @EventListener
+    public void onBookReplicated(BookReplicatedEvent event) {
+        invalidate(event.change());
+    }
+
+    /**
+     * Removes the responses whose body may differ after a change.
+     */
+    private void invalidate(BookChangedEvent event) {
+        generation.incrementAndGet();
+        BookChangedEvent.Snapshot before = event.before();
+        BookChangedEvent.Snapshot after = event.after();
+        boolean createdOrDeleted = before == null || after == null;
+        boolean genreChanged = createdOrDeleted || !Objects.equals(before.genre(), after.genre());
+        boolean copiesSoldChanged = createdOrDeleted || !Objects.equals(before.copiesSold(), after.copiesSold());
+
+        Set<String> keys = new HashSet<>();
+        collect(keysByBook, event.bookId(), keys);
+        if (before != null) {
+            collect(keysByAuthor, before.authorId(), keys);
+        }
+        if (after != null) {
+            collect(keysByAuthor, after.authorId(), keys);
+        }
+        if (genreChanged) {
+            collect(keysByGenre, before != null ? before.genre() : null, keys);
+            collect(keysByGenre, after != null ? after.genre() : null, keys);
+        }
+        if (copiesSoldChanged) {
+            collect(keysByKind, Kind.TOP_SELLERS, keys);
+        }
+        for (String key : keys) {
+            Entry removed = responses.asMap().remove(key);
+            if (removed != null) {
+                unindex(key, removed);
+            }
+        }
+    }
+
+    /**
+     * Adds the key of a cached entry to the indexes of the books, authors, genre and kind in it.
+     */
+    private void index(String key, Entry entry) {
+        entry.bookIds().forEach(bookId -> keysByBook.computeIfAbsent(bookId, id -> ConcurrentHashMap.newKeySet()).add(key));
+        entry.authorIds().forEach(authorId -> keysByAuthor.computeIfAbsent(authorId, id -> ConcurrentHashMap.newKeySet()).add(key));
+        if (entry.genre() != null) {
+            keysByGenre.computeIfAbsent(entry.genre(), genre -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        keysByKind.computeIfAbsent(entry.kind(), kind -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    /**
+     * Removes the key of an entry that left the cache from the indexes, unless the key was cached again since.
+     */
+    private void unindex(String key, Entry entry) {
+        entry.bookIds().forEach(bookId -> unindex(keysByBook, bookId, key));
+        entry.authorIds().forEach(authorId -> unindex(keysByAuthor, authorId, key));
+        if (entry.genre() != null) {
+            unindex(keysByGenre, entry.genre(), key);
+        }
+        unindex(keysByKind, entry.kind(), key);
+    }
+
+    /**
+     * Removes a key from one index entry, atomically with the indexing of the same value, so a key
+     * cached again concurrently is kept.
+     */
+    private <T> void unindex(Map<T, Set<String>> index, T value, String key) {
+        index.computeIfPresent(value, (v, keys) -> {
+            if (!responses.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Adds the keys indexed under a value to a set, if the value is not null.
+     */
+    private static <T> void collect(Map<T, Set<String>> index, T value, Set<String> keys) {
+        if (value != null) {
+            Set<String> indexed = index.get(value);
+            if (indexed != null) {
+                keys.addAll(indexed);
+            }
+        }
+    }
+
+    /**
+     * The cached endpoints.
+     */
+    public enum Kind {
+        BOOK, GENRE, TOP_SELLERS
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param kind         The endpoint.
+     * @param genre        The genre, for {@link Kind#GENRE}.
+     * @param contentType  The content type of the body.
+     * @param etag         The ETag of the body.
+     * @param lastModified The last modification time of the body, in milliseconds since the epoch.
+     * @param body         The body.
+     * @param gzipBody     The gzip-compressed body, or null if compression does not make it smaller.
+     * @param bookIds      The IDs of the books in the body.
+     * @param authorIds    The IDs of the authors in the body.
+     */
+    public record Entry(Kind kind, String genre, String contentType, String etag, long lastModified,
+                        byte[] body, byte[] gzipBody, Set<Long> bookIds, Set<Long> authorIds) {
+
+        /**
+         * Creates the entry of a rendered response, compressing its body.
+         *
+         * @param kind        The endpoint.
+         * @param genre       The genre, for {@link Kind#GENRE}.
+         * @param contentType The content type of the body.
+         * @param tag         The validators and contents of the body.
+         * @param body        The body.
+         * @return The entry.
+         */
+        public static Entry of(Kind kind, String genre, String contentType, CatalogTag tag, byte[] body) {
+            byte[] gzipBody = gzip(body);
+            return new Entry(kind, genre, contentType, tag.etag(), tag.lastModified().toEpochMilli(), body,
+                    gzipBody.length < body.length ? gzipBody : null,
+                    Set.copyOf(tag.bookIds()), Set.copyOf(tag.authorIds()));
+        }
+
+        /**
+         * @return The number of bytes the entry is weighed at: its bodies and a fixed allowance for the rest.
+         */
+        int size() {
+            return 256 + body.length + (gzipBody != null ? gzipBody.length : 0)
+                    + 16 * (bookIds.size() + authorIds.size());
+        }
+
+        /**
+         * Compresses a body at the highest level, since it is compressed once and served many times.
+         */
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
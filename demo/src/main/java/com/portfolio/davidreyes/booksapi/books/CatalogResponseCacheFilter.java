@@ -0,0 +1,202 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Servlet filter serving the hottest catalog endpoints from {@link CatalogResponseCache}:
+ * a single book by ISBN, the books of a genre and the top sellers.
+ *
+ * On a miss, the request is handled as usual, and a successful JSON response carrying a {@link CatalogTag}
+ * is cached. On a hit, the cached bytes are written straight to the response, compressed with gzip if the
+ * client accepts it, after the same If-None-Match and If-Modified-Since checks as the controllers make.
+ * Responses carry {@code Vary: Accept-Encoding} and {@code X-Response-Cache: HIT} or {@code MISS}.
+ *
+ * Requests with an {@code Authorization} header or an {@code Accept} header excluding JSON are passed
+ * through uncached, so authentication and content negotiation behave as without the cache.
+ * Turned off with {@code booksapi.response-cache.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.response-cache.enabled", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * Header telling whether the response was served from the cache.
+     */
+    public static final String CACHE_HEADER = "X-Response-Cache";
+
+    // Cached endpoints, most specific first
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint(CatalogResponseCache.Kind.TOP_SELLERS, "/api/v1/book/top-sellers"),
+            new Endpoint(CatalogResponseCache.Kind.GENRE, "/api/v1/book/genre/{genre}"),
+            new Endpoint(CatalogResponseCache.Kind.BOOK, "/api/v1/book/{isbn}"));
+
+    private final CatalogResponseCache cache;
+
+    /**
+     * Creates the filter.
+     *
+     * @param cache The cache of the responses.
+     */
+    @Autowired
+    public CatalogResponseCacheFilter(CatalogResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        Endpoint endpoint = ENDPOINTS.stream().filter(candidate -> candidate.pattern().matches(path)).findFirst().orElse(null);
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getQueryString() == null ? path.value() : path.value() + "?" + request.getQueryString();
+
+        CatalogResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            // Tag the request's metrics with the endpoint, as the handler mapping would
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(endpoint.pattern().getPatternString()));
+            response.setHeader(CACHE_HEADER, "HIT");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!new ServletWebRequest(request, response).checkNotModified(entry.etag(), entry.lastModified())) {
+                writeBody(request, response, entry);
+            }
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+        rendered.setHeader(CACHE_HEADER, "MISS");
+        rendered.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        filterChain.doFilter(request, rendered);
+
+        CatalogTag tag = (CatalogTag) request.getAttribute(CatalogTag.REQUEST_ATTRIBUTE);
+        if (rendered.getStatus() != HttpServletResponse.SC_OK || tag == null || !isJson(rendered.getContentType())) {
+            rendered.copyBodyToResponse();
+            return;
+        }
+        String genre = endpoint.kind() == CatalogResponseCache.Kind.GENRE
+                ? endpoint.pattern().matchAndExtract(path).getUriVariables().get("genre")
+                : null;
+        entry = CatalogResponseCache.Entry.of(endpoint.kind(), genre, rendered.getContentType(), tag,
+                rendered.getContentAsByteArray());
+        cache.put(key, entry, generation);
+        writeBody(request, response, entry);
+    }
+
+    /**
+     * Writes a cached body, compressed if the client accepts gzip.
+     */
+    private static void writeBody(HttpServletRequest request, HttpServletResponse response,
+                                  CatalogResponseCache.Entry entry) throws IOException {
+        byte[] body = entry.body();
+        if (entry.gzipBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzipBody();
+        }
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Checks whether an Accept header allows a JSON response; a missing or invalid header does.
+     */
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                            && mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a content type is JSON.
+     */
+    private static boolean isJson(String contentType) {
+        try {
+            return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows gzip, i.e. names it or {@code *} without {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    /**
+     * A cached endpoint.
+     *
+     * @param kind    The kind of response.
+     * @param pattern The path pattern of the endpoint.
+     */
+    private record Endpoint(CatalogResponseCache.Kind kind, PathPattern pattern) {
+
+        Endpoint(CatalogResponseCache.Kind kind, String pattern) {
+            this(kind, PathPatternParser.defaultInstance.parse(pattern));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.comment.Comment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP validators of a catalog representation: a strong ETag and a Last-Modified time, computed from the
+ * versions of the entities the JSON of a book, a book list or a comment list is made of.
+ *
+ * A book's JSON embeds its author and, through the author, the author's other books, so the tag of a book
+ * covers the ID and version of the book and its author, the number, IDs and versions of the author's books,
+ * and the position of the book in its list. Ratings and comments advance the version of their book, so they
+ * are covered as well. The versions are read with one projection query ({@link BookVersion}) instead of from
+ * the entities, so {@link #ok(WebRequest, Supplier)} answers a request with 304 Not Modified before the books,
+ * their authors' book collections, ratings or comments are loaded.
+ *
+ * Changes to the profiles of the users embedded in ratings and comments do not change the tag.
+ *
+ * The tag also records the IDs of the books and authors it covers, which {@link CatalogResponseCache} uses
+ * to tell which cached responses a change affects; a change to one of an author's other books is told by
+ * the author's ID. {@link #ok(Object)} leaves the tag in the
+ * {@link #REQUEST_ATTRIBUTE} request attribute for that purpose.
+ */
+public final class CatalogTag {
+
+    /**
+     * Name of the request attribute holding the tag of the response.
+     */
+    public static final String REQUEST_ATTRIBUTE = CatalogTag.class.getName();
+
+    // Running hash of the entities, in the order of the list
+    private long hash = 17;
+
+    // Latest modification time of the entities
+    private Instant lastModified = Instant.EPOCH;
+
+    // IDs of the books and authors in the representation
+    private final Set<Long> bookIds = new HashSet<>();
+    private final Set<Long> authorIds = new HashSet<>();
+
+    private CatalogTag() {
+    }
+
+    /**
+     * Computes the validators of a book list.
+     *
+     * @param bookIds  The IDs of the books, in the order they are returned.
+     * @param versions The versions of the books, in any order; books missing from them are left out of the list.
+     * @return The validators.
+     */
+    public static CatalogTag ofBooks(List<Long> bookIds, List<BookVersion> versions) {
+        Map<Long, BookVersion> versionsById = byBookId(versions);
+        List<BookVersion> books = bookIds.stream().filter(versionsById::containsKey).map(versionsById::get).toList();
+        CatalogTag tag = new CatalogTag();
+        tag.add(books.size());
+        for (BookVersion book : books) {
+            tag.addBook(book);
+        }
+        return tag;
+    }
+
+    /**
+     * Computes the validators of a comment list.
+     *
+     * @param comments The comments, in the order they are returned.
+     * @param versions The versions of the books the comments are on.
+     * @return The validators.
+     */
+    public static CatalogTag ofComments(List<Comment> comments, List<BookVersion> versions) {
+        Map<Long, BookVersion> versionsById = byBookId(versions);
+        CatalogTag tag = new CatalogTag();
+        tag.add(comments.size());
+        for (Comment comment : comments) {
+            tag.add(entity(comment.getId(), comment.getVersion()));
+            tag.touch(comment.getLastModified());
+            BookVersion book = comment.getBook() == null ? null : versionsById.get(comment.getBook().getId());
+            if (book != null) {
+                tag.addBook(book);
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * @return The strong entity tag, quoted.
+     */
+    public String etag() {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * @return The latest modification time of the entities, or the epoch if none is known.
+     */
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return The IDs of the books in the representation; the books embedded through their author are covered by the author's ID.
+     */
+    public Set<Long> bookIds() {
+        return bookIds;
+    }
+
+    /**
+     * @return The IDs of the authors in the representation.
+     */
+    public Set<Long> authorIds() {
+        return authorIds;
+    }
+
+    /**
+     * Creates a 200 OK response carrying the validators, and records the tag in the current request.
+     * For a GET whose If-None-Match or If-Modified-Since matches them, Spring MVC replies 304 Not Modified
+     * instead, without writing the body.
+     *
+     * @param body The response body.
+     * @param <T>  The type of the body.
+     * @return The response.
+     */
+    public <T> ResponseEntity<T> ok(T body) {
+        return ResponseEntity.ok()
+                .eTag(etag())
+                .lastModified(lastModified)
+                .body(record(body));
+    }
+
+    /**
+     * Answers 304 Not Modified if the If-None-Match or If-Modified-Since header of the request matches the
+     * validators, without producing the body; otherwise creates a 200 OK response as {@link #ok(Object)} does.
+     * Tags are computed before the body is loaded, so a body changed in between carries the older tag and is
+     * only sent again on the next request.
+     *
+     * @param request The current request.
+     * @param body    Produces the response body, only called if the client's copy is not current.
+     * @param <T>     The type of the body.
+     * @return The response.
+     */
+    public <T> ResponseEntity<T> ok(WebRequest request, Supplier<T> body) {
+        if (request.checkNotModified(etag(), lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag())
+                    .lastModified(lastModified)
+                    .build();
+        }
+        return ok(body.get());
+    }
+
+    /**
+     * Records the tag in the current request, for the response cache, and returns the body.
+     */
+    private <T> T record(T body) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, this, RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+
+    /**
+     * Adds a book, its author and the author's books.
+     */
+    private void addBook(BookVersion book) {
+        add(entity(book.getBookId(), book.getVersion()));
+        touch(book.getLastModified());
+        bookIds.add(book.getBookId());
+        if (book.getAuthorId() == null) {
+            add(0);
+            return;
+        }
+        add(entity(book.getAuthorId(), book.getAuthorVersion()));
+        touch(book.getAuthorLastModified());
+        authorIds.add(book.getAuthorId());
+        // Any change to the author's books changes their number, the sum of their IDs or, as versions only
+        // grow, the sum of their versions
+        add(mix(mix(book.getAuthorBookCount(), nullToZero(book.getAuthorBookIdSum())), nullToZero(book.getAuthorBookVersionSum())));
+        touch(book.getAuthorBooksLastModified());
+    }
+
+    /**
+     * Indexes book versions by the ID of their book.
+     */
+    private static Map<Long, BookVersion> byBookId(List<BookVersion> versions) {
+        return versions.stream().collect(Collectors.toMap(BookVersion::getBookId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Reads a sum that is null over no rows as zero.
+     */
+    private static long nullToZero(Long sum) {
+        return sum == null ? 0 : sum;
+    }
+
+    /**
+     * Folds a value into the running hash.
+     */
+    private void add(long value) {
+        hash = mix(hash, value);
+    }
+
+    /**
+     * Advances the last modification time.
+     */
+    private void touch(Instant modified) {
+        if (modified != null && modified.isAfter(lastModified)) {
+            lastModified = modified;
+        }
+    }
+
+    /**
+     * Hashes the ID and version of an entity, either of which is null before it is first saved.
+     */
+    private static long entity(Long id, Long version) {
+        return mix(id == null ? 0 : id, version == null ? 0 : version);
+    }
+
+    /**
+     * Combines two values into a well-distributed 64-bit hash (the finalizer of MurmurHash3).
+     */
+    private static long mix(long first, long second) {
+        long h = first * 0x9E3779B97F4A7C15L + second;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53D4E63L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.job.JobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job applying a discount to the prices of a publisher's books.
+ * Parameters: {@code publisher}, and {@code discount} as a percentage of the current price.
+ * Each discounted book is announced with a {@link BookChangedEvent}.
+ */
+@Component
+public class DiscountPricesByPublisherJob implements JobHandler {
+
+    /**
+     * The job type.
+     */
+    public static final String TYPE = "discount-prices-by-publisher";
+
+    private final BooksRepository booksRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor to inject necessary dependencies.
+     */
+    @Autowired
+    public DiscountPricesByPublisherJob(BooksRepository booksRepository, ApplicationEventPublisher eventPublisher) {
+        this.booksRepository = booksRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Creates the parameters of the job.
+     *
+     * @param publisher The publisher of the books.
+     * @param discount  The discount percentage to apply.
+     * @return The parameters.
+     */
+    public static Map<String, String> parameters(String publisher, double discount) {
+        return Map.of("publisher", publisher, "discount", Double.toString(discount));
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    /**
+     * @throws IllegalStateException if the publisher has no books.
+     */
+    @Override
+    public void validate(Map<String, String> parameters) {
+        discount(parameters);
+        String publisher = parameters.get("publisher");
+        if (publisher == null || !booksRepository.existsByPublisher(publisher)) {
+            throw new IllegalStateException("No books found for publisher: " + publisher);
+        }
+    }
+
+    @Override
+    public long count(Map<String, String> parameters) {
+        return booksRepository.countByPublisher(parameters.get("publisher"));
+    }
+
+    @Override
+    public Chunk process(Map<String, String> parameters, Long checkpoint, int chunkSize) {
+        double discountPercentage = discount(parameters);
+        List<Books> books = booksRepository.findByPublisherAndIdGreaterThanOrderById(parameters.get("publisher"),
+                checkpoint == null ? Long.MIN_VALUE : checkpoint, PageRequest.of(0, chunkSize));
+        for (Books book : books) {
+            BookChangedEvent.Snapshot before = BookChangedEvent.Snapshot.of(book);
+            double originalPrice = book.getPrice();
+            double discountAmount = originalPrice * (discountPercentage / 100);
+            book.setPrice((int) Math.round(originalPrice - discountAmount));
+            eventPublisher.publishEvent(BookChangedEvent.updated(before, book));
+        }
+        return new Chunk(books.isEmpty() ? checkpoint : books.get(books.size() - 1).getId(), books.size(), books.size());
+    }
+
+    /**
+     * Reads the discount percentage.
+     */
+    private static double discount(Map<String, String> parameters) {
+        try {
+            return Double.parseDouble(parameters.get("discount"));
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IllegalArgumentException("The discount must be a number, got " + parameters.get("discount"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.job.JobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job removing duplicate books: a book with the same ISBN as a book with a lower ID is deleted,
+ * and announced as such. Books are walked in ID order, so the first of each ISBN is the one kept.
+ */
+@Component
+public class RemoveDuplicateBooksJob implements JobHandler {
+
+    /**
+     * The job type.
+     */
+    public static final String TYPE = "remove-duplicate-books";
+
+    private final BooksRepository booksRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor to inject necessary dependencies.
+     */
+    @Autowired
+    public RemoveDuplicateBooksJob(BooksRepository booksRepository, ApplicationEventPublisher eventPublisher) {
+        this.booksRepository = booksRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public long count(Map<String, String> parameters) {
+        return booksRepository.count();
+    }
+
+    @Override
+    public Chunk process(Map<String, String> parameters, Long checkpoint, int chunkSize) {
+        List<Books> books = booksRepository.findByIdGreaterThanOrderById(checkpoint == null ? Long.MIN_VALUE : checkpoint,
+                PageRequest.of(0, chunkSize));
+        int removed = 0;
+        for (Books book : books) {
+            if (booksRepository.existsByIsbnAndIdLessThan(book.getIsbn(), book.getId())) {
+                booksRepository.delete(book);
+                eventPublisher.publishEvent(BookChangedEvent.deleted(book));
+                removed++;
+            }
+        }
+        return new Chunk(books.isEmpty() ? checkpoint : books.get(books.size() - 1).getId(), books.size(), removed);
+    }
+}
@@ -0,0 +1,71 @@
+package com.portfolio.davidreyes.booksapi.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint at {@code /actuator/cacheregions} listing the hits, misses, puts and hit ratio of
+ * each second-level cache region since startup.
+ *
+ * Counts are only collected while {@code hibernate.generate_statistics} is on, as it is by default.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    // Hibernate statistics of the persistence unit
+    private final Statistics statistics;
+
+    /**
+     * Creates the endpoint.
+     *
+     * @param entityManagerFactory The entity manager factory of the persistence unit.
+     */
+    @Autowired
+    public CacheRegionsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns the statistics of every region, ordered by region name.
+     *
+     * @return The statistics by region name.
+     */
+    @ReadOperation
+    public Map<String, RegionStats> regions() {
+        Map<String, RegionStats> regions = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            regions.put(region, RegionStats.of(stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+        }
+        return regions;
+    }
+
+    /**
+     * Statistics of one cache region.
+     *
+     * @param hits     Lookups answered from the cache.
+     * @param misses   Lookups that went to the database.
+     * @param puts     Entries written to the cache.
+     * @param hitRatio Share of lookups answered from the cache, 0 without lookups.
+     */
+    public record RegionStats(long hits, long misses, long puts, double hitRatio) {
+
+        /**
+         * Creates the statistics and computes the hit ratio.
+         */
+        static RegionStats of(long hits, long misses, long puts) {
+            long lookups = hits + misses;
+            return new RegionStats(hits, misses, puts, lookups == 0 ? 0 : (double) hits / lookups);
+        }
+    }
+}
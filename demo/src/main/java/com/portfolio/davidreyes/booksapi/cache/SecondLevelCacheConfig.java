@@ -0,0 +1,71 @@
+package com.portfolio.davidreyes.booksapi.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Enables Hibernate's second-level cache for the entities and collections annotated with
+ * {@code @Cache}: {@code Books}, {@code Author} and {@code Author.books}, all read-write.
+ *
+ * Entries are kept in process by Caffeine's JCache provider, in the bounded regions configured in
+ * {@code hibernate-cache.conf}. Hibernate fails at startup if an annotated region is missing from that file.
+ *
+ * Changes made through the entity manager update the cache in the same transaction. JPQL bulk updates
+ * and deletes evict the regions of the entities they touch, and native queries evict every region unless
+ * they declare the entities they change as synchronized. Books added or moved to another author without
+ * updating {@code Author.books} evict that author's collection entry ({@code auto_evict_collection_cache}).
+ *
+ * Region hits, misses and puts are published as {@code hibernate.second.level.cache.requests} meters and at
+ * {@code /actuator/cacheregions}. On by default; set {@code booksapi.jpa.second-level-cache.enabled=false}
+ * to turn the cache off. The setting is always written, because Hibernate otherwise enables the JCache
+ * region factory it finds on the classpath with unbounded default regions.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * The JCache manager holding the cache regions, configured from {@code hibernate-cache.conf}.
+     * The provider shares a manager per URI and class loader, so the URI carries a fragment unique to this
+     * application context: another context in the same JVM, such as a test context on its own database,
+     * must not read the entities cached from this one.
+     *
+     * @return The cache manager.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classpath:hibernate-cache.conf#" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    /**
+     * Hibernate settings enabling or disabling the second-level cache on the cache manager.
+     *
+     * @param enabled               Whether the second-level cache is used.
+     * @param hibernateCacheManager The cache manager holding the regions.
+     * @return The customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(@Value("${booksapi.jpa.second-level-cache.enabled:true}") boolean enabled,
+                                                                   CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+}
@@ -3,12 +3,17 @@ package com.portfolio.davidreyes.booksapi.comment;
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 /**
@@ -40,6 +45,7 @@ public class Comment {
      */
     @ManyToOne
     @JoinColumn(name = "user_id") // Maps the foreign key for the user
+    @JsonIdentityReference(alwaysAsId = true) // Serialized as the user's ID only
     private User user;
 
     /**
@@ -55,4 +61,22 @@ public class Comment {
      * Default value is the current date and time.
      */
     private LocalDateTime dateCommented = LocalDateTime.now();
+
+    /**
+     * The version of the comment, incremented by every update.
+     * Used for optimistic locking and as the validator of its HTTP representation.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * The time the comment was created or last updated.
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModified;
 }
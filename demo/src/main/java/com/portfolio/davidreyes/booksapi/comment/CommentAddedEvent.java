@@ -0,0 +1,24 @@
+package com.portfolio.davidreyes.booksapi.comment;
+
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Domain event published when a user comments on a book.
+ *
+ * @param commentId The ID of the comment.
+ * @param bookId    The ID of the book.
+ * @param userId    The ID of the user who wrote it.
+ */
+public record CommentAddedEvent(Long commentId, Long bookId, Long userId) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return BookChangedEvent.AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return bookId;
+    }
+}
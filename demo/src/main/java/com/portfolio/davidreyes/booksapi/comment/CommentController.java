@@ -35,11 +35,12 @@ public class CommentController {
      * Retrieves all comments for a specific book.
      *
      * @param bookId ID of the book for which comments are to be retrieved.
-     * @return ResponseEntity containing the list of comments.
+     * @return ResponseEntity containing the list of comments with its ETag and Last-Modified validators,
+     *         or HTTP 304 if the client's copy is current.
      */
     @GetMapping("/by-book/{bookId}")
     public ResponseEntity<List<Comment>> getCommentsByBookId(@PathVariable Long bookId) {
         List<Comment> comments = commentService.getCommentsByBookId(bookId);
-        return ResponseEntity.ok(comments);
+        return commentService.getCatalogTag(bookId, comments).ok(comments);
     }
 }
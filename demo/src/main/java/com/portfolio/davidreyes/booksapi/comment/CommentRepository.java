@@ -1,6 +1,8 @@
 package com.portfolio.davidreyes.booksapi.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,9 +14,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
      * Finds all comments associated with a specific book.
+     * Filters on the foreign key column; a derived query would join the book and filter on its ID, which
+     * keeps the index on {@code book_id} from being used.
      *
      * @param bookId ID of the book for which comments are to be retrieved.
      * @return List of comments associated with the specified book.
      */
-    List<Comment> findByBookId(Long bookId);
+    @Query("SELECT c FROM Comment c WHERE c.book.id = :bookId")
+    List<Comment> findByBookId(@Param("bookId") Long bookId);
 }
@@ -1,8 +1,11 @@
 package com.portfolio.davidreyes.booksapi.comment;
 
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.books.CatalogTag;
 import com.portfolio.davidreyes.booksapi.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +27,9 @@ public class CommentService {
     @Autowired
     private BooksRepository booksRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Adds a new comment for a specific book by a specific user.
      *
@@ -38,8 +44,8 @@ public class CommentService {
         var user = userRepository.findById(userId).orElseThrow(() ->
                 new IllegalArgumentException("User not found"));
 
-        // Retrieve the book by its ID
-        var book = booksRepository.findById(bookId).orElseThrow(() ->
+        // Retrieve and lock the book by its ID
+        var book = booksRepository.findByIdForUpdate(bookId).orElseThrow(() ->
                 new IllegalArgumentException("Book not found"));
 
         // Create a new comment and associate it with the user and book
@@ -48,8 +54,11 @@ public class CommentService {
         newComment.setBook(book);
         newComment.setComment(comment);
 
-        // Save the comment to the database
+        // Save the comment to the database and advance the book's version, as its comments changed
         commentRepository.save(newComment);
+        eventPublisher.publishEvent(new CommentAddedEvent(newComment.getId(), bookId, userId));
+        book.markModified();
+        eventPublisher.publishEvent(BookChangedEvent.updated(BookChangedEvent.Snapshot.of(book), book));
     }
 
     /**
@@ -58,7 +67,21 @@ public class CommentService {
      * @param bookId ID of the book for which comments are to be retrieved.
      * @return List of comments associated with the specified book.
      */
+    @Transactional(readOnly = true)
     public List<Comment> getCommentsByBookId(Long bookId) {
         return commentRepository.findByBookId(bookId);
     }
+
+    /**
+     * Computes the HTTP validators of a book's comments, reading the versions of the book, its author and the
+     * author's books with one projection query instead of from the entities.
+     *
+     * @param bookId   ID of the book the comments are on.
+     * @param comments The comments, in the order they are returned.
+     * @return The validators.
+     */
+    @Transactional(readOnly = true)
+    public CatalogTag getCatalogTag(Long bookId, List<Comment> comments) {
+        return CatalogTag.ofComments(comments, booksRepository.findVersionsByIdIn(List.of(bookId)));
+    }
 }
@@ -0,0 +1,96 @@
+package com.portfolio.davidreyes.booksapi.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter that caps the number of requests in progress when requests run on virtual threads.
+ *
+ * With platform threads the Tomcat worker pool bounds concurrency; with virtual threads nothing does,
+ * and every request beyond the connection pool's capacity would park inside Hikari until its connection
+ * timeout fails it. This filter admits at most {@code booksapi.virtual-threads.max-concurrent-requests}
+ * requests (by default the Hikari pool size), lets others wait briefly for a slot, and answers the rest
+ * with 503 Service Unavailable so clients back off instead of timing out.
+ *
+ * Only active when {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+ *
+ * Metrics: {@code http.server.bulkhead.in.flight} and {@code http.server.bulkhead.rejected}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestBulkheadFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final Counter rejected;
+
+    /**
+     * Creates the filter.
+     *
+     * @param maxConcurrentRequests The maximum number of requests processed at the same time.
+     * @param acquireTimeout        How long a request waits for a free slot before it is rejected.
+     * @param meterRegistry         The registry the bulkhead metrics are published to.
+     */
+    @Autowired
+    public RequestBulkheadFilter(@Value("${booksapi.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+                                 @Value("${booksapi.virtual-threads.acquire-timeout:1s}") Duration acquireTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeout = acquireTimeout;
+
+        Gauge.builder("http.server.bulkhead.in.flight", this, filter -> filter.maxConcurrentRequests - filter.permits.availablePermits())
+                .description("Requests currently admitted by the request bulkhead")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.bulkhead.rejected")
+                .description("Requests rejected because the request bulkhead was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Service busy: too many concurrent requests, try again later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
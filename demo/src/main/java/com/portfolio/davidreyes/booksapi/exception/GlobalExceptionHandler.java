@@ -1,10 +1,15 @@
 package com.portfolio.davidreyes.booksapi.exception;
 
+import com.portfolio.davidreyes.booksapi.inventory.OutOfStockException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Global exception handler for the application.
  * Provides centralized exception handling across all controllers.
@@ -34,5 +39,41 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Resource not found: " + ex.getMessage());
     }
 
+    /**
+     * Handles `RejectedExecutionException`, thrown when a bounded worker pool (such as password hashing) is saturated.
+     *
+     * @param ex The exception thrown.
+     * @return A `ResponseEntity` with a `503 Service Unavailable` status and a `Retry-After` header.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service busy: " + ex.getMessage());
+    }
+
+    /**
+     * Handles `ObjectOptimisticLockingFailureException`, thrown when an entity was changed by another request
+     * between being read and written.
+     *
+     * @param ex The exception thrown.
+     * @return A `ResponseEntity` with a `409 Conflict` status and a descriptive error message.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("Concurrent modification: " + ex.getPersistentClassName() + " " + ex.getIdentifier() + " was changed by another request");
+    }
+
+    /**
+     * Handles `OutOfStockException`, thrown when a book put in a cart or checked out has no copy left.
+     *
+     * @param ex The exception thrown.
+     * @return A `ResponseEntity` with a `409 Conflict` status and a descriptive error message.
+     */
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<String> handleOutOfStockException(OutOfStockException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Out of stock: " + ex.getMessage());
+    }
 
 }
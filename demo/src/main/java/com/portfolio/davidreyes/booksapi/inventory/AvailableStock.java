@@ -0,0 +1,18 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+/**
+ * Read-only projection of the copies of a book that can still be reserved: those on hand less those
+ * held by active reservations.
+ */
+public interface AvailableStock {
+
+    /**
+     * @return The ID of the book.
+     */
+    Long getBookId();
+
+    /**
+     * @return The number of copies that can be reserved.
+     */
+    Long getAvailable();
+}
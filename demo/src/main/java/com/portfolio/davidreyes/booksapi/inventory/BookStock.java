@@ -0,0 +1,55 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing the stock of a book whose inventory is tracked.
+ * Books without a stock row are not tracked and never run out.
+ */
+@Entity
+@Table(name = "book_stock")
+@Getter
+@NoArgsConstructor
+public class BookStock {
+
+    /**
+     * The ID of the book.
+     */
+    @Id
+    private Long bookId;
+
+    /**
+     * The copies in the warehouse, including those reserved but not yet deducted.
+     */
+    @Column(nullable = false)
+    private int onHand;
+
+    /**
+     * The copies on hand sold to orders but not yet deducted, which can never exceed the copies on hand.
+     */
+    @Column(nullable = false)
+    private int held;
+
+    /**
+     * The time the copies on hand last changed.
+     */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Creates the stock of a book.
+     *
+     * @param bookId    The ID of the book.
+     * @param onHand    The copies on hand.
+     * @param updatedAt The current time.
+     */
+    public BookStock(Long bookId, int onHand, Instant updatedAt) {
+        this.bookId = bookId;
+        this.onHand = onHand;
+        this.updatedAt = updatedAt;
+    }
+}
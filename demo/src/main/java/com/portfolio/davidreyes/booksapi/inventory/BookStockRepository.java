@@ -0,0 +1,78 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing BookStock entities.
+ */
+@Repository
+public interface BookStockRepository extends JpaRepository<BookStock, Long> {
+
+    /**
+     * Computes the copies of a book that can be reserved.
+     *
+     * @param bookId The ID of the book.
+     * @param now    The current time; reservations without an order expire at it.
+     * @return The available copies, or empty if the book's stock is not tracked.
+     */
+    @Query("SELECT s.bookId AS bookId, s.onHand - COALESCE(SUM(r.quantity), 0) AS available FROM BookStock s " +
+            "LEFT JOIN StockReservation r ON r.bookId = s.bookId AND (r.orderId IS NOT NULL OR r.expiresAt > :now) " +
+            "WHERE s.bookId = :bookId GROUP BY s.bookId, s.onHand")
+    Optional<AvailableStock> findAvailable(@Param("bookId") Long bookId, @Param("now") Instant now);
+
+    /**
+     * Computes the copies that can be reserved of every book whose stock is tracked.
+     *
+     * @param now The current time; reservations without an order expire at it.
+     * @return The available copies per book.
+     */
+    @Query("SELECT s.bookId AS bookId, s.onHand - COALESCE(SUM(r.quantity), 0) AS available FROM BookStock s " +
+            "LEFT JOIN StockReservation r ON r.bookId = s.bookId AND (r.orderId IS NOT NULL OR r.expiresAt > :now) " +
+            "GROUP BY s.bookId, s.onHand")
+    List<AvailableStock> findAllAvailable(@Param("now") Instant now);
+
+    /**
+     * Adds copies to the stock of a book.
+     *
+     * @param bookId   The ID of the book.
+     * @param quantity The copies to add, negative to take copies away.
+     * @param now      The current time.
+     * @return The number of rows updated, 0 if the book's stock is not tracked.
+     */
+    @Modifying
+    @Query("UPDATE BookStock s SET s.onHand = s.onHand + :quantity, s.updatedAt = :now WHERE s.bookId = :bookId")
+    int addOnHand(@Param("bookId") Long bookId, @Param("quantity") int quantity, @Param("now") Instant now);
+
+    /**
+     * Holds copies of a book for an order, if that many copies on hand are not held already.
+     * The row stays locked until the caller's transaction completes, so concurrent orders of the book,
+     * from any instance, are checked one after the other.
+     *
+     * @param bookId   The ID of the book.
+     * @param quantity The copies to hold.
+     * @return 1 if the copies are held, 0 if too few are left or the book's stock is not tracked.
+     */
+    @Modifying
+    @Query("UPDATE BookStock s SET s.held = s.held + :quantity WHERE s.bookId = :bookId AND s.onHand - s.held >= :quantity")
+    int hold(@Param("bookId") Long bookId, @Param("quantity") int quantity);
+
+    /**
+     * Takes held copies of a book away from the copies on hand, once their orders' reservations are deducted.
+     *
+     * @param bookId   The ID of the book.
+     * @param quantity The copies to take away.
+     * @param now      The current time.
+     * @return The number of rows updated, 0 if the book's stock is not tracked.
+     */
+    @Modifying
+    @Query("UPDATE BookStock s SET s.onHand = s.onHand - :quantity, s.held = s.held - :quantity, s.updatedAt = :now WHERE s.bookId = :bookId")
+    int deductHeld(@Param("bookId") Long bookId, @Param("quantity") int quantity, @Param("now") Instant now);
+}
@@ -0,0 +1,54 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the stock of books.
+ * Books are reserved when they are put in a cart and sold when the cart is checked out; a book that is
+ * out of stock answers {@code 409 Conflict} there.
+ *
+ * Endpoints:
+ * - GET /api/v1/inventory/{bookId}: Get the copies of a book that can still be reserved.
+ * - POST /api/v1/inventory/{bookId}/restock?quantity={quantity}: Add copies to the stock of a book.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory")
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    /**
+     * Constructor for injecting the InventoryService dependency.
+     *
+     * @param inventoryService Service for the stock of books.
+     */
+    @Autowired
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    /**
+     * Endpoint to get the stock of a book.
+     *
+     * @param bookId The ID of the book.
+     * @return The copies that can still be reserved.
+     */
+    @GetMapping("/{bookId}")
+    public ResponseEntity<StockStatus> getStock(@PathVariable Long bookId) {
+        return ResponseEntity.ok(inventoryService.getStock(bookId));
+    }
+
+    /**
+     * Endpoint to add copies to the stock of a book, which starts tracking it if it was not.
+     *
+     * @param bookId   The ID of the book.
+     * @param quantity The copies to add.
+     * @return The stock of the book.
+     */
+    @PostMapping("/{bookId}/restock")
+    public ResponseEntity<StockStatus> restock(@PathVariable Long bookId, @RequestParam int quantity) {
+        return ResponseEntity.ok(inventoryService.restock(bookId, quantity));
+    }
+}
@@ -0,0 +1,430 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service layer for the stock of books, so that a launch cannot sell more copies than there are.
+ *
+ * Only books with a {@link BookStock} row are tracked. The copies each of them has available are held in
+ * memory, in an atomic counter per book loaded from the database on first use. A reservation takes its
+ * copy from the counter with a compare-and-set, waiting for no lock and touching no shared row, then
+ * inserts its {@link StockReservation} in the caller's transaction; if the transaction rolls back, the
+ * copy is given back. Releasing a reservation, its expiry and a restock add their copies to the counter
+ * once their transaction commits.
+ *
+ * A book put in a cart is reserved for {@code booksapi.inventory.reservation-ttl}. Expired reservations are
+ * deleted and their copies given back every {@code booksapi.inventory.sweep-interval}. A checkout assigns
+ * the user's reservations to the order, or reserves again if they expired. Every
+ * {@code booksapi.inventory.reconcile-interval}, the copies of ordered reservations are deducted from the
+ * copies on hand in one batch, and every counter without a change in progress is compared with the
+ * database and corrected. The counters of one instance are exact; the reservations of other instances
+ * reach them through that correction.
+ *
+ * Until then, two instances can each reserve the same last copy for a cart. A checkout therefore also holds
+ * its copy in the {@link BookStock} row, with a conditional update that fails once every copy on hand is
+ * held, so orders never oversell a book however many instances take them.
+ *
+ * Reservations are counted by outcome in {@code booksapi.inventory.reservations}, and reserving is timed
+ * as {@code booksapi.inventory.reserve}.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    // The number of reservations deleted or deducted per transaction
+    private static final int BATCH_SIZE = 500;
+
+    private final BookStockRepository bookStockRepository;
+    private final StockReservationRepository reservationRepository;
+    private final BooksRepository booksRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reservationTtl;
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+    private final Timer reserveTimer;
+    private final Counter reserved;
+    private final Counter rejected;
+    private final Counter released;
+    private final Counter expired;
+    private final Counter ordered;
+    private final Counter corrected;
+
+    /**
+     * Creates the service.
+     *
+     * @param bookStockRepository   The repository of the stock of the books.
+     * @param reservationRepository The repository of the reservations.
+     * @param booksRepository       Checks that restocked books exist.
+     * @param transactionManager    Runs the sweeps and deductions in transactions.
+     * @param meterRegistry         The registry the reservation metrics are published to.
+     * @param reservationTtl        How long a book in a cart stays reserved.
+     */
+    @Autowired
+    public InventoryService(BookStockRepository bookStockRepository, StockReservationRepository reservationRepository,
+                            BooksRepository booksRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${booksapi.inventory.reservation-ttl:15m}") Duration reservationTtl) {
+        this.bookStockRepository = bookStockRepository;
+        this.reservationRepository = reservationRepository;
+        this.booksRepository = booksRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationTtl = reservationTtl;
+        this.reserveTimer = Timer.builder("booksapi.inventory.reserve")
+                .description("Time taken to reserve a copy, in memory and in the caller's transaction")
+                .register(meterRegistry);
+        this.reserved = reservations(meterRegistry, "reserved");
+        this.rejected = reservations(meterRegistry, "rejected");
+        this.released = reservations(meterRegistry, "released");
+        this.expired = reservations(meterRegistry, "expired");
+        this.ordered = reservations(meterRegistry, "ordered");
+        this.corrected = Counter.builder("booksapi.inventory.corrected")
+                .description("Copies the reconciliation added to or took from the in-memory counters")
+                .baseUnit("copies")
+                .register(meterRegistry);
+    }
+
+    private static Counter reservations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("booksapi.inventory.reservations")
+                .description("Reservations of a copy, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves a copy of a book for a user's cart, if its stock is tracked.
+     *
+     * @param userId ID of the user.
+     * @param bookId ID of the book.
+     * @throws OutOfStockException if no copy is available.
+     */
+    @Transactional
+    public void reserve(Long userId, Long bookId) {
+        reserve(userId, bookId, null);
+    }
+
+    /**
+     * Releases the reservation of a book in a user's cart, as the book was taken out of it.
+     *
+     * @param userId ID of the user.
+     * @param bookId ID of the book.
+     */
+    @Transactional
+    public void release(Long userId, Long bookId) {
+        Stock stock = stock(bookId);
+        if (!stock.tracked) {
+            return;
+        }
+        for (StockReservation reservation : reservationRepository.findActive(userId, bookId, Instant.now())) {
+            stock.begin();
+            if (reservationRepository.deleteUnconfirmed(reservation.getId()) == 1) {
+                endOnCompletion(stock, reservation.getQuantity(), 0);
+                released.increment();
+            } else {
+                stock.end(0);
+            }
+        }
+    }
+
+    /**
+     * Assigns the reservation of a book in a user's cart to an order, in the caller's transaction.
+     * If the reservation expired, a copy is reserved again for the order. Either way the copy is held in
+     * the book's stock row, which locks it until the caller's transaction completes.
+     *
+     * @param userId  ID of the user.
+     * @param bookId  ID of the book.
+     * @param orderId ID of the order.
+     * @throws OutOfStockException if the reservation expired and no copy is available any more,
+     *                             or every copy on hand is already held for other orders.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(Long userId, Long bookId, Long orderId) {
+        Stock stock = stock(bookId);
+        if (!stock.tracked) {
+            return;
+        }
+        if (bookStockRepository.hold(bookId, 1) == 0) {
+            rejected.increment();
+            throw new OutOfStockException(bookId);
+        }
+        Instant now = Instant.now();
+        for (StockReservation reservation : reservationRepository.findActive(userId, bookId, now)) {
+            if (reservationRepository.confirm(reservation.getId(), orderId, now) == 1) {
+                ordered.increment();
+                return;
+            }
+        }
+        reserve(userId, bookId, orderId);
+        ordered.increment();
+    }
+
+    /**
+     * Adds copies to the stock of a book, starting to track it if it was not.
+     *
+     * @param bookId   ID of the book.
+     * @param quantity The copies to add.
+     * @return The stock of the book once the copies are added.
+     * @throws IllegalArgumentException if the quantity is not positive.
+     * @throws IllegalStateException    if the book does not exist.
+     */
+    @Transactional
+    public StockStatus restock(Long bookId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("The quantity to restock must be positive.");
+        }
+        if (!booksRepository.existsById(bookId)) {
+            throw new IllegalStateException("Book with ID " + bookId + " does not exist");
+        }
+        Stock stock = stock(bookId);
+        Instant now = Instant.now();
+        if (stock.tracked) {
+            stock.begin();
+            bookStockRepository.addOnHand(bookId, quantity, now);
+            endOnCompletion(stock, quantity, 0);
+            return new StockStatus(bookId, stock.available.get() + quantity);
+        }
+        bookStockRepository.save(new BookStock(bookId, quantity, now));
+        // Loaded again from the database on first use after the commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stocks.remove(bookId, stock);
+            }
+        });
+        return new StockStatus(bookId, quantity);
+    }
+
+    /**
+     * Returns the copies of a book that can still be reserved.
+     *
+     * @param bookId ID of the book.
+     * @return The stock of the book.
+     * @throws IllegalStateException if the book's stock is not tracked.
+     */
+    public StockStatus getStock(Long bookId) {
+        Stock stock = stock(bookId);
+        if (!stock.tracked) {
+            throw new IllegalStateException("The stock of book with ID " + bookId + " is not tracked");
+        }
+        return new StockStatus(bookId, stock.available.get());
+    }
+
+    /**
+     * Deletes the reservations that expired in carts and gives their copies back.
+     */
+    @Scheduled(fixedDelayString = "${booksapi.inventory.sweep-interval:PT30S}")
+    public void releaseExpired() {
+        Instant now = Instant.now();
+        List<StockReservation> batch;
+        do {
+            batch = reservationRepository.findExpired(now, PageRequest.of(0, BATCH_SIZE));
+            List<StockReservation> reservations = batch;
+            int deleted = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (StockReservation reservation : reservations) {
+                    Stock stock = stocks.get(reservation.getBookId());
+                    boolean adjust = stock != null && stock.tracked;
+                    if (adjust) {
+                        stock.begin();
+                    }
+                    boolean won = reservationRepository.deleteUnconfirmed(reservation.getId()) == 1;
+                    if (adjust) {
+                        if (won) {
+                            endOnCompletion(stock, reservation.getQuantity(), 0);
+                        } else {
+                            stock.end(0);
+                        }
+                    }
+                    count += won ? 1 : 0;
+                }
+                return count;
+            });
+            expired.increment(deleted);
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    /**
+     * Deducts the copies of ordered reservations from the copies on hand, then corrects the in-memory
+     * counters that differ from the database.
+     */
+    @Scheduled(fixedDelayString = "${booksapi.inventory.reconcile-interval:PT30S}")
+    public synchronized void reconcile() {
+        deductOrdered();
+
+        // Counters are only corrected if nothing changed them while the database was read
+        Map<Long, long[]> snapshots = new HashMap<>();
+        stocks.forEach((bookId, stock) -> {
+            long changes = stock.changes.get();
+            if (stock.tracked && stock.inFlight.get() == 0) {
+                snapshots.put(bookId, new long[]{changes, stock.available.get()});
+            }
+        });
+        for (AvailableStock level : bookStockRepository.findAllAvailable(Instant.now())) {
+            Stock stock = stocks.get(level.getBookId());
+            long[] snapshot = snapshots.get(level.getBookId());
+            if (stock == null) {
+                continue;
+            }
+            if (!stock.tracked) {
+                // Restocked by another instance
+                stocks.remove(level.getBookId(), stock);
+            } else if (snapshot != null && snapshot[1] != level.getAvailable() && stock.inFlight.get() == 0
+                    && stock.changes.get() == snapshot[0]
+                    && stock.available.compareAndSet((int) snapshot[1], Math.toIntExact(level.getAvailable()))) {
+                log.debug("Corrected the available copies of book {} from {} to {}", level.getBookId(), snapshot[1], level.getAvailable());
+                corrected.increment(Math.abs(level.getAvailable() - snapshot[1]));
+            }
+        }
+    }
+
+    /**
+     * Moves the copies of ordered reservations from the reservations and the held copies to the copies on
+     * hand, which leaves the copies available unchanged. A batch that another instance deducts at the same time is left to it.
+     */
+    private void deductOrdered() {
+        List<StockReservation> batch;
+        do {
+            batch = reservationRepository.findConfirmed(PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<StockReservation> reservations = batch;
+            Boolean deducted = transactionTemplate.execute(status -> {
+                if (reservationRepository.deleteConfirmed(reservations.stream().map(StockReservation::getId).toList()) != reservations.size()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                Map<Long, Integer> copies = new TreeMap<>();
+                reservations.forEach(reservation -> copies.merge(reservation.getBookId(), reservation.getQuantity(), Integer::sum));
+                Instant now = Instant.now();
+                copies.forEach((bookId, quantity) -> bookStockRepository.deductHeld(bookId, quantity, now));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(deducted)) {
+                return;
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    /**
+     * Takes a copy from the counter and inserts its reservation in the current transaction.
+     */
+    private void reserve(Long userId, Long bookId, Long orderId) {
+        long start = System.nanoTime();
+        try {
+            Stock stock = stock(bookId);
+            if (!stock.tracked) {
+                return;
+            }
+            stock.begin();
+            if (!stock.take(1)) {
+                stock.end(0);
+                rejected.increment();
+                throw new OutOfStockException(bookId);
+            }
+            endOnCompletion(stock, 0, 1);
+            Instant now = Instant.now();
+            reservationRepository.save(new StockReservation(bookId, userId, 1, orderId, now, now.plus(reservationTtl)));
+            reserved.increment();
+        } finally {
+            reserveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Ends a change of a counter when the current transaction completes.
+     *
+     * @param committed  The copies to add if the transaction commits.
+     * @param rolledBack The copies to add if it rolls back.
+     */
+    private void endOnCompletion(Stock stock, int committed, int rolledBack) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stock.end(status == STATUS_COMMITTED ? committed : rolledBack);
+            }
+        });
+    }
+
+    /**
+     * Returns the counter of a book, loading it from the database on first use.
+     */
+    private Stock stock(Long bookId) {
+        return stocks.computeIfAbsent(bookId, id -> bookStockRepository.findAvailable(id, Instant.now())
+                .map(level -> new Stock(true, Math.toIntExact(level.getAvailable())))
+                .orElseGet(() -> new Stock(false, 0)));
+    }
+
+    /**
+     * The copies of a book available on this instance, with the changes in progress.
+     *
+     * A change calls {@link #begin()} before it touches the counter or the database and {@link #end(int)}
+     * once its transaction completed. The reconciliation only corrects a counter with no change in
+     * progress whose change count stayed the same while it read the database.
+     */
+    private static final class Stock {
+
+        private final boolean tracked;
+        private final AtomicInteger available;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong changes = new AtomicLong();
+
+        Stock(boolean tracked, int available) {
+            this.tracked = tracked;
+            this.available = new AtomicInteger(available);
+        }
+
+        void begin() {
+            inFlight.incrementAndGet();
+            changes.incrementAndGet();
+        }
+
+        void end(int copies) {
+            if (copies != 0) {
+                available.addAndGet(copies);
+            }
+            changes.incrementAndGet();
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * Takes copies if that many are available.
+         */
+        boolean take(int copies) {
+            while (true) {
+                int current = available.get();
+                if (current < copies) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - copies)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
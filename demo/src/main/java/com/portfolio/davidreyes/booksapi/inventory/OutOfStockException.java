@@ -0,0 +1,16 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+/**
+ * Thrown when a book has fewer copies available than a cart or order asks for.
+ */
+public class OutOfStockException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param bookId The ID of the book.
+     */
+    public OutOfStockException(Long bookId) {
+        super("Book with ID " + bookId + " is out of stock");
+    }
+}
@@ -0,0 +1,82 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entity representing copies of a book held for a user, while the book is in their cart or once they
+ * ordered it. A reservation without an order is released when it expires.
+ */
+@Entity
+@Table(name = "stock_reservation")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockReservation {
+
+    /**
+     * Unique identifier for the reservation.
+     * Generated automatically using the IDENTITY strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the reserved book.
+     */
+    @Column(nullable = false)
+    private Long bookId;
+
+    /**
+     * The ID of the user the copies are held for.
+     */
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * The number of copies held.
+     */
+    @Column(nullable = false)
+    private int quantity;
+
+    /**
+     * The ID of the order the copies were sold in, or null while they are only in a cart.
+     */
+    private Long orderId;
+
+    /**
+     * The time the reservation is released unless the copies were ordered.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * The time the copies were reserved.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Creates a reservation.
+     *
+     * @param bookId    The ID of the book.
+     * @param userId    The ID of the user.
+     * @param quantity  The number of copies.
+     * @param orderId   The ID of the order, or null for a cart.
+     * @param createdAt The current time.
+     * @param expiresAt The time the reservation expires.
+     */
+    public StockReservation(Long bookId, Long userId, int quantity, Long orderId, Instant createdAt, Instant expiresAt) {
+        this.bookId = bookId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing StockReservation entities.
+ *
+ * Reservations are only changed by conditional statements, whose row counts tell the caller whether
+ * it won a race with another request or instance, such as a checkout confirming a reservation that
+ * is being released as expired.
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Finds the reservations of a book in a user's cart that have not expired.
+     *
+     * @param userId The ID of the user.
+     * @param bookId The ID of the book.
+     * @param now    The current time.
+     * @return The reservations.
+     */
+    @Query("SELECT r FROM StockReservation r WHERE r.userId = :userId AND r.bookId = :bookId " +
+            "AND r.orderId IS NULL AND r.expiresAt > :now")
+    List<StockReservation> findActive(@Param("userId") Long userId, @Param("bookId") Long bookId, @Param("now") Instant now);
+
+    /**
+     * Assigns a reservation to an order, unless it expired or was released.
+     *
+     * @param id      The ID of the reservation.
+     * @param orderId The ID of the order.
+     * @param now     The current time.
+     * @return 1 if the reservation now belongs to the order, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.orderId = :orderId WHERE r.id = :id AND r.orderId IS NULL AND r.expiresAt > :now")
+    int confirm(@Param("id") Long id, @Param("orderId") Long orderId, @Param("now") Instant now);
+
+    /**
+     * Deletes a reservation that has no order.
+     *
+     * @param id The ID of the reservation.
+     * @return 1 if this call deleted it, 0 if it was ordered or deleted already.
+     */
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.id = :id AND r.orderId IS NULL")
+    int deleteUnconfirmed(@Param("id") Long id);
+
+    /**
+     * Finds reservations without an order that have expired, oldest first.
+     *
+     * @param now      The current time.
+     * @param pageable The number of reservations to return.
+     * @return The reservations.
+     */
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId IS NULL AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<StockReservation> findExpired(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Finds reservations with an order, whose copies have not been deducted from the copies on hand.
+     * Order IDs are positive, and a range on them is served by the index where {@code IS NOT NULL} is not.
+     *
+     * @param pageable The number of reservations to return.
+     * @return The reservations.
+     */
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId > 0")
+    List<StockReservation> findConfirmed(Pageable pageable);
+
+    /**
+     * Deletes reservations with an order, once their copies are deducted.
+     *
+     * @param ids The IDs of the reservations.
+     * @return The number of reservations this call deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.id IN :ids AND r.orderId IS NOT NULL")
+    int deleteConfirmed(@Param("ids") Collection<Long> ids);
+}
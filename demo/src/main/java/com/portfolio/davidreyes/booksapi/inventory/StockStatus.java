@@ -0,0 +1,10 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+/**
+ * The stock of a book as this instance sees it.
+ *
+ * @param bookId    The ID of the book.
+ * @param available The copies that can still be reserved.
+ */
+public record StockStatus(long bookId, int available) {
+}
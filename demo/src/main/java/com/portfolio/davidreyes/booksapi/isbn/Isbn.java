@@ -0,0 +1,209 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+/**
+ * Validation, normalization and conversion of ISBNs.
+ *
+ * All checks use primitive arithmetic on the digits and allocate nothing, so they can run over
+ * large feeds. The canonical form of an ISBN is its ISBN-13 as a {@code long}; ISBN-10s, including
+ * ones with an {@code X} check digit or leading zeros, are converted to it by {@link #parse(CharSequence)}.
+ *
+ * Numeric ISBNs such as {@code Books.isbn} are read as an ISBN-13 when they have 13 digits and as a
+ * zero-padded ISBN-10 when they have at most 10, since leading zeros do not survive in a {@code long}.
+ */
+public final class Isbn {
+
+    /**
+     * Returned by the parsing and conversion methods for input that is not a valid ISBN.
+     */
+    public static final long INVALID = -1L;
+
+    private static final long TEN_DIGITS = 10_000_000_000L;
+    private static final long TWELVE_DIGITS = 1_000_000_000_000L;
+    private static final long THIRTEEN_DIGITS = 10_000_000_000_000L;
+    private static final long NINE_DIGITS = 1_000_000_000L;
+    private static final long BOOKLAND_978 = 978;
+    private static final long BOOKLAND_979 = 979;
+
+    private Isbn() {
+    }
+
+    /**
+     * Computes the ISBN-13 check digit.
+     *
+     * @param first12 The first twelve digits of the ISBN-13.
+     * @return The check digit, 0-9.
+     */
+    public static int isbn13CheckDigit(long first12) {
+        int sum = 0;
+        // From the right, the digits before the check digit are weighted 3, 1, 3, 1, ...
+        for (int i = 0; i < 12; i++, first12 /= 10) {
+            sum += (int) (first12 % 10) * ((i & 1) == 0 ? 3 : 1);
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Computes the ISBN-10 check digit.
+     *
+     * @param first9 The first nine digits of the ISBN-10.
+     * @return The check digit, 0-10, where 10 is written as {@code X}.
+     */
+    public static int isbn10CheckDigit(long first9) {
+        int sum = 0;
+        // From the right, the digits before the check digit are weighted 2, 3, ..., 10
+        for (int weight = 2; weight <= 10; weight++, first9 /= 10) {
+            sum += (int) (first9 % 10) * weight;
+        }
+        return (11 - sum % 11) % 11;
+    }
+
+    /**
+     * Checks whether a number is a valid ISBN-13 with a 978 or 979 prefix.
+     *
+     * @param isbn The number to check.
+     * @return true if it is a valid ISBN-13.
+     */
+    public static boolean isValidIsbn13(long isbn) {
+        if (isbn < TWELVE_DIGITS || isbn >= THIRTEEN_DIGITS) {
+            return false;
+        }
+        long prefix = isbn / TEN_DIGITS;
+        return (prefix == BOOKLAND_978 || prefix == BOOKLAND_979) && isbn13CheckDigit(isbn / 10) == isbn % 10;
+    }
+
+    /**
+     * Checks whether a number is a valid ISBN-10, read with leading zeros restored.
+     * ISBN-10s with an {@code X} check digit cannot be written as a number; use {@link #parse(CharSequence)}.
+     *
+     * @param isbn The number to check.
+     * @return true if it is a valid ISBN-10.
+     */
+    public static boolean isValidIsbn10(long isbn) {
+        return isbn > 0 && isbn < TEN_DIGITS && isbn10CheckDigit(isbn / 10) == isbn % 10;
+    }
+
+    /**
+     * Checks whether a number is a valid ISBN-13 or ISBN-10.
+     *
+     * @param isbn The number to check.
+     * @return true if it is a valid ISBN.
+     */
+    public static boolean isValid(long isbn) {
+        return isbn >= TEN_DIGITS ? isValidIsbn13(isbn) : isValidIsbn10(isbn);
+    }
+
+    /**
+     * Validates a numeric ISBN.
+     *
+     * @param isbn The ISBN to validate.
+     * @throws IllegalArgumentException if the ISBN is missing or invalid.
+     */
+    public static void validate(Long isbn) {
+        if (isbn == null) {
+            throw new IllegalArgumentException("ISBN is required.");
+        }
+        long value = isbn;
+        if (value <= 0 || value >= THIRTEEN_DIGITS || (value >= TEN_DIGITS && value < TWELVE_DIGITS)) {
+            throw new IllegalArgumentException("Invalid ISBN length. ISBN must be 10 or 13 digits long.");
+        }
+        if (value >= TWELVE_DIGITS && !isValidIsbn13(value)) {
+            throw new IllegalArgumentException("Invalid ISBN-13 checksum or prefix.");
+        }
+        if (value < TEN_DIGITS && !isValidIsbn10(value)) {
+            throw new IllegalArgumentException("Invalid ISBN-10 checksum.");
+        }
+    }
+
+    /**
+     * Converts a numeric ISBN-10 or ISBN-13 to its canonical ISBN-13.
+     *
+     * @param isbn The ISBN.
+     * @return The ISBN-13, or {@link #INVALID} if the input is not a valid ISBN.
+     */
+    public static long toIsbn13(long isbn) {
+        if (isbn >= TEN_DIGITS) {
+            return isValidIsbn13(isbn) ? isbn : INVALID;
+        }
+        return isValidIsbn10(isbn) ? fromIsbn10Body(isbn / 10) : INVALID;
+    }
+
+    /**
+     * Converts an ISBN-13 to its ISBN-10. Only 978-prefixed ISBNs have one.
+     *
+     * @param isbn13 The ISBN-13.
+     * @return The ten-character ISBN-10, with leading zeros and possibly an {@code X} check digit.
+     * @throws IllegalArgumentException if the ISBN-13 is invalid or has no ISBN-10.
+     */
+    public static String toIsbn10(long isbn13) {
+        if (!isValidIsbn13(isbn13) || isbn13 / TEN_DIGITS != BOOKLAND_978) {
+            throw new IllegalArgumentException("ISBN " + isbn13 + " has no ISBN-10 equivalent.");
+        }
+        long body = isbn13 / 10 % NINE_DIGITS;
+        int check = isbn10CheckDigit(body);
+        char[] chars = new char[10];
+        chars[9] = check == 10 ? 'X' : (char) ('0' + check);
+        for (int i = 8; i >= 0; i--, body /= 10) {
+            chars[i] = (char) ('0' + body % 10);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parses an ISBN-10 or ISBN-13 written with or without hyphens and spaces,
+     * for example {@code 978-0-306-40615-7} or {@code 0-8044-2957-X}.
+     *
+     * @param text The text to parse.
+     * @return The canonical ISBN-13, or {@link #INVALID} if the text is not a valid ISBN.
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        long digits = 0;
+        int count = 0;
+        boolean checkDigitX = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (checkDigitX || ++count > 13) {
+                    return INVALID;
+                }
+                digits = digits * 10 + (c - '0');
+            } else if ((c == 'X' || c == 'x') && count == 9 && !checkDigitX) {
+                checkDigitX = true;
+                count++;
+            } else if (c != '-' && c != ' ') {
+                return INVALID;
+            }
+        }
+        return complete(digits, count, checkDigitX);
+    }
+
+    /**
+     * Turns the digits collected from a written ISBN into its canonical ISBN-13.
+     *
+     * @param digits      The digits read, excluding an {@code X} check digit.
+     * @param count       The number of digits read, including an {@code X} check digit.
+     * @param checkDigitX Whether the last character was an {@code X} check digit.
+     * @return The canonical ISBN-13, or {@link #INVALID}.
+     */
+    static long complete(long digits, int count, boolean checkDigitX) {
+        if (count == 13) {
+            return isValidIsbn13(digits) ? digits : INVALID;
+        }
+        if (count != 10) {
+            return INVALID;
+        }
+        long body = checkDigitX ? digits : digits / 10;
+        int check = checkDigitX ? 10 : (int) (digits % 10);
+        return isbn10CheckDigit(body) == check ? fromIsbn10Body(body) : INVALID;
+    }
+
+    /**
+     * Builds the 978-prefixed ISBN-13 for the first nine digits of an ISBN-10.
+     */
+    private static long fromIsbn10Body(long first9) {
+        long first12 = BOOKLAND_978 * NINE_DIGITS + first9;
+        return first12 * 10 + isbn13CheckDigit(first12);
+    }
+}
@@ -0,0 +1,27 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+/**
+ * Result of checking a single written ISBN.
+ *
+ * @param input  The ISBN as submitted.
+ * @param valid  Whether it is a valid ISBN-10 or ISBN-13.
+ * @param isbn13 The canonical ISBN-13, or null if the input is invalid.
+ * @param isbn10 The ISBN-10 equivalent, or null if the input is invalid or has no ISBN-10 (979 prefix).
+ */
+public record IsbnCheck(String input, boolean valid, Long isbn13, String isbn10) {
+
+    /**
+     * Checks a written ISBN.
+     *
+     * @param input The ISBN, with or without hyphens and spaces.
+     * @return The result of the check.
+     */
+    public static IsbnCheck of(String input) {
+        long isbn13 = Isbn.parse(input);
+        if (isbn13 == Isbn.INVALID) {
+            return new IsbnCheck(input, false, null, null);
+        }
+        String isbn10 = isbn13 / 10_000_000_000L == 978 ? Isbn.toIsbn10(isbn13) : null;
+        return new IsbnCheck(input, true, isbn13, isbn10);
+    }
+}
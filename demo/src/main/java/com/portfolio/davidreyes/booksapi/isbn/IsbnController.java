@@ -0,0 +1,52 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST controller for validating and converting ISBNs.
+ *
+ * Base URL: /api/v1/isbn
+ */
+@RestController
+@RequestMapping(path = "api/v1/isbn")
+public class IsbnController {
+
+    private final IsbnService isbnService;
+
+    /**
+     * Constructor for injecting the IsbnService dependency.
+     *
+     * @param isbnService Service for checking ISBNs.
+     */
+    @Autowired
+    public IsbnController(IsbnService isbnService) {
+        this.isbnService = isbnService;
+    }
+
+    /**
+     * Checks a JSON array of ISBNs, returning the normalized ISBN-13 and ISBN-10 of each valid one.
+     *
+     * @param isbns The ISBNs, with or without hyphens and spaces.
+     * @return One result per ISBN, in order.
+     */
+    @PostMapping(path = "/validate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<IsbnCheck> check(@RequestBody List<String> isbns) {
+        return isbnService.check(isbns);
+    }
+
+    /**
+     * Validates a plain-text feed with one ISBN per line, streaming it without buffering the whole body.
+     *
+     * @param body The feed.
+     * @return The counts of valid and invalid ISBNs and the first invalid line numbers.
+     */
+    @PostMapping(path = "/validate", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public IsbnValidationReport validateFeed(InputStream body) {
+        return isbnService.validateLines(body);
+    }
+}
@@ -0,0 +1,135 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service layer for checking ISBNs in bulk.
+ *
+ * Line-based input is validated straight from the request bytes: each line is parsed as it
+ * streams past, without building strings, so a feed is checked in a single pass with a fixed
+ * amount of memory regardless of its size.
+ */
+@Service
+public class IsbnService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int maxReportedInvalid; // Cap on invalid line numbers returned in a report
+
+    /**
+     * Constructor to inject configuration.
+     *
+     * @param maxReportedInvalid Maximum number of invalid line numbers included in a report.
+     */
+    public IsbnService(@Value("${booksapi.isbn.max-reported-invalid:1000}") int maxReportedInvalid) {
+        this.maxReportedInvalid = maxReportedInvalid;
+    }
+
+    /**
+     * Checks a list of written ISBNs.
+     *
+     * @param isbns The ISBNs, with or without hyphens and spaces.
+     * @return One result per input, in order.
+     */
+    public List<IsbnCheck> check(List<String> isbns) {
+        List<IsbnCheck> results = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            results.add(IsbnCheck.of(isbn));
+        }
+        return results;
+    }
+
+    /**
+     * Validates ASCII text with one ISBN per line. Blank lines are skipped.
+     *
+     * @param input The text to validate.
+     * @return The counts of valid and invalid ISBNs and the first invalid line numbers.
+     */
+    public IsbnValidationReport validateLines(InputStream input) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Tally tally = new Tally(maxReportedInvalid);
+        long line = 1;
+
+        // Parser state for the current line, carried across buffer boundaries
+        long digits = 0;
+        int count = 0;
+        boolean checkDigitX = false;
+        boolean malformed = false;
+        boolean blank = true;
+
+        try {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        if (!blank) {
+                            tally.record(line, !malformed && Isbn.complete(digits, count, checkDigitX) != Isbn.INVALID);
+                        }
+                        line++;
+                        digits = 0;
+                        count = 0;
+                        checkDigitX = false;
+                        malformed = false;
+                        blank = true;
+                    } else if (b >= '0' && b <= '9') {
+                        blank = false;
+                        if (checkDigitX || ++count > 13) {
+                            malformed = true;
+                        } else {
+                            digits = digits * 10 + (b - '0');
+                        }
+                    } else if ((b == 'X' || b == 'x') && count == 9 && !checkDigitX) {
+                        blank = false;
+                        checkDigitX = true;
+                        count++;
+                    } else if (b != '-' && b != ' ' && b != '\r' && b != '\t') {
+                        blank = false;
+                        malformed = true;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        // The last line may not end with a newline
+        if (!blank) {
+            tally.record(line, !malformed && Isbn.complete(digits, count, checkDigitX) != Isbn.INVALID);
+        }
+        return new IsbnValidationReport(tally.valid + tally.invalid, tally.valid, tally.invalid, tally.invalidLines);
+    }
+
+    /**
+     * Running counts of a bulk validation.
+     */
+    private static final class Tally {
+
+        private final int maxReportedInvalid;
+        private final List<Long> invalidLines = new ArrayList<>();
+        private long valid;
+        private long invalid;
+
+        Tally(int maxReportedInvalid) {
+            this.maxReportedInvalid = maxReportedInvalid;
+        }
+
+        void record(long line, boolean isValid) {
+            if (isValid) {
+                valid++;
+            } else {
+                invalid++;
+                if (invalidLines.size() < maxReportedInvalid) {
+                    invalidLines.add(line);
+                }
+            }
+        }
+    }
+}
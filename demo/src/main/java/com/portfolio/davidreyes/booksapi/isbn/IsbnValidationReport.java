@@ -0,0 +1,14 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk ISBN validation.
+ *
+ * @param checked      Number of non-empty lines checked.
+ * @param valid        Number of valid ISBNs.
+ * @param invalid      Number of invalid ISBNs.
+ * @param invalidLines Line numbers (starting at 1) of the first invalid ISBNs, up to the configured limit.
+ */
+public record IsbnValidationReport(long checked, long valid, long invalid, List<Long> invalidLines) {
+}
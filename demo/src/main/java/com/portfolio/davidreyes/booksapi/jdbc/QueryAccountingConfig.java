@@ -0,0 +1,49 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application's data sources in a datasource proxy that reports every statement to a
+ * {@link QueryAccountingListener}, for per-request SQL accounting and slow query logging.
+ *
+ * On by default; set {@code booksapi.sql.accounting.enabled=false} to use the data sources unwrapped.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booksapi.sql.accounting.enabled", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    /**
+     * Post-processor replacing each data source bean with its proxy. Static so it is registered before
+     * the data sources are created.
+     *
+     * @param slowQueryThreshold The execution time above which a statement is logged.
+     * @return The post-processor.
+     */
+    @Bean
+    public static BeanPostProcessor queryAccountingDataSourcePostProcessor(
+            @Value("${booksapi.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        QueryAccountingListener listener = new QueryAccountingListener(slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
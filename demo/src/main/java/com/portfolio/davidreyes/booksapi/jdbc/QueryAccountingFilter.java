@@ -0,0 +1,173 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Servlet filter that accounts for the SQL statements executed while handling each request.
+ *
+ * Statements executed the same way at least {@code booksapi.sql.n-plus-one-threshold} times in one
+ * request are logged as a suspected N+1 query and counted in {@code booksapi.sql.n-plus-one}, tagged
+ * with the endpoint's URI pattern. Outside the {@code prod} profile, responses also carry the number of
+ * statements in {@code X-Query-Count} and the database time and rows in a {@code Server-Timing} entry
+ * named {@code db}. The headers are written when the response is committed, so statements run while the
+ * body is serialized count towards the log and the metric but not towards the headers.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.sql.accounting.enabled", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryAccountingFilter.class);
+
+    /**
+     * Header carrying the number of statements executed for the request.
+     */
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    /**
+     * Standard header carrying the database time of the request.
+     */
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final int nPlusOneThreshold;
+    private final boolean responseHeaders;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the filter.
+     *
+     * @param nPlusOneThreshold The number of executions of the same statement in one request reported as N+1.
+     * @param environment       The environment, to leave out the headers in production.
+     * @param meterRegistry     The registry suspected N+1 queries are counted in.
+     */
+    @Autowired
+    public QueryAccountingFilter(@Value("${booksapi.sql.n-plus-one-threshold:3}") int nPlusOneThreshold,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.responseHeaders = !environment.acceptsProfiles(Profiles.of("prod"));
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        HttpServletResponse accountedResponse = responseHeaders ? new QueryHeadersResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, accountedResponse);
+        } finally {
+            RequestQueryStats.stop();
+            if (accountedResponse instanceof QueryHeadersResponse headersResponse && !response.isCommitted()) {
+                headersResponse.writeHeaders();
+            }
+            reportRepeatedStatements(request, stats);
+        }
+    }
+
+    /**
+     * Logs and counts the statements of a request executed often enough to suggest an N+1 query.
+     */
+    private void reportRepeatedStatements(HttpServletRequest request, RequestQueryStats stats) {
+        Map<String, Integer> repeated = stats.repeatedStatements(nPlusOneThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        repeated.forEach((sql, count) -> log.warn("Suspected N+1 query in {} {}: {} executions of {}",
+                request.getMethod(), uri, count, QueryAccountingListener.redact(sql)));
+        Counter.builder("booksapi.sql.n-plus-one")
+                .description("Requests in which the same statement was executed repeatedly")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Response that adds the query headers just before it is committed.
+     */
+    private static final class QueryHeadersResponse extends HttpServletResponseWrapper {
+
+        private final RequestQueryStats stats;
+        private boolean headersWritten;
+
+        QueryHeadersResponse(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        /**
+         * Adds the headers, once.
+         */
+        void writeHeaders() {
+            if (headersWritten) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.statements()));
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d queries, %d rows\"",
+                    stats.databaseNanos() / 1e6, stats.statements(), stats.rows()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Listener of the datasource proxy that feeds every statement and fetched row into the
+ * {@link RequestQueryStats} of the current request, and logs statements slower than
+ * {@code booksapi.sql.slow-query-threshold}.
+ *
+ * Slow queries are logged without their bind parameters, and with string and numeric literals in the
+ * SQL text replaced by {@code ?}, so user data such as emails or card numbers never reaches the log.
+ */
+public class QueryAccountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryAccountingListener.class);
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|(?<![\\w.])\\d+(?:\\.\\d+)?");
+
+    private final long slowQueryMillis;
+
+    /**
+     * Creates the listener.
+     *
+     * @param slowQueryThreshold The execution time above which a statement is logged.
+     */
+    public QueryAccountingListener(Duration slowQueryThreshold) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementFinished(queryInfoList.stream().map(QueryInfo::getQuery).toList());
+        }
+        if (execInfo.getElapsedTime() >= slowQueryMillis) {
+            for (QueryInfo query : queryInfoList) {
+                log.warn("Slow query took {} ms with {} bind parameter set(s) (values redacted): {}",
+                        execInfo.getElapsedTime(), query.getParametersList().size(), redact(query.getQuery()));
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.rowFetched();
+            }
+        }
+    }
+
+    /**
+     * Replaces the literals in a statement with {@code ?}.
+     *
+     * @param sql The statement.
+     * @return The statement without literal values.
+     */
+    static String redact(String sql) {
+        return LITERALS.matcher(sql).replaceAll("?");
+    }
+}
@@ -0,0 +1,97 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the application's data source with a {@link ReadReplicaDataSource} when read replicas are
+ * configured in {@code booksapi.datasource.replica.urls}, a comma-separated list of JDBC URLs.
+ *
+ * The primary pool is configured from {@code spring.datasource.*} as usual. Each replica pool takes the
+ * same {@code spring.datasource.hikari.*} settings, overridden by {@code booksapi.datasource.replica.hikari.*},
+ * and the primary's credentials unless {@code booksapi.datasource.replica.username} and {@code .password}
+ * are set. The pools are named {@code primary}, {@code replica-1}, {@code replica-2} and so on, which is
+ * the {@code pool} tag of their {@code hikaricp.*} meters, registered when a pool starts on its first
+ * connection. Replica connections are read-only.
+ *
+ * Hibernate releases connections after each transaction instead of holding them until the end of the
+ * request, so that every transaction of a request is routed on its own read-only flag.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booksapi.datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    /**
+     * The routing data source over the primary and replica pools.
+     *
+     * @param properties    The {@code spring.datasource.*} properties of the primary.
+     * @param environment   The environment holding the pool settings.
+     * @param meterRegistry The registry for the pool and routing meters, if metrics are enabled.
+     * @return The data source.
+     */
+    @Bean
+    public ReadReplicaDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+        HikariDataSource primary = pool(properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                "primary", properties, binder, registry);
+
+        List<String> urls = binder.bind("booksapi.datasource.replica.urls", Bindable.listOf(String.class)).get();
+        String username = binder.bind("booksapi.datasource.replica.username", String.class).orElse(properties.determineUsername());
+        String password = binder.bind("booksapi.datasource.replica.password", String.class).orElse(properties.determinePassword());
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(urls.get(i).trim(), username, password, "replica-" + (i + 1), properties, binder, registry);
+            replica.setReadOnly(true);
+            binder.bind("booksapi.datasource.replica.hikari", Bindable.ofInstance(replica));
+            replicas.add(replica);
+        }
+        return new ReadReplicaDataSource(primary, replicas, registry);
+    }
+
+    /**
+     * Hibernate settings releasing each connection at the end of its transaction.
+     *
+     * @return The customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer readReplicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Creates a pool with the shared Hikari settings and per-pool meters.
+     */
+    private static HikariDataSource pool(String url, String username, String password, String name,
+                                         DataSourceProperties properties, Binder binder, MeterRegistry registry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
@@ -0,0 +1,112 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source sending the statements of read-only transactions to read replicas and everything else to
+ * the primary.
+ *
+ * Connections are lazy: the physical connection is only taken from a pool when the first statement runs,
+ * once the transaction's read-only flag is known. Read-only transactions take it from the replicas in
+ * turn, or from the primary while the request requires read-your-writes ({@link ReadYourWrites}) or when
+ * no replica hands out a connection. Statements outside transactions, such as lazy loading while a
+ * response is serialized, go to the primary.
+ *
+ * Routing to the primary is counted in {@code booksapi.datasource.replica.fallbacks}, tagged with the
+ * reason. Closing the data source closes its pools.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    /**
+     * Creates the data source.
+     *
+     * @param primary       The pool of the primary.
+     * @param replicas      The pools of the replicas.
+     * @param meterRegistry The registry the fallbacks to the primary are counted in.
+     */
+    public ReadReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+        super(new Router(primary, replicas, meterRegistry));
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    /**
+     * Closes the pools of the primary and the replicas.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    /**
+     * Chooses the pool of each physical connection.
+     */
+    private static final class Router extends AbstractDataSource {
+
+        private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+        private final HikariDataSource primary;
+        private final List<HikariDataSource> replicas;
+        private final AtomicInteger next = new AtomicInteger();
+        private final Counter readYourWritesFallbacks;
+        private final Counter unavailableFallbacks;
+
+        Router(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry meterRegistry) {
+            this.primary = primary;
+            this.replicas = List.copyOf(replicas);
+            this.readYourWritesFallbacks = fallbackCounter(meterRegistry, "read-your-writes");
+            this.unavailableFallbacks = fallbackCounter(meterRegistry, "unavailable");
+        }
+
+        private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+            return Counter.builder("booksapi.datasource.replica.fallbacks")
+                    .description("Read-only transactions served by the primary instead of a replica")
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+                return primary.getConnection();
+            }
+            if (ReadYourWrites.requiresPrimary()) {
+                readYourWritesFallbacks.increment();
+                return primary.getConnection();
+            }
+            int first = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                HikariDataSource replica = replicas.get((first + i) % replicas.size());
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica {} unavailable, trying the next one: {}", replica.getPoolName(), e.getMessage());
+                }
+            }
+            unavailableFallbacks.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Connections are taken from the pools with their configured credentials");
+        }
+    }
+}
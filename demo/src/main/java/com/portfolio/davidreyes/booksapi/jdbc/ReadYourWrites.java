@@ -0,0 +1,45 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+/**
+ * Per-thread read-your-writes requirement of the request being handled.
+ *
+ * While a request must see its client's recent writes, {@link ReadReplicaDataSource} serves its read-only
+ * transactions from the primary instead of a replica that may not have applied them yet. The requirement
+ * is set by {@link ReadYourWritesFilter} from the client's consistency token and after each committed
+ * write, and cleared when the request completes.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Requires reads on the current thread to go to the primary until a point in time.
+     * An earlier deadline than the current one is ignored.
+     *
+     * @param epochMillis The end of the requirement, in milliseconds since the epoch.
+     */
+    public static void requirePrimaryUntil(long epochMillis) {
+        Long current = PRIMARY_UNTIL.get();
+        if (current == null || current < epochMillis) {
+            PRIMARY_UNTIL.set(epochMillis);
+        }
+    }
+
+    /**
+     * @return Whether reads on the current thread must currently go to the primary.
+     */
+    public static boolean requiresPrimary() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && System.currentTimeMillis() < until;
+    }
+
+    /**
+     * Removes the requirement of the current thread.
+     */
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+}
@@ -0,0 +1,93 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Provides read-your-writes consistency over read replicas through a consistency token.
+ *
+ * When a request commits a read-write transaction, the response carries the commit time in the
+ * {@code X-Consistency-Token} header, and the rest of the request reads from the primary. A client that
+ * sends the token back has its reads served by the primary until {@code booksapi.datasource.replica.max-lag}
+ * (1 second by default) after that commit, by which time the replicas are expected to have applied it.
+ * Tokens from the future are treated as issued now, so a client cannot pin itself to the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.datasource.replica.urls")
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class ReadYourWritesFilter extends OncePerRequestFilter implements TransactionExecutionListener {
+
+    /**
+     * Header carrying the time of the client's last write, in milliseconds since the epoch.
+     */
+    public static final String CONSISTENCY_TOKEN_HEADER = "X-Consistency-Token";
+
+    private final long maxLagMillis;
+
+    /**
+     * Creates the filter.
+     *
+     * @param maxLag The longest time the replicas are expected to take to apply a commit.
+     */
+    @Autowired
+    public ReadYourWritesFilter(@Value("${booksapi.datasource.replica.max-lag:1s}") Duration maxLag) {
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(CONSISTENCY_TOKEN_HEADER);
+        if (token != null) {
+            try {
+                long writtenAt = Math.min(Long.parseLong(token.trim()), System.currentTimeMillis());
+                ReadYourWrites.requirePrimaryUntil(writtenAt + maxLagMillis);
+            } catch (NumberFormatException e) {
+                // A malformed token carries no requirement
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    /**
+     * Issues a new token after a read-write transaction of the current request commits.
+     *
+     * @param transaction   The transaction.
+     * @param commitFailure The commit failure, or null if the commit succeeded.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            // Outside a request nothing would clear the requirement from the thread
+            return;
+        }
+        long committedAt = System.currentTimeMillis();
+        ReadYourWrites.requirePrimaryUntil(committedAt + maxLagMillis);
+        if (attributes.getResponse() != null && !attributes.getResponse().isCommitted()) {
+            attributes.getResponse().setHeader(CONSISTENCY_TOKEN_HEADER, Long.toString(committedAt));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements executed while handling one HTTP request: how many, how long they took in the database,
+ * how many rows were fetched, and how often each distinct statement was executed.
+ *
+ * The statistics of the request in progress are bound to the thread handling it by
+ * {@link QueryAccountingFilter} and updated by {@link QueryAccountingListener}, so instances are not
+ * thread-safe and are only ever touched by that thread.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long databaseNanos;
+    private long rows;
+    private long statementStart;
+
+    /**
+     * Starts collecting statistics for the request handled by the current thread.
+     *
+     * @return The new, empty statistics.
+     */
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return The statistics of the request handled by the current thread, or null outside a request.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops collecting statistics on the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Marks the start of a statement's execution.
+     */
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    /**
+     * Records a finished statement.
+     *
+     * @param sql The statements executed, more than one for a batch.
+     */
+    void statementFinished(List<String> sql) {
+        databaseNanos += System.nanoTime() - statementStart;
+        for (String query : sql) {
+            statements++;
+            executions.merge(query, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Records a row read from a result set.
+     */
+    void rowFetched() {
+        rows++;
+    }
+
+    /**
+     * @return The number of statements executed.
+     */
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * @return The time spent executing statements, in nanoseconds.
+     */
+    public long databaseNanos() {
+        return databaseNanos;
+    }
+
+    /**
+     * @return The number of rows read from result sets.
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the statements executed at least a number of times, the signature of an N+1 query:
+     * the same select issued once per element of a previously loaded collection.
+     *
+     * @param threshold The minimum number of executions.
+     * @return The statements and how often each was executed.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,144 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Entity representing a background job: an operation over many rows, run in chunks by {@link JobExecutor}.
+ *
+ * The job records the checkpoint after its last committed chunk, the key it resumes after, together
+ * with its progress. Workers update its state with the conditional updates of {@link JobRepository},
+ * so the entity itself is only saved when the job is submitted.
+ */
+@Entity
+@Getter
+@Setter
+public class Job {
+
+    /**
+     * Unique identifier for the job.
+     * Generated automatically using the IDENTITY strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The type of the job, which selects its {@link JobHandler}.
+     */
+    @Column(nullable = false)
+    private String type;
+
+    /**
+     * The parameters of the job, stored as JSON.
+     */
+    @Convert(converter = ParametersConverter.class)
+    @Column(nullable = false)
+    private Map<String, String> parameters;
+
+    /**
+     * The status of the job.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    /**
+     * The key of the last item of the last committed chunk, or null before the first chunk.
+     */
+    private Long checkpoint;
+
+    /**
+     * The number of items to process, counted when the job starts.
+     */
+    private Long total;
+
+    /**
+     * The number of items processed by committed chunks.
+     */
+    @Column(nullable = false)
+    private long processed;
+
+    /**
+     * The number of items the job changed or deleted.
+     */
+    @Column(nullable = false)
+    private long affected;
+
+    /**
+     * Whether cancellation was requested while the job was running.
+     */
+    @Column(nullable = false)
+    private boolean cancelRequested;
+
+    /**
+     * The error that stopped the job, if it failed.
+     */
+    private String error;
+
+    /**
+     * The time the job was submitted.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The time a worker first claimed the job.
+     */
+    private Instant startedAt;
+
+    /**
+     * The time the last chunk was committed, or the job was claimed.
+     */
+    private Instant heartbeatAt;
+
+    /**
+     * The time the job succeeded, failed or was cancelled.
+     */
+    private Instant finishedAt;
+
+    /**
+     * @return The fraction of the items processed, or null until they are counted.
+     */
+    public Double getProgress() {
+        if (total == null) {
+            return null;
+        }
+        return total == 0 ? 1.0 : Math.min(1.0, (double) processed / total);
+    }
+
+    /**
+     * Stores the parameters of a job as a JSON object.
+     */
+    @Converter
+    public static class ParametersConverter implements AttributeConverter<Map<String, String>, String> {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        @Override
+        public String convertToDatabaseColumn(Map<String, String> parameters) {
+            try {
+                return MAPPER.writeValueAsString(parameters == null ? Map.of() : parameters);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Job parameters cannot be stored", e);
+            }
+        }
+
+        @Override
+        public Map<String, String> convertToEntityAttribute(String json) {
+            try {
+                return MAPPER.readValue(json, new TypeReference<>() {
+                });
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Job parameters cannot be read", e);
+            }
+        }
+    }
+}
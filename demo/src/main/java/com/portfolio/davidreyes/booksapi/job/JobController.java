@@ -0,0 +1,65 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST controller for background jobs.
+ * Endpoints that start a job answer {@code 202 Accepted} with the job, and a {@code Location} header
+ * pointing here to follow it.
+ *
+ * Endpoints:
+ * - GET /api/v1/jobs/{jobId}: Get the status and progress of a job.
+ * - POST /api/v1/jobs/{jobId}/cancel: Cancel a job.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    /**
+     * Constructor for injecting the JobService dependency.
+     *
+     * @param jobService Service for managing jobs.
+     */
+    @Autowired
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Builds the response of an endpoint that started a job.
+     *
+     * @param job The submitted job.
+     * @return HTTP 202 response with the job and its location.
+     */
+    public static ResponseEntity<Job> accepted(Job job) {
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * Endpoint to get the status and progress of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return The job.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Job> getJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(jobService.getJob(jobId));
+    }
+
+    /**
+     * Endpoint to cancel a job.
+     *
+     * @param jobId The ID of the job.
+     * @return The job, cancelled if it was queued or still running until its current chunk commits.
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<Job> cancelJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(jobService.cancel(jobId));
+    }
+}
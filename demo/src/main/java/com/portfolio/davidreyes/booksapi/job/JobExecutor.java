@@ -0,0 +1,186 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs background jobs on a fixed pool of {@code booksapi.jobs.workers} threads.
+ *
+ * The job table is the queue: whenever a worker is free, the oldest runnable job is claimed with a
+ * conditional update and handed to it, so jobs beyond the pool's size wait in the table rather than in
+ * memory. A worker processes its job in chunks of {@code booksapi.jobs.chunk-size} items, each in one
+ * transaction that also records the job's checkpoint, and checks for cancellation between chunks.
+ *
+ * Counting the items and every chunk renew the job's heartbeat. A running job whose heartbeat is older than
+ * {@code booksapi.jobs.stale-after}, because the application stopped or crashed, is claimed again and
+ * resumes after its checkpoint. A worker whose chunk outlasted that time may still be running when the job
+ * is claimed again, so each chunk records its checkpoint only if the job's checkpoint is still the one the
+ * chunk started from; otherwise the chunk is rolled back and the worker gives the job up. Runnable jobs are looked for on submission, when a job ends, and every
+ * {@code booksapi.jobs.poll-interval}.
+ */
+@Component
+public class JobExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(JobExecutor.class);
+
+    private final JobRepository jobRepository;
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    private final ExecutorService executor;
+    private final AtomicInteger busy = new AtomicInteger();
+    private volatile boolean stopping;
+
+    /**
+     * Creates the executor and its worker pool.
+     *
+     * @param jobRepository      The repository of the jobs.
+     * @param handlers           The handlers of every job type.
+     * @param transactionManager Runs each chunk in a transaction.
+     * @param workers            The number of jobs run at a time.
+     * @param chunkSize          The number of items per chunk.
+     * @param staleAfter         How long a running job may go without a heartbeat before it is resumed elsewhere.
+     */
+    @Autowired
+    public JobExecutor(JobRepository jobRepository, List<JobHandler> handlers, PlatformTransactionManager transactionManager,
+                       @Value("${booksapi.jobs.workers:2}") int workers,
+                       @Value("${booksapi.jobs.chunk-size:500}") int chunkSize,
+                       @Value("${booksapi.jobs.stale-after:1m}") Duration staleAfter) {
+        if (workers < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Jobs need at least one worker and a positive chunk size.");
+        }
+        this.jobRepository = jobRepository;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Finds the handler of a job type.
+     *
+     * @param type The job type.
+     * @return The handler.
+     * @throws IllegalArgumentException if no handler runs the type.
+     */
+    public JobHandler handler(String type) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown job type " + type);
+        }
+        return handler;
+    }
+
+    /**
+     * Hands runnable jobs to free workers.
+     */
+    @Scheduled(fixedDelayString = "${booksapi.jobs.poll-interval:PT10S}")
+    public synchronized void dispatch() {
+        while (!stopping && busy.get() < workers) {
+            Instant now = Instant.now();
+            List<Long> runnable = jobRepository.findRunnableIds(now.minus(staleAfter), PageRequest.of(0, workers - busy.get()));
+            if (runnable.isEmpty()) {
+                return;
+            }
+            for (Long id : runnable) {
+                if (jobRepository.claim(id, now, now.minus(staleAfter)) == 1) {
+                    busy.incrementAndGet();
+                    executor.execute(() -> run(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the workers; their jobs are left running and resumed after the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a claimed job chunk by chunk until it is done, cancelled or fails.
+     */
+    private void run(Long id) {
+        try {
+            Job job = jobRepository.findById(id).orElseThrow();
+            JobHandler handler = handler(job.getType());
+            Map<String, String> parameters = job.getParameters();
+            if (job.getTotal() == null) {
+                jobRepository.updateTotal(id, handler.count(parameters), Instant.now());
+            }
+            if (job.getCheckpoint() != null) {
+                log.info("Resuming job {} ({}) after {}", id, job.getType(), job.getCheckpoint());
+            }
+
+            Long checkpoint = job.getCheckpoint();
+            while (true) {
+                if (stopping) {
+                    return;
+                }
+                if (jobRepository.isCancelRequested(id)) {
+                    jobRepository.finish(id, JobStatus.CANCELLED, null, Instant.now());
+                    return;
+                }
+                Long after = checkpoint;
+                JobHandler.Chunk chunk = transactionTemplate.execute(status -> {
+                    JobHandler.Chunk processed = handler.process(parameters, after, chunkSize);
+                    if (jobRepository.recordChunk(id, after, processed.checkpoint(), processed.processed(), processed.affected(), Instant.now()) == 0) {
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return processed;
+                });
+                if (chunk == null) {
+                    log.warn("Job {} ({}) is no longer owned by this worker after checkpoint {}; giving it up", id, job.getType(), after);
+                    return;
+                }
+                if (chunk.processed() < chunkSize) {
+                    jobRepository.finish(id, JobStatus.SUCCEEDED, null, Instant.now());
+                    return;
+                }
+                checkpoint = chunk.checkpoint();
+            }
+        } catch (RuntimeException e) {
+            if (stopping) {
+                return; // Interrupted by shutdown; resumed from the last checkpoint after the next start
+            }
+            log.warn("Job {} failed", id, e);
+            String error = String.valueOf(e.getMessage());
+            jobRepository.finish(id, JobStatus.FAILED, error.length() > 1000 ? error.substring(0, 1000) : error, Instant.now());
+        } finally {
+            busy.decrementAndGet();
+            if (!stopping) {
+                dispatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import java.util.Map;
+
+/**
+ * An operation run as a background job, over items walked in ascending key order.
+ *
+ * {@link JobExecutor} calls {@link #process} repeatedly, each time in a new transaction that also commits
+ * the returned checkpoint, until a chunk comes back with fewer items than asked for. Processing a chunk
+ * must only depend on the checkpoint it is given, so that a job interrupted between chunks resumes where
+ * it stopped without repeating committed work.
+ */
+public interface JobHandler {
+
+    /**
+     * @return The job type this handler runs, as stored in {@link Job#getType()}.
+     */
+    String type();
+
+    /**
+     * Checks the parameters of a job before it is submitted.
+     *
+     * @param parameters The parameters.
+     * @throws IllegalArgumentException if a parameter is missing or malformed.
+     * @throws IllegalStateException    if there is nothing the job could apply to.
+     */
+    default void validate(Map<String, String> parameters) {
+    }
+
+    /**
+     * Counts the items the job will process, for its progress.
+     *
+     * @param parameters The parameters of the job.
+     * @return The number of items.
+     */
+    long count(Map<String, String> parameters);
+
+    /**
+     * Processes the items following a checkpoint.
+     *
+     * @param parameters The parameters of the job.
+     * @param checkpoint The key of the last item already processed, or null to start from the first item.
+     * @param chunkSize  The maximum number of items to process.
+     * @return What the chunk did.
+     */
+    Chunk process(Map<String, String> parameters, Long checkpoint, int chunkSize);
+
+    /**
+     * The outcome of processing a chunk.
+     *
+     * @param checkpoint The key of the chunk's last item, or the previous checkpoint if it was empty.
+     * @param processed  The number of items in the chunk.
+     * @param affected   The number of items it changed or deleted.
+     */
+    record Chunk(Long checkpoint, int processed, int affected) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing Job entities.
+ *
+ * State changes are conditional updates on the job's current status, so that a job is claimed by one
+ * worker only and a finished job cannot be changed again. They run in transactions of their own, or in
+ * the caller's, and always on the primary database.
+ */
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    /**
+     * Finds the jobs a worker can claim: queued jobs, and running jobs whose heartbeat stopped.
+     * Reads from the primary, since a replica may not have a job that was just submitted.
+     *
+     * @param staleBefore Heartbeats before this time belong to interrupted jobs.
+     * @param pageable    The maximum number of jobs to return.
+     * @return The IDs of the jobs, oldest first.
+     */
+    @Transactional
+    @Query("SELECT j.id FROM Job j WHERE j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.QUEUED " +
+            "OR (j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING AND j.heartbeatAt < :staleBefore) " +
+            "ORDER BY j.id")
+    List<Long> findRunnableIds(@Param("staleBefore") Instant staleBefore, Pageable pageable);
+
+    /**
+     * Claims a queued or interrupted job for a worker.
+     *
+     * @param id          The ID of the job.
+     * @param now         The current time.
+     * @param staleBefore Heartbeats before this time belong to interrupted jobs.
+     * @return 1 if the job was claimed, 0 if another worker claimed it first or it is no longer runnable.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING, j.heartbeatAt = :now, " +
+            "j.startedAt = COALESCE(j.startedAt, :now) WHERE j.id = :id " +
+            "AND (j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.QUEUED " +
+            "OR (j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING AND j.heartbeatAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Records the number of items a job will process, and renews its heartbeat, since counting may take a while.
+     *
+     * @param id    The ID of the job.
+     * @param total The number of items.
+     * @param now   The current time, the new heartbeat.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.total = :total, j.heartbeatAt = :now WHERE j.id = :id")
+    void updateTotal(@Param("id") Long id, @Param("total") long total, @Param("now") Instant now);
+
+    /**
+     * Records a processed chunk; called in the chunk's transaction, so the checkpoint commits with its work.
+     * The update is fenced on the checkpoint the chunk started from: if the job was claimed again by another
+     * worker that has committed a chunk since, or the job is no longer running, nothing is recorded and the
+     * caller must roll the chunk back.
+     *
+     * @param id         The ID of the job.
+     * @param previous   The checkpoint the chunk started after, or null for the first chunk.
+     * @param checkpoint The key of the chunk's last item.
+     * @param processed  The number of items in the chunk.
+     * @param affected   The number of items the chunk changed or deleted.
+     * @param now        The current time, the new heartbeat.
+     * @return 1 if the chunk was recorded, 0 if this worker no longer owns the job.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.checkpoint = :checkpoint, j.processed = j.processed + :processed, " +
+            "j.affected = j.affected + :affected, j.heartbeatAt = :now WHERE j.id = :id " +
+            "AND j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING " +
+            "AND j.checkpoint IS NOT DISTINCT FROM :previous")
+    int recordChunk(@Param("id") Long id, @Param("previous") Long previous, @Param("checkpoint") Long checkpoint,
+                    @Param("processed") long processed, @Param("affected") long affected, @Param("now") Instant now);
+
+    /**
+     * Checks whether cancellation of a job was requested, reading the current value from the database.
+     *
+     * @param id The ID of the job.
+     * @return Whether the job should stop.
+     */
+    @Transactional
+    @Query("SELECT j.cancelRequested FROM Job j WHERE j.id = :id")
+    boolean isCancelRequested(@Param("id") Long id);
+
+    /**
+     * Ends a running job.
+     *
+     * @param id     The ID of the job.
+     * @param status SUCCEEDED, FAILED or CANCELLED.
+     * @param error  The error that stopped the job, or null.
+     * @param now    The current time.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.error = :error, j.finishedAt = :now WHERE j.id = :id " +
+            "AND j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING")
+    void finish(@Param("id") Long id, @Param("status") JobStatus status, @Param("error") String error,
+                @Param("now") Instant now);
+
+    /**
+     * Cancels a job that has not started.
+     *
+     * @param id  The ID of the job.
+     * @param now The current time.
+     * @return 1 if the job was cancelled, 0 if it is not queued.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.CANCELLED, j.cancelRequested = true, " +
+            "j.finishedAt = :now WHERE j.id = :id AND j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.QUEUED")
+    int cancelQueued(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Asks the worker of a running job to stop at the next chunk boundary.
+     *
+     * @param id The ID of the job.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.cancelRequested = true WHERE j.id = :id " +
+            "AND j.status = com.portfolio.davidreyes.booksapi.job.JobStatus.RUNNING")
+    void requestCancel(@Param("id") Long id);
+}
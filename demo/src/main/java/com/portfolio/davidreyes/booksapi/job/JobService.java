@@ -0,0 +1,76 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Service class for submitting, inspecting and cancelling background jobs.
+ */
+@Service
+public class JobService {
+
+    private final JobRepository jobRepository;
+    private final JobExecutor jobExecutor;
+
+    /**
+     * Constructor for injecting the dependencies.
+     *
+     * @param jobRepository The repository for managing Job entities.
+     * @param jobExecutor   Runs the submitted jobs.
+     */
+    @Autowired
+    public JobService(JobRepository jobRepository, JobExecutor jobExecutor) {
+        this.jobRepository = jobRepository;
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * Validates and queues a job, and starts it if a worker is free.
+     *
+     * @param type       The job type.
+     * @param parameters The parameters of the job.
+     * @return The queued job.
+     * @throws IllegalArgumentException if the type is unknown or a parameter is invalid.
+     * @throws IllegalStateException    if there is nothing the job could apply to.
+     */
+    public Job submit(String type, Map<String, String> parameters) {
+        jobExecutor.handler(type).validate(parameters);
+        Job job = new Job();
+        job.setType(type);
+        job.setParameters(Map.copyOf(parameters));
+        job.setStatus(JobStatus.QUEUED);
+        job.setCreatedAt(Instant.now());
+        jobRepository.save(job);
+        jobExecutor.dispatch();
+        return job;
+    }
+
+    /**
+     * Retrieves a job with its current status and progress.
+     *
+     * @param jobId The ID of the job.
+     * @return The job.
+     * @throws IllegalStateException if the job does not exist.
+     */
+    public Job getJob(Long jobId) {
+        return jobRepository.findById(jobId).orElseThrow(() -> new IllegalStateException("Job with ID " + jobId + " does not exist"));
+    }
+
+    /**
+     * Cancels a job: a queued job immediately, a running one once its current chunk commits.
+     * Cancelling a finished job has no effect.
+     *
+     * @param jobId The ID of the job.
+     * @return The job.
+     * @throws IllegalStateException if the job does not exist.
+     */
+    public Job cancel(Long jobId) {
+        if (jobRepository.cancelQueued(jobId, Instant.now()) == 0) {
+            jobRepository.requestCancel(jobId);
+        }
+        return getJob(jobId);
+    }
+}
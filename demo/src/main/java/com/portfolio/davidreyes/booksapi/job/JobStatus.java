@@ -0,0 +1,33 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+/**
+ * The lifecycle of a background job.
+ */
+public enum JobStatus {
+
+    /**
+     * Submitted and waiting for a free worker.
+     */
+    QUEUED,
+
+    /**
+     * Claimed by a worker, which updates its heartbeat after every chunk.
+     * A running job whose heartbeat stops was interrupted, and is resumed from its checkpoint.
+     */
+    RUNNING,
+
+    /**
+     * Every item was processed.
+     */
+    SUCCEEDED,
+
+    /**
+     * Stopped by an error; the chunks committed before it stay applied.
+     */
+    FAILED,
+
+    /**
+     * Cancelled before it started, or at a chunk boundary.
+     */
+    CANCELLED
+}
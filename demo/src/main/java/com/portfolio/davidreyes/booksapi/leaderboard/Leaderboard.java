@@ -0,0 +1,198 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The highest scoring books of one leaderboard, in a bounded min-heap.
+ *
+ * The heap holds up to twice the number of books the leaderboard shows, and remembers a floor: the
+ * highest ranking a book left out may have. While every book in the heap ranks above the floor, the
+ * heap holds the true top books. A book falling below the floor is taken out of the heap, and
+ * once fewer books than the leaderboard shows are left, the owner must refill it from all books.
+ * Not thread-safe; {@link RatingLeaderboards} guards it.
+ */
+final class Leaderboard {
+
+    private final int size;
+    private final long[] ids;
+    private final double[] scores;
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int count;
+    private long floorId = Long.MAX_VALUE;
+    private double floorScore = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param size The number of books the leaderboard shows.
+     */
+    Leaderboard(int size) {
+        this.size = size;
+        this.ids = new long[2 * size];
+        this.scores = new double[2 * size];
+    }
+
+    /**
+     * Records the new score of a book.
+     *
+     * @return False if the leaderboard must be refilled.
+     */
+    boolean update(long id, double score) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            offer(id, score);
+            return true;
+        }
+        double previous = scores[position];
+        scores[position] = score;
+        if (score < previous) {
+            siftDown(position);
+        } else {
+            siftUp(position);
+        }
+        while (count > 0 && lower(ids[0], scores[0], floorId, floorScore)) {
+            removeAt(0);
+        }
+        return isComplete();
+    }
+
+    /**
+     * Takes a book out of the leaderboard, as it was deleted or moved elsewhere.
+     *
+     * @return False if the leaderboard must be refilled.
+     */
+    boolean remove(long id) {
+        Integer position = positions.get(id);
+        if (position != null) {
+            removeAt(position);
+        }
+        return isComplete();
+    }
+
+    /**
+     * Empties the leaderboard, to be refilled with every book through {@link #offer}.
+     */
+    void clear() {
+        positions.clear();
+        count = 0;
+        floorId = Long.MAX_VALUE;
+        floorScore = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Adds a book that is not in the leaderboard, if it scores high enough.
+     */
+    void offer(long id, double score) {
+        if (count < ids.length) {
+            ids[count] = id;
+            scores[count] = score;
+            positions.put(id, count);
+            siftUp(count++);
+        } else if (lower(ids[0], scores[0], id, score)) {
+            raiseFloor(ids[0], scores[0]);
+            positions.remove(ids[0]);
+            ids[0] = id;
+            scores[0] = score;
+            positions.put(id, 0);
+            siftDown(0);
+        } else {
+            raiseFloor(id, score);
+        }
+    }
+
+    /**
+     * Returns the IDs of the highest scoring books, highest first; ties go to the lower ID.
+     *
+     * @param limit The largest number of books to return, at most the size of the leaderboard.
+     * @return The IDs.
+     */
+    long[] top(int limit) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> lower(ids[a], scores[a], ids[b], scores[b]) ? 1 : lower(ids[b], scores[b], ids[a], scores[a]) ? -1 : 0);
+        long[] top = new long[Math.min(Math.min(limit, size), count)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = ids[order[i]];
+        }
+        return top;
+    }
+
+    /**
+     * Whether the heap still holds every book of the top, or all books there are.
+     */
+    private boolean isComplete() {
+        return count >= size || floorScore == Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Records that a book was left out of the heap.
+     */
+    private void raiseFloor(long id, double score) {
+        if (lower(floorId, floorScore, id, score)) {
+            floorId = id;
+            floorScore = score;
+        }
+    }
+
+    /**
+     * Whether the first book ranks below the second.
+     */
+    private static boolean lower(long id, double score, long otherId, double otherScore) {
+        return score < otherScore || (score == otherScore && id > otherId);
+    }
+
+    private void removeAt(int position) {
+        positions.remove(ids[position]);
+        count--;
+        if (position == count) {
+            return;
+        }
+        ids[position] = ids[count];
+        scores[position] = scores[count];
+        positions.put(ids[position], position);
+        siftDown(position);
+        siftUp(position);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!lower(ids[i], scores[i], ids[parent], scores[parent])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int lowest = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < count; child++) {
+                if (lower(ids[child], scores[child], ids[lowest], scores[lowest])) {
+                    lowest = child;
+                }
+            }
+            if (lowest == i) {
+                return;
+            }
+            swap(i, lowest);
+            i = lowest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+        positions.put(ids[i], i);
+        positions.put(ids[j], j);
+    }
+}
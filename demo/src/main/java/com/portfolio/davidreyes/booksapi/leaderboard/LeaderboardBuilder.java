@@ -0,0 +1,96 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import com.portfolio.davidreyes.booksapi.outbox.OutboxDispatcher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the leaderboards from the database {@code booksapi.leaderboards.initial-delay} after startup
+ * and every {@code booksapi.leaderboards.rebuild-interval}, on a thread of its own.
+ *
+ * A rebuild takes the mean of all ratings again, which the Bayesian averages are drawn towards. The new
+ * leaderboards are swapped in whole, then the {@link LeaderboardUpdater} is moved back to the first
+ * outbox event that was not settled when the rebuild started. That includes the events of transactions
+ * still open then, which had taken lower event IDs than events already committed. Ratings the rebuild
+ * already read are recognized by ID and skipped, so every committed rating is counted once, except those
+ * whose outbox IDs were skipped: one delivered late only counts if no later rating of its book counted first.
+ */
+@Component
+public class LeaderboardBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardBuilder.class);
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardRepository leaderboardRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ExecutorService executor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Creates the builder and its thread.
+     *
+     * @param leaderboardService    The service serving the leaderboards.
+     * @param leaderboardRepository Reads the ratings of every book.
+     * @param outboxDispatcher      Tells how far the outbox is settled and replays it to the updater.
+     */
+    @Autowired
+    public LeaderboardBuilder(LeaderboardService leaderboardService, LeaderboardRepository leaderboardRepository,
+                              OutboxDispatcher outboxDispatcher) {
+        this.leaderboardService = leaderboardService;
+        this.leaderboardRepository = leaderboardRepository;
+        this.outboxDispatcher = outboxDispatcher;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a rebuild in the background, unless one is running.
+     */
+    @Scheduled(initialDelayString = "${booksapi.leaderboards.initial-delay:PT0S}",
+            fixedDelayString = "${booksapi.leaderboards.rebuild-interval:PT1H}")
+    public void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Rebuilding the leaderboards failed, keeping the previous ones", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the leaderboards and swaps them in, in the calling thread.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        long settled = outboxDispatcher.settledPosition();
+        RatingLeaderboards leaderboards = leaderboardRepository.loadAll(leaderboardService.builder()).build();
+        leaderboardService.replaceLeaderboards(leaderboards);
+        outboxDispatcher.replay(LeaderboardUpdater.NAME, settled + 1);
+        log.info("Rebuilt the leaderboards of {} books around a mean rating of {} in {} ms",
+                leaderboards.books(), String.format("%.3f", leaderboards.priorMean()), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Stops the rebuild thread; a rebuild in progress is abandoned.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
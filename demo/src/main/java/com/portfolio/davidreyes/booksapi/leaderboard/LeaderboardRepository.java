@@ -0,0 +1,46 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Reads the genre and the rating count, sum and last rating ID of every book, for the leaderboards.
+ */
+@Repository
+public class LeaderboardRepository {
+
+    private static final String BOOK_RATINGS = """
+            SELECT b.id, b.genre, COUNT(r.id), COALESCE(SUM(r.rating), 0), COALESCE(MAX(r.id), 0)
+            FROM books b LEFT JOIN rating r ON r.book_id = b.id
+            GROUP BY b.id, b.genre
+            """;
+
+    // Entity manager of the caller's persistence context
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Reads every book into a leaderboards builder, streaming the rows.
+     *
+     * @param builder The builder to add the books to.
+     * @return The builder.
+     */
+    @Transactional(readOnly = true)
+    public RatingLeaderboards.Builder loadAll(RatingLeaderboards.Builder builder) {
+        try (Stream<?> rows = entityManager.createNativeQuery(BOOK_RATINGS)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 10_000)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                Object[] columns = (Object[]) row;
+                builder.add(((Number) columns[0]).longValue(), (String) columns[1], ((Number) columns[2]).intValue(),
+                        ((Number) columns[3]).longValue(), ((Number) columns[4]).longValue());
+            });
+        }
+        return builder;
+    }
+}
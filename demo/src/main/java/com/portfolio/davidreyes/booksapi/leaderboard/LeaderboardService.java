@@ -0,0 +1,75 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves the top rated books, overall and per genre, from the in-memory {@link RatingLeaderboards}.
+ *
+ * The leaderboards are rebuilt from the database by {@link LeaderboardBuilder} and kept current between
+ * rebuilds by {@link LeaderboardUpdater}. Serving them needs no database access. Until the first build
+ * has finished, the leaderboards are empty.
+ */
+@Service
+public class LeaderboardService {
+
+    private final int size;
+    private final double priorWeight;
+
+    private volatile RatingLeaderboards leaderboards;
+
+    /**
+     * Creates the service with empty leaderboards.
+     *
+     * @param size        The number of books each leaderboard shows.
+     * @param priorWeight The number of virtual ratings at the mean added to every book.
+     */
+    @Autowired
+    public LeaderboardService(@Value("${booksapi.leaderboards.size:100}") int size,
+                              @Value("${booksapi.leaderboards.prior-weight:10}") double priorWeight) {
+        this.size = size;
+        this.priorWeight = priorWeight;
+        this.leaderboards = builder().build();
+    }
+
+    /**
+     * Retrieves the top rated books by Bayesian average rating.
+     *
+     * @param genre The genre, or null for all books.
+     * @param limit The largest number of books to return, from 1 to the size of the leaderboards.
+     * @return The books, best first, empty for a genre without rated books.
+     * @throws IllegalArgumentException if the limit is out of range.
+     */
+    public List<RankedBook> topRated(String genre, int limit) {
+        if (limit < 1 || limit > size) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + size + ".");
+        }
+        return leaderboards.top(genre, limit);
+    }
+
+    /**
+     * @return The leaderboards currently served.
+     */
+    public RatingLeaderboards leaderboards() {
+        return leaderboards;
+    }
+
+    /**
+     * @return A builder of leaderboards with the configured size and prior weight.
+     */
+    RatingLeaderboards.Builder builder() {
+        return RatingLeaderboards.builder(size, priorWeight);
+    }
+
+    /**
+     * Serves newly built leaderboards from now on.
+     *
+     * @param leaderboards The leaderboards.
+     */
+    void replaceLeaderboards(RatingLeaderboards leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+}
@@ -0,0 +1,58 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxMessage;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxSubscriber;
+import com.portfolio.davidreyes.booksapi.rating.RatingAddedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the leaderboards current between rebuilds, from the outbox: each new rating is counted, and
+ * books that change genre or are deleted move between or leave the leaderboards.
+ */
+@Component
+public class LeaderboardUpdater implements OutboxSubscriber {
+
+    /**
+     * The name of the subscriber, and of its position in the outbox.
+     */
+    public static final String NAME = "leaderboards";
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Creates the updater.
+     *
+     * @param leaderboardService The service holding the leaderboards.
+     */
+    @Autowired
+    public LeaderboardUpdater(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void onEvents(List<OutboxMessage> messages) {
+        RatingLeaderboards leaderboards = leaderboardService.leaderboards();
+        for (OutboxMessage message : messages) {
+            DomainEvent event = message.event();
+            if (event instanceof RatingAddedEvent rated && rated.ratingId() != null && rated.bookId() != null) {
+                leaderboards.addRating(rated.bookId(), rated.ratingId(), rated.rating());
+            } else if (event instanceof BookChangedEvent changed && changed.bookId() != null) {
+                if (changed.after() == null) {
+                    leaderboards.remove(changed.bookId());
+                } else {
+                    leaderboards.setGenre(changed.bookId(), changed.after().genre());
+                }
+            }
+        }
+    }
+}
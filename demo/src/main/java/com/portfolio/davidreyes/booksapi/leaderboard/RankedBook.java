@@ -0,0 +1,13 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+/**
+ * A book on a top rated leaderboard.
+ *
+ * @param bookId        The ID of the book.
+ * @param genre         The genre of the book, or null if it has none.
+ * @param score         The Bayesian average rating the book is ranked by.
+ * @param averageRating The plain average of its ratings.
+ * @param ratings       The number of its ratings.
+ */
+public record RankedBook(long bookId, String genre, double score, double averageRating, int ratings) {
+}
@@ -0,0 +1,296 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The top rated books overall and per genre, ranked by their Bayesian average rating.
+ *
+ * A book's Bayesian average is {@code (weight * mean + sum) / (weight + count)}: its ratings blended with
+ * {@code weight} virtual ratings at the mean of all ratings, so a book needs many good ratings to outrank
+ * the mean by much. The mean is taken when the leaderboards are built and stays fixed until the next
+ * build, which keeps the scores of books that receive no ratings unchanged.
+ *
+ * The rating count and sum of every book are kept in memory, and each leaderboard keeps its top books in a
+ * bounded {@link Leaderboard} heap, updated on every rating. A leaderboard is only refilled from all books
+ * when too many of its books have fallen out. Each book also remembers the ID of its last counted rating.
+ * Ratings of a book are committed in ID order, as rating locks the book, so a rating that was already
+ * counted is recognized and skipped. Reads and updates are thread-safe.
+ */
+public final class RatingLeaderboards {
+
+    private final int size;
+    private final double priorMean;
+    private final double priorWeight;
+    private final Map<Long, BookRatings> books;
+    private final Leaderboard overall;
+    private final Map<String, Leaderboard> byGenre = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long refills;
+
+    private RatingLeaderboards(int size, double priorMean, double priorWeight, Map<Long, BookRatings> books) {
+        this.size = size;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.books = books;
+        this.overall = new Leaderboard(size);
+        for (Map.Entry<Long, BookRatings> entry : books.entrySet()) {
+            BookRatings ratings = entry.getValue();
+            if (ratings.count > 0) {
+                double score = score(ratings);
+                overall.offer(entry.getKey(), score);
+                if (ratings.genre != null) {
+                    leaderboard(ratings.genre).offer(entry.getKey(), score);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param size        The number of books each leaderboard shows.
+     * @param priorWeight The number of virtual ratings at the mean added to every book.
+     * @return The builder.
+     */
+    public static Builder builder(int size, double priorWeight) {
+        return new Builder(size, priorWeight);
+    }
+
+    /**
+     * Counts a new rating of a book, unless it was counted already.
+     *
+     * @param bookId   The ID of the book.
+     * @param ratingId The ID of the rating.
+     * @param rating   The rating value.
+     */
+    public void addRating(long bookId, long ratingId, int rating) {
+        lock.writeLock().lock();
+        try {
+            BookRatings ratings = books.computeIfAbsent(bookId, id -> new BookRatings(null));
+            if (ratingId <= ratings.lastRatingId) {
+                return;
+            }
+            ratings.count++;
+            ratings.sum += rating;
+            ratings.lastRatingId = ratingId;
+            double score = score(ratings);
+            if (!overall.update(bookId, score)) {
+                refill(overall, null);
+            }
+            if (ratings.genre != null && !leaderboard(ratings.genre).update(bookId, score)) {
+                refill(leaderboard(ratings.genre), ratings.genre);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the genre of a book, moving it between genre leaderboards.
+     *
+     * @param bookId The ID of the book.
+     * @param genre  The genre of the book, or null if it has none.
+     */
+    public void setGenre(long bookId, String genre) {
+        lock.writeLock().lock();
+        try {
+            BookRatings ratings = books.computeIfAbsent(bookId, id -> new BookRatings(genre));
+            if (Objects.equals(ratings.genre, genre)) {
+                return;
+            }
+            if (ratings.genre != null && !leaderboard(ratings.genre).remove(bookId)) {
+                refill(leaderboard(ratings.genre), ratings.genre);
+            }
+            ratings.genre = genre;
+            if (genre != null && ratings.count > 0 && !leaderboard(genre).update(bookId, score(ratings))) {
+                refill(leaderboard(genre), genre);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets a deleted book.
+     *
+     * @param bookId The ID of the book.
+     */
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            BookRatings ratings = books.remove(bookId);
+            if (ratings == null) {
+                return;
+            }
+            if (!overall.remove(bookId)) {
+                refill(overall, null);
+            }
+            if (ratings.genre != null && !leaderboard(ratings.genre).remove(bookId)) {
+                refill(leaderboard(ratings.genre), ratings.genre);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the top rated books, overall or of a genre.
+     *
+     * @param genre The genre, or null for all books.
+     * @param limit The largest number of books to return, at most the size of the leaderboards.
+     * @return The books, best first; ties go to the lower ID.
+     */
+    public List<RankedBook> top(String genre, int limit) {
+        lock.readLock().lock();
+        try {
+            Leaderboard leaderboard = genre == null ? overall : byGenre.get(genre);
+            if (leaderboard == null) {
+                return List.of();
+            }
+            long[] ids = leaderboard.top(limit);
+            List<RankedBook> top = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                BookRatings ratings = books.get(id);
+                top.add(new RankedBook(id, ratings.genre, score(ratings), (double) ratings.sum / ratings.count, ratings.count));
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of books each leaderboard shows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The mean rating the Bayesian averages are drawn towards.
+     */
+    public double priorMean() {
+        return priorMean;
+    }
+
+    /**
+     * @return The number of books with ratings or a genre.
+     */
+    public int books() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return How many times a leaderboard was refilled from all books since the build.
+     */
+    public long refills() {
+        lock.readLock().lock();
+        try {
+            return refills;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the leaderboard of a genre, creating it if the genre has none.
+     */
+    private Leaderboard leaderboard(String genre) {
+        return byGenre.computeIfAbsent(genre, key -> new Leaderboard(size));
+    }
+
+    /**
+     * Refills a leaderboard from every book it ranks.
+     */
+    private void refill(Leaderboard leaderboard, String genre) {
+        refills++;
+        leaderboard.clear();
+        for (Map.Entry<Long, BookRatings> entry : books.entrySet()) {
+            BookRatings ratings = entry.getValue();
+            if (ratings.count > 0 && (genre == null || genre.equals(ratings.genre))) {
+                leaderboard.offer(entry.getKey(), score(ratings));
+            }
+        }
+    }
+
+    private double score(BookRatings ratings) {
+        return (priorWeight * priorMean + ratings.sum) / (priorWeight + ratings.count);
+    }
+
+    /**
+     * The genre and ratings of a book.
+     */
+    private static final class BookRatings {
+
+        private String genre;
+        private int count;
+        private long sum;
+        private long lastRatingId;
+
+        BookRatings(String genre) {
+            this.genre = genre;
+        }
+    }
+
+    /**
+     * Collects the genre and ratings of every book, then builds the leaderboards with the mean of all ratings.
+     */
+    public static final class Builder {
+
+        private final int size;
+        private final double priorWeight;
+        private final Map<Long, BookRatings> books = new HashMap<>();
+        private long count;
+        private long sum;
+
+        private Builder(int size, double priorWeight) {
+            if (size < 1 || priorWeight < 0) {
+                throw new IllegalArgumentException("Leaderboards need a positive size and a non-negative prior weight.");
+            }
+            this.size = size;
+            this.priorWeight = priorWeight;
+        }
+
+        /**
+         * Adds a book.
+         *
+         * @param bookId       The ID of the book.
+         * @param genre        The genre, or null if it has none.
+         * @param count        The number of ratings of the book.
+         * @param sum          The sum of its ratings.
+         * @param lastRatingId The ID of its last rating, 0 if it has none.
+         * @return This builder.
+         */
+        public Builder add(long bookId, String genre, int count, long sum, long lastRatingId) {
+            BookRatings ratings = new BookRatings(genre);
+            ratings.count = count;
+            ratings.sum = sum;
+            ratings.lastRatingId = lastRatingId;
+            books.put(bookId, ratings);
+            this.count += count;
+            this.sum += sum;
+            return this;
+        }
+
+        /**
+         * Builds the leaderboards of the books added.
+         *
+         * @return The leaderboards.
+         */
+        public RatingLeaderboards build() {
+            double mean = count == 0 ? 0 : (double) sum / count;
+            return new RatingLeaderboards(size, mean, priorWeight, books);
+        }
+    }
+}
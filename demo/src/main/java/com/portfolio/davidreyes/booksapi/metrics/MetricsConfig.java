@@ -0,0 +1,20 @@
+package com.portfolio.davidreyes.booksapi.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Metrics defaults for the API, loaded from {@code metrics.properties}.
+ *
+ * Actuator exposes its meters at {@code /actuator/prometheus}: per-endpoint {@code http.server.requests}
+ * and per-repository-method {@code spring.data.repository.invocations} timers with percentile histograms,
+ * Hikari pool gauges, Hibernate statistics, JVM and GC metrics, and the in-memory caches.
+ *
+ * The file is a property source of lower precedence than {@code application.properties}, the profile
+ * files, system properties and environment variables, so any of them can override these defaults,
+ * for example {@code --management.metrics.enable.all=false} to switch metrics off.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
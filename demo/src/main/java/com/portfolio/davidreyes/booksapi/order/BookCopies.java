@@ -0,0 +1,17 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+/**
+ * Read-only projection of the number of copies of one book across a set of orders.
+ */
+public interface BookCopies {
+
+    /**
+     * @return The ID of the book.
+     */
+    Long getBookId();
+
+    /**
+     * @return The number of copies ordered.
+     */
+    Long getCopies();
+}
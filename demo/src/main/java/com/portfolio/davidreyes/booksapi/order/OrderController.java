@@ -0,0 +1,54 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST controller for orders.
+ *
+ * Endpoints:
+ * - POST /api/v1/orders/checkout?userId={userId}: Order the books in a user's shopping cart and empty it.
+ * - GET /api/v1/orders/{orderId}: Get an order with its lines.
+ */
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    /**
+     * Constructor for injecting the OrderService dependency.
+     *
+     * @param orderService Service for placing and retrieving orders.
+     */
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Endpoint to check out a user's shopping cart.
+     *
+     * @param userId ID of the user.
+     * @return HTTP 201 response with the order and its location.
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<PurchaseOrder> checkout(@RequestParam Long userId) {
+        PurchaseOrder order = orderService.checkout(userId);
+        return ResponseEntity.created(URI.create("/api/v1/orders/" + order.getId())).body(order);
+    }
+
+    /**
+     * Endpoint to get an order.
+     *
+     * @param orderId ID of the order.
+     * @return The order with its lines.
+     */
+    @GetMapping("/{orderId}")
+    public ResponseEntity<PurchaseOrder> getOrder(@PathVariable Long orderId) {
+        return ResponseEntity.ok(orderService.getOrder(orderId));
+    }
+}
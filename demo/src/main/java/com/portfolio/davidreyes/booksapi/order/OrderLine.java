@@ -0,0 +1,66 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a book in an order.
+ * The book's name and price are copied when the order is placed, and the book is referenced by ID only,
+ * so the order stays as it was when the book is changed or deleted.
+ */
+@Entity
+@Table(name = "order_line")
+@Getter
+@NoArgsConstructor
+public class OrderLine {
+
+    /**
+     * Unique identifier for the line.
+     * Generated automatically using the IDENTITY strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The order the line belongs to.
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id")
+    private PurchaseOrder order;
+
+    /**
+     * The ID of the ordered book.
+     */
+    @Column(nullable = false)
+    private Long bookId;
+
+    /**
+     * The name of the book when it was ordered.
+     */
+    private String bookName;
+
+    /**
+     * The price of one copy when the book was ordered.
+     */
+    @Column(nullable = false)
+    private int price;
+
+    /**
+     * The number of copies ordered.
+     */
+    @Column(nullable = false)
+    private int quantity;
+
+    OrderLine(PurchaseOrder order, Books book, int quantity) {
+        this.order = order;
+        this.bookId = book.getId();
+        this.bookName = book.getBookName();
+        this.price = book.getPrice() == null ? 0 : book.getPrice();
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,26 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing OrderLine entities.
+ */
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    /**
+     * Sums the copies of every book across orders.
+     *
+     * @param orderIds The IDs of the orders.
+     * @return The copies per book, by book ID.
+     */
+    @Query("SELECT l.bookId AS bookId, SUM(l.quantity) AS copies FROM OrderLine l WHERE l.order.id IN :orderIds " +
+            "GROUP BY l.bookId ORDER BY l.bookId")
+    List<BookCopies> sumCopiesByBook(@Param("orderIds") Collection<Long> orderIds);
+}
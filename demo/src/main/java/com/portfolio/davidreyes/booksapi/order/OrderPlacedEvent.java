@@ -0,0 +1,30 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Domain event published when a user checks out their shopping cart, together with a
+ * {@code ShoppingCartChangedEvent} for every book taken out of the cart.
+ *
+ * @param orderId The ID of the order.
+ * @param userId  The ID of the user who placed it.
+ * @param copies  The number of copies ordered.
+ * @param total   The total price of the order.
+ */
+public record OrderPlacedEvent(Long orderId, Long userId, int copies, int total) implements DomainEvent {
+
+    /**
+     * The aggregate type of the events about an order.
+     */
+    public static final String AGGREGATE_TYPE = "order";
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
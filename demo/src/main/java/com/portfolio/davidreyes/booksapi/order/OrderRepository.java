@@ -0,0 +1,50 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing PurchaseOrder entities.
+ */
+@Repository
+public interface OrderRepository extends JpaRepository<PurchaseOrder, Long> {
+
+    /**
+     * Finds an order together with its lines.
+     *
+     * @param id The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    @Query("SELECT o FROM PurchaseOrder o LEFT JOIN FETCH o.lines WHERE o.id = :id")
+    Optional<PurchaseOrder> findWithLinesById(@Param("id") Long id);
+
+    /**
+     * Marks orders as counted, skipping those that already are. Whichever transaction marks an order
+     * first counts it; the conditional update makes any other wait for it and then skip the order.
+     *
+     * @param ids The IDs of the orders.
+     * @return The number of orders this call marked.
+     */
+    @Modifying
+    @Query("UPDATE PurchaseOrder o SET o.counted = true WHERE o.id IN :ids AND o.counted = false")
+    int markCounted(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds orders whose copies have not been counted, oldest first.
+     *
+     * @param before   Only orders placed before this time.
+     * @param pageable The number of orders to return.
+     * @return The IDs of the orders.
+     */
+    @Query("SELECT o.id FROM PurchaseOrder o WHERE o.counted = false AND o.createdAt < :before ORDER BY o.createdAt")
+    List<Long> findUncountedIds(@Param("before") Instant before, Pageable pageable);
+}
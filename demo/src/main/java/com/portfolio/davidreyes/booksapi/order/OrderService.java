@@ -0,0 +1,103 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.inventory.InventoryService;
+import com.portfolio.davidreyes.booksapi.inventory.OutOfStockException;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCart;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartChangedEvent;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartRepository;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service layer for placing and retrieving orders.
+ */
+@Service
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final UserRepository userRepository;
+    private final SalesLedger salesLedger;
+    private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor to inject dependencies.
+     *
+     * @param orderRepository        Repository for managing orders.
+     * @param shoppingCartRepository Repository for managing shopping carts.
+     * @param userRepository         Repository for managing users.
+     * @param salesLedger            Counts the copies of the orders placed.
+     * @param inventoryService       Sells the copies reserved in the cart.
+     * @param eventPublisher         Publisher of the order and the cart changes.
+     */
+    @Autowired
+    public OrderService(OrderRepository orderRepository, ShoppingCartRepository shoppingCartRepository, UserRepository userRepository,
+                        SalesLedger salesLedger, InventoryService inventoryService, ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.userRepository = userRepository;
+        this.salesLedger = salesLedger;
+        this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Checks out a user's shopping cart: orders one copy of every book in it at its current price,
+     * sells the copies reserved for the cart and empties it, in one transaction. The books' copies sold
+     * are updated shortly after the commit, by {@link SalesLedger}.
+     *
+     * @param userId ID of the user.
+     * @return The order placed.
+     * @throws IllegalStateException    if the user does not exist.
+     * @throws IllegalArgumentException if the shopping cart is empty.
+     * @throws OutOfStockException      if a reservation expired and the book has no copy left, or every copy
+     *                                  on hand was already sold to other orders.
+     */
+    @Transactional
+    public PurchaseOrder checkout(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalStateException("User with ID " + userId + " does not exist");
+        }
+        ShoppingCart cart = shoppingCartRepository.findByUserIdForUpdate(userId)
+                .filter(locked -> !locked.getBooks().isEmpty())
+                .orElseThrow(() -> new IllegalArgumentException("The shopping cart of user " + userId + " is empty"));
+
+        List<Books> books = cart.getBooks().stream().sorted(Comparator.comparing(Books::getId)).toList();
+        PurchaseOrder order = new PurchaseOrder(userId, Instant.now());
+        for (Books book : books) {
+            order.addLine(book, 1);
+            // Removed one by one, so a book added to the cart meanwhile stays in it
+            cart.deleteBook(book);
+            eventPublisher.publishEvent(new ShoppingCartChangedEvent(userId, book.getId(), false));
+        }
+        orderRepository.save(order);
+        for (Books book : books) {
+            inventoryService.confirm(userId, book.getId(), order.getId());
+        }
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), userId, books.size(), order.getTotal()));
+        salesLedger.recordOnCommit(order);
+        return order;
+    }
+
+    /**
+     * Retrieves an order with its lines.
+     *
+     * @param orderId ID of the order.
+     * @return The order.
+     * @throws IllegalStateException if the order does not exist.
+     */
+    @Transactional(readOnly = true)
+    public PurchaseOrder getOrder(Long orderId) {
+        return orderRepository.findWithLinesById(orderId)
+                .orElseThrow(() -> new IllegalStateException("Order with ID " + orderId + " does not exist"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity representing an order placed by checking out a user's shopping cart.
+ *
+ * The order and its lines are inserted in the transaction that empties the cart. Its copies are added to
+ * the books' copies sold later, in batches, by {@link SalesLedger}, which marks the order counted in the
+ * same transaction, so every order is counted exactly once.
+ */
+@Entity
+@Table(name = "purchase_order")
+@Getter
+@NoArgsConstructor
+public class PurchaseOrder {
+
+    /**
+     * Unique identifier for the order.
+     * Generated automatically using the IDENTITY strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the user who placed the order.
+     */
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * The sum of the prices of all lines.
+     */
+    @Column(nullable = false)
+    private int total;
+
+    /**
+     * Whether the copies of the order have been added to the books' copies sold.
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean counted;
+
+    /**
+     * The time the order was placed.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The books ordered, by book ID.
+     */
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
+    @OrderBy("bookId")
+    private List<OrderLine> lines = new ArrayList<>();
+
+    /**
+     * Creates an order without lines.
+     *
+     * @param userId    The ID of the user placing it.
+     * @param createdAt The time it is placed.
+     */
+    public PurchaseOrder(Long userId, Instant createdAt) {
+        this.userId = userId;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Adds a book to the order at its current price.
+     *
+     * @param book     The book.
+     * @param quantity The number of copies.
+     */
+    public void addLine(Books book, int quantity) {
+        OrderLine line = new OrderLine(this, book, quantity);
+        lines.add(line);
+        total += line.getPrice() * quantity;
+    }
+}
@@ -0,0 +1,273 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.portfolio.davidreyes.booksapi.books.BooksService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adds the copies of placed orders to the books' copies sold, without making best sellers a point of
+ * contention for checkouts.
+ *
+ * A checkout does not update its books. Once its transaction commits, the order's copies are added to
+ * striped in-memory counters, one {@link LongAdder} per book, and every {@code booksapi.sales.flush-interval}
+ * the counters are taken and written in one transaction: the orders are marked counted and every book sold
+ * since the last flush is updated once, however many orders it was in. A failed flush keeps its counts
+ * for the next one.
+ *
+ * Marking the orders counted in the transaction that updates the books makes the counts exact. An order
+ * that is already counted, because a flush committed without this instance learning of it, makes the
+ * flush fall back to counting each order on its own. An order this instance never flushed, because it
+ * stopped after the checkout committed, stays uncounted in the database; it is counted from its lines by
+ * the recovery of any instance once it is {@code booksapi.sales.recover-after} old.
+ *
+ * The copies waiting for a flush are published as {@code booksapi.sales.pending}.
+ */
+@Component
+public class SalesLedger implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesLedger.class);
+
+    // The number of orders marked counted by one statement
+    private static final int MARK_BATCH_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final BooksService booksService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration recoverAfter;
+    private final AtomicReference<Tally> current = new AtomicReference<>(new Tally());
+    private Counter flushedCopies;
+    private Counter recoveredOrders;
+
+    /**
+     * Creates the ledger.
+     *
+     * @param orderRepository     The repository of the orders.
+     * @param orderLineRepository Sums the copies of recovered orders.
+     * @param booksService        Adds the copies to the books.
+     * @param transactionManager  Runs each flush in a transaction.
+     * @param recoverAfter        How old an uncounted order must be before any instance counts it.
+     */
+    @Autowired
+    public SalesLedger(OrderRepository orderRepository, OrderLineRepository orderLineRepository, BooksService booksService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${booksapi.sales.recover-after:5m}") Duration recoverAfter) {
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.booksService = booksService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recoverAfter = recoverAfter;
+    }
+
+    /**
+     * Registers the copies waiting for a flush and the copies flushed with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("booksapi.sales.pending", this, SalesLedger::pendingCopies)
+                .description("Copies sold that are not yet added to the books")
+                .baseUnit("copies")
+                .register(registry);
+        flushedCopies = Counter.builder("booksapi.sales.flushed")
+                .description("Copies sold added to the books")
+                .baseUnit("copies")
+                .register(registry);
+        recoveredOrders = Counter.builder("booksapi.sales.recovered")
+                .description("Orders counted one by one from their lines, instead of from the in-memory counters")
+                .baseUnit("orders")
+                .register(registry);
+    }
+
+    /**
+     * Records the copies of an order placed in the current transaction, to be counted once it commits.
+     *
+     * @param order The order.
+     */
+    public void recordOnCommit(PurchaseOrder order) {
+        Long orderId = order.getId();
+        Map<Long, Integer> copies = new TreeMap<>();
+        order.getLines().forEach(line -> copies.merge(line.getBookId(), line.getQuantity(), Integer::sum));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(List.of(orderId), copies);
+            }
+        });
+    }
+
+    /**
+     * @return The number of copies recorded and not flushed yet.
+     */
+    public long pendingCopies() {
+        return current.get().copies.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Adds the copies recorded since the last flush to the books.
+     */
+    @Scheduled(fixedDelayString = "${booksapi.sales.flush-interval:PT1S}")
+    public synchronized void flush() {
+        Tally tally = current.getAndSet(new Tally());
+        tally.awaitRecorders();
+        if (tally.orders.isEmpty()) {
+            return;
+        }
+        List<Long> orderIds = new ArrayList<>(tally.orders);
+        Map<Long, Long> copies = new TreeMap<>();
+        tally.copies.forEach((bookId, adder) -> copies.put(bookId, adder.sum()));
+        try {
+            Boolean flushed = transactionTemplate.execute(status -> {
+                if (markCounted(orderIds) != orderIds.size()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                booksService.addCopiesSold(copies);
+                return true;
+            });
+            if (Boolean.TRUE.equals(flushed)) {
+                if (flushedCopies != null) {
+                    flushedCopies.increment(copies.values().stream().mapToLong(Long::longValue).sum());
+                }
+            } else {
+                log.info("Some of {} orders were counted already, counting them one by one", orderIds.size());
+                countFromLines(orderIds);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Flushing the copies of {} orders failed, retrying on the next flush", orderIds.size(), e);
+            Map<Long, Integer> retry = new TreeMap<>();
+            copies.forEach((bookId, count) -> retry.put(bookId, Math.toIntExact(count)));
+            record(orderIds, retry);
+        }
+    }
+
+    /**
+     * Flushes the copies recorded so far when the application stops.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Counts the orders left uncounted by an instance that stopped before flushing them.
+     */
+    @Scheduled(initialDelayString = "${booksapi.sales.recovery-interval:PT1M}",
+            fixedDelayString = "${booksapi.sales.recovery-interval:PT1M}")
+    public void recover() {
+        Instant before = Instant.now().minus(recoverAfter);
+        List<Long> orderIds;
+        do {
+            orderIds = orderRepository.findUncountedIds(before, PageRequest.of(0, MARK_BATCH_SIZE));
+            if (!orderIds.isEmpty()) {
+                log.info("Counting {} orders that were never flushed", orderIds.size());
+                countFromLines(orderIds);
+            }
+        } while (orderIds.size() == MARK_BATCH_SIZE);
+    }
+
+    /**
+     * Adds orders and their copies to the current tally. A flush that takes the tally while this runs waits
+     * until it is done, and a recorder that finds the tally taken records into the next one.
+     */
+    private void record(List<Long> orderIds, Map<Long, Integer> copies) {
+        while (true) {
+            Tally tally = current.get();
+            tally.recorders.increment();
+            try {
+                if (tally != current.get()) {
+                    continue;
+                }
+                copies.forEach((bookId, count) -> tally.adder(bookId).add(count));
+                tally.orders.addAll(orderIds);
+                return;
+            } finally {
+                tally.recorders.decrement();
+            }
+        }
+    }
+
+    /**
+     * Marks orders counted in batches, in the current transaction.
+     *
+     * @return The number of orders that were not counted before.
+     */
+    private int markCounted(List<Long> orderIds) {
+        int marked = 0;
+        for (int from = 0; from < orderIds.size(); from += MARK_BATCH_SIZE) {
+            marked += orderRepository.markCounted(orderIds.subList(from, Math.min(from + MARK_BATCH_SIZE, orderIds.size())));
+        }
+        return marked;
+    }
+
+    /**
+     * Counts each of the orders not counted yet, reading their copies from their lines.
+     */
+    private void countFromLines(List<Long> orderIds) {
+        Map<Long, Long> copies = new TreeMap<>();
+        int counted = transactionTemplate.execute(status -> {
+            List<Long> uncounted = orderIds.stream().filter(id -> orderRepository.markCounted(List.of(id)) == 1).toList();
+            for (int from = 0; from < uncounted.size(); from += MARK_BATCH_SIZE) {
+                orderLineRepository.sumCopiesByBook(uncounted.subList(from, Math.min(from + MARK_BATCH_SIZE, uncounted.size())))
+                        .forEach(line -> copies.merge(line.getBookId(), line.getCopies(), Long::sum));
+            }
+            booksService.addCopiesSold(copies);
+            return uncounted.size();
+        });
+        if (recoveredOrders != null) {
+            recoveredOrders.increment(counted);
+            flushedCopies.increment(copies.values().stream().mapToLong(Long::longValue).sum());
+        }
+    }
+
+    /**
+     * The orders and copies recorded between two flushes.
+     */
+    private static final class Tally {
+
+        private final ConcurrentHashMap<Long, LongAdder> copies = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Long> orders = new ConcurrentLinkedQueue<>();
+        // The number of threads recording into this tally right now
+        private final LongAdder recorders = new LongAdder();
+
+        private LongAdder adder(Long bookId) {
+            LongAdder adder = copies.get(bookId);
+            return adder != null ? adder : copies.computeIfAbsent(bookId, id -> new LongAdder());
+        }
+
+        /**
+         * Waits for the recorders that found this tally current before it was taken.
+         */
+        private void awaitRecorders() {
+            while (recorders.sum() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+/**
+ * An application event describing a committed change to one aggregate, such as a book or a user's
+ * shopping cart.
+ *
+ * Publishing a domain event inside a transaction also writes it to the outbox in that transaction
+ * ({@link OutboxWriter}), from where {@link OutboxDispatcher} delivers it to the {@link OutboxSubscriber}s
+ * after the commit. Events are stored as JSON, so implementations must be serializable by Jackson,
+ * as records are.
+ */
+public interface DomainEvent {
+
+    /**
+     * @return The kind of aggregate the event changed, such as {@code book}.
+     */
+    String aggregateType();
+
+    /**
+     * @return The ID of the aggregate the event changed; events of one aggregate are delivered in order.
+     */
+    Long aggregateId();
+}
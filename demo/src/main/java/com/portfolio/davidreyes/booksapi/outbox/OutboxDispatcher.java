@@ -0,0 +1,490 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Delivers the outbox to the {@link OutboxSubscriber}s in batches, every {@code booksapi.outbox.poll-interval}.
+ *
+ * Each subscriber has its own position, stored in the {@code outbox_subscription} table once a batch has
+ * been handled, so a subscriber that fails or falls behind delays no other, and a restart resumes after
+ * the last handled batch. A subscriber is handed the events in ID order, one batch of at most
+ * {@code booksapi.outbox.batch-size} events at a time.
+ *
+ * IDs are taken when an event is inserted but become visible when its transaction commits, so an event
+ * can appear after a later one. When the events read skip an ID, delivery stops before the gap until the
+ * dispatcher has seen it missing for {@code booksapi.outbox.settle-time}; an ID still missing by then is
+ * taken to belong to a rolled back transaction and skipped for now. The wait is timed from when the gap was
+ * first seen rather than from when the later event was written, so a transaction that is slow to commit
+ * after writing its event still has the full settle time. Skipped IDs are logged and counted as
+ * {@code booksapi.outbox.skipped}. A gap below a position some subscriber has already reached was settled
+ * then, and is not waited for again.
+ *
+ * A skipped ID may still belong to a transaction that is merely slow, so every subscriber keeps the IDs it
+ * skipped and looks them up again on each poll, for {@code booksapi.outbox.late-time}. An event found then is
+ * delivered late, counted as {@code booksapi.outbox.late}, and followed again by the events of its aggregate
+ * the subscriber was already delivered after it, so the last events a subscriber handles for an aggregate
+ * are still in order. Skipped IDs are only held in memory: an event that commits after a restart or after
+ * the late time is only delivered by a replay.
+ *
+ * Every {@code booksapi.outbox.purge-interval}, the events every subscriber has handled are deleted once
+ * they are {@code booksapi.outbox.retention} old, so a replay can only go back that far.
+ *
+ * The number of events each subscriber is behind is published as {@code booksapi.outbox.lag}, and the age
+ * of the oldest event it has not handled as {@code booksapi.outbox.delay}.
+ */
+@Component
+public class OutboxDispatcher implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSubscriptionRepository outboxSubscriptionRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Delivery> deliveries = new LinkedHashMap<>();
+    private final int batchSize;
+    private final Duration settleTime;
+    private final Duration lateTime;
+    private final Duration retention;
+
+    // The first missing ID of every gap not settled yet, and when the dispatcher first saw it missing
+    private final NavigableMap<Long, Instant> gapsSeen = new TreeMap<>();
+
+    // The ID of the most recent event, read by every dispatch
+    private volatile long latestEventId;
+
+    // The furthest position any subscriber has reached; the gaps below it are settled
+    private long settledThrough;
+
+    private Counter skippedEvents;
+    private Counter lateEvents;
+    private Counter purgedEvents;
+
+    /**
+     * Creates the dispatcher.
+     *
+     * @param outboxEventRepository        The repository of the outbox.
+     * @param outboxSubscriptionRepository The repository of the subscribers' positions.
+     * @param objectMapper                 Reads the events back.
+     * @param subscribers                  The subscribers.
+     * @param batchSize                    The maximum number of events per batch.
+     * @param settleTime                   How long to wait for an event missing before later ones.
+     * @param lateTime                     How long to keep looking for an event whose ID was skipped.
+     * @param retention                    How long to keep the events every subscriber has handled.
+     */
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, OutboxSubscriptionRepository outboxSubscriptionRepository,
+                            ObjectMapper objectMapper, List<OutboxSubscriber> subscribers,
+                            @Value("${booksapi.outbox.batch-size:500}") int batchSize,
+                            @Value("${booksapi.outbox.settle-time:5s}") Duration settleTime,
+                            @Value("${booksapi.outbox.late-time:1h}") Duration lateTime,
+                            @Value("${booksapi.outbox.retention:7d}") Duration retention) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The outbox batch size must be positive.");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSubscriptionRepository = outboxSubscriptionRepository;
+        this.objectMapper = objectMapper;
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (deliveries.putIfAbsent(subscriber.name(), new Delivery(subscriber)) != null) {
+                throw new IllegalArgumentException("Two outbox subscribers are named " + subscriber.name());
+            }
+        }
+        this.batchSize = batchSize;
+        this.settleTime = settleTime;
+        this.lateTime = lateTime;
+        this.retention = retention;
+    }
+
+    /**
+     * Registers the lag of every subscriber with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        skippedEvents = Counter.builder("booksapi.outbox.skipped")
+                .description("Outbox event IDs skipped because they were still missing after the settle time")
+                .baseUnit("events")
+                .register(registry);
+        lateEvents = Counter.builder("booksapi.outbox.late")
+                .description("Outbox events delivered after their ID was skipped")
+                .baseUnit("events")
+                .register(registry);
+        purgedEvents = Counter.builder("booksapi.outbox.purged")
+                .description("Outbox events deleted after every subscriber handled them")
+                .baseUnit("events")
+                .register(registry);
+        for (Delivery delivery : deliveries.values()) {
+            String name = delivery.subscriber.name();
+            Gauge.builder("booksapi.outbox.lag", delivery, Delivery::lag)
+                    .description("Number of outbox events the subscriber has not handled yet")
+                    .baseUnit("events")
+                    .tag("subscriber", name)
+                    .register(registry);
+            Gauge.builder("booksapi.outbox.delay", delivery, Delivery::delaySeconds)
+                    .description("Age of the oldest outbox event the subscriber has not handled yet")
+                    .baseUnit("seconds")
+                    .tag("subscriber", name)
+                    .register(registry);
+            delivery.delivered = Counter.builder("booksapi.outbox.delivered")
+                    .description("Outbox events handled by the subscriber, redeliveries included")
+                    .tag("subscriber", name)
+                    .register(registry);
+            delivery.failures = Counter.builder("booksapi.outbox.failures")
+                    .description("Outbox batches the subscriber failed to handle")
+                    .tag("subscriber", name)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Delivers the events committed since the last dispatch to every subscriber.
+     */
+    @Scheduled(fixedDelayString = "${booksapi.outbox.poll-interval:PT1S}")
+    public synchronized void dispatch() {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        readLatestEventId();
+        deliveries.values().forEach(this::load); // Every stored position settles the gaps below it
+        for (Delivery delivery : deliveries.values()) {
+            try {
+                deliver(delivery);
+            } catch (RuntimeException e) {
+                if (delivery.failures != null) {
+                    delivery.failures.increment();
+                }
+                log.warn("Delivering the outbox to {} after event {} failed, retrying on the next poll",
+                        delivery.subscriber.name(), delivery.lastEventId, e);
+            }
+        }
+        long slowest = deliveries.values().stream().mapToLong(delivery -> delivery.lastEventId).min().orElse(0);
+        gapsSeen.headMap(slowest, true).clear();
+    }
+
+    /**
+     * Deletes the events that every subscriber has handled and that are older than the retention, in batches.
+     */
+    @Scheduled(initialDelayString = "${booksapi.outbox.purge-interval:PT1H}",
+            fixedDelayString = "${booksapi.outbox.purge-interval:PT1H}")
+    public void purge() {
+        long handled = handledByAll();
+        Instant before = Instant.now().minus(retention);
+        long purged = 0;
+        List<Long> eventIds;
+        do {
+            eventIds = outboxEventRepository.findIdsWrittenBefore(handled, before, PageRequest.of(0, batchSize));
+            if (!eventIds.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(eventIds);
+                purged += eventIds.size();
+            }
+        } while (eventIds.size() == batchSize);
+        if (purged > 0) {
+            log.info("Purged {} outbox events older than {} that every subscriber handled", purged, retention);
+            if (purgedEvents != null) {
+                purgedEvents.increment(purged);
+            }
+        }
+    }
+
+    /**
+     * Moves a subscriber back, or forward, so its next batch starts at an event. Replaying the outbox
+     * from its oldest event rebuilds state derived from the events, as far back as the retention keeps them.
+     *
+     * @param subscriber  The name of the subscriber.
+     * @param fromEventId The ID of the first event to deliver again.
+     * @throws IllegalArgumentException if no subscriber has the name.
+     */
+    public synchronized void replay(String subscriber, long fromEventId) {
+        Delivery delivery = deliveries.get(subscriber);
+        if (delivery == null) {
+            throw new IllegalArgumentException("Unknown outbox subscriber " + subscriber);
+        }
+        load(delivery);
+        delivery.moveTo(Math.max(0, fromEventId - 1));
+        delivery.skipped.tailMap(fromEventId, true).clear(); // Read again in order
+        Long oldest = outboxEventRepository.findOldestId();
+        if (oldest != null && oldest > fromEventId) {
+            log.warn("Replaying the outbox to {} from event {}, as the events before it were purged", subscriber, oldest);
+        } else {
+            log.info("Replaying the outbox to {} from event {}", subscriber, delivery.lastEventId + 1);
+        }
+    }
+
+    /**
+     * Returns the furthest position any subscriber has reached. Every event up to it had committed, or was
+     * skipped, when it was reached; a later event may still belong to an open transaction. A rebuild that
+     * reads the database after this call, then replays the outbox from the next event, therefore misses no
+     * committed change, though a skipped event that commits before the read is also delivered late.
+     *
+     * @return The ID of the last settled event, 0 if no subscriber has handled any.
+     */
+    public synchronized long settledPosition() {
+        deliveries.values().forEach(this::load);
+        return settledThrough;
+    }
+
+    /**
+     * Returns the position and lag of every subscriber.
+     *
+     * @return The status by subscriber name.
+     */
+    public synchronized Map<String, Status> status() {
+        readLatestEventId();
+        Map<String, Status> status = new LinkedHashMap<>();
+        for (Delivery delivery : deliveries.values()) {
+            load(delivery);
+            status.put(delivery.subscriber.name(), new Status(delivery.lastEventId, (long) delivery.lag(), delivery.delaySeconds()));
+        }
+        return status;
+    }
+
+    /**
+     * Hands a subscriber its pending events, batch by batch, until it has caught up or reached a gap.
+     */
+    private void deliver(Delivery delivery) {
+        load(delivery);
+        deliverLate(delivery);
+        while (true) {
+            List<OutboxEvent> events = outboxEventRepository.findByIdGreaterThanOrderById(delivery.lastEventId, PageRequest.of(0, batchSize));
+            delivery.pendingSince = events.isEmpty() ? null : events.get(0).getCreatedAt();
+
+            Instant now = Instant.now();
+            Instant settled = now.minus(settleTime);
+            long expected = delivery.lastEventId + 1;
+            boolean waiting = false;
+            List<OutboxMessage> messages = new ArrayList<>(events.size());
+            List<long[]> skipped = new ArrayList<>();
+            List<long[]> settledGaps = new ArrayList<>();
+            for (OutboxEvent event : events) {
+                if (event.getId() != expected && expected <= settledThrough) {
+                    // Settled when another subscriber passed it, but still looked up again like a skipped gap
+                    settledGaps.add(new long[]{expected, event.getId() - 1});
+                } else if (event.getId() != expected) {
+                    // Every gap in the batch starts its wait now, even behind one that is still waited for
+                    Instant seen = gapsSeen.computeIfAbsent(expected, id -> now);
+                    if (waiting || seen.isAfter(settled)) {
+                        waiting = true; // The missing events may still commit
+                    } else {
+                        skipped.add(new long[]{expected, event.getId() - 1});
+                    }
+                }
+                if (!waiting) {
+                    messages.add(message(event));
+                }
+                expected = event.getId() + 1;
+            }
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            delivery.subscriber.onEvents(messages);
+            delivery.moveTo(messages.get(messages.size() - 1).id());
+            settledThrough = Math.max(settledThrough, delivery.lastEventId);
+            if (delivery.delivered != null) {
+                delivery.delivered.increment(messages.size());
+            }
+            for (long[] gap : skipped) {
+                log.warn("Skipped outbox events {} to {}, missing for {}; they are delivered late if they commit within {}",
+                        gap[0], gap[1], settleTime, lateTime);
+                if (skippedEvents != null) {
+                    skippedEvents.increment(gap[1] - gap[0] + 1);
+                }
+            }
+            skipped.addAll(settledGaps);
+            for (long[] gap : skipped) {
+                for (long id = gap[0]; id <= gap[1]; id++) {
+                    delivery.skipped.put(id, now);
+                }
+            }
+            if (messages.size() < events.size()) {
+                delivery.pendingSince = events.get(messages.size()).getCreatedAt();
+                return;
+            }
+            if (events.size() < batchSize) {
+                delivery.pendingSince = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands a subscriber the events whose IDs it skipped and that have committed since, each followed again by
+     * the events of its aggregate the subscriber was delivered after it, all in ID order. IDs skipped longer
+     * than the late time ago are given up.
+     */
+    private void deliverLate(Delivery delivery) {
+        Instant expired = Instant.now().minus(lateTime);
+        for (Iterator<Instant> skippedAt = delivery.skipped.values().iterator(); skippedAt.hasNext(); ) {
+            if (skippedAt.next().isBefore(expired)) {
+                skippedAt.remove();
+            }
+        }
+        if (delivery.skipped.isEmpty()) {
+            return;
+        }
+
+        List<Long> skippedIds = List.copyOf(delivery.skipped.keySet());
+        List<OutboxEvent> late = new ArrayList<>();
+        for (int from = 0; from < skippedIds.size(); from += batchSize) {
+            late.addAll(outboxEventRepository.findByIdInOrderById(skippedIds.subList(from, Math.min(skippedIds.size(), from + batchSize))));
+        }
+        if (late.isEmpty()) {
+            return;
+        }
+        NavigableMap<Long, OutboxEvent> events = new TreeMap<>();
+        for (OutboxEvent event : late) {
+            events.put(event.getId(), event);
+            for (OutboxEvent after : outboxEventRepository.findAggregateEventsBetween(event.getAggregateType(),
+                    event.getAggregateId(), event.getId(), delivery.lastEventId)) {
+                if (!delivery.skipped.containsKey(after.getId())) {
+                    events.put(after.getId(), after); // Already delivered, but it must stay after the late event
+                }
+            }
+        }
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (OutboxEvent event : events.values()) {
+            messages.add(message(event));
+        }
+
+        delivery.subscriber.onEvents(messages);
+        for (OutboxEvent event : late) {
+            delivery.skipped.remove(event.getId());
+        }
+        log.warn("Delivered {} outbox events to {} after their IDs were skipped, from event {}",
+                late.size(), delivery.subscriber.name(), late.get(0).getId());
+        if (delivery.delivered != null) {
+            delivery.delivered.increment(messages.size());
+        }
+        if (lateEvents != null) {
+            lateEvents.increment(late.size());
+        }
+    }
+
+    /**
+     * Returns the position of the subscriber furthest behind, stored or in memory, or 0 if there is none.
+     */
+    private synchronized long handledByAll() {
+        Long stored = outboxSubscriptionRepository.findSlowestPosition();
+        long handled = stored != null ? stored : deliveries.isEmpty() ? 0 : Long.MAX_VALUE;
+        for (Delivery delivery : deliveries.values()) {
+            load(delivery);
+            handled = Math.min(handled, delivery.lastEventId);
+        }
+        return handled;
+    }
+
+    /**
+     * Reads the ID of the most recent event, for the lag.
+     */
+    private void readLatestEventId() {
+        Long latest = outboxEventRepository.findLatestId();
+        latestEventId = latest != null ? latest : 0;
+    }
+
+    /**
+     * Reads the stored position of a subscriber, once.
+     */
+    private void load(Delivery delivery) {
+        if (delivery.subscription == null) {
+            delivery.subscription = outboxSubscriptionRepository.findById(delivery.subscriber.name())
+                    .orElseGet(() -> new OutboxSubscription(delivery.subscriber.name()));
+            delivery.lastEventId = delivery.subscription.getLastEventId();
+            settledThrough = Math.max(settledThrough, delivery.lastEventId);
+        }
+    }
+
+    /**
+     * Reads an event back for delivery.
+     */
+    private OutboxMessage message(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getCreatedAt(), read(event));
+    }
+
+    /**
+     * Reads an event back from its JSON payload.
+     */
+    private DomainEvent read(OutboxEvent event) {
+        try {
+            Class<?> type = Class.forName(event.getEventType());
+            if (!DomainEvent.class.isAssignableFrom(type)) {
+                throw new IllegalStateException("Outbox event " + event.getId() + " has type " + type.getName() + ", which is not a domain event");
+            }
+            return (DomainEvent) objectMapper.readValue(event.getPayload(), type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Outbox event " + event.getId() + " cannot be read", e);
+        }
+    }
+
+    /**
+     * The position and lag of a subscriber.
+     *
+     * @param lastEventId  The ID of the last event the subscriber handled.
+     * @param lag          The number of events it has not handled yet.
+     * @param delaySeconds The age of the oldest event it has not handled yet, 0 if it has caught up.
+     */
+    public record Status(long lastEventId, long lag, double delaySeconds) {
+    }
+
+    /**
+     * The delivery state of one subscriber, guarded by the dispatcher's lock except for the gauges.
+     */
+    private final class Delivery {
+
+        private final OutboxSubscriber subscriber;
+
+        // The IDs the subscriber skipped below its position, and when, looked up again until the late time
+        private final NavigableMap<Long, Instant> skipped = new TreeMap<>();
+
+        private OutboxSubscription subscription;
+        private volatile long lastEventId;
+        private volatile Instant pendingSince;
+        private Counter delivered;
+        private Counter failures;
+
+        Delivery(OutboxSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Records the position of the subscriber.
+         */
+        void moveTo(long eventId) {
+            subscription.setLastEventId(eventId);
+            subscription.setUpdatedAt(Instant.now());
+            subscription = outboxSubscriptionRepository.save(subscription);
+            lastEventId = eventId;
+        }
+
+        double lag() {
+            return Math.max(0, latestEventId - lastEventId);
+        }
+
+        double delaySeconds() {
+            Instant since = pendingSince;
+            return since == null ? 0 : Math.max(0, Duration.between(since, Instant.now()).toMillis() / 1000.0);
+        }
+    }
+}
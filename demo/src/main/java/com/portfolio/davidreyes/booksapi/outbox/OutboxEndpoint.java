@@ -0,0 +1,58 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint at {@code /actuator/outbox} listing the position and lag of each outbox subscriber.
+ *
+ * {@code POST /actuator/outbox/{subscriber}} with {@code {"fromEventId": n}} replays the outbox to a
+ * subscriber from event {@code n}, for example from 1 to rebuild its state from every event still kept.
+ * Events every subscriber has handled are purged after {@code booksapi.outbox.retention}, so older ones
+ * cannot be replayed.
+ */
+@Component
+@Endpoint(id = "outbox")
+public class OutboxEndpoint {
+
+    private final OutboxDispatcher outboxDispatcher;
+
+    /**
+     * Creates the endpoint.
+     *
+     * @param outboxDispatcher The dispatcher delivering the outbox.
+     */
+    @Autowired
+    public OutboxEndpoint(OutboxDispatcher outboxDispatcher) {
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    /**
+     * Returns the status of every subscriber.
+     *
+     * @return The status by subscriber name.
+     */
+    @ReadOperation
+    public Map<String, OutboxDispatcher.Status> subscribers() {
+        return outboxDispatcher.status();
+    }
+
+    /**
+     * Replays the outbox to a subscriber from an event on.
+     *
+     * @param subscriber  The name of the subscriber.
+     * @param fromEventId The ID of the first event to deliver again.
+     * @return The status of the subscriber.
+     */
+    @WriteOperation
+    public OutboxDispatcher.Status replay(@Selector String subscriber, long fromEventId) {
+        outboxDispatcher.replay(subscriber, fromEventId);
+        return outboxDispatcher.status().get(subscriber);
+    }
+}
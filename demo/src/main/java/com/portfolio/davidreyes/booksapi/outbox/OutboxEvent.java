@@ -0,0 +1,71 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a domain event in the outbox table.
+ * The event is inserted in the transaction of the change it describes, so it exists if and only if the
+ * change committed. IDs increase in insertion order, which is the order events are delivered in.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Unique identifier for the event, and its position in the outbox.
+     * Generated automatically using the IDENTITY strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The kind of aggregate the event changed.
+     */
+    @Column(nullable = false)
+    private String aggregateType;
+
+    /**
+     * The ID of the aggregate the event changed.
+     */
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    /**
+     * The class of the event, which its payload is read back as.
+     */
+    @Column(nullable = false)
+    private String eventType;
+
+    /**
+     * The event as JSON.
+     */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    /**
+     * The time the event was written.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Creates an outbox entry for an event.
+     *
+     * @param event   The event.
+     * @param payload The event as JSON.
+     */
+    public OutboxEvent(DomainEvent event, String payload) {
+        this.aggregateType = event.aggregateType();
+        this.aggregateId = event.aggregateId();
+        this.eventType = event.getClass().getName();
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+}
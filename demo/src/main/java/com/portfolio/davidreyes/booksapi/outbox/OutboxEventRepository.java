@@ -0,0 +1,87 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for the outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Retrieves the events following a position of the outbox, in order.
+     *
+     * @param id       The ID of the last event already delivered.
+     * @param pageable The maximum number of events to return.
+     * @return The events.
+     */
+    List<OutboxEvent> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Retrieves the events with some IDs, in order.
+     *
+     * @param ids The IDs of the events.
+     * @return The events that exist.
+     */
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    /**
+     * Retrieves the events of one aggregate between two positions of the outbox, in order.
+     *
+     * @param aggregateType The kind of aggregate.
+     * @param aggregateId   The ID of the aggregate.
+     * @param after         The ID the events must follow.
+     * @param through       The ID of the last event that may be returned.
+     * @return The events.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.aggregateType = :aggregateType AND e.aggregateId = :aggregateId"
+            + " AND e.id > :after AND e.id <= :through ORDER BY e.id")
+    List<OutboxEvent> findAggregateEventsBetween(@Param("aggregateType") String aggregateType, @Param("aggregateId") Long aggregateId,
+                                                 @Param("after") long after, @Param("through") long through);
+
+    /**
+     * Streams the IDs of the events following a position of the outbox, in order.
+     * Must be consumed inside a transaction.
+     *
+     * @param id The ID the events must follow.
+     * @return A stream of the IDs.
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id > :id ORDER BY e.id")
+    Stream<Long> streamIdsAfter(@Param("id") long id);
+
+    /**
+     * Retrieves the ID of the most recent event.
+     *
+     * @return The ID, or null if the outbox is empty.
+     */
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findLatestId();
+
+    /**
+     * Retrieves the ID of the oldest event left in the outbox.
+     *
+     * @return The ID, or null if the outbox is empty.
+     */
+    @Query("SELECT MIN(e.id) FROM OutboxEvent e")
+    Long findOldestId();
+
+    /**
+     * Retrieves the IDs of the events up to a position of the outbox that were written before a time, in order.
+     *
+     * @param lastEventId The ID of the last event that may be returned.
+     * @param before      The time the events must have been written before.
+     * @param pageable    The maximum number of IDs to return.
+     * @return The IDs.
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id <= :lastEventId AND e.createdAt < :before ORDER BY e.id")
+    List<Long> findIdsWrittenBefore(@Param("lastEventId") long lastEventId, @Param("before") Instant before, Pageable pageable);
+}
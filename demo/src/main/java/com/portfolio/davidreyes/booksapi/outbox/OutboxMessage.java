@@ -0,0 +1,14 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import java.time.Instant;
+
+/**
+ * A domain event as delivered from the outbox.
+ *
+ * @param id        The position of the event in the outbox; a subscriber that sees an ID twice is being
+ *                  redelivered the event.
+ * @param createdAt The time the event was written.
+ * @param event     The event.
+ */
+public record OutboxMessage(Long id, Instant createdAt, DomainEvent event) {
+}
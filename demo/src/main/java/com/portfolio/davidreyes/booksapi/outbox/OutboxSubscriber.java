@@ -0,0 +1,28 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import java.util.List;
+
+/**
+ * An in-process consumer of the domain events in the outbox, such as a cache or an aggregate derived
+ * from the tables.
+ *
+ * {@link OutboxDispatcher} hands each subscriber the events committed since its last batch, in outbox
+ * order and so in order per aggregate, and records its position once the batch returns. Delivery is at
+ * least once: a batch that throws is redelivered, as are the events after the last recorded position
+ * when the application restarts, so handling must be idempotent, for example by skipping IDs already
+ * seen. A new subscriber starts at the beginning of the outbox.
+ */
+public interface OutboxSubscriber {
+
+    /**
+     * @return The name the subscriber's position is stored under; renaming a subscriber restarts it.
+     */
+    String name();
+
+    /**
+     * Handles a batch of events.
+     *
+     * @param messages The events, oldest first.
+     */
+    void onEvents(List<OutboxMessage> messages);
+}
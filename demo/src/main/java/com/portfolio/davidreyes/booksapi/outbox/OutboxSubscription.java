@@ -0,0 +1,47 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entity recording how far an {@link OutboxSubscriber} has been delivered the outbox.
+ */
+@Entity
+@Table(name = "outbox_subscription")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxSubscription {
+
+    /**
+     * The name of the subscriber.
+     */
+    @Id
+    private String name;
+
+    /**
+     * The ID of the last event the subscriber handled, 0 before the first.
+     */
+    @Column(nullable = false)
+    private long lastEventId;
+
+    /**
+     * The time the position last changed.
+     */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Creates the subscription of a subscriber at the start of the outbox.
+     *
+     * @param name The name of the subscriber.
+     */
+    public OutboxSubscription(String name) {
+        this.name = name;
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the positions of the outbox subscribers.
+ */
+@Repository
+public interface OutboxSubscriptionRepository extends JpaRepository<OutboxSubscription, String> {
+
+    /**
+     * Retrieves the position of the subscriber furthest behind.
+     *
+     * @return The ID of the last event it handled, or null if no position is stored.
+     */
+    @Query("SELECT MIN(s.lastEventId) FROM OutboxSubscription s")
+    Long findSlowestPosition();
+}
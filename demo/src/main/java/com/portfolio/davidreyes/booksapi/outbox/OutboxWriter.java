@@ -0,0 +1,50 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes every published {@link DomainEvent} to the outbox.
+ *
+ * The listener runs synchronously in the publisher's transaction, which it requires, so the event is
+ * committed or rolled back together with the change it describes. Publishing a domain event outside a
+ * transaction fails rather than writing an event for a change that may not commit.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the writer.
+     *
+     * @param outboxEventRepository The repository of the outbox.
+     * @param objectMapper          Serializes the events.
+     */
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Adds an event to the outbox in the current transaction.
+     *
+     * @param event The event.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDomainEvent(DomainEvent event) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(event, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event " + event.getClass().getName() + " cannot be stored", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.portfolio.davidreyes.booksapi.rating;
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
@@ -41,6 +42,7 @@ public class Rating {
      */
     @ManyToOne
     @JoinColumn(name = "user_id") // Maps the foreign key for the user
+    @JsonIdentityReference(alwaysAsId = true) // Serialized as the user's ID only
     private User user;
 
     /**
@@ -0,0 +1,26 @@
+package com.portfolio.davidreyes.booksapi.rating;
+
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Domain event published when a user rates a book, together with the {@link BookChangedEvent} of the
+ * book's new average rating.
+ *
+ * @param ratingId The ID of the rating.
+ * @param bookId   The ID of the rated book.
+ * @param userId   The ID of the user who rated it.
+ * @param rating   The rating value.
+ */
+public record RatingAddedEvent(Long ratingId, Long bookId, Long userId, int rating) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return BookChangedEvent.AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return bookId;
+    }
+}
@@ -1,6 +1,8 @@
 package com.portfolio.davidreyes.booksapi.rating;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,9 +14,12 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
 
     /**
      * Finds all ratings associated with a specific book.
+     * Filters on the foreign key column; a derived query would join the book and filter on its ID, which
+     * keeps the index on {@code book_id} from being used.
      *
      * @param bookId ID of the book for which ratings are to be retrieved.
      * @return List of ratings associated with the specified book.
      */
-    List<Rating> findByBookId(Long bookId);
+    @Query("SELECT r FROM Rating r WHERE r.book.id = :bookId")
+    List<Rating> findByBookId(@Param("bookId") Long bookId);
 }
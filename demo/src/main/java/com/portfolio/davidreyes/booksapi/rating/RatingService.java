@@ -1,10 +1,12 @@
 package com.portfolio.davidreyes.booksapi.rating;
 
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.portfolio.davidreyes.booksapi.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +28,9 @@ public class RatingService {
     @Autowired
     private BooksRepository booksRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Adds a rating for a specific book by a specific user and updates the book's average rating.
      *
@@ -40,8 +45,8 @@ public class RatingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        // Fetch the book from the repository
-        Books book = booksRepository.findById(bookId)
+        // Fetch and lock the book, so concurrent ratings of the same book are averaged one after the other
+        Books book = booksRepository.findByIdForUpdate(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found"));
 
         // Create a new Rating entity
@@ -50,8 +55,9 @@ public class RatingService {
         newRating.setBook(book);
         newRating.setRating(ratingValue);
 
-        // Save the new rating to the database
+        // Save the new rating to the database and announce it
         ratingRepository.save(newRating);
+        eventPublisher.publishEvent(new RatingAddedEvent(newRating.getId(), bookId, userId, ratingValue));
 
         // Fetch all ratings for the book
         List<Rating> ratings = ratingRepository.findByBookId(bookId);
@@ -62,8 +68,11 @@ public class RatingService {
                 .average()
                 .orElse(0.0);
 
-        // Update the book's average rating and save the book entity
+        // Update the book's average rating, save the book entity and announce the change
+        BookChangedEvent.Snapshot before = BookChangedEvent.Snapshot.of(book);
         book.setRating(averageRating);
+        book.markModified();
         booksRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, book));
     }
 }
@@ -0,0 +1,354 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse item-to-item co-occurrence matrix: for every book, how many users interacted with it, and for
+ * every other book, how many users interacted with both.
+ *
+ * Each book's row is a {@link LongIntHashMap} from the other books to their co-occurrence count, and
+ * only pairs that occur are stored, each in both books' rows. Books are spread over shards by ID, so a
+ * parallel build has every fork/join task fill the rows of its own shards, without locks or merging.
+ *
+ * Books are ranked by cosine similarity, {@code both / sqrt(users(a) * users(b))}, which discounts books
+ * that go with everything because everyone has them. Reads and incremental updates are thread-safe.
+ */
+public final class CooccurrenceIndex {
+
+    private final Shard[] shards;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CooccurrenceIndex(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("The index needs at least one shard.");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Creates an index without any books.
+     *
+     * @param shardCount The number of shards.
+     * @return The index.
+     */
+    public static CooccurrenceIndex empty(int shardCount) {
+        return new CooccurrenceIndex(shardCount);
+    }
+
+    /**
+     * Builds the index of a set of interactions, filling the shards in parallel.
+     *
+     * @param interactions The books of every user.
+     * @param shardCount   The number of shards, which bounds the parallelism.
+     * @param pool         The pool running the build.
+     * @return The index.
+     */
+    public static CooccurrenceIndex build(Interactions interactions, int shardCount, ForkJoinPool pool) {
+        CooccurrenceIndex index = new CooccurrenceIndex(shardCount);
+        pool.invoke(index.new BuildShards(interactions, 0, shardCount));
+        return index;
+    }
+
+    /**
+     * Records that a user interacted with a book, after the books they already had.
+     *
+     * @param bookId The ID of the new book.
+     * @param others The IDs of the user's other books, without duplicates.
+     */
+    public void add(long bookId, long[] others) {
+        lock.writeLock().lock();
+        try {
+            Shard shard = shard(bookId);
+            LongIntHashMap row = shard.row(bookId);
+            shard.users[shard.position(bookId)]++;
+            for (long other : others) {
+                if (other != bookId) {
+                    row.addTo(other, 1);
+                    shard(other).row(other).addTo(bookId, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the books most similar to a book, most similar first.
+     *
+     * @param bookId The ID of the book.
+     * @param limit  The largest number of books to return.
+     * @return The similar books, empty if no user had the book together with another.
+     */
+    public List<Similarity> similar(long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            Shard shard = shard(bookId);
+            int position = shard.rowIndex.get(bookId) - 1;
+            if (position < 0 || limit < 1) {
+                return List.of();
+            }
+            double users = shard.users[position];
+            TopK top = new TopK(limit);
+            shard.rows[position].forEach((other, both) -> {
+                int otherUsers = shard(other).users(other);
+                if (otherUsers > 0) {
+                    top.offer(other, both / Math.sqrt(users * otherUsers));
+                }
+            });
+            return top.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of books with at least one user.
+     */
+    public int books() {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(shards).mapToInt(shard -> shard.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of stored co-occurrence counts, two per pair of books.
+     */
+    public long entries() {
+        lock.readLock().lock();
+        try {
+            long entries = 0;
+            for (Shard shard : shards) {
+                for (int i = 0; i < shard.size; i++) {
+                    entries += shard.rows[i].size();
+                }
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap taken by the index.
+     *
+     * @return The size in bytes.
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Shard shard : shards) {
+                bytes += shard.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the shard holding a book's row.
+     */
+    private Shard shard(long bookId) {
+        long hash = bookId * 0x9E3779B97F4A7C15L;
+        return shards[(int) Long.remainderUnsigned(hash ^ (hash >>> 32), shards.length)];
+    }
+
+    /**
+     * A book and how similar it is to the book it was looked up for.
+     *
+     * @param bookId The ID of the book.
+     * @param score  The cosine similarity, from 0 to 1.
+     */
+    public record Similarity(long bookId, double score) {
+    }
+
+    /**
+     * The rows of the books of one shard: a map from book ID to the position of its row, the rows and
+     * the number of users of each book.
+     */
+    private static final class Shard {
+
+        private final LongIntHashMap rowIndex = new LongIntHashMap();
+        private LongIntHashMap[] rows = new LongIntHashMap[16];
+        private int[] users = new int[16];
+        private int size;
+
+        /**
+         * Returns the position of a book's row, creating an empty row if the book has none.
+         */
+        int position(long bookId) {
+            int position = rowIndex.get(bookId) - 1;
+            if (position >= 0) {
+                return position;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                users = Arrays.copyOf(users, size * 2);
+            }
+            rows[size] = new LongIntHashMap();
+            rowIndex.addTo(bookId, size + 1);
+            return size++;
+        }
+
+        /**
+         * Returns the number of users of a book, 0 if it has no row.
+         */
+        int users(long bookId) {
+            int position = rowIndex.get(bookId) - 1;
+            return position < 0 ? 0 : users[position];
+        }
+
+        /**
+         * Returns a book's row, creating it if the book has none.
+         */
+        LongIntHashMap row(long bookId) {
+            return rows[position(bookId)];
+        }
+
+        long sizeInBytes() {
+            long bytes = 32 + rowIndex.sizeInBytes() + 16 + 4L * rows.length + 16 + 4L * users.length;
+            for (int i = 0; i < size; i++) {
+                bytes += rows[i].sizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Fills a range of shards, splitting it in halves until each task has one shard.
+     * Every task walks all users and only counts the pairs whose first book belongs to its shard.
+     */
+    private final class BuildShards extends RecursiveAction {
+
+        private final Interactions interactions;
+        private final int from;
+        private final int to;
+
+        BuildShards(Interactions interactions, int from, int to) {
+            this.interactions = interactions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BuildShards(interactions, from, middle), new BuildShards(interactions, middle, to));
+                return;
+            }
+            Shard shard = shards[from];
+            for (int user = 0; user < interactions.users(); user++) {
+                int start = interactions.start(user);
+                int end = interactions.end(user);
+                for (int i = start; i < end; i++) {
+                    long book = interactions.book(i);
+                    if (shard(book) != shard) {
+                        continue;
+                    }
+                    int position = shard.position(book);
+                    shard.users[position]++;
+                    LongIntHashMap row = shard.rows[position];
+                    for (int j = start; j < end; j++) {
+                        if (j != i) {
+                            row.addTo(interactions.book(j), 1);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the highest scores offered, in a min-heap of at most {@code k} entries; ties go to the lower ID.
+     */
+    private static final class TopK {
+
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ids = new long[k];
+            this.scores = new double[k];
+        }
+
+        void offer(long id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (lower(ids[0], scores[0], id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Similarity> toList() {
+            List<Similarity> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new Similarity(ids[i], scores[i]));
+            }
+            result.sort(Comparator.comparingDouble(Similarity::score).reversed().thenComparingLong(Similarity::bookId));
+            return result;
+        }
+
+        /**
+         * Whether the first entry ranks below the second.
+         */
+        private static boolean lower(long id, double score, long otherId, double otherScore) {
+            return score < otherScore || (score == otherScore && id > otherId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!lower(ids[i], scores[i], ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int lowest = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (lower(ids[child], scores[child], ids[lowest], scores[lowest])) {
+                        lowest = child;
+                    }
+                }
+                if (lowest == i) {
+                    return;
+                }
+                swap(i, lowest);
+                i = lowest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
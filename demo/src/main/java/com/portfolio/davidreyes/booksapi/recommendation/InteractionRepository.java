@@ -0,0 +1,115 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads the interactions between users and books: the books in their shopping cart, in their wishlists,
+ * and those they rated at least {@code booksapi.recommendations.liked-rating}.
+ *
+ * The queries read the join tables directly, without loading carts, wishlists or ratings as entities.
+ */
+@Repository
+public class InteractionRepository {
+
+    private static final String ALL_INTERACTIONS = """
+            SELECT c.user_id, cb.book_id FROM cart_books cb JOIN shopping_cart c ON c.id = cb.cart_id
+            WHERE c.user_id IS NOT NULL
+            UNION
+            SELECT w.user_id, wb.book_id FROM wishlist_books wb JOIN wishlist w ON w.id = wb.wishlist_id
+            WHERE w.user_id IS NOT NULL
+            UNION
+            SELECT r.user_id, r.book_id FROM rating r
+            WHERE r.rating >= :likedRating AND r.user_id IS NOT NULL AND r.book_id IS NOT NULL
+            ORDER BY 1
+            """;
+
+    private static final String INTERACTIONS_OF_USER = """
+            SELECT cb.book_id FROM shopping_cart c JOIN cart_books cb ON cb.cart_id = c.id
+            WHERE c.user_id = :userId
+            UNION ALL
+            SELECT wb.book_id FROM wishlist w JOIN wishlist_books wb ON wb.wishlist_id = w.id
+            WHERE w.user_id = :userId
+            UNION ALL
+            SELECT r.book_id FROM rating r
+            WHERE r.user_id = :userId AND r.rating >= :likedRating AND r.book_id IS NOT NULL
+            """;
+
+    // Entity manager of the caller's persistence context
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int likedRating;
+    private final int maxBooksPerUser;
+
+    /**
+     * Creates the repository.
+     *
+     * @param likedRating     The lowest rating that counts as liking a book.
+     * @param maxBooksPerUser The largest number of books kept per user.
+     */
+    @Autowired
+    public InteractionRepository(@Value("${booksapi.recommendations.liked-rating:4}") int likedRating,
+                                 @Value("${booksapi.recommendations.max-books-per-user:200}") int maxBooksPerUser) {
+        this.likedRating = likedRating;
+        this.maxBooksPerUser = maxBooksPerUser;
+    }
+
+    /**
+     * @return The lowest rating that counts as liking a book.
+     */
+    public int likedRating() {
+        return likedRating;
+    }
+
+    /**
+     * @return The largest number of books kept per user.
+     */
+    public int maxBooksPerUser() {
+        return maxBooksPerUser;
+    }
+
+    /**
+     * Reads the interactions of every user, streaming the rows so only the compact result is held.
+     *
+     * @return The distinct books of every user, at most {@code booksapi.recommendations.max-books-per-user} each.
+     */
+    @Transactional(readOnly = true)
+    public Interactions loadAll() {
+        Interactions.Builder builder = Interactions.builder(maxBooksPerUser);
+        try (Stream<?> rows = entityManager.createNativeQuery(ALL_INTERACTIONS)
+                .setParameter("likedRating", likedRating)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, 10_000)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                Object[] columns = (Object[]) row;
+                builder.add(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue());
+            });
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the books of one user, once per cart, wishlist and rating they are in.
+     *
+     * @param userId The ID of the user.
+     * @return The IDs of the books, with a book repeated for each of its interactions.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Long> findBooksOfUser(Long userId) {
+        List<Number> books = entityManager.createNativeQuery(INTERACTIONS_OF_USER)
+                .setParameter("userId", userId)
+                .setParameter("likedRating", likedRating)
+                .getResultList();
+        return books.stream().map(Number::longValue).toList();
+    }
+}
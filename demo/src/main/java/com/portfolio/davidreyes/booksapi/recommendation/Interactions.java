@@ -0,0 +1,159 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * The distinct books each user interacted with, by putting them in their cart or a wishlist or by
+ * rating them well, as the input of a {@link CooccurrenceIndex} build.
+ *
+ * The books of all users are held in one array, each user's books sorted and contiguous, with an array
+ * of offsets marking where each user's books start: 8 bytes per interaction and 4 per user. Users are
+ * identified by their position, as the index only needs to know which books go together.
+ */
+public final class Interactions {
+
+    private final long[] books;
+    private final int[] offsets;
+    private final int users;
+
+    private Interactions(long[] books, int[] offsets, int users) {
+        this.books = books;
+        this.offsets = offsets;
+        this.users = users;
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param maxBooksPerUser The largest number of books kept per user.
+     * @return The builder.
+     */
+    public static Builder builder(int maxBooksPerUser) {
+        return new Builder(maxBooksPerUser);
+    }
+
+    /**
+     * @return The number of users with at least one book.
+     */
+    public int users() {
+        return users;
+    }
+
+    /**
+     * @return The number of interactions over all users.
+     */
+    public int size() {
+        return offsets[users];
+    }
+
+    /**
+     * @param user The position of a user.
+     * @return The index of the user's first book.
+     */
+    public int start(int user) {
+        return offsets[user];
+    }
+
+    /**
+     * @param user The position of a user.
+     * @return The index after the user's last book.
+     */
+    public int end(int user) {
+        return offsets[user + 1];
+    }
+
+    /**
+     * @param index The index of an interaction, between the {@link #start} and {@link #end} of its user.
+     * @return The ID of the book.
+     */
+    public long book(int index) {
+        return books[index];
+    }
+
+    /**
+     * Estimates the heap taken by the interactions.
+     *
+     * @return The size in bytes.
+     */
+    public long sizeInBytes() {
+        return 24 + 16 + 8L * books.length + 16 + 4L * offsets.length;
+    }
+
+    /**
+     * Collects interactions from rows grouped by user, such as rows ordered by user ID.
+     *
+     * Each user's books are sorted and deduplicated when the next user's rows start. A user with more
+     * than {@code maxBooksPerUser} books keeps only the books with the lowest IDs, which bounds the
+     * quadratic number of pairs a single very active user adds to the index.
+     */
+    public static final class Builder {
+
+        private final int maxBooksPerUser;
+        private long[] books = new long[1024];
+        private int[] offsets = new int[256];
+        private int users;
+        private int size;
+        private long currentUser;
+        private boolean started;
+
+        private Builder(int maxBooksPerUser) {
+            if (maxBooksPerUser < 2) {
+                throw new IllegalArgumentException("Users must keep at least two books to form pairs.");
+            }
+            this.maxBooksPerUser = maxBooksPerUser;
+        }
+
+        /**
+         * Adds an interaction. The rows of a user must follow each other.
+         *
+         * @param userId The ID of the user.
+         * @param bookId The ID of the book.
+         * @return This builder.
+         */
+        public Builder add(long userId, long bookId) {
+            if (!started || userId != currentUser) {
+                finishUser();
+                currentUser = userId;
+                started = true;
+            }
+            if (size == books.length) {
+                books = Arrays.copyOf(books, size * 2);
+            }
+            books[size++] = bookId;
+            return this;
+        }
+
+        /**
+         * Creates the interactions added so far.
+         *
+         * @return The interactions.
+         */
+        public Interactions build() {
+            finishUser();
+            started = false;
+            return new Interactions(Arrays.copyOf(books, size), Arrays.copyOf(offsets, users + 1), users);
+        }
+
+        /**
+         * Sorts, deduplicates and truncates the books of the current user.
+         */
+        private void finishUser() {
+            int start = offsets[users];
+            if (size == start) {
+                return;
+            }
+            Arrays.sort(books, start, size);
+            int distinct = start + 1;
+            for (int i = start + 1; i < size && distinct - start < maxBooksPerUser; i++) {
+                if (books[i] != books[distinct - 1]) {
+                    books[distinct++] = books[i];
+                }
+            }
+            size = distinct;
+            if (users + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++users] = size;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+/**
+ * Hash map from {@code long} keys to {@code int} values, held in two primitive arrays with open
+ * addressing and linear probing.
+ *
+ * An entry takes 12 bytes of array space at most two thirds full, instead of the boxed key, boxed value
+ * and node of a {@code HashMap} entry, about 80 bytes. Key 0 marks empty slots and cannot be stored;
+ * absent keys read as 0. Entries cannot be removed. Not thread-safe.
+ */
+public final class LongIntHashMap {
+
+    /**
+     * Receives the entries of a map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Receives an entry.
+         *
+         * @param key   The key.
+         * @param value The value.
+         */
+        void accept(long key, int value);
+    }
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongIntHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that holds a number of entries without growing.
+     *
+     * @param expectedSize The number of entries.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 2L / 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key The key.
+     * @return The value, or 0 if the key is absent.
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Adds to the value of a key, inserting the key with the delta if it is absent.
+     *
+     * @param key   The key, not 0.
+     * @param delta The amount to add.
+     * @return The new value.
+     * @throws IllegalArgumentException if the key is 0.
+     */
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 cannot be stored.");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * 2 / 3) {
+            resize(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every entry to a consumer, in no particular order.
+     *
+     * @param consumer The consumer.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Estimates the heap taken by the map: the object and its two arrays.
+     *
+     * @return The size in bytes.
+     */
+    public long sizeInBytes() {
+        return 32 + 16 + 8L * keys.length + 16 + 4L * values.length;
+    }
+
+    /**
+     * Moves the entries to tables of a new capacity.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the home slot of a key, scrambling its bits so sequential IDs spread over the table.
+     */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,150 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import com.portfolio.davidreyes.booksapi.outbox.OutboxDispatcher;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the recommendation index from the database {@code booksapi.recommendations.initial-delay} after
+ * startup and every {@code booksapi.recommendations.rebuild-interval}, on a thread of its own.
+ *
+ * The interactions are streamed into a compact {@link Interactions}, then the index is filled by
+ * {@code booksapi.recommendations.parallelism} fork/join threads and swapped in whole, so requests keep
+ * being served from the previous index during a rebuild. The {@link RecommendationUpdater} is then moved
+ * back to the first outbox event that was not settled when the rebuild started, which applies the changes
+ * the rebuild may have missed, including those of transactions that were still open and had taken lower
+ * event IDs. The IDs of the events after that one are read in the same repeatable-read transaction as the
+ * interactions, so the updater knows which of the replayed events the rebuild already counted and skips them.
+ */
+@Component
+public class RecommendationBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationBuilder.class);
+
+    private final RecommendationService recommendationService;
+    private final InteractionRepository interactionRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final RecommendationUpdater recommendationUpdater;
+    private final TransactionTemplate snapshotTemplate;
+    private final ForkJoinPool pool;
+    private final ExecutorService executor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Creates the builder and its thread pools.
+     *
+     * @param recommendationService The service serving the index.
+     * @param interactionRepository Reads the interactions.
+     * @param outboxDispatcher      Tells how far the outbox is settled and replays it to the updater.
+     * @param outboxEventRepository Reads the IDs of the events committed with the interactions read.
+     * @param recommendationUpdater Is told which replayed events the rebuild already counted.
+     * @param transactionManager    Reads the interactions and the events in one snapshot.
+     * @param parallelism           The number of threads filling the index.
+     */
+    @Autowired
+    public RecommendationBuilder(RecommendationService recommendationService, InteractionRepository interactionRepository,
+                                 OutboxDispatcher outboxDispatcher, OutboxEventRepository outboxEventRepository,
+                                 RecommendationUpdater recommendationUpdater, PlatformTransactionManager transactionManager,
+                                 @Value("${booksapi.recommendations.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Recommendations need at least one build thread.");
+        }
+        this.recommendationService = recommendationService;
+        this.interactionRepository = interactionRepository;
+        this.outboxDispatcher = outboxDispatcher;
+        this.outboxEventRepository = outboxEventRepository;
+        this.recommendationUpdater = recommendationUpdater;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("recommendation-build-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a rebuild in the background, unless one is running.
+     */
+    @Scheduled(initialDelayString = "${booksapi.recommendations.initial-delay:PT0S}",
+            fixedDelayString = "${booksapi.recommendations.rebuild-interval:PT6H}")
+    public void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Rebuilding the recommendation index failed, keeping the previous one", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the index and swaps it in, in the calling thread.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        long settled = outboxDispatcher.settledPosition();
+        Snapshot snapshot = snapshotTemplate.execute(status -> {
+            // The events first, so the repeatable read fixes the snapshot the interactions are read from
+            RecommendationUpdater.EventsRead eventsRead;
+            try (Stream<Long> ids = outboxEventRepository.streamIdsAfter(settled)) {
+                eventsRead = RecommendationUpdater.EventsRead.after(settled, ids);
+            }
+            return new Snapshot(interactionRepository.loadAll(), eventsRead);
+        });
+        Interactions interactions = snapshot.interactions();
+        long loaded = System.nanoTime();
+        CooccurrenceIndex index = CooccurrenceIndex.build(interactions, recommendationService.shardCount(), pool);
+        recommendationUpdater.skipEventsRead(snapshot.eventsRead());
+        recommendationService.replaceIndex(index);
+        outboxDispatcher.replay(RecommendationUpdater.NAME, settled + 1);
+        log.info("Rebuilt the recommendation index of {} books from {} interactions of {} users in {} ms ({} ms reading): {} entries, {} MB",
+                index.books(), interactions.size(), interactions.users(), (System.nanoTime() - started) / 1_000_000,
+                (loaded - started) / 1_000_000, index.entries(), index.sizeInBytes() / (1024 * 1024));
+    }
+
+    /**
+     * Stops the thread pools; a rebuild in progress is abandoned.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * The interactions a rebuild read, and the outbox events committed with them.
+     */
+    private record Snapshot(Interactions interactions, RecommendationUpdater.EventsRead eventsRead) {
+    }
+}
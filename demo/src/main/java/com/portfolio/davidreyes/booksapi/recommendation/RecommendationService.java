@@ -0,0 +1,115 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Serves "readers also liked" recommendations from the in-memory {@link CooccurrenceIndex}.
+ *
+ * The index is rebuilt from the database by {@link RecommendationBuilder} and kept current between
+ * rebuilds by {@link RecommendationUpdater}. Until the first build has finished, no book has
+ * recommendations. The size of the index is published as the {@code booksapi.recommendations.*} gauges.
+ */
+@Service
+public class RecommendationService implements MeterBinder {
+
+    /**
+     * The largest number of similar books returned for a book.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private final BooksRepository booksRepository;
+    private final int shardCount;
+
+    private volatile CooccurrenceIndex index;
+
+    /**
+     * Creates the service with an empty index.
+     *
+     * @param booksRepository The repository of the books.
+     * @param shardCount      The number of shards of the index.
+     */
+    @Autowired
+    public RecommendationService(BooksRepository booksRepository,
+                                 @Value("${booksapi.recommendations.shards:64}") int shardCount) {
+        this.booksRepository = booksRepository;
+        this.shardCount = shardCount;
+        this.index = CooccurrenceIndex.empty(shardCount);
+    }
+
+    /**
+     * Registers the size of the index with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("booksapi.recommendations.books", this, service -> service.index.books())
+                .description("Books in the recommendation index")
+                .baseUnit("books")
+                .register(registry);
+        Gauge.builder("booksapi.recommendations.entries", this, service -> service.index.entries())
+                .description("Co-occurrence counts stored in the recommendation index")
+                .baseUnit("entries")
+                .register(registry);
+        Gauge.builder("booksapi.recommendations.size", this, service -> service.index.sizeInBytes())
+                .description("Estimated heap taken by the recommendation index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Retrieves the books most often had together with a book, most similar first.
+     *
+     * @param bookId The ID of the book.
+     * @param limit  The largest number of books to return, from 1 to {@value #MAX_LIMIT}.
+     * @return The similar books, empty if no reader had the book together with another.
+     * @throws IllegalStateException if the book does not exist.
+     * @throws IllegalArgumentException if the limit is out of range.
+     */
+    @Transactional(readOnly = true)
+    public List<Books> similarBooks(Long bookId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        if (!booksRepository.existsById(bookId)) {
+            throw new IllegalStateException("Book with ID " + bookId + " does not exist.");
+        }
+        List<Long> ids = index.similar(bookId, limit).stream()
+                .map(CooccurrenceIndex.Similarity::bookId)
+                .toList();
+        return booksRepository.findAllByIdInOrder(ids);
+    }
+
+    /**
+     * @return The index currently served.
+     */
+    public CooccurrenceIndex index() {
+        return index;
+    }
+
+    /**
+     * @return The number of shards a new index should have.
+     */
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Serves a newly built index from now on.
+     *
+     * @param index The index.
+     */
+    void replaceIndex(CooccurrenceIndex index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,188 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxMessage;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxSubscriber;
+import com.portfolio.davidreyes.booksapi.rating.RatingAddedEvent;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartChangedEvent;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the recommendation index current between rebuilds, from the outbox.
+ *
+ * When a user puts a book in their cart or a wishlist, or rates it well, the book is counted together
+ * with every other book the user has, as read from the database. A book the user already had through
+ * another cart, wishlist or rating is not counted again. Removals are not applied: a book taken out of a
+ * cart or a wishlist keeps counting until the next rebuild. A pair whose books are delivered in different
+ * batches, when both had been committed before the first, is counted twice until the next rebuild.
+ *
+ * After a rebuild the outbox is replayed from the last settled event, and the events whose changes the
+ * rebuild already read ({@link EventsRead}) are skipped, so they are not counted twice.
+ */
+@Component
+public class RecommendationUpdater implements OutboxSubscriber {
+
+    /**
+     * The name of the subscriber, and of its position in the outbox.
+     */
+    public static final String NAME = "recommendations";
+
+    private final RecommendationService recommendationService;
+    private final InteractionRepository interactionRepository;
+
+    // The events the current index was built from
+    private volatile EventsRead eventsRead = EventsRead.NONE;
+
+    /**
+     * Creates the updater.
+     *
+     * @param recommendationService The service holding the index.
+     * @param interactionRepository Reads the other books of a user.
+     */
+    @Autowired
+    public RecommendationUpdater(RecommendationService recommendationService, InteractionRepository interactionRepository) {
+        this.recommendationService = recommendationService;
+        this.interactionRepository = interactionRepository;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Skips the events whose changes a rebuilt index already counts, from now on.
+     *
+     * @param eventsRead The events the rebuild read the changes of.
+     */
+    public void skipEventsRead(EventsRead eventsRead) {
+        this.eventsRead = eventsRead;
+    }
+
+    @Override
+    public void onEvents(List<OutboxMessage> messages) {
+        EventsRead read = eventsRead;
+        Map<Long, List<Long>> added = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            DomainEvent event = message.event();
+            if (read.contains(message.id())) {
+                continue;
+            } else if (event instanceof ShoppingCartChangedEvent changed && changed.added()) {
+                collect(added, changed.userId(), changed.bookId());
+            } else if (event instanceof WishlistChangedEvent changed && changed.added()) {
+                collect(added, changed.userId(), changed.bookId());
+            } else if (event instanceof RatingAddedEvent rated && rated.rating() >= interactionRepository.likedRating()) {
+                collect(added, rated.userId(), rated.bookId());
+            }
+        }
+        added.forEach(this::add);
+    }
+
+    /**
+     * Adds a book to the books a user added in the batch.
+     */
+    private static void collect(Map<Long, List<Long>> added, Long userId, Long bookId) {
+        if (userId != null && bookId != null) {
+            added.computeIfAbsent(userId, id -> new ArrayList<>()).add(bookId);
+        }
+    }
+
+    /**
+     * Counts the books a user added in a batch with the books they already had and with each other.
+     *
+     * The user's books are read once, after the whole batch, so a book added in the batch is new if the
+     * user has it no more often than the batch added it. Each new book is counted with the older books and
+     * the new books before it, which counts every pair once.
+     */
+    private void add(Long userId, List<Long> addedBooks) {
+        List<Long> books = interactionRepository.findBooksOfUser(userId);
+        Map<Long, Long> occurrences = books.stream().collect(Collectors.groupingBy(book -> book, Collectors.counting()));
+        Map<Long, Long> additions = addedBooks.stream().collect(Collectors.groupingBy(book -> book, Collectors.counting()));
+        Set<Long> newBooks = new LinkedHashSet<>();
+        for (Long book : addedBooks) {
+            if (occurrences.getOrDefault(book, 0L) <= additions.get(book)) {
+                newBooks.add(book);
+            }
+        }
+        if (newBooks.isEmpty()) {
+            return;
+        }
+
+        int maxOthers = interactionRepository.maxBooksPerUser() - 1;
+        long[] older = occurrences.keySet().stream()
+                .filter(book -> !newBooks.contains(book))
+                .mapToLong(Long::longValue)
+                .sorted()
+                .limit(maxOthers)
+                .toArray();
+        CooccurrenceIndex index = recommendationService.index();
+        long[] others = Arrays.copyOf(older, older.length + newBooks.size());
+        int count = older.length;
+        for (Long book : newBooks) {
+            index.add(book, Arrays.copyOf(others, Math.min(count, maxOthers)));
+            others[count++] = book;
+        }
+    }
+
+    /**
+     * The outbox events a rebuild read the changes of: those committed when it read the database, which are
+     * every event up to the last one it saw except the IDs missing then, whose transactions were still open.
+     *
+     * @param through The ID of the last event committed when the rebuild read the database.
+     * @param gaps    The last ID of every range of IDs up to it that were missing then, by the range's first ID.
+     */
+    public record EventsRead(long through, NavigableMap<Long, Long> gaps) {
+
+        /**
+         * No events read, before the first rebuild.
+         */
+        public static final EventsRead NONE = new EventsRead(0, new TreeMap<>());
+
+        /**
+         * Collects the events read from the IDs of the events committed after a position of the outbox.
+         *
+         * @param settled The position every event up to which is settled.
+         * @param ids     The IDs of the events committed after it, in order.
+         * @return The events read.
+         */
+        public static EventsRead after(long settled, Stream<Long> ids) {
+            NavigableMap<Long, Long> gaps = new TreeMap<>();
+            long expected = settled + 1;
+            for (Iterator<Long> iterator = ids.iterator(); iterator.hasNext(); ) {
+                long id = iterator.next();
+                if (id > expected) {
+                    gaps.put(expected, id - 1);
+                }
+                expected = id + 1;
+            }
+            return new EventsRead(expected - 1, gaps);
+        }
+
+        /**
+         * @param eventId The ID of an event.
+         * @return true if the rebuild read the change of the event.
+         */
+        public boolean contains(long eventId) {
+            if (eventId > through) {
+                return false;
+            }
+            Map.Entry<Long, Long> gap = gaps.floorEntry(eventId);
+            return gap == null || gap.getValue() < eventId;
+        }
+    }
+}
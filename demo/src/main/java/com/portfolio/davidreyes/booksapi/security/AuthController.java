@@ -0,0 +1,51 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import com.portfolio.davidreyes.booksapi.user.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for authentication.
+ * Exchanges a username and password for a JWT access token.
+ */
+@RestController
+@RequestMapping(path = "api/v1/auth")
+public class AuthController {
+
+    private final UserService userService;
+    private final JwtService jwtService;
+
+    /**
+     * Constructor for injecting the UserService and JwtService dependencies.
+     *
+     * @param userService Service handling business logic for users.
+     * @param jwtService  Service for issuing access tokens.
+     */
+    @Autowired
+    public AuthController(UserService userService, JwtService jwtService) {
+        this.userService = userService;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Logs a user in.
+     *
+     * @param loginRequest The username and password of the user.
+     * @return ResponseEntity containing the access token, or 401 Unauthorized if the credentials are invalid.
+     * @throws IllegalArgumentException if the username or password is missing.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<JwtService.IssuedToken> login(@RequestBody LoginRequest loginRequest) {
+        if (loginRequest.username() == null || loginRequest.password() == null) {
+            throw new IllegalArgumentException("Username and password are required");
+        }
+        return userService.authenticate(loginRequest.username(), loginRequest.password())
+                .map(profile -> ResponseEntity.ok(jwtService.issue(profile)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import java.time.Instant;
+
+/**
+ * The caller identified by a verified JWT.
+ * Built from the token's claims alone, so resolving it never requires a database query.
+ *
+ * @param userId    The ID of the authenticated user.
+ * @param username  The username of the authenticated user.
+ * @param expiresAt The moment the token stops being valid.
+ */
+public record AuthenticatedUser(Long userId, String username, Instant expiresAt) {
+
+    /**
+     * Name of the request attribute under which {@link JwtAuthenticationFilter} stores the caller.
+     */
+    public static final String REQUEST_ATTRIBUTE = "booksapi.authenticatedUser";
+}
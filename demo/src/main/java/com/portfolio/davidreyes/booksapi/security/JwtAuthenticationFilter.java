@@ -0,0 +1,99 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servlet filter that authenticates requests carrying a {@code Bearer} JWT.
+ *
+ * A valid token makes the caller available to controllers as the {@link AuthenticatedUser#REQUEST_ATTRIBUTE}
+ * request attribute. Requests with an invalid or expired token are rejected with 401 Unauthorized, as are
+ * requests without a token to one of the secured paths ({@code booksapi.security.jwt.secured-paths}).
+ * All other requests pass through unchanged.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final List<PathPattern> securedPaths;
+
+    /**
+     * Creates the filter.
+     *
+     * @param jwtService   Service for verifying access tokens.
+     * @param securedPaths Path patterns that require a valid token.
+     */
+    @Autowired
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   @Value("${booksapi.security.jwt.secured-paths:/api/v1/user/me}") String[] securedPaths) {
+        this.jwtService = jwtService;
+        this.securedPaths = Arrays.stream(securedPaths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            Optional<AuthenticatedUser> user = jwtService.authenticate(header.substring(BEARER_PREFIX.length()).trim());
+            if (user.isEmpty()) {
+                reject(response, "invalid_token", "The access token is invalid or has expired");
+                return;
+            }
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user.get());
+        } else if (isSecured(request)) {
+            reject(response, null, "An access token is required");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Checks whether the request path matches one of the secured path patterns.
+     */
+    private boolean isSecured(HttpServletRequest request) {
+        if (securedPaths.isEmpty()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : securedPaths) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a 401 Unauthorized response with a {@code WWW-Authenticate} challenge.
+     */
+    private static void reject(HttpServletResponse response, String error, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, error == null ? "Bearer" : "Bearer error=\"" + error + "\"");
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Unauthorized: " + message);
+    }
+}
@@ -0,0 +1,195 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.portfolio.davidreyes.booksapi.user.UserProfile;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Service for issuing and verifying stateless JWT access tokens.
+ *
+ * The HMAC key is decoded once at startup and the configured parser is reused for every request.
+ * Tokens that verified successfully are kept in a small bounded cache keyed by the SHA-256 hash of
+ * the token, each entry expiring together with its token, so a repeat request with the same token
+ * costs one hash and one map lookup instead of a signature check and JSON parsing.
+ * The cache's statistics are published as {@code cache.*} meters tagged {@code cache=verified-tokens}.
+ */
+@Service
+public class JwtService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec signingKey;
+    private final JwtParser parser;
+    private final Duration tokenTtl;
+    private final Cache<String, AuthenticatedUser> verifiedTokens;
+
+    /**
+     * Creates the service with the configured key and cache bounds.
+     *
+     * @param secret           The HMAC secret, at least 32 bytes; when empty a random key is generated.
+     * @param tokenTtl         How long issued tokens stay valid.
+     * @param cacheMaximumSize The maximum number of verified tokens kept in memory.
+     */
+    @Autowired
+    public JwtService(@Value("${booksapi.security.jwt.secret:}") String secret,
+                      @Value("${booksapi.security.jwt.ttl:1h}") Duration tokenTtl,
+                      @Value("${booksapi.security.jwt.cache-maximum-size:10000}") long cacheMaximumSize) {
+        this.signingKey = new SecretKeySpec(secretBytes(secret), ALGORITHM.getJcaName());
+        // The parser only reads its configuration while parsing, so one instance serves all requests
+        this.parser = Jwts.parser().setSigningKey(signingKey);
+        this.tokenTtl = tokenTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Registers the token cache's statistics with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
+    }
+
+    /**
+     * Issues a signed access token for a user.
+     *
+     * @param profile The profile of the authenticated user.
+     * @return The token and the moment it expires.
+     */
+    public IssuedToken issue(UserProfile profile) {
+        Instant now = Instant.now();
+        // JWT timestamps have second precision
+        Instant expiresAt = now.plus(tokenTtl).truncatedTo(ChronoUnit.SECONDS);
+        String token = Jwts.builder()
+                .setSubject(profile.username())
+                .claim(USER_ID_CLAIM, profile.id())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(ALGORITHM, signingKey)
+                .compact();
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Verifies an access token and resolves the caller it was issued to.
+     *
+     * @param token The compact JWT from the Authorization header.
+     * @return An Optional containing the caller, or empty if the token is malformed, tampered with or expired.
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        String tokenHash = hash(token);
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (claims.getExpiration() == null || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(claims.get(USER_ID_CLAIM, Long.class),
+                claims.getSubject(), claims.getExpiration().toInstant());
+        verifiedTokens.put(tokenHash, user);
+        return Optional.of(user);
+    }
+
+    /**
+     * Hashes a token for use as a cache key, so that raw tokens are never held in memory longer than a request.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Decodes the configured secret, generating a random one when none is configured.
+     */
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No booksapi.security.jwt.secret configured; using a random key, so tokens will not survive a restart");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("booksapi.security.jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+        }
+        return bytes;
+    }
+
+    /**
+     * Expires each cached token at the moment the token itself expires.
+     */
+    private static final class TokenExpiry implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, AuthenticatedUser user, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), user.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * A freshly issued access token.
+     *
+     * @param token     The compact, signed JWT.
+     * @param expiresAt The moment the token stops being valid.
+     */
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+/**
+ * Request body for logging in.
+ *
+ * @param username The username of the user.
+ * @param password The password of the user.
+ */
+public record LoginRequest(String username, String password) {
+}
@@ -0,0 +1,175 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Service for hashing and verifying user passwords with bcrypt.
+ *
+ * Hashing is deliberately CPU-heavy, so it never runs on the calling (request) thread. All work is
+ * submitted to a dedicated pool with one thread per core and a bounded queue; the caller parks
+ * until its hash is ready. When the queue is full, or the wait exceeds the configured limit, a
+ * {@link RejectedExecutionException} is thrown, which the API reports as 503 Service Unavailable.
+ *
+ * Metrics: {@code password.hashing.queue.depth}, {@code password.hashing.active},
+ * {@code password.hashing.rejected} and {@code password.hashing.duration} (tagged by operation).
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Counter rejected;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    /**
+     * Creates the service and its hashing pool.
+     *
+     * @param strength      The bcrypt cost factor (log2 of the number of rounds) used for new hashes.
+     * @param threads       The number of hashing threads; 0 means one per available core.
+     * @param queueCapacity The maximum number of hashing tasks waiting for a thread.
+     * @param maxWait       The maximum time a caller waits for its hash before the request is rejected.
+     * @param meterRegistry The registry the hashing pool metrics are published to.
+     */
+    @Autowired
+    public PasswordHashingService(@Value("${booksapi.password.bcrypt-strength:12}") int strength,
+                                  @Value("${booksapi.password.threads:0}") int threads,
+                                  @Value("${booksapi.password.queue-capacity:256}") int queueCapacity,
+                                  @Value("${booksapi.password.max-wait:5s}") Duration maxWait,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hashing.duration").tag("operation", "hash").register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hashing.duration").tag("operation", "verify").register(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword The password to hash.
+     * @return The bcrypt hash of the password.
+     * @throws RejectedExecutionException if the hashing pool is saturated.
+     */
+    public String hash(String rawPassword) {
+        return submit(() -> hashTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Verifies a raw password against a stored password on the hashing pool.
+     *
+     * Stored values that are not bcrypt hashes are treated as legacy plain-text passwords and compared
+     * in constant time. The result reports whether the stored value should be replaced by a fresh hash,
+     * which is the case for legacy values and for hashes made with a lower cost factor than configured.
+     *
+     * @param rawPassword    The password supplied by the user.
+     * @param storedPassword The password hash (or legacy plain-text password) stored for the user.
+     * @return The verification result.
+     * @throws RejectedExecutionException if the hashing pool is saturated.
+     */
+    public Verification verify(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return new Verification(false, false);
+        }
+        if (!BCRYPT_PATTERN.matcher(storedPassword).matches()) {
+            boolean matches = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8));
+            return new Verification(matches, matches);
+        }
+        return submit(() -> verifyTimer.record(() -> {
+            boolean matches = encoder.matches(rawPassword, storedPassword);
+            return new Verification(matches, matches && encoder.upgradeEncoding(storedPassword));
+        }));
+    }
+
+    /**
+     * Shuts down the hashing pool when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a task on the hashing pool and waits for its result, converting saturation and timeouts
+     * into {@link RejectedExecutionException}.
+     */
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing is saturated, try again later", ex);
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out, try again later", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Result of verifying a password.
+     *
+     * @param matches     Whether the password matched the stored value.
+     * @param needsRehash Whether the stored value should be replaced with a fresh hash of the password.
+     */
+    public record Verification(boolean matches, boolean needsRehash) {
+    }
+
+    /**
+     * Creates named daemon threads for the hashing pool.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
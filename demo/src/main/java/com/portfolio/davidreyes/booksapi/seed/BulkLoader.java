@@ -0,0 +1,148 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes generated rows to the database, one chunk per transaction on a connection of its own, so that
+ * several chunks can be written in parallel.
+ *
+ * On PostgreSQL a chunk is streamed with {@code COPY ... FROM STDIN}, which skips per-statement parsing and
+ * planning. Other databases get JDBC batches of parameterized inserts.
+ */
+public class BulkLoader {
+
+    private final DataSource dataSource;
+    private final CatalogGenerator generator;
+    private final int batchSize;
+    private final boolean copyEnabled;
+
+    /**
+     * Creates the loader.
+     *
+     * @param dataSource  The data source to write to.
+     * @param generator   The generator of the rows.
+     * @param batchSize   The number of rows per JDBC batch, when not copying.
+     * @param copyEnabled Whether to use {@code COPY} on PostgreSQL.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public BulkLoader(DataSource dataSource, CatalogGenerator generator, int batchSize, boolean copyEnabled) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.dataSource = dataSource;
+        this.generator = generator;
+        this.batchSize = batchSize;
+        this.copyEnabled = copyEnabled;
+    }
+
+    /**
+     * Generates and writes the rows of a table belonging to a range of its units, in one transaction.
+     *
+     * @param table    The table.
+     * @param from     The first unit, inclusive.
+     * @param to       The last unit, exclusive.
+     * @param progress Counts the rows written.
+     * @throws SQLException if the rows cannot be written; the chunk is rolled back.
+     */
+    public void load(SeedTable table, long from, long to, LongAdder progress) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (copyEnabled && connection.isWrapperFor(PGConnection.class)) {
+                    copy(connection.unwrap(PGConnection.class), table, from, to, progress);
+                } else {
+                    insert(connection, table, from, to, progress);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Streams the rows in PostgreSQL's text format.
+     */
+    private void copy(PGConnection connection, SeedTable table, long from, long to, LongAdder progress) throws SQLException {
+        StringBuilder data = new StringBuilder();
+        long[] rows = {0};
+        generator.generate(table, from, to, values -> {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    data.append('\t');
+                }
+                appendCopyValue(data, values[i]);
+            }
+            data.append('\n');
+            rows[0]++;
+        });
+        String sql = "COPY " + table.tableName() + " (" + String.join(", ", table.columns()) + ") FROM STDIN";
+        try {
+            connection.getCopyAPI().copyIn(sql, new StringReader(data.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Copying into " + table.tableName() + " failed", e);
+        }
+        progress.add(rows[0]);
+    }
+
+    /**
+     * Appends a value in PostgreSQL's text format, escaping the characters that delimit values and rows.
+     */
+    static void appendCopyValue(StringBuilder data, Object value) {
+        if (value == null) {
+            data.append("\\N");
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> data.append("\\\\");
+                case '\t' -> data.append("\\t");
+                case '\n' -> data.append("\\n");
+                case '\r' -> data.append("\\r");
+                default -> data.append(c);
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows in JDBC batches.
+     */
+    private void insert(Connection connection, SeedTable table, long from, long to, LongAdder progress) throws SQLException {
+        String sql = "INSERT INTO " + table.tableName() + " (" + String.join(", ", table.columns()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(table.columns().size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int[] pending = {0};
+            generator.generate(table, from, to, values -> {
+                try {
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                    statement.addBatch();
+                    if (++pending[0] == batchSize) {
+                        statement.executeBatch();
+                        progress.add(pending[0]);
+                        pending[0] = 0;
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Inserting into " + table.tableName() + " failed", e);
+                }
+            });
+            if (pending[0] > 0) {
+                statement.executeBatch();
+                progress.add(pending[0]);
+            }
+        }
+    }
+}
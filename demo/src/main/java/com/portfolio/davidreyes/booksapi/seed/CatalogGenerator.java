@@ -0,0 +1,428 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import com.portfolio.davidreyes.booksapi.isbn.Isbn;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+
+/**
+ * Generates the rows of a synthetic catalog with realistic skew.
+ *
+ * Book popularity follows a Zipf distribution: a few books collect most of the ratings, comments, cart
+ * and wishlist entries, and sell the most copies. Authors are Zipf-distributed over books, so a few
+ * are prolific, and users over ratings and comments, so a few are very active. The ranks are scattered
+ * over the IDs, so popular rows are not all at the start of a table. Genres follow a fixed market share,
+ * and most of an author's books share the author's genre. Each book has a quality its ratings center on,
+ * and its stored average rating matches its generated ratings.
+ *
+ * Every row is derived from the plan's seed, its table and its index alone, so a plan generates the same
+ * rows however its tables are split into chunks and in whatever order the chunks run. Instances are
+ * thread-safe.
+ */
+public class CatalogGenerator {
+
+    /**
+     * Receives the generated rows, with their values in the order of {@link SeedTable#columns()}.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+
+        /**
+         * Receives a row.
+         *
+         * @param values The values of the row.
+         */
+        void row(Object... values);
+    }
+
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long HISTORY_SECONDS = 5L * 365 * 24 * 3600;
+    private static final int PUBLISHERS = 200;
+    private static final double AUTHOR_GENRE_SHARE = 0.8;
+    private static final long ISBN_PREFIX = 978_000_000_000L;
+
+    private static final List<String> GENRES = List.of(
+            "Fiction", "Romance", "Mystery", "Fantasy", "Science Fiction", "Thriller", "Children's",
+            "Historical Fiction", "Young Adult", "Biography", "History", "Self-Help", "Science", "Horror",
+            "Business", "Cooking", "Graphic Novels", "Poetry", "Travel", "Philosophy");
+    private static final double[] GENRE_SHARES = cumulative(
+            18, 12, 10, 9, 8, 8, 6, 6, 5, 5, 5, 4, 4, 3, 3, 3, 3, 2, 2, 2);
+
+    private static final String[] FIRST_NAMES = {
+            "Ava", "Liam", "Olivia", "Noah", "Emma", "Mateo", "Sofia", "Lucas", "Isabella", "Ethan",
+            "Mia", "James", "Amelia", "Benjamin", "Harper", "Elijah", "Evelyn", "Daniel", "Camila", "Henry",
+            "Luna", "Samuel", "Aria", "David", "Chloe", "Joseph", "Layla", "Carlos", "Nora", "Hiro",
+            "Zoe", "Omar", "Lily", "Ivan", "Grace", "Arjun", "Elena", "Kwame", "Maya", "Felix"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Garcia", "Brown", "Reyes", "Miller", "Davis", "Martinez", "Lopez", "Wilson",
+            "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White",
+            "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King",
+            "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores", "Green", "Adams", "Nelson", "Baker",
+            "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts", "Kim", "Okafor", "Novak", "Tanaka"};
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Last", "Broken", "Golden", "Forgotten", "Crimson", "Endless", "Distant", "Secret",
+            "Burning", "Quiet", "Wild", "Lost", "Winter", "Midnight", "Shattered", "Bright", "Hollow", "Iron"};
+    private static final String[] NOUNS = {
+            "River", "Garden", "Kingdom", "Letter", "House", "Shore", "City", "Promise", "Crown", "Road",
+            "Mirror", "Storm", "Orchard", "Harbor", "Map", "Forest", "Bridge", "Song", "Island", "Star"};
+    private static final String[] PUBLISHER_WORDS = {
+            "Harbor", "Lantern", "Oak", "Summit", "Riverside", "Beacon", "Meridian", "Northfield", "Cobalt", "Willow",
+            "Granite", "Sparrow", "Atlas", "Juniper", "Falcon", "Bluebell", "Keystone", "Horizon", "Quill", "Cedar"};
+    private static final String[] PUBLISHER_SUFFIXES = {
+            "Press", "Books", "House", "Publishing", "Editions", "& Sons", "Media", "Imprints", "Library", "Group"};
+    private static final String[] STREETS = {
+            "Main", "Oak", "Maple", "Cedar", "Elm", "Pine", "Lake", "Hill", "Park", "Washington"};
+    private static final String[] COMMENT_OPENINGS = {
+            "Loved it.", "Could not put it down.", "A slow start, but worth it.", "Not for me.",
+            "Beautifully written.", "The characters felt real.", "Better than I expected.", "A bit too long.",
+            "Read it in one sitting.", "The ending surprised me."};
+    private static final String[] COMMENT_CLOSINGS = {
+            "Would recommend.", "Will read it again.", "Looking forward to the sequel.", "Three friends borrowed it already.",
+            "The middle dragged a little.", "Great for a book club.", "Perfect for a long flight.", "Gave it as a gift.",
+            "", ""};
+
+    private final SeedPlan plan;
+    private final String passwordHash;
+    private final ZipfDistribution bookPopularity;
+    private final ZipfDistribution authorPopularity;
+    private final ZipfDistribution userActivity;
+    private final ZipfDistribution publisherPopularity;
+    private final Permutation bookRanks;
+    private final Permutation authorRanks;
+    private final Permutation userRanks;
+    private volatile BookRatings bookRatings;
+
+    /**
+     * Creates a generator for a plan.
+     *
+     * @param plan         The size and shape of the dataset.
+     * @param passwordHash The stored password of every user.
+     */
+    public CatalogGenerator(SeedPlan plan, String passwordHash) {
+        this.plan = plan;
+        this.passwordHash = passwordHash;
+        this.bookPopularity = new ZipfDistribution(plan.books(), plan.zipfExponent());
+        this.authorPopularity = new ZipfDistribution(plan.authors(), plan.zipfExponent());
+        this.userActivity = new ZipfDistribution(plan.users(), plan.zipfExponent());
+        this.publisherPopularity = new ZipfDistribution(PUBLISHERS, plan.zipfExponent());
+        this.bookRanks = new Permutation(plan.books(), mix(plan.randomSeed() + 1));
+        this.authorRanks = new Permutation(plan.authors(), mix(plan.randomSeed() + 2));
+        this.userRanks = new Permutation(plan.users(), mix(plan.randomSeed() + 3));
+    }
+
+    /**
+     * @return The plan the rows are generated from.
+     */
+    public SeedPlan plan() {
+        return plan;
+    }
+
+    /**
+     * Generates the rows of a table belonging to a range of its units (see {@link SeedPlan#units(SeedTable)}).
+     *
+     * @param table The table.
+     * @param from  The first unit, inclusive, from 0.
+     * @param to    The last unit, exclusive.
+     * @param sink  Receives the rows.
+     */
+    public void generate(SeedTable table, long from, long to, RowSink sink) {
+        for (long index = from; index < to; index++) {
+            int i = (int) index;
+            SplittableRandom random = random(table, index);
+            switch (table) {
+                case AUTHOR -> author(i, random, sink);
+                case BOOKS -> book(i, random, sink);
+                case USERS -> user(i, random, sink);
+                case SHOPPING_CART -> sink.row(index + 1, index + 1);
+                case CART_BOOKS -> {
+                    for (int book : distinctPopularBooks(random, plan.cartBooks())) {
+                        sink.row(index + 1, (long) book + 1);
+                    }
+                }
+                case WISHLIST -> sink.row(index + 1, "reader" + (index + 1) + "'s wishlist", index + 1);
+                case WISHLIST_BOOKS -> {
+                    for (int book : distinctPopularBooks(random, plan.wishlistBooks())) {
+                        sink.row(index + 1, (long) book + 1, pastTime(random));
+                    }
+                }
+                case RATING -> rating(index, random, sink);
+                case COMMENT -> comment(index, random, sink);
+            }
+        }
+    }
+
+    /**
+     * Generates an author: name, biography and a Zipf-distributed publisher.
+     */
+    private void author(int index, SplittableRandom random, RowSink sink) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String genre = GENRES.get(authorGenre(index));
+        sink.row((long) index + 1, firstName, lastName,
+                firstName + " " + lastName + " writes " + genre.toLowerCase() + " and lives in " + NOUNS[random.nextInt(NOUNS.length)] + " City.",
+                publisherName(authorPublisher(index)));
+    }
+
+    /**
+     * Generates a book: its author by popularity, mostly the author's genre and publisher, sales following
+     * the book's popularity rank and the average of its generated ratings.
+     */
+    private void book(int index, SplittableRandom random, RowSink sink) {
+        int author = authorRanks.apply(authorPopularity.sample(random) - 1);
+        int genre = random.nextDouble() < AUTHOR_GENRE_SHARE ? authorGenre(author) : pick(GENRE_SHARES, random);
+        int publisher = random.nextDouble() < AUTHOR_GENRE_SHARE ? authorPublisher(author) : publisherPopularity.sample(random) - 1;
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String title = random.nextBoolean() ? "The " + adjective + " " + noun : noun + " of the " + adjective + " " + NOUNS[random.nextInt(NOUNS.length)];
+        int price = 5 + random.nextInt(46);
+        int yearPublished = REFERENCE_TIME.getYear() - (int) (Math.pow(random.nextDouble(), 3) * 125);
+        long rank = bookRanks.inverse(index) + 1L;
+        long copiesSold = Math.min(Integer.MAX_VALUE, Math.round(5_000_000 / Math.pow(rank, plan.zipfExponent()) * (0.5 + random.nextDouble())));
+        sink.row((long) index + 1, isbn13(index), title,
+                "A " + GENRES.get(genre).toLowerCase() + " book about a " + adjective.toLowerCase() + " " + noun.toLowerCase() + ".",
+                price, (long) author + 1, GENRES.get(genre), publisherName(publisher), yearPublished, (int) copiesSold,
+                bookRatings().average(index));
+    }
+
+    /**
+     * Generates a user with a predictable username, {@code reader1} to {@code readerN}.
+     */
+    private void user(int index, SplittableRandom random, RowSink sink) {
+        String username = "reader" + (index + 1);
+        sink.row((long) index + 1, username, passwordHash,
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                username + "@example.com",
+                (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)] + " Street");
+    }
+
+    /**
+     * Generates a rating of a popular book by an active user, centered on the book's quality.
+     * The book and the score are the first draws, which {@link #bookRatings()} repeats.
+     */
+    private void rating(long index, SplittableRandom random, RowSink sink) {
+        int book = popularBook(random);
+        int score = score(book, random);
+        int user = activeUser(random);
+        sink.row(index + 1, score, (long) book + 1, (long) user + 1, pastTime(random));
+    }
+
+    /**
+     * Generates a comment on a popular book by an active user.
+     */
+    private void comment(long index, SplittableRandom random, RowSink sink) {
+        int book = popularBook(random);
+        int user = activeUser(random);
+        String text = (COMMENT_OPENINGS[random.nextInt(COMMENT_OPENINGS.length)] + " "
+                + COMMENT_CLOSINGS[random.nextInt(COMMENT_CLOSINGS.length)]).trim();
+        sink.row(index + 1, text, (long) book + 1, (long) user + 1, pastTime(random));
+    }
+
+    /**
+     * The per-book rating counts and sums, tallied in parallel on first use from the same draws as the ratings.
+     */
+    private BookRatings bookRatings() {
+        BookRatings ratings = bookRatings;
+        if (ratings == null) {
+            synchronized (this) {
+                ratings = bookRatings;
+                if (ratings == null) {
+                    BookRatings tally = new BookRatings(plan.books());
+                    long chunk = 100_000;
+                    LongStream.range(0, (plan.ratings() + chunk - 1) / chunk).parallel().forEach(c -> {
+                        for (long index = c * chunk, end = Math.min(plan.ratings(), index + chunk); index < end; index++) {
+                            SplittableRandom random = random(SeedTable.RATING, index);
+                            int book = popularBook(random);
+                            tally.add(book, score(book, random));
+                        }
+                    });
+                    bookRatings = ratings = tally;
+                }
+            }
+        }
+        return ratings;
+    }
+
+    /**
+     * Draws a book by popularity, as a 0-based index.
+     */
+    private int popularBook(SplittableRandom random) {
+        return bookRanks.apply(bookPopularity.sample(random) - 1);
+    }
+
+    /**
+     * Draws a user by activity, as a 0-based index.
+     */
+    private int activeUser(SplittableRandom random) {
+        return userRanks.apply(userActivity.sample(random) - 1);
+    }
+
+    /**
+     * Draws up to about twice the mean number of distinct books by popularity, as 0-based indexes.
+     */
+    private int[] distinctPopularBooks(SplittableRandom random, int mean) {
+        int count = Math.min(plan.books(), random.nextInt(2 * mean + 1));
+        int[] books = new int[count];
+        int found = 0;
+        for (int attempt = 0; found < count && attempt < 10 * count; attempt++) {
+            int book = popularBook(random);
+            boolean duplicate = false;
+            for (int j = 0; j < found && !duplicate; j++) {
+                duplicate = books[j] == book;
+            }
+            if (!duplicate) {
+                books[found++] = book;
+            }
+        }
+        return found == count ? books : Arrays.copyOf(books, found);
+    }
+
+    /**
+     * Draws a score from 1 to 5 around the book's quality.
+     */
+    private int score(int book, SplittableRandom random) {
+        double noise = (random.nextDouble() + random.nextDouble() - 1) * 1.5;
+        return (int) Math.max(1, Math.min(5, Math.round(quality(book) + noise)));
+    }
+
+    /**
+     * The score a book's ratings center on, between 2.5 and 4.7, leaning to the middle.
+     */
+    private double quality(int book) {
+        SplittableRandom random = new SplittableRandom(mix(plan.randomSeed() ^ 0x5DEECE66DL ^ mix(book)));
+        return 2.5 + 2.2 * (random.nextDouble() + random.nextDouble()) / 2;
+    }
+
+    /**
+     * An author's main genre, by market share.
+     */
+    private int authorGenre(int author) {
+        return pick(GENRE_SHARES, new SplittableRandom(mix(plan.randomSeed() ^ 0x2545F4914F6CDD1DL ^ mix(author))));
+    }
+
+    /**
+     * An author's publisher, by popularity.
+     */
+    private int authorPublisher(int author) {
+        return publisherPopularity.sample(new SplittableRandom(mix(plan.randomSeed() ^ 0x6A09E667F3BCC909L ^ mix(author)))) - 1;
+    }
+
+    /**
+     * A time in the five years before the reference time.
+     */
+    private static LocalDateTime pastTime(SplittableRandom random) {
+        return REFERENCE_TIME.minusSeconds(random.nextLong(HISTORY_SECONDS));
+    }
+
+    /**
+     * The source of randomness of a row, derived from the seed, the table and the row's index.
+     */
+    private SplittableRandom random(SeedTable table, long index) {
+        return new SplittableRandom(mix(mix(plan.randomSeed() + 0x9E3779B97F4A7C15L * (table.ordinal() + 1)) + index));
+    }
+
+    /**
+     * A valid ISBN-13 in the 978 prefix, unique to the book.
+     */
+    private static long isbn13(int book) {
+        long first12 = ISBN_PREFIX + book + 1;
+        return first12 * 10 + Isbn.isbn13CheckDigit(first12);
+    }
+
+    /**
+     * The name of a publisher, unique for each of the {@value #PUBLISHERS} publishers.
+     */
+    private static String publisherName(int publisher) {
+        return PUBLISHER_WORDS[publisher % PUBLISHER_WORDS.length] + " " + PUBLISHER_SUFFIXES[publisher / PUBLISHER_WORDS.length];
+    }
+
+    /**
+     * Picks an index by its share of a cumulative distribution.
+     */
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        return Math.min(cumulative.length - 1, index >= 0 ? index + 1 : -index - 1);
+    }
+
+    /**
+     * The cumulative distribution of weights.
+     */
+    private static double[] cumulative(double... weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum / total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * A bijection of {@code [0, n)}, {@code i -> (i * multiplier + offset) mod n}, scattering popularity
+     * ranks over the IDs.
+     */
+    private static final class Permutation {
+
+        private static final long MULTIPLIER = 2_147_483_647L;
+
+        private final long n;
+        private final long multiplier;
+        private final long offset;
+        private final long inverseMultiplier;
+
+        Permutation(int n, long seed) {
+            this.n = n;
+            this.multiplier = n % MULTIPLIER == 0 ? 1 : MULTIPLIER % n;
+            this.offset = Math.floorMod(seed, (long) n);
+            this.inverseMultiplier = n == 1 ? 0 : BigInteger.valueOf(multiplier).modInverse(BigInteger.valueOf(n)).longValue();
+        }
+
+        int apply(long i) {
+            return (int) ((i * multiplier + offset) % n);
+        }
+
+        int inverse(long j) {
+            return (int) (Math.floorMod(j - offset, n) * inverseMultiplier % n);
+        }
+    }
+
+    /**
+     * Rating counts and score sums per book, safe to add to from several threads.
+     */
+    private static final class BookRatings {
+
+        private final AtomicIntegerArray counts;
+        private final AtomicLongArray sums;
+
+        BookRatings(int books) {
+            this.counts = new AtomicIntegerArray(books);
+            this.sums = new AtomicLongArray(books);
+        }
+
+        void add(int book, int score) {
+            counts.incrementAndGet(book);
+            sums.addAndGet(book, score);
+        }
+
+        double average(int book) {
+            int count = counts.get(book);
+            return count == 0 ? 0 : (double) sums.get(book) / count;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import com.portfolio.davidreyes.booksapi.security.PasswordHashingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seeds an empty database with a synthetic catalog at startup: authors, books, users with their shopping
+ * carts and wishlists, ratings and comments, generated by {@link CatalogGenerator}.
+ *
+ * Off unless {@code booksapi.seed.enabled=true}. The dataset is shaped by the {@code booksapi.seed.*}
+ * properties; the defaults, a million books with ten million ratings, are the standard dataset for
+ * benchmarks. A database that already has books is left alone.
+ *
+ * Tables are loaded in foreign key order. Each table is split into chunks of
+ * {@code booksapi.seed.chunk-size} units, written in parallel by {@code booksapi.seed.writers} threads with
+ * {@link BulkLoader}. Progress is logged every {@code booksapi.seed.progress-interval}. Every user's
+ * password is {@code password}.
+ */
+@Component
+@ConditionalOnProperty(name = "booksapi.seed.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    /**
+     * The password of every seeded user.
+     */
+    public static final String PASSWORD = "password";
+
+    private final DataSource dataSource;
+    private final PasswordHashingService passwordHashingService;
+    private final SeedPlan plan;
+    private final int writers;
+    private final int chunkSize;
+    private final int batchSize;
+    private final boolean copyEnabled;
+    private final Duration progressInterval;
+
+    /**
+     * Creates the seeder.
+     *
+     * @param dataSource             The data source to seed.
+     * @param passwordHashingService Hashes the users' password, once for all of them.
+     * @param randomSeed             The seed all rows are derived from.
+     * @param authors                The number of authors.
+     * @param books                  The number of books.
+     * @param users                  The number of users.
+     * @param ratings                The number of ratings.
+     * @param comments               The number of comments.
+     * @param cartBooks              The average number of books in a shopping cart.
+     * @param wishlistBooks          The average number of books in a wishlist.
+     * @param zipfExponent           The exponent of the popularity distributions.
+     * @param writers                The number of chunks written in parallel.
+     * @param chunkSize              The number of units per chunk and transaction.
+     * @param batchSize              The number of rows per JDBC batch, when not copying.
+     * @param copyEnabled            Whether to use {@code COPY} on PostgreSQL.
+     * @param progressInterval       How often to log progress.
+     */
+    @Autowired
+    public CatalogSeeder(DataSource dataSource, PasswordHashingService passwordHashingService,
+                         @Value("${booksapi.seed.random-seed:42}") long randomSeed,
+                         @Value("${booksapi.seed.authors:100000}") int authors,
+                         @Value("${booksapi.seed.books:1000000}") int books,
+                         @Value("${booksapi.seed.users:500000}") int users,
+                         @Value("${booksapi.seed.ratings:10000000}") int ratings,
+                         @Value("${booksapi.seed.comments:2000000}") int comments,
+                         @Value("${booksapi.seed.cart-books:3}") int cartBooks,
+                         @Value("${booksapi.seed.wishlist-books:5}") int wishlistBooks,
+                         @Value("${booksapi.seed.zipf-exponent:1.0}") double zipfExponent,
+                         @Value("${booksapi.seed.writers:4}") int writers,
+                         @Value("${booksapi.seed.chunk-size:50000}") int chunkSize,
+                         @Value("${booksapi.seed.batch-size:1000}") int batchSize,
+                         @Value("${booksapi.seed.copy:true}") boolean copyEnabled,
+                         @Value("${booksapi.seed.progress-interval:5s}") Duration progressInterval) {
+        if (writers < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Seeding needs at least one writer and a positive chunk size.");
+        }
+        this.dataSource = dataSource;
+        this.passwordHashingService = passwordHashingService;
+        this.plan = new SeedPlan(randomSeed, authors, books, users, ratings, comments, cartBooks, wishlistBooks, zipfExponent);
+        this.writers = writers;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.copyEnabled = copyEnabled;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Seeds the database unless it already has books.
+     *
+     * @param args The application arguments (unused).
+     * @throws Exception if seeding fails, which stops the application.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (hasBooks()) {
+            log.info("Skipping seeding: the database already has books");
+            return;
+        }
+        log.info("Seeding {}", plan);
+        long started = System.nanoTime();
+        CatalogGenerator generator = new CatalogGenerator(plan, passwordHashingService.hash(PASSWORD));
+        BulkLoader loader = new BulkLoader(dataSource, generator, batchSize, copyEnabled);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "seed-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long rows = 0;
+        try {
+            for (SeedTable table : SeedTable.values()) {
+                rows += load(loader, table, executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        finish();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Seeded {} rows in {}s ({} rows/s)", rows, Math.round(seconds), Math.round(rows / seconds));
+    }
+
+    /**
+     * Loads a table in parallel chunks, logging progress until every chunk is written.
+     *
+     * @return The number of rows written.
+     */
+    private long load(BulkLoader loader, SeedTable table, ExecutorService executor) throws InterruptedException {
+        long units = plan.units(table);
+        LongAdder progress = new LongAdder();
+        ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> chunks = new ArrayList<>();
+        for (long from = 0; from < units; from += chunkSize) {
+            long start = from;
+            long end = Math.min(units, from + chunkSize);
+            chunks.add(completion.submit(() -> {
+                loader.load(table, start, end, progress);
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        int done = 0;
+        while (done < chunks.size()) {
+            Future<Void> chunk = completion.poll(progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+            if (chunk == null) {
+                log.info("Seeding {}: {} rows, {}/{} chunks, {} rows/s", table.tableName(), progress.sum(), done, chunks.size(),
+                        Math.round(progress.sum() / ((System.nanoTime() - started) / 1e9)));
+                continue;
+            }
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                chunks.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Seeding " + table.tableName() + " failed", e.getCause());
+            }
+            done++;
+        }
+        log.info("Seeded {}: {} rows in {}ms", table.tableName(), progress.sum(), (System.nanoTime() - started) / 1_000_000);
+        return progress.sum();
+    }
+
+    /**
+     * Moves the ID generation past the seeded rows, and refreshes the planner statistics on PostgreSQL.
+     */
+    private void finish() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (SeedTable table : SeedTable.values()) {
+                String restart = table.restartIdStatement(plan.units(table));
+                if (restart != null) {
+                    statement.execute(restart);
+                }
+            }
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the database already has books.
+     */
+    private boolean hasBooks() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1 FROM books FETCH FIRST 1 ROWS ONLY")) {
+            return resultSet.next();
+        }
+    }
+}
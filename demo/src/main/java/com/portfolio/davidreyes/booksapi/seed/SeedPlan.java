@@ -0,0 +1,52 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+/**
+ * The size and shape of a synthetic dataset. The same plan always generates the same rows.
+ *
+ * @param randomSeed     The seed all rows are derived from.
+ * @param authors        The number of authors.
+ * @param books          The number of books.
+ * @param users          The number of users, each with a shopping cart and a wishlist.
+ * @param ratings        The number of ratings.
+ * @param comments       The number of comments.
+ * @param cartBooks      The average number of books in a shopping cart.
+ * @param wishlistBooks  The average number of books in a wishlist.
+ * @param zipfExponent   The exponent of the Zipf distributions of book, author and user popularity.
+ */
+public record SeedPlan(long randomSeed, int authors, int books, int users, int ratings, int comments,
+                       int cartBooks, int wishlistBooks, double zipfExponent) {
+
+    /**
+     * Validates the plan.
+     *
+     * @throws IllegalArgumentException if a count is out of range or the exponent is not positive.
+     */
+    public SeedPlan {
+        if (authors < 1 || books < 1 || users < 1) {
+            throw new IllegalArgumentException("A seed plan needs at least one author, book and user.");
+        }
+        if (ratings < 0 || comments < 0 || cartBooks < 0 || wishlistBooks < 0) {
+            throw new IllegalArgumentException("Seed plan counts cannot be negative.");
+        }
+        if (!(zipfExponent > 0)) {
+            throw new IllegalArgumentException("The Zipf exponent must be positive.");
+        }
+    }
+
+    /**
+     * The number of entities a table's rows are generated from, which is also the number of rows for
+     * every table except the cart and wishlist contents.
+     *
+     * @param table The table.
+     * @return The number of authors, books, users, ratings or comments the table's rows belong to.
+     */
+    public long units(SeedTable table) {
+        return switch (table) {
+            case AUTHOR -> authors;
+            case BOOKS -> books;
+            case USERS, SHOPPING_CART, CART_BOOKS, WISHLIST, WISHLIST_BOOKS -> users;
+            case RATING -> ratings;
+            case COMMENT -> comments;
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import java.util.List;
+
+/**
+ * The tables a synthetic dataset is loaded into, in an order that satisfies their foreign keys.
+ *
+ * Rows are loaded with explicit IDs, numbered from 1. Afterwards the ID sequence or identity column of
+ * each table is moved past them, so that rows created by the application do not collide with them.
+ * Version and last-modified columns are left to their defaults.
+ */
+public enum SeedTable {
+
+    AUTHOR("author", IdGeneration.SEQUENCE, "author_seq", 50,
+            "id", "first_name", "last_name", "biography", "publisher"),
+    BOOKS("books", IdGeneration.SEQUENCE, "book_sequence", 1,
+            "id", "isbn", "book_name", "book_description", "price", "author_id", "genre", "publisher",
+            "year_published", "copies_sold", "rating"),
+    USERS("users", IdGeneration.IDENTITY, null, 1,
+            "id", "username", "password", "name", "email_address", "home_address"),
+    SHOPPING_CART("shopping_cart", IdGeneration.SEQUENCE, "shopping_cart_seq", 50,
+            "id", "user_id"),
+    CART_BOOKS("cart_books", IdGeneration.NONE, null, 1,
+            "cart_id", "book_id"),
+    WISHLIST("wishlist", IdGeneration.IDENTITY, null, 1,
+            "id", "name", "user_id"),
+    WISHLIST_BOOKS("wishlist_books", IdGeneration.NONE, null, 1,
+            "wishlist_id", "book_id", "added_at"),
+    RATING("rating", IdGeneration.IDENTITY, null, 1,
+            "id", "rating", "book_id", "user_id", "date_rated"),
+    COMMENT("comment", IdGeneration.IDENTITY, null, 1,
+            "id", "comment", "book_id", "user_id", "date_commented");
+
+    /**
+     * How the application generates the IDs of a table.
+     */
+    enum IdGeneration {
+        /** IDs come from a database sequence. */
+        SEQUENCE,
+        /** IDs come from an identity column. */
+        IDENTITY,
+        /** The table has no generated ID. */
+        NONE
+    }
+
+    private final String tableName;
+    private final IdGeneration idGeneration;
+    private final String sequenceName;
+    private final int sequenceIncrement;
+    private final List<String> columns;
+
+    SeedTable(String tableName, IdGeneration idGeneration, String sequenceName, int sequenceIncrement, String... columns) {
+        this.tableName = tableName;
+        this.idGeneration = idGeneration;
+        this.sequenceName = sequenceName;
+        this.sequenceIncrement = sequenceIncrement;
+        this.columns = List.of(columns);
+    }
+
+    /**
+     * @return The name of the table.
+     */
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * @return The columns the generated rows fill, in the order of their values.
+     */
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * The statement moving the table's ID generation past the loaded rows, if it has generated IDs.
+     *
+     * Sequences with an increment above 1 feed Hibernate's pooled optimizer, which hands out the
+     * {@code increment} IDs up to each value it reads, so they restart a whole increment further on.
+     *
+     * @param lastId The highest ID loaded.
+     * @return The statement, or null if the table has no generated ID.
+     */
+    String restartIdStatement(long lastId) {
+        return switch (idGeneration) {
+            case SEQUENCE -> "ALTER SEQUENCE " + sequenceName + " RESTART WITH " + (lastId + sequenceIncrement);
+            case IDENTITY -> "ALTER TABLE " + tableName + " ALTER COLUMN id RESTART WITH " + (lastId + 1);
+            case NONE -> null;
+        };
+    }
+}
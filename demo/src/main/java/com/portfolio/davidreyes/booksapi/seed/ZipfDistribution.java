@@ -0,0 +1,116 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over the ranks 1 to n, where rank k is drawn with a probability proportional to
+ * {@code 1 / k^exponent}.
+ *
+ * Sampling uses rejection-inversion (Hörmann and Derflinger, 1996), which takes constant time and memory
+ * whatever the number of ranks, so catalogs of millions of books need no probability table.
+ */
+public final class ZipfDistribution {
+
+    private final int numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+
+    /**
+     * Creates the distribution.
+     *
+     * @param numberOfElements The number of ranks.
+     * @param exponent         The exponent; larger values concentrate more of the draws on the first ranks.
+     * @throws IllegalArgumentException if there are no ranks or the exponent is not positive.
+     */
+    public ZipfDistribution(int numberOfElements, double exponent) {
+        if (numberOfElements < 1) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one element.");
+        }
+        if (!(exponent > 0)) {
+            throw new IllegalArgumentException("The Zipf exponent must be positive.");
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * @return The number of ranks.
+     */
+    public int numberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random The source of randomness.
+     * @return A rank between 1 and the number of elements.
+     */
+    public int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > numberOfElements) {
+                k = numberOfElements;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * {@code (x^(1 - exponent) - 1) / (1 - exponent)}, or {@code log(x)} when the exponent is 1.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    /**
+     * {@code x^-exponent}.
+     */
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    /**
+     * The inverse of {@link #hIntegral(double)}.
+     */
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            // Rounding errors can take t below -1, where log1p is undefined
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    /**
+     * {@code log1p(x) / x}, accurate near 0.
+     */
+    private static double helper1(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /**
+     * {@code expm1(x) / x}, accurate near 0.
+     */
+    private static double helper2(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -56,17 +56,19 @@ public class ShoppingCart {
      * Adds a book to the shopping cart.
      *
      * @param book The book to add.
+     * @return True if the book was not in the cart yet.
      */
-    public void addBook(Books book) {
-        this.books.add(book);
+    public boolean addBook(Books book) {
+        return this.books.add(book);
     }
 
     /**
      * Removes a book from the shopping cart.
      *
      * @param book The book to remove.
+     * @return True if the book was in the cart.
      */
-    public void deleteBook(Books book) {
-        this.books.remove(book);
+    public boolean deleteBook(Books book) {
+        return this.books.remove(book);
     }
 }
@@ -0,0 +1,29 @@
+package com.portfolio.davidreyes.booksapi.shoppingcart;
+
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Domain event published when a book is added to or removed from a user's shopping cart.
+ * Events are keyed by the user, as a user has one cart, which may not have an ID yet when it is created.
+ *
+ * @param userId The ID of the user owning the cart.
+ * @param bookId The ID of the book.
+ * @param added  True if the book was added, false if it was removed.
+ */
+public record ShoppingCartChangedEvent(Long userId, Long bookId, boolean added) implements DomainEvent {
+
+    /**
+     * The aggregate type of the events about a shopping cart.
+     */
+    public static final String AGGREGATE_TYPE = "shopping-cart";
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return userId;
+    }
+}
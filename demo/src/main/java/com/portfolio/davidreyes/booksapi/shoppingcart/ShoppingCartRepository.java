@@ -1,7 +1,9 @@
 package com.portfolio.davidreyes.booksapi.shoppingcart;
 
 import com.portfolio.davidreyes.booksapi.books.Books;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,6 +26,17 @@ public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long
      */
     Optional<ShoppingCart> findByUserId(Long userId);
 
+    /**
+     * Finds a shopping cart by the user's ID and locks its row until the end of the transaction,
+     * so that concurrent checkouts of one cart are applied one after the other and the books are ordered once.
+     *
+     * @param userId ID of the user.
+     * @return An Optional containing the locked ShoppingCart if found, or empty if not found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sc FROM ShoppingCart sc WHERE sc.user.id = :userId")
+    Optional<ShoppingCart> findByUserIdForUpdate(@Param("userId") Long userId);
+
     /**
      * Retrieves all books in a user's shopping cart.
      * Uses a custom JPQL query to join ShoppingCart and Books entities.
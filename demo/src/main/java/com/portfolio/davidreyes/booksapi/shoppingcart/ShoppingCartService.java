@@ -2,9 +2,12 @@ package com.portfolio.davidreyes.booksapi.shoppingcart;
 
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.inventory.InventoryService;
+import com.portfolio.davidreyes.booksapi.inventory.OutOfStockException;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.portfolio.davidreyes.booksapi.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,8 @@ public class ShoppingCartService {
     private final UserRepository userRepository;
     private final BooksRepository booksRepository;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor to inject dependencies.
@@ -28,12 +33,17 @@ public class ShoppingCartService {
      * @param userRepository         Repository for managing users.
      * @param booksRepository        Repository for managing books.
      * @param shoppingCartRepository Repository for managing shopping carts.
+     * @param inventoryService       Reserves the books put in a cart.
+     * @param eventPublisher         Publisher of the cart changes.
      */
     @Autowired
-    public ShoppingCartService(UserRepository userRepository, BooksRepository booksRepository, ShoppingCartRepository shoppingCartRepository) {
+    public ShoppingCartService(UserRepository userRepository, BooksRepository booksRepository, ShoppingCartRepository shoppingCartRepository,
+                               InventoryService inventoryService, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.booksRepository = booksRepository;
         this.shoppingCartRepository = shoppingCartRepository;
+        this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -41,6 +51,7 @@ public class ShoppingCartService {
      *
      * @param userId ID of the user.
      * @param bookId ID of the book to add.
+     * @throws OutOfStockException if the book's stock is tracked and no copy is left to reserve.
      */
     @Transactional
     public void addBookToUserShoppingCart(Long userId, Long bookId) {
@@ -50,9 +61,10 @@ public class ShoppingCartService {
         Books book = booksRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Book with ID " + bookId + " not found"));
 
-
-        user.addBookToShoppingCart(book);
-
+        if (user.addBookToShoppingCart(book)) {
+            inventoryService.reserve(userId, bookId);
+            eventPublisher.publishEvent(new ShoppingCartChangedEvent(userId, bookId, true));
+        }
 
         userRepository.save(user);
     }
@@ -106,9 +118,10 @@ public class ShoppingCartService {
         Books book = booksRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Book with ID " + bookId + " not found"));
 
-
-        user.deleteBookFromShoppingCart(book);
-
+        if (user.deleteBookFromShoppingCart(book)) {
+            inventoryService.release(userId, bookId);
+            eventPublisher.publishEvent(new ShoppingCartChangedEvent(userId, bookId, false));
+        }
 
         userRepository.save(user);
     }
@@ -0,0 +1,34 @@
+package com.portfolio.davidreyes.booksapi.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Selects the beans that stay eager when {@code spring.main.lazy-initialization} is on, as in the
+ * {@code fast-startup} profile.
+ *
+ * Controllers are created at startup, and with them the services, caches and repositories they depend on,
+ * so the first request to the API does not pay for building them. Beans with {@code @Scheduled} methods
+ * are created too, since their jobs are only registered once the bean exists. Everything else, such as
+ * actuator endpoints and the auto-configured infrastructure nothing asks for, is created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    /**
+     * Keeps controllers and scheduled beans eager.
+     *
+     * @return The filter, consulted for each bean when lazy initialization is on.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerControllersAndScheduledJobs() {
+        return (beanName, beanDefinition, beanType) -> AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -85,23 +85,23 @@ public class User {
      * If the shopping cart is null, it creates a new one.
      *
      * @param book The book to add to the shopping cart.
+     * @return True if the book was not in the shopping cart yet.
      */
-    public void addBookToShoppingCart(Books book) {
+    public boolean addBookToShoppingCart(Books book) {
         if (this.shoppingCart == null) {
             this.shoppingCart = new ShoppingCart();
             this.shoppingCart.setUser(this);
         }
-        this.shoppingCart.addBook(book);
+        return this.shoppingCart.addBook(book);
     }
 
     /**
      * Removes a book from the user's shopping cart.
      *
      * @param book The book to remove from the shopping cart.
+     * @return True if the book was in the shopping cart.
      */
-    public void deleteBookFromShoppingCart(Books book) {
-        if (this.shoppingCart != null) {
-            this.shoppingCart.deleteBook(book);
-        }
+    public boolean deleteBookFromShoppingCart(Books book) {
+        return this.shoppingCart != null && this.shoppingCart.deleteBook(book);
     }
 }
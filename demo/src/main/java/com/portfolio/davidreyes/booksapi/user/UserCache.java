@@ -0,0 +1,163 @@
+package com.portfolio.davidreyes.booksapi.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * In-memory cache of user lookups keyed by username and by user ID.
+ *
+ * Holds bounded maps of username and of user ID to {@link UserProfile}, and a
+ * {@link UsernameBloomFilter} of every known username. Lookups by ID serve callers that are
+ * identified by token, whose username may have changed since the token was issued. Only lean profiles are cached; passwords
+ * and credit cards never enter the cache.
+ *
+ * The Bloom filter holds the usernames this instance has loaded, created or looked up. A username it does
+ * not hold cannot be in the cache, so its lookups skip the cache, but they are still confirmed against the
+ * database: a user created through another instance is missing from this instance's filter. The filter is
+ * only consulted once it has been fully loaded (see {@link #markUsernamesLoaded()}).
+ *
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged {@code cache=users}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final Cache<String, UserProfile> profilesByUsername;
+    private final Cache<Long, UserProfile> profilesById;
+    private final UsernameBloomFilter usernames;
+    private volatile boolean usernamesLoaded;
+
+    /**
+     * Creates the cache with the configured bounds.
+     *
+     * @param maximumSize        The maximum number of profiles kept in memory.
+     * @param expectedUsernames  The number of usernames the Bloom filter is sized for.
+     * @param falsePositiveRate  The target false-positive rate of the Bloom filter.
+     */
+    public UserCache(@Value("${booksapi.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${booksapi.user-cache.expected-usernames:1000000}") long expectedUsernames,
+                     @Value("${booksapi.user-cache.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.profilesByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.profilesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.usernames = new UsernameBloomFilter(expectedUsernames, falsePositiveRate);
+    }
+
+    /**
+     * Registers the cache's statistics with a meter registry.
+     *
+     * @param registry The registry to publish to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profilesByUsername, "users");
+    }
+
+    /**
+     * Returns the cached profile for a username, if present.
+     *
+     * @param username The username to look up.
+     * @return An Optional containing the cached profile, or empty on a cache miss.
+     */
+    public Optional<UserProfile> get(String username) {
+        return Optional.ofNullable(profilesByUsername.getIfPresent(username));
+    }
+
+    /**
+     * Returns the cached profile for a user ID, if present.
+     *
+     * @param userId The user ID to look up.
+     * @return An Optional containing the cached profile, or empty on a cache miss.
+     */
+    public Optional<UserProfile> getById(Long userId) {
+        return Optional.ofNullable(profilesById.getIfPresent(userId));
+    }
+
+    /**
+     * Caches a profile under its username and its user ID, and records the username in the Bloom filter.
+     *
+     * @param profile The profile to cache.
+     */
+    public void put(UserProfile profile) {
+        usernames.put(profile.username());
+        profilesByUsername.put(profile.username(), profile);
+        profilesById.put(profile.id(), profile);
+    }
+
+    /**
+     * Evicts the profile cached under a username.
+     * When called inside a transaction, the entry is evicted again after commit so that a
+     * concurrent reader cannot re-populate it with data from before the change.
+     *
+     * @param username The username to evict.
+     */
+    public void evict(String username) {
+        profilesByUsername.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    profilesByUsername.invalidate(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts the profile cached under a user ID, again after commit when called inside a transaction.
+     *
+     * @param userId The user ID to evict.
+     */
+    public void evictById(Long userId) {
+        profilesById.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    profilesById.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a username as taken in the Bloom filter.
+     *
+     * @param username The username that now exists.
+     */
+    public void recordUsername(String username) {
+        usernames.put(username);
+    }
+
+    /**
+     * Marks the Bloom filter as fully loaded with every username in the database,
+     * enabling {@link #isUnknown(String)}.
+     */
+    public void markUsernamesLoaded() {
+        this.usernamesLoaded = true;
+    }
+
+    /**
+     * Checks whether a username was never recorded by this instance, so no profile can be cached under it.
+     * The username may still exist if it was registered through another instance, so an unknown username
+     * must be confirmed against the database.
+     *
+     * @param username The username to check.
+     * @return true if the username is unknown to this instance; false if it may be known or the filter is not loaded yet.
+     */
+    public boolean isUnknown(String username) {
+        return usernamesLoaded && !usernames.mightContain(username);
+    }
+}
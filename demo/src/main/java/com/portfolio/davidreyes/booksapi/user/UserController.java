@@ -1,10 +1,15 @@
 package com.portfolio.davidreyes.booksapi.user;
 
 import com.portfolio.davidreyes.booksapi.creditcard.CreditCard;
+import com.portfolio.davidreyes.booksapi.security.AuthenticatedUser;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistService;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for managing user-related operations.
  * Provides endpoints for creating, updating, and retrieving users, as well as adding credit cards.
@@ -14,15 +19,18 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final WishlistService wishlistService;
 
     /**
-     * Constructor for injecting the UserService dependency.
+     * Constructor for injecting the UserService and WishlistService dependencies.
      *
-     * @param userService Service handling business logic for users.
+     * @param userService     Service handling business logic for users.
+     * @param wishlistService Service handling business logic for wishlists.
      */
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, WishlistService wishlistService) {
         this.userService = userService;
+        this.wishlistService = wishlistService;
     }
 
     /**
@@ -38,17 +46,42 @@ public class UserController {
     }
 
     /**
-     * Retrieves a user by their username.
+     * Retrieves a user's profile by their username.
+     * The profile never includes the password or credit cards.
      *
      * @param username The username of the user to retrieve.
-     * @return ResponseEntity containing the user object.
+     * @return ResponseEntity containing the user profile.
      */
     @GetMapping("/by-username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
-        User user = userService.getUserByUsername(username);
+    public ResponseEntity<UserProfile> getUserByUsername(@PathVariable String username) {
+        UserProfile user = userService.getUserByUsername(username);
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Retrieves the profile of the caller identified by the request's access token.
+     * Both the token and the profile are served from memory after the first request. The caller is looked up
+     * by user ID, so a token issued before the user was renamed still resolves to the current profile.
+     *
+     * @param caller The caller resolved by the JWT authentication filter.
+     * @return ResponseEntity containing the caller's profile.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<UserProfile> getCurrentUser(@RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser caller) {
+        return ResponseEntity.ok(userService.getUserById(caller.userId()));
+    }
+
+    /**
+     * Checks whether a username is available for registration.
+     *
+     * @param username The username to check.
+     * @return ResponseEntity containing true if the username is available, false otherwise.
+     */
+    @GetMapping("/available/{username}")
+    public ResponseEntity<Boolean> isUsernameAvailable(@PathVariable String username) {
+        return ResponseEntity.ok(userService.isUsernameAvailable(username));
+    }
+
     /**
      * Updates user details such as username, password, name, and home address.
      *
@@ -81,4 +114,17 @@ public class UserController {
         userService.addCreditCardToUser(username, creditCard);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Retrieves an overview of all wishlists owned by a user,
+     * including the book count and total price of each wishlist.
+     *
+     * @param userId The ID of the user.
+     * @return ResponseEntity containing the list of wishlist summaries.
+     */
+    @GetMapping("/{userId}/wishlists")
+    public ResponseEntity<List<WishlistSummary>> getUserWishlists(@PathVariable Long userId) {
+        List<WishlistSummary> wishlists = wishlistService.getWishlistsForUser(userId);
+        return ResponseEntity.ok(wishlists);
+    }
 }
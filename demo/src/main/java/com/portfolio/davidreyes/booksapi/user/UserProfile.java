@@ -0,0 +1,25 @@
+package com.portfolio.davidreyes.booksapi.user;
+
+/**
+ * Lean, immutable view of a user.
+ * Carries only public profile fields; the password and credit cards are deliberately left out
+ * so that instances can be cached and returned to clients safely.
+ *
+ * @param id           The unique identifier of the user.
+ * @param username     The user's unique username.
+ * @param name         The user's name.
+ * @param emailAddress The user's email address.
+ * @param homeAddress  The user's home address.
+ */
+public record UserProfile(Long id, String username, String name, String emailAddress, String homeAddress) {
+
+    /**
+     * Creates a profile from a user entity.
+     *
+     * @param user The user entity.
+     * @return The lean profile of the user.
+     */
+    public static UserProfile of(User user) {
+        return new UserProfile(user.getId(), user.getUsername(), user.getName(), user.getEmailAddress(), user.getHomeAddress());
+    }
+}
@@ -1,9 +1,11 @@
 package com.portfolio.davidreyes.booksapi.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing User entities.
@@ -19,4 +21,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return An Optional containing the User if found, or empty if not found.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Checks whether a user with the given username exists.
+     *
+     * @param username The username to check.
+     * @return true if a user with the username exists, false otherwise.
+     */
+    boolean existsByUsername(String username);
+
+    /**
+     * Streams every username in the database.
+     * Must be consumed inside a transaction.
+     *
+     * @return A stream of all usernames.
+     */
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
 }
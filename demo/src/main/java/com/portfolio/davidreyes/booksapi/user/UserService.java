@@ -3,57 +3,182 @@ package com.portfolio.davidreyes.booksapi.user;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
 import com.portfolio.davidreyes.booksapi.creditcard.CreditCard;
 import com.portfolio.davidreyes.booksapi.creditcard.CreditCardRepository;
-import jakarta.transaction.Transactional;
+import com.portfolio.davidreyes.booksapi.security.PasswordHashingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing user-related operations.
  * Handles business logic for user creation, updates, and credit card management.
+ *
+ * Username and user ID lookups go through {@link UserCache}, so repeated requests for the same user
+ * resolve the profile without a database round trip.
+ *
+ * Passwords are hashed by {@link PasswordHashingService} before any transaction is opened, so no
+ * database connection is held while a hash is being computed.
  */
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
     private final BooksRepository booksRepository; // Repository for managing books
     private final CreditCardRepository creditCardRepository; // Repository for managing credit cards
+    private final UserCache userCache; // Username-keyed cache of lean user profiles
+    private final PasswordHashingService passwordHashingService; // Hashes passwords off the request thread
+    private final TransactionOperations transactionOperations; // Runs the database part of multi-step updates
 
     /**
      * Constructor to inject dependencies.
      *
-     * @param userRepository    Repository for managing users.
-     * @param booksRepository   Repository for managing books.
+     * @param userRepository         Repository for managing users.
+     * @param booksRepository        Repository for managing books.
+     * @param creditCardRepository   Repository for managing credit cards.
+     * @param userCache              Cache of user profiles keyed by username.
+     * @param passwordHashingService Service for hashing and verifying passwords.
+     * @param transactionOperations  Transaction template for the database part of updates.
      */
     @Autowired
-    public UserService(UserRepository userRepository, BooksRepository booksRepository, CreditCardRepository creditCardRepository) {
+    public UserService(UserRepository userRepository, BooksRepository booksRepository, CreditCardRepository creditCardRepository,
+                       UserCache userCache, PasswordHashingService passwordHashingService, TransactionOperations transactionOperations) {
         this.userRepository = userRepository;
         this.booksRepository = booksRepository;
         this.creditCardRepository = creditCardRepository;
+        this.userCache = userCache;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * Loads every existing username into the cache's Bloom filter once the application is ready,
+     * so that lookups of unknown usernames skip the cache.
+     * The transaction is not read-only so that it reads from the primary: a lagging read replica
+     * could miss usernames, which would only cost their first lookups the cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadUsernames() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            usernames.forEach(username -> {
+                userCache.recordUsername(username);
+                count.incrementAndGet();
+            });
+        }
+        userCache.markUsernamesLoaded();
+        log.info("Loaded {} usernames into the username filter", count.get());
     }
 
     /**
      * Creates a new user and saves it to the database.
+     * The supplied password is replaced by its hash before the user is saved.
      *
      * @param user The user to create.
+     * @throws java.util.concurrent.RejectedExecutionException if password hashing is saturated.
      */
     public void createUser(User user) {
+        if (user.getPassword() != null) {
+            user.setPassword(passwordHashingService.hash(user.getPassword()));
+        }
         userRepository.save(user);
+        userCache.recordUsername(user.getUsername());
     }
 
     /**
-     * Retrieves a user by their username.
+     * Retrieves the profile of a user by their username.
+     * Served from the cache when possible; usernames unknown to the Bloom filter go straight to the database.
      *
      * @param username The username to search for.
-     * @return The user associated with the given username.
+     * @return The profile of the user associated with the given username.
      * @throws RuntimeException if the user is not found.
      */
-    public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+    public UserProfile getUserByUsername(String username) {
+        return findProfile(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
     }
 
+    /**
+     * Retrieves the profile of a user by their ID, served from the cache when possible.
+     * Unlike a username, the ID never changes, so it still finds a user who was renamed.
+     *
+     * @param userId The ID of the user.
+     * @return The profile of the user with the given ID.
+     * @throws IllegalStateException if the user is not found.
+     */
+    public UserProfile getUserById(Long userId) {
+        Optional<UserProfile> cached = userCache.getById(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        UserProfile loaded = userRepository.findById(userId).map(UserProfile::of)
+                .orElseThrow(() -> new IllegalStateException("User with ID " + userId + " does not exist"));
+        userCache.put(loaded);
+        return loaded;
+    }
+
+    /**
+     * Checks whether a username is still available for registration.
+     * A username cached here is taken; any other is checked in the database, since it may have been
+     * registered through another instance.
+     *
+     * @param username The username to check.
+     * @return true if no user has this username, false otherwise.
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (!userCache.isUnknown(username) && userCache.get(username).isPresent()) {
+            return false;
+        }
+        boolean taken = userRepository.existsByUsername(username);
+        if (taken) {
+            userCache.recordUsername(username);
+        }
+        return !taken;
+    }
+
+    /**
+     * Verifies a username and password.
+     * When the stored password is a legacy plain-text value or was hashed with an outdated cost factor,
+     * it is transparently replaced with a fresh hash.
+     *
+     * @param username    The username of the user.
+     * @param rawPassword The password supplied by the user.
+     * @return An Optional containing the user's profile if the credentials are valid, or empty otherwise.
+     * @throws java.util.concurrent.RejectedExecutionException if password hashing is saturated.
+     */
+    public Optional<UserProfile> authenticate(String username, String rawPassword) {
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        PasswordHashingService.Verification verification = passwordHashingService.verify(rawPassword, user.get().getPassword());
+        if (!verification.matches()) {
+            return Optional.empty();
+        }
+        if (verification.needsRehash()) {
+            String rehashed = passwordHashingService.hash(rawPassword);
+            Long userId = user.get().getId();
+            transactionOperations.executeWithoutResult(status ->
+                    userRepository.findById(userId).ifPresent(u -> u.setPassword(rehashed)));
+        }
+        UserProfile profile = UserProfile.of(user.get());
+        userCache.put(profile);
+        return Optional.of(profile);
+    }
+
     /**
      * Updates user details such as username, password, name, and home address.
+     * A new password is hashed first; the remaining changes are applied in a single transaction.
      *
      * @param currentUsername The current username of the user.
      * @param newUsername     The new username, if applicable.
@@ -62,22 +187,31 @@ public class UserService {
      * @param newHomeAddress  The new home address, if applicable.
      * @throws IllegalStateException if the new username is already taken or the current user does not exist.
      */
-    @Transactional
     public void updateUserDetails(String currentUsername, String newUsername, String newPassword, String newName, String newHomeAddress) {
-        User user = userRepository.findByUsername(currentUsername)
+        String newPasswordHash = newPassword != null && !newPassword.isEmpty() ? passwordHashingService.hash(newPassword) : null;
+        transactionOperations.executeWithoutResult(status ->
+                applyUserDetails(currentUsername, newUsername, newPasswordHash, newName, newHomeAddress));
+    }
+
+    /**
+     * Applies user detail changes inside the caller's transaction.
+     */
+    private void applyUserDetails(String currentUsername, String newUsername, String newPasswordHash, String newName, String newHomeAddress) {
+        User user = findUser(currentUsername)
                 .orElseThrow(() -> new IllegalStateException("User with username: " + currentUsername + " does not exist"));
 
         // Update username if provided and different
         if (newUsername != null && !newUsername.isEmpty() && !newUsername.equals(user.getUsername())) {
-            userRepository.findByUsername(newUsername).ifPresent(u -> {
+            if (!isUsernameAvailable(newUsername)) {
                 throw new IllegalStateException("Username " + newUsername + " is already taken.");
-            });
+            }
             user.setUsername(newUsername);
+            userCache.recordUsername(newUsername);
         }
 
         // Update password if provided
-        if (newPassword != null && !newPassword.isEmpty()) {
-            user.setPassword(newPassword);
+        if (newPasswordHash != null) {
+            user.setPassword(newPasswordHash);
         }
 
         // Update name if provided
@@ -91,21 +225,59 @@ public class UserService {
         }
 
         userRepository.save(user);
+
+        // The cached profile is stale under its ID, under the old username and, after a rename, under the new one
+        userCache.evict(currentUsername);
+        userCache.evict(user.getUsername());
+        userCache.evictById(user.getId());
     }
 
     /**
      * Adds a credit card to a user's profile.
+     * The user is resolved through the cache and attached by reference, so no user row is loaded.
      *
      * @param username   The username of the user.
      * @param creditCard The credit card to add.
      * @throws RuntimeException if the user is not found.
      */
     public void addCreditCardToUser(String username, CreditCard creditCard) {
-        User user = userRepository.findByUsername(username)
+        UserProfile profile = findProfile(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
-        creditCard.setUser(user);
+        creditCard.setUser(userRepository.getReferenceById(profile.id()));
         creditCardRepository.save(creditCard);
     }
 
+    /**
+     * Resolves the lean profile for a username from the cache, unless the Bloom filter tells it cannot be
+     * there, before falling back to the database. Profiles loaded from the database are cached.
+     */
+    private Optional<UserProfile> findProfile(String username) {
+        if (!userCache.isUnknown(username)) {
+            Optional<UserProfile> cached = userCache.get(username);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+        Optional<UserProfile> loaded = userRepository.findByUsername(username).map(UserProfile::of);
+        loaded.ifPresent(userCache::put);
+        return loaded;
+    }
 
+    /**
+     * Loads the user entity for a username with a single query,
+     * by primary key when the user ID is already cached.
+     */
+    private Optional<User> findUser(String username) {
+        Optional<UserProfile> cached = userCache.isUnknown(username) ? Optional.empty() : userCache.get(username);
+        if (cached.isPresent()) {
+            Optional<User> user = userRepository.findById(cached.get().id());
+            if (user.isPresent() && username.equals(user.get().getUsername())) {
+                return user;
+            }
+            userCache.evict(username);
+        }
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(found -> userCache.recordUsername(username));
+        return user;
+    }
 }
@@ -0,0 +1,96 @@
+package com.portfolio.davidreyes.booksapi.user;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over usernames.
+ *
+ * A negative answer from {@link #mightContain(String)} is definitive: the username has never been
+ * added. A positive answer may be a false positive and must be confirmed against the database.
+ * Entries cannot be removed, so renamed usernames only ever cause extra (correct) database lookups.
+ */
+public class UsernameBloomFilter {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a Bloom filter sized for the expected number of usernames and false-positive rate.
+     *
+     * @param expectedInsertions The number of usernames the filter is expected to hold.
+     * @param falsePositiveRate  The acceptable false-positive probability (between 0 and 1, exclusive).
+     * @throws IllegalArgumentException if the parameters are out of range.
+     */
+    public UsernameBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1.");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Records a username in the filter.
+     *
+     * @param username The username to add.
+     */
+    public void put(String username) {
+        long h1 = hash(username, SEED_1);
+        long h2 = hash(username, SEED_2);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a username may have been added to the filter.
+     *
+     * @param username The username to check.
+     * @return false if the username has definitely never been added, true if it might have been.
+     */
+    public boolean mightContain(String username) {
+        long h1 = hash(username, SEED_1);
+        long h2 = hash(username, SEED_2);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes a seeded 64-bit hash of a string (FNV-1a over the UTF-16 code units, finished with
+     * the MurmurHash3 avalanche step).
+     */
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
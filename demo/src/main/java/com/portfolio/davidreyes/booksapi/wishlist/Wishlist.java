@@ -1,6 +1,5 @@
 package com.portfolio.davidreyes.booksapi.wishlist;
 
-import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -47,16 +46,13 @@ public class Wishlist {
     private User user;
 
     /**
-     * Many-to-Many relationship with the Books entity.
+     * One-to-Many relationship with the WishlistBook join entity.
      * A wishlist can contain multiple books, and a book can belong to multiple wishlists.
+     * Each entry records when the book was added; contents are read page by page through
+     * WishlistBookRepository rather than by initializing this collection.
      */
-    @ManyToMany
-    @JoinTable(
-            name = "wishlist_books", // Name of the join table.
-            joinColumns = @JoinColumn(name = "wishlist_id"), // Foreign key referencing the Wishlist.
-            inverseJoinColumns = @JoinColumn(name = "book_id") // Foreign key referencing the Books.
-    )
-    private Set<Books> books = new HashSet<>();
+    @OneToMany(mappedBy = "wishlist", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<WishlistBook> entries = new HashSet<>();
 
 
 }
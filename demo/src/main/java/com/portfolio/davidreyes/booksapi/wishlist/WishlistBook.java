@@ -0,0 +1,87 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a single book entry in a wishlist.
+ * Maps the "wishlist_books" join table explicitly so that the time a book was added can be stored
+ * alongside the wishlist/book pair and used to order wishlist contents.
+ */
+@Entity
+@Table(name = "wishlist_books")
+@IdClass(WishlistBook.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class WishlistBook {
+
+    /**
+     * The wishlist this entry belongs to.
+     */
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wishlist_id") // Foreign key referencing the Wishlist.
+    private Wishlist wishlist;
+
+    /**
+     * The book stored in the wishlist.
+     */
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id") // Foreign key referencing the Books.
+    private Books book;
+
+    /**
+     * The date and time the book was added to the wishlist.
+     * Rows that existed before this column was introduced default to the time the column was added.
+     */
+    @Column(name = "added_at", nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime addedAt = LocalDateTime.now();
+
+    /**
+     * Creates a new wishlist entry for the given wishlist and book.
+     *
+     * @param wishlist The wishlist the book is added to.
+     * @param book     The book being added.
+     */
+    public WishlistBook(Wishlist wishlist, Books book) {
+        this.wishlist = wishlist;
+        this.book = book;
+        this.addedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Composite primary key of a wishlist entry (wishlist ID and book ID).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Long wishlist;
+
+        private Long book;
+
+        /**
+         * Creates a key for the given wishlist and book IDs.
+         *
+         * @param wishlistId The ID of the wishlist.
+         * @param bookId     The ID of the book.
+         */
+        public Key(Long wishlistId, Long bookId) {
+            this.wishlist = wishlistId;
+            this.book = bookId;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for managing WishlistBook entries.
+ * Extends JpaRepository to provide CRUD operations and paginated projections of wishlist contents.
+ */
+public interface WishlistBookRepository extends JpaRepository<WishlistBook, WishlistBook.Key> {
+
+    /**
+     * Retrieves one page of the books in a wishlist as flat projections,
+     * ordered by the time they were added (oldest first).
+     *
+     * @param wishlistId The ID of the wishlist.
+     * @param pageable   The page to retrieve.
+     * @return A page of wishlist book projections.
+     */
+    @Query(value = "SELECT b.id AS bookId, b.isbn AS isbn, b.bookName AS bookName, b.price AS price, " +
+            "b.genre AS genre, wb.addedAt AS addedAt " +
+            "FROM WishlistBook wb JOIN wb.book b " +
+            "WHERE wb.wishlist.id = :wishlistId " +
+            "ORDER BY wb.addedAt ASC, b.id ASC",
+            countQuery = "SELECT COUNT(wb) FROM WishlistBook wb WHERE wb.wishlist.id = :wishlistId")
+    Page<WishlistBookView> findBooksByWishlistId(@Param("wishlistId") Long wishlistId, Pageable pageable);
+}
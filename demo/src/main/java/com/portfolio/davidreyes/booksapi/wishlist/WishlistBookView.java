@@ -0,0 +1,40 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of a book stored in a wishlist.
+ * Only the columns needed to render wishlist contents are selected, so no book graph is loaded.
+ */
+public interface WishlistBookView {
+
+    /**
+     * @return The ID of the book.
+     */
+    Long getBookId();
+
+    /**
+     * @return The ISBN of the book.
+     */
+    Long getIsbn();
+
+    /**
+     * @return The name of the book.
+     */
+    String getBookName();
+
+    /**
+     * @return The price of the book.
+     */
+    Integer getPrice();
+
+    /**
+     * @return The genre of the book.
+     */
+    String getGenre();
+
+    /**
+     * @return The date and time the book was added to the wishlist.
+     */
+    LocalDateTime getAddedAt();
+}
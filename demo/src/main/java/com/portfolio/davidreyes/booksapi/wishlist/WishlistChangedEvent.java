@@ -0,0 +1,29 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+import com.portfolio.davidreyes.booksapi.outbox.DomainEvent;
+
+/**
+ * Domain event published when a book is added to or removed from a wishlist.
+ *
+ * @param wishlistId The ID of the wishlist.
+ * @param userId     The ID of the user owning the wishlist.
+ * @param bookId     The ID of the book.
+ * @param added      True if the book was added, false if it was removed.
+ */
+public record WishlistChangedEvent(Long wishlistId, Long userId, Long bookId, boolean added) implements DomainEvent {
+
+    /**
+     * The aggregate type of the events about a wishlist.
+     */
+    public static final String AGGREGATE_TYPE = "wishlist";
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public Long aggregateId() {
+        return wishlistId;
+    }
+}
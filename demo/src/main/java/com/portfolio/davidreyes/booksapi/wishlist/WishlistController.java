@@ -1,12 +1,10 @@
 package com.portfolio.davidreyes.booksapi.wishlist;
 
-import com.portfolio.davidreyes.booksapi.books.Books;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST Controller for managing wishlists.
  * Provides endpoints to create wishlists, add books, retrieve books, and move books to the shopping cart.
@@ -44,14 +42,18 @@ public class WishlistController {
     }
 
     /**
-     * Retrieves all books in a specified wishlist.
+     * Retrieves one page of the books in a specified wishlist, ordered by the time they were added.
      *
      * @param wishlistId The ID of the wishlist.
-     * @return ResponseEntity containing the list of books in the wishlist.
+     * @param page       The zero-based page index (defaults to 0).
+     * @param size       The page size (defaults to 20).
+     * @return ResponseEntity containing the requested page of books in the wishlist.
      */
     @GetMapping("/{wishlistId}/books")
-    public ResponseEntity<List<Books>> getBooksInWishlist(@PathVariable Long wishlistId) {
-        List<Books> books = wishlistService.getBooksInWishlist(wishlistId);
+    public ResponseEntity<Page<WishlistBookView>> getBooksInWishlist(@PathVariable Long wishlistId,
+                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        Page<WishlistBookView> books = wishlistService.getBooksInWishlist(wishlistId, page, size);
         return ResponseEntity.ok(books);
     }
 
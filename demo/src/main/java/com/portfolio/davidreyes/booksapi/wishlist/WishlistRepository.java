@@ -1,7 +1,10 @@
 package com.portfolio.davidreyes.booksapi.wishlist;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +21,19 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
      * @return An Optional containing the Wishlist if found, or empty if not found.
      */
     Optional<Wishlist> findByNameAndUserId(String name, Long userId);
+
+    /**
+     * Summarizes every wishlist of a user in a single grouped query.
+     * Empty wishlists are included with a book count and total price of zero.
+     *
+     * @param userId The ID of the user who owns the wishlists.
+     * @return A list of wishlist summaries ordered by wishlist ID.
+     */
+    @Query("SELECT w.id AS wishlistId, w.name AS name, COUNT(b.id) AS bookCount, " +
+            "COALESCE(SUM(b.price), 0) AS totalPrice " +
+            "FROM Wishlist w LEFT JOIN WishlistBook wb ON wb.wishlist = w LEFT JOIN wb.book b " +
+            "WHERE w.user.id = :userId " +
+            "GROUP BY w.id, w.name " +
+            "ORDER BY w.id")
+    List<WishlistSummary> findSummariesByUserId(@Param("userId") Long userId);
 }
@@ -2,15 +2,20 @@ package com.portfolio.davidreyes.booksapi.wishlist;
 
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.inventory.InventoryService;
+import com.portfolio.davidreyes.booksapi.inventory.OutOfStockException;
 import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCart;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartChangedEvent;
 import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartRepository;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.portfolio.davidreyes.booksapi.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,6 +28,9 @@ public class WishlistService {
     @Autowired
     private WishlistRepository wishlistRepository;
 
+    @Autowired
+    private WishlistBookRepository wishlistBookRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -32,6 +40,12 @@ public class WishlistService {
     @Autowired
     private ShoppingCartRepository shoppingCartRepository;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new wishlist for a specified user.
      *
@@ -69,8 +83,10 @@ public class WishlistService {
         Books book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalStateException("Book not found"));
 
-        wishlist.getBooks().add(book);
-        wishlistRepository.save(wishlist);
+        if (!wishlistBookRepository.existsById(new WishlistBook.Key(wishlistId, bookId))) {
+            wishlistBookRepository.save(new WishlistBook(wishlist, book));
+            eventPublisher.publishEvent(new WishlistChangedEvent(wishlistId, wishlist.getUser().getId(), bookId, true));
+        }
     }
 
     /**
@@ -79,6 +95,7 @@ public class WishlistService {
      * @param wishlistId The ID of the wishlist.
      * @param bookId     The ID of the book to move.
      * @throws IllegalStateException if the wishlist, book, or shopping cart is not found.
+     * @throws OutOfStockException   if no copy of the book is left to reserve for the cart.
      */
     @Transactional
     public void removeBookFromWishlistAndAddToCart(Long wishlistId, Long bookId) {
@@ -89,30 +106,57 @@ public class WishlistService {
 
         User user = wishlist.getUser();
 
-        if (!wishlist.getBooks().contains(book)) {
+        WishlistBook.Key entryKey = new WishlistBook.Key(wishlistId, bookId);
+        if (!wishlistBookRepository.existsById(entryKey)) {
             throw new IllegalStateException("Book not found in the wishlist.");
         }
 
-        wishlist.getBooks().remove(book);
-        wishlistRepository.save(wishlist);
+        wishlistBookRepository.deleteById(entryKey);
+        eventPublisher.publishEvent(new WishlistChangedEvent(wishlistId, user.getId(), bookId, false));
 
         ShoppingCart shoppingCart = user.getShoppingCart();
-        shoppingCart.getBooks().add(book);
+        if (shoppingCart.addBook(book)) {
+            inventoryService.reserve(user.getId(), bookId);
+            eventPublisher.publishEvent(new ShoppingCartChangedEvent(user.getId(), bookId, true));
+        }
         shoppingCartRepository.save(shoppingCart);
     }
 
     /**
-     * Retrieves all books in a specified wishlist.
+     * Retrieves one page of the books in a specified wishlist, ordered by the time they were added.
+     * The wishlist itself is only looked up when the page comes back empty, to tell an empty
+     * wishlist apart from a missing one.
      *
      * @param wishlistId The ID of the wishlist.
-     * @return A list of books in the wishlist.
+     * @param page       The zero-based page index.
+     * @param size       The page size.
+     * @return A page of flat book projections from the wishlist.
      * @throws IllegalStateException if the wishlist is not found.
      */
-    public List<Books> getBooksInWishlist(Long wishlistId) {
-        Wishlist wishlist = wishlistRepository.findById(wishlistId)
-                .orElseThrow(() -> new IllegalStateException("Wishlist with id " + wishlistId + " does not exist"));
+    @Transactional(readOnly = true)
+    public Page<WishlistBookView> getBooksInWishlist(Long wishlistId, int page, int size) {
+        Page<WishlistBookView> books = wishlistBookRepository.findBooksByWishlistId(wishlistId, PageRequest.of(page, size));
+        if (books.isEmpty() && !wishlistRepository.existsById(wishlistId)) {
+            throw new IllegalStateException("Wishlist with id " + wishlistId + " does not exist");
+        }
+        return books;
+    }
 
-        return new ArrayList<>(wishlist.getBooks());
+    /**
+     * Retrieves an overview of every wishlist owned by a user, including the number of books
+     * and the total price of each wishlist.
+     *
+     * @param userId The ID of the user.
+     * @return A list of wishlist summaries.
+     * @throws IllegalStateException if the user is not found.
+     */
+    @Transactional(readOnly = true)
+    public List<WishlistSummary> getWishlistsForUser(Long userId) {
+        List<WishlistSummary> summaries = wishlistRepository.findSummariesByUserId(userId);
+        if (summaries.isEmpty() && !userRepository.existsById(userId)) {
+            throw new IllegalStateException("User with id " + userId + " does not exist");
+        }
+        return summaries;
     }
 
     /**
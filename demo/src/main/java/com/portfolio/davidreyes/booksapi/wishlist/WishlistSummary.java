@@ -0,0 +1,28 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+/**
+ * Read-only projection summarizing a single wishlist of a user.
+ * Values are computed by one grouped query across all of the user's wishlists.
+ */
+public interface WishlistSummary {
+
+    /**
+     * @return The ID of the wishlist.
+     */
+    Long getWishlistId();
+
+    /**
+     * @return The name of the wishlist.
+     */
+    String getName();
+
+    /**
+     * @return The number of books in the wishlist.
+     */
+    Long getBookCount();
+
+    /**
+     * @return The sum of the prices of all books in the wishlist.
+     */
+    Long getTotalPrice();
+}
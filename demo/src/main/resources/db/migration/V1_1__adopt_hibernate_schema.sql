@@ -0,0 +1,35 @@
+-- Brings a schema created by Hibernate before the migrations existed up to the shape of V1, for databases
+-- adopted with spring.flyway.baseline-on-migrate=true and spring.flyway.baseline-version=1 (see README.md).
+-- Every statement is idempotent, so on a schema created by V1 this changes nothing.
+-- Columns added by Hibernate's ddl-auto=update exist but may be nullable and hold nulls, so they are
+-- filled and constrained as well.
+
+ALTER TABLE author ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+UPDATE author SET version = 0 WHERE version IS NULL;
+ALTER TABLE author ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE author ALTER COLUMN version SET NOT NULL;
+ALTER TABLE author ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP;
+UPDATE author SET last_modified = CURRENT_TIMESTAMP WHERE last_modified IS NULL;
+ALTER TABLE author ALTER COLUMN last_modified SET DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+UPDATE books SET version = 0 WHERE version IS NULL;
+ALTER TABLE books ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE books ALTER COLUMN version SET NOT NULL;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP;
+UPDATE books SET last_modified = CURRENT_TIMESTAMP WHERE last_modified IS NULL;
+ALTER TABLE books ALTER COLUMN last_modified SET DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+UPDATE comment SET version = 0 WHERE version IS NULL;
+ALTER TABLE comment ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE comment ALTER COLUMN version SET NOT NULL;
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP;
+UPDATE comment SET last_modified = CURRENT_TIMESTAMP WHERE last_modified IS NULL;
+ALTER TABLE comment ALTER COLUMN last_modified SET DEFAULT CURRENT_TIMESTAMP;
+
+-- The many-to-many join table of the wishlists had no insertion time; existing entries get the time of adoption
+ALTER TABLE wishlist_books ADD COLUMN IF NOT EXISTS added_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
+UPDATE wishlist_books SET added_at = CURRENT_TIMESTAMP WHERE added_at IS NULL;
+ALTER TABLE wishlist_books ALTER COLUMN added_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE wishlist_books ALTER COLUMN added_at SET NOT NULL;
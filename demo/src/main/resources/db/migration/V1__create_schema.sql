@@ -0,0 +1,114 @@
+-- Schema of the JPA mappings. Runs on PostgreSQL and on H2 for local runs and tests.
+
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE shopping_cart_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE author (
+    id            BIGINT NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    biography     VARCHAR(255),
+    publisher     VARCHAR(255),
+    version       BIGINT DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_author PRIMARY KEY (id)
+);
+
+CREATE TABLE books (
+    id               BIGINT NOT NULL,
+    isbn             BIGINT,
+    book_name        VARCHAR(255),
+    book_description VARCHAR(255),
+    price            INTEGER,
+    author_id        BIGINT,
+    genre            VARCHAR(255),
+    publisher        VARCHAR(255),
+    year_published   INTEGER,
+    copies_sold      INTEGER,
+    rating           DOUBLE PRECISION,
+    version          BIGINT DEFAULT 0 NOT NULL,
+    last_modified    TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username      VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    name          VARCHAR(255),
+    email_address VARCHAR(255),
+    home_address  VARCHAR(255),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE credit_card (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    card_number     VARCHAR(255),
+    expiration_date VARCHAR(255),
+    cvv             VARCHAR(255),
+    user_id         BIGINT,
+    CONSTRAINT pk_credit_card PRIMARY KEY (id),
+    CONSTRAINT fk_credit_card_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE shopping_cart (
+    id      BIGINT NOT NULL,
+    user_id BIGINT,
+    CONSTRAINT pk_shopping_cart PRIMARY KEY (id),
+    CONSTRAINT uk_shopping_cart_user_id UNIQUE (user_id),
+    CONSTRAINT fk_shopping_cart_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE cart_books (
+    cart_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    CONSTRAINT pk_cart_books PRIMARY KEY (book_id, cart_id),
+    CONSTRAINT fk_cart_books_cart FOREIGN KEY (cart_id) REFERENCES shopping_cart (id),
+    CONSTRAINT fk_cart_books_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
+
+CREATE TABLE wishlist (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name    VARCHAR(255),
+    user_id BIGINT,
+    CONSTRAINT pk_wishlist PRIMARY KEY (id),
+    CONSTRAINT uk_wishlist_name UNIQUE (name),
+    CONSTRAINT fk_wishlist_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE wishlist_books (
+    wishlist_id BIGINT NOT NULL,
+    book_id     BIGINT NOT NULL,
+    added_at    TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_wishlist_books PRIMARY KEY (book_id, wishlist_id),
+    CONSTRAINT fk_wishlist_books_wishlist FOREIGN KEY (wishlist_id) REFERENCES wishlist (id),
+    CONSTRAINT fk_wishlist_books_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
+
+CREATE TABLE rating (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    rating     INTEGER NOT NULL,
+    user_id    BIGINT,
+    book_id    BIGINT,
+    date_rated TIMESTAMP(6),
+    CONSTRAINT pk_rating PRIMARY KEY (id),
+    CONSTRAINT fk_rating_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_rating_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
+
+CREATE TABLE comment (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    comment        VARCHAR(255),
+    user_id        BIGINT,
+    book_id        BIGINT,
+    date_commented TIMESTAMP(6),
+    version        BIGINT DEFAULT 0 NOT NULL,
+    last_modified  TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_comment PRIMARY KEY (id),
+    CONSTRAINT fk_comment_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_comment_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
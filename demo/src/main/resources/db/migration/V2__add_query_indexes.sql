@@ -0,0 +1,31 @@
+-- Indexes for the repository queries, beyond the primary keys and unique constraints.
+-- Composite keys cover the ID projections so they can be answered from the index alone,
+-- and match the ORDER BY of the paged queries so the first page needs no sort.
+
+-- BooksRepository.findByAuthorId and the books of an author
+CREATE INDEX idx_books_author_id ON books (author_id);
+-- BooksRepository.findByGenre and findIdsByGenre
+CREATE INDEX idx_books_genre_id ON books (genre, id);
+-- BooksRepository.findByPublisher
+CREATE INDEX idx_books_publisher ON books (publisher);
+-- BooksRepository.findByRatingGreaterThanEqual and findIdsByRatingGreaterThanEqual
+CREATE INDEX idx_books_rating_id ON books (rating, id);
+-- BooksRepository.findTopSellers and findTopSellerIds
+CREATE INDEX idx_books_copies_sold_id ON books (copies_sold DESC, id);
+
+-- RatingRepository.findByBookId and the ratings of a book
+CREATE INDEX idx_rating_book_id ON rating (book_id);
+
+-- CommentRepository.findByBookId and the comments of a book
+CREATE INDEX idx_comment_book_id ON comment (book_id);
+
+-- WishlistRepository.findSummariesByUserId
+CREATE INDEX idx_wishlist_user_id ON wishlist (user_id, id);
+-- WishlistBookRepository.findBooksByWishlistId and its count; the primary key leads with book_id
+CREATE INDEX idx_wishlist_books_wishlist_id ON wishlist_books (wishlist_id, added_at, book_id);
+
+-- ShoppingCartRepository.findBooksInUserShoppingCart; the primary key leads with book_id
+CREATE INDEX idx_cart_books_cart_id ON cart_books (cart_id, book_id);
+
+-- The credit cards of a user
+CREATE INDEX idx_credit_card_user_id ON credit_card (user_id);
@@ -0,0 +1,27 @@
+-- Background jobs: one row per job with its status, progress and the checkpoint it resumes from.
+
+CREATE TABLE job (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type             VARCHAR(64)   NOT NULL,
+    parameters       VARCHAR(4000) NOT NULL,
+    status           VARCHAR(16)   NOT NULL,
+    checkpoint       BIGINT,
+    total            BIGINT,
+    processed        BIGINT  DEFAULT 0     NOT NULL,
+    affected         BIGINT  DEFAULT 0     NOT NULL,
+    cancel_requested BOOLEAN DEFAULT FALSE NOT NULL,
+    error            VARCHAR(1000),
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    started_at       TIMESTAMP(6) WITH TIME ZONE,
+    heartbeat_at     TIMESTAMP(6) WITH TIME ZONE,
+    finished_at      TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_job PRIMARY KEY (id)
+);
+
+-- JobRepository.findRunnableIds
+CREATE INDEX idx_job_status_id ON job (status, id);
+
+-- The keyset scans of the jobs, which walk a publisher's books and look for earlier duplicates by ID
+DROP INDEX idx_books_publisher;
+CREATE INDEX idx_books_publisher_id ON books (publisher, id);
+CREATE INDEX idx_author_name_publisher_id ON author (last_name, first_name, publisher, id);
@@ -0,0 +1,19 @@
+-- Transactional outbox: domain events, written in the transaction of their change, and the position
+-- each in-process subscriber has been delivered up to.
+
+CREATE TABLE outbox_event (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    aggregate_type VARCHAR(255)  NOT NULL,
+    aggregate_id   BIGINT        NOT NULL,
+    event_type     VARCHAR(255)  NOT NULL,
+    payload        VARCHAR(4000) NOT NULL,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE TABLE outbox_subscription (
+    name          VARCHAR(255) NOT NULL,
+    last_event_id BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_outbox_subscription PRIMARY KEY (name)
+);
@@ -0,0 +1,4 @@
+-- Indexes for the per-user interaction query of the recommendation index.
+
+-- InteractionRepository.findBooksOfUser: the liked ratings of a user
+CREATE INDEX idx_rating_user_id ON rating (user_id, rating, book_id);
@@ -0,0 +1,28 @@
+-- Orders placed by checking out a shopping cart. An order is counted once its copies have been added to
+-- books.copies_sold; order lines keep the book's ID without a foreign key, so sold books can be deleted.
+
+CREATE TABLE purchase_order (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id    BIGINT  NOT NULL,
+    total      INTEGER NOT NULL,
+    counted    BOOLEAN DEFAULT FALSE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_purchase_order PRIMARY KEY (id),
+    CONSTRAINT fk_purchase_order_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE order_line (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_id  BIGINT       NOT NULL,
+    book_id   BIGINT       NOT NULL,
+    book_name VARCHAR(255),
+    price     INTEGER      NOT NULL,
+    quantity  INTEGER      NOT NULL,
+    CONSTRAINT pk_order_line PRIMARY KEY (id),
+    CONSTRAINT fk_order_line_order FOREIGN KEY (order_id) REFERENCES purchase_order (id)
+);
+
+-- OrderRepository.findUncountedIds
+CREATE INDEX idx_purchase_order_counted_created_at ON purchase_order (counted, created_at);
+-- OrderLineRepository.sumCopiesByBook, and the lines of an order
+CREATE INDEX idx_order_line_order_id ON order_line (order_id, book_id, quantity);
@@ -0,0 +1,29 @@
+-- Inventory: the copies on hand of the books whose stock is tracked, and the copies reserved in carts
+-- and orders. A reservation with an order is permanent until it is deducted from the copies on hand;
+-- one without an order is released when it expires. Rows keep the book's ID without a foreign key,
+-- so a book can be deleted with its stock.
+
+CREATE TABLE book_stock (
+    book_id    BIGINT  NOT NULL,
+    on_hand    INTEGER NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_book_stock PRIMARY KEY (book_id)
+);
+
+CREATE TABLE stock_reservation (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    book_id    BIGINT  NOT NULL,
+    user_id    BIGINT  NOT NULL,
+    quantity   INTEGER NOT NULL,
+    order_id   BIGINT,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_stock_reservation PRIMARY KEY (id)
+);
+
+-- BookStockRepository.findAvailable: the reservations held on a book
+CREATE INDEX idx_stock_reservation_book ON stock_reservation (book_id, order_id, expires_at, quantity);
+-- StockReservationRepository.findActive: the reservation of a book in a user's cart
+CREATE INDEX idx_stock_reservation_user_book ON stock_reservation (user_id, book_id);
+-- StockReservationRepository.findExpired and findConfirmed
+CREATE INDEX idx_stock_reservation_order_expires ON stock_reservation (order_id, expires_at);
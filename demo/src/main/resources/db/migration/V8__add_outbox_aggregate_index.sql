@@ -0,0 +1,4 @@
+-- Index for looking up the events of one aggregate in the outbox.
+
+-- OutboxEventRepository.findAggregateEventsBetween: the events of an aggregate delivered after a late event
+CREATE INDEX idx_outbox_event_aggregate ON outbox_event (aggregate_type, aggregate_id, id);
@@ -0,0 +1,7 @@
+-- The copies of a book held for orders and not yet deducted from the copies on hand. A checkout only
+-- holds a copy while fewer are held than are on hand, which keeps instances from overselling a book.
+
+ALTER TABLE book_stock ADD COLUMN held INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE book_stock SET held = (SELECT COALESCE(SUM(r.quantity), 0) FROM stock_reservation r
+                              WHERE r.book_id = book_stock.book_id AND r.order_id IS NOT NULL);
@@ -0,0 +1,145 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BookListCache class.
+ * Verifies that book changes invalidate only the affected lists and that concurrent misses load once.
+ */
+class BookListCacheTest {
+
+    private BookListCache cache;
+    private AtomicInteger loads;
+
+    /**
+     * Creates an empty cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        cache = new BookListCache(100);
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Verifies that a change within one genre leaves the other genres cached.
+     */
+    @Test
+    void createdBookShouldInvalidateOnlyItsGenre() {
+        // Arrange
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.genre("History"));
+
+        // Act
+        cache.onBookChanged(new BookChangedEvent(1L, null, snapshot("Fiction", 20, 4.0, 10)));
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.genre("History"));
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Verifies that moving a book between genres invalidates both genres.
+     */
+    @Test
+    void genreChangeShouldInvalidateOldAndNewGenre() {
+        // Arrange
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.genre("Mystery"));
+
+        // Act
+        cache.onBookChanged(new BookChangedEvent(1L, snapshot("Fiction", 20, 4.0, 10), snapshot("Mystery", 20, 4.0, 10)));
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.genre("Mystery"));
+
+        // Assert
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Verifies that a price change invalidates no list and a rating change only the thresholds it crosses.
+     */
+    @Test
+    void ratingChangeShouldInvalidateOnlyCrossedThresholds() {
+        // Arrange
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.topSellers());
+        load(BookListCache.Key.minRating(3.0));
+        load(BookListCache.Key.minRating(4.5));
+
+        // Act
+        cache.onBookChanged(new BookChangedEvent(1L, snapshot("Fiction", 20, 4.0, 10), snapshot("Fiction", 15, 4.0, 10)));
+        cache.onBookChanged(new BookChangedEvent(1L, snapshot("Fiction", 15, 4.0, 10), snapshot("Fiction", 15, 4.6, 10)));
+        load(BookListCache.Key.genre("Fiction"));
+        load(BookListCache.Key.topSellers());
+        load(BookListCache.Key.minRating(3.0));
+        load(BookListCache.Key.minRating(4.5));
+
+        // Assert
+        assertEquals(5, loads.get());
+    }
+
+    /**
+     * Verifies that concurrent misses on the same key are coalesced into a single load.
+     */
+    @Test
+    void concurrentMissesShouldLoadOnce() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        BookListCache.Key key = BookListCache.Key.topSellers();
+
+        // Act
+        Future<List<Long>> first = executor.submit(() -> cache.get(key, k -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return List.of(1L, 2L);
+        }));
+        loading.await();
+        List<Future<List<Long>>> others = List.of(
+                executor.submit(() -> load(key)), executor.submit(() -> load(key)), executor.submit(() -> load(key)));
+        release.countDown();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), first.get());
+        for (Future<List<Long>> other : others) {
+            assertEquals(List.of(1L, 2L), other.get());
+        }
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    /**
+     * Reads a list, counting a load on a miss.
+     */
+    private List<Long> load(BookListCache.Key key) {
+        return cache.get(key, k -> {
+            loads.incrementAndGet();
+            return List.of(1L, 2L);
+        });
+    }
+
+    private static BookChangedEvent.Snapshot snapshot(String genre, int price, double rating, int copiesSold) {
+        return new BookChangedEvent.Snapshot(null, genre, price, rating, copiesSold);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -31,6 +33,12 @@ class BooksServiceTest {
     @Mock
     private RatingRepository ratingRepository;
 
+    @Spy
+    private BookListCache bookListCache = new BookListCache(100);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BooksService booksService;
 
@@ -49,7 +57,7 @@ class BooksServiceTest {
     void addNewBooksShouldSaveBooksWhenIsbnIsNew() {
         // Arrange
         Books newBook = new Books();
-        newBook.setIsbn(123456L);
+        newBook.setIsbn(9780306406157L);
         when(booksRepository.findBookByIsbn(newBook.getIsbn())).thenReturn(Optional.empty());
 
         // Act
@@ -101,7 +109,7 @@ class BooksServiceTest {
     void deleteBookShouldThrowWhenBookDoesNotExist() {
         // Arrange
         Long bookId = 1L;
-        when(booksRepository.existsById(bookId)).thenReturn(false);
+        when(booksRepository.findById(bookId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> booksService.deleteBook(bookId));
@@ -128,6 +136,26 @@ class BooksServiceTest {
         // Assert
         assertEquals(newIsbn, book.getIsbn());
         assertEquals(newBookName, book.getBookName());
+        verify(eventPublisher).publishEvent(any(BookChangedEvent.class));
+    }
+
+    /**
+     * Verifies that a genre change is published with the book's old and new genre.
+     */
+    @Test
+    void updateBookShouldPublishGenreChange() {
+        // Arrange
+        Long bookId = 1L;
+        Books book = new Books(123L, "Book One", "Description One", 20, null, "Fiction", "Publisher One", 2021, 100);
+        book.setId(bookId);
+        when(booksRepository.findById(bookId)).thenReturn(Optional.of(book));
+
+        // Act
+        booksService.updateBook(bookId, null, null, null, null, null, "Mystery", null, null, null);
+
+        // Assert
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BookChangedEvent changed
+                && changed.before().genre().equals("Fiction") && changed.after().genre().equals("Mystery")));
     }
 
     /**
@@ -139,7 +167,8 @@ class BooksServiceTest {
         String genre = "Fiction";
         Books book1 = new Books(123L, "Book One", "Description One", 20, null, genre, "Publisher One", 2021, 100);
         Books book2 = new Books(456L, "Book Two", "Description Two", 25, null, genre, "Publisher Two", 2022, 150);
-        when(booksRepository.findByGenre(genre)).thenReturn(Arrays.asList(book1, book2));
+        when(booksRepository.findIdsByGenre(genre)).thenReturn(Arrays.asList(1L, 2L));
+        when(booksRepository.findAllByIdInOrder(List.of(1L, 2L))).thenReturn(Arrays.asList(book1, book2));
 
         // Act
         Optional<List<Books>> result = booksService.getBooksByGenre(genre);
@@ -158,7 +187,7 @@ class BooksServiceTest {
     void getBooksByGenreShouldReturnEmptyWhenNoneFound() {
         // Arrange
         String genre = "Non-Fiction";
-        when(booksRepository.findByGenre(genre)).thenReturn(Collections.emptyList());
+        when(booksRepository.findIdsByGenre(genre)).thenReturn(Collections.emptyList());
 
         // Act
         Optional<List<Books>> result = booksService.getBooksByGenre(genre);
@@ -166,4 +195,23 @@ class BooksServiceTest {
         // Assert
         assertTrue(result.isEmpty());
     }
+
+    /**
+     * Verifies that repeated genre queries are answered from the book list cache.
+     */
+    @Test
+    void getBooksByGenreShouldQueryIdsOnce() {
+        // Arrange
+        String genre = "Fiction";
+        when(booksRepository.findIdsByGenre(genre)).thenReturn(List.of(1L));
+        when(booksRepository.findAllByIdInOrder(List.of(1L))).thenReturn(List.of(new Books()));
+
+        // Act
+        booksService.getBooksByGenre(genre);
+        booksService.getBooksByGenre(genre);
+
+        // Assert
+        verify(booksRepository, times(1)).findIdsByGenre(genre);
+        verify(booksRepository, times(2)).findAllByIdInOrder(List.of(1L));
+    }
 }
@@ -0,0 +1,137 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integration tests for the response cache of the hot catalog endpoints.
+ * Verifies that repeated requests are served from the cache, compressed on request, and that a book
+ * change is visible on the next request while the responses it does not affect stay cached.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogResponseCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private BooksService booksService;
+
+    /**
+     * Clears the second-level cache, which other test contexts do not update when they change the shared database.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * Verifies that a repeated request is a hit with the same body and no queries.
+     */
+    @Test
+    void repeatedRequestShouldBeServedFromCache() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        MockHttpServletResponse first = mockMvc.perform(get("/api/v1/book/" + book.getIsbn())).andReturn().getResponse();
+
+        // Act
+        MockHttpServletResponse second = mockMvc.perform(get("/api/v1/book/" + book.getIsbn())).andReturn().getResponse();
+
+        // Assert
+        assertEquals(200, second.getStatus());
+        assertEquals("HIT", second.getHeader(CatalogResponseCacheFilter.CACHE_HEADER));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals("0", second.getHeader("X-Query-Count"));
+    }
+
+    /**
+     * Verifies that a client accepting gzip receives the compressed copy of the same body.
+     */
+    @Test
+    void gzipShouldBeServedWhenAccepted() throws Exception {
+        // Arrange
+        String plain = mockMvc.perform(get("/api/v1/book/top-sellers")).andReturn().getResponse().getContentAsString();
+
+        // Act
+        MockHttpServletResponse compressed = mockMvc.perform(get("/api/v1/book/top-sellers")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andReturn().getResponse();
+
+        // Assert
+        assertEquals("gzip", compressed.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, compressed.getHeader(HttpHeaders.VARY));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getContentAsByteArray()))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Verifies that updating a book invalidates its cached response.
+     */
+    @Test
+    void updateBookShouldInvalidateCachedResponse() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        int originalPrice = book.getPrice();
+        mockMvc.perform(get("/api/v1/book/" + book.getIsbn()));
+
+        // Act
+        booksService.updateBook(book.getId(), null, null, null, originalPrice + 7, null, null, null, null, null);
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/book/" + book.getIsbn())).andReturn().getResponse();
+
+        // Assert
+        assertEquals("MISS", response.getHeader(CatalogResponseCacheFilter.CACHE_HEADER));
+        assertTrue(response.getContentAsString().contains("\"price\":" + (originalPrice + 7)));
+
+        // Restore the shared fixture
+        booksService.updateBook(book.getId(), null, null, null, originalPrice, null, null, null, null, null);
+    }
+
+    /**
+     * Verifies that moving a book to another genre invalidates that genre's listing, which did not contain
+     * the book, and leaves the cached response of a book in the genre alone.
+     */
+    @Test
+    void genreChangeShouldInvalidateOnlyAffectedResponses() throws Exception {
+        // Arrange
+        Books moved = booksRepository.save(new Books(9_990_000_000_401L, "Moving Verse", null, 10, null, "Cache Test Poetry", "Cache Test", 2020, 0));
+        Books staying = booksRepository.save(new Books(9_990_000_000_402L, "Staying Drama", null, 10, null, "Cache Test Drama", "Cache Test", 2020, 0));
+        mockMvc.perform(get("/api/v1/book/" + moved.getIsbn()));
+        mockMvc.perform(get("/api/v1/book/" + staying.getIsbn()));
+        mockMvc.perform(get("/api/v1/book/genre/Cache Test Drama"));
+
+        // Act
+        booksService.updateBook(moved.getId(), null, null, null, null, null, "Cache Test Drama", null, null, null);
+        MockHttpServletResponse movedResponse = mockMvc.perform(get("/api/v1/book/" + moved.getIsbn())).andReturn().getResponse();
+        MockHttpServletResponse genreResponse = mockMvc.perform(get("/api/v1/book/genre/Cache Test Drama")).andReturn().getResponse();
+        MockHttpServletResponse stayingResponse = mockMvc.perform(get("/api/v1/book/" + staying.getIsbn())).andReturn().getResponse();
+
+        // Assert
+        assertEquals("MISS", movedResponse.getHeader(CatalogResponseCacheFilter.CACHE_HEADER));
+        assertEquals("MISS", genreResponse.getHeader(CatalogResponseCacheFilter.CACHE_HEADER));
+        assertTrue(genreResponse.getContentAsString().contains("Moving Verse"));
+        assertEquals("HIT", stayingResponse.getHeader(CatalogResponseCacheFilter.CACHE_HEADER));
+    }
+}
@@ -0,0 +1,160 @@
+package com.portfolio.davidreyes.booksapi.books;
+
+import com.portfolio.davidreyes.booksapi.author.Author;
+import com.portfolio.davidreyes.booksapi.comment.CommentService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for conditional GETs of catalog resources.
+ * Verifies that matching validators yield 304 Not Modified, without loading the books, and that changes to
+ * a book yield a new ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentService commentService;
+
+    /**
+     * Clears the second-level cache, which other test contexts do not update when they change the shared database.
+     */
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * Verifies that a book requested with its current ETag is answered with 304 and no body.
+     */
+    @Test
+    void getBookShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        MockHttpServletResponse first = mockMvc.perform(get("/api/v1/book/" + book.getIsbn()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        // Act
+        MockHttpServletResponse second = mockMvc.perform(get("/api/v1/book/" + book.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse();
+
+        // Assert
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"), "strong ETag");
+        assertNotNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals(304, second.getStatus());
+        assertEquals("", second.getContentAsString());
+    }
+
+    /**
+     * Verifies that a comment on a book changes the ETag of the book and of the lists holding it.
+     */
+    @Test
+    void addCommentShouldChangeEtagOfBookAndLists() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        User user = new User();
+        user.setUsername("etag-reader");
+        user.setPassword("secret");
+        Long userId = userRepository.save(user).getId();
+        String bookEtag = etagOf("/api/v1/book/" + book.getIsbn());
+        String commentsEtag = etagOf("/api/v1/comments/by-book/" + book.getId());
+
+        // Act
+        commentService.addComment(userId, book.getId(), "Read it twice");
+        MockHttpServletResponse bookResponse = mockMvc.perform(get("/api/v1/book/" + book.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, bookEtag))
+                .andReturn().getResponse();
+        MockHttpServletResponse commentsResponse = mockMvc.perform(get("/api/v1/comments/by-book/" + book.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, commentsEtag))
+                .andReturn().getResponse();
+
+        // Assert
+        assertEquals(200, bookResponse.getStatus());
+        assertNotEquals(bookEtag, bookResponse.getHeader(HttpHeaders.ETAG));
+        assertTrue(bookResponse.getContentAsString().contains("Read it twice"));
+        assertEquals(200, commentsResponse.getStatus());
+        assertNotEquals(commentsEtag, commentsResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Verifies that an unchanged list requested with its current ETag is answered with 304.
+     */
+    @Test
+    void getTopSellersShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        // Arrange
+        String etag = etagOf("/api/v1/book/top-sellers");
+
+        // Act
+        int status = mockMvc.perform(get("/api/v1/book/top-sellers").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse().getStatus();
+
+        // Assert
+        assertEquals(304, status);
+    }
+
+    /**
+     * Verifies that a list whose client copy is current is answered with 304 before any book or author's book
+     * collection is loaded.
+     */
+    @Test
+    void getAuthorBooksShouldReturnNotModifiedWithoutLoadingBooks() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().stream().filter(b -> b.getAuthor() != null).findFirst().orElseThrow();
+        String uri = "/api/v1/authors/" + book.getAuthor().getId() + "/books";
+        String etag = etagOf(uri);
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long booksLoaded = statistics.getEntityStatistics(Books.class.getName()).getLoadCount();
+        long collectionsFetched = statistics.getCollectionStatistics(Author.class.getName() + ".books").getFetchCount();
+
+        // Act
+        int status = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse().getStatus();
+
+        // Assert
+        assertEquals(304, status);
+        assertEquals(booksLoaded, statistics.getEntityStatistics(Books.class.getName()).getLoadCount());
+        assertEquals(collectionsFetched, statistics.getCollectionStatistics(Author.class.getName() + ".books").getFetchCount());
+    }
+
+    /**
+     * Requests a resource and returns its ETag.
+     */
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
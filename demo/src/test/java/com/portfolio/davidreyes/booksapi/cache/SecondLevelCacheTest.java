@@ -0,0 +1,106 @@
+package com.portfolio.davidreyes.booksapi.cache;
+
+import com.portfolio.davidreyes.booksapi.author.Author;
+import com.portfolio.davidreyes.booksapi.author.AuthorRepository;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Hibernate second-level cache.
+ * Verifies that books and authors are served from their regions, that bulk updates invalidate them,
+ * and that application contexts in the same JVM do not share them.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheRegionsEndpoint cacheRegionsEndpoint;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    /**
+     * Verifies that loading a book and its author a second time hits their regions.
+     */
+    @Test
+    void findByIdShouldHitCacheAfterFirstLoad() {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        Long authorId = transactionTemplate.execute(status -> booksRepository.findById(book.getId()).orElseThrow().getAuthor().getId());
+        long bookHits = cacheRegionsEndpoint.regions().get("books").hits();
+
+        // Act
+        booksRepository.findById(book.getId());
+        Author author = authorRepository.findById(authorId).orElseThrow();
+        int authorBooks = transactionTemplate.execute(status -> authorRepository.findById(authorId).orElseThrow().getBooks().size());
+        int authorBooksAgain = transactionTemplate.execute(status -> authorRepository.findById(authorId).orElseThrow().getBooks().size());
+
+        // Assert
+        assertNotNull(author);
+        assertEquals(authorBooks, authorBooksAgain);
+        assertTrue(cacheRegionsEndpoint.regions().get("books").hits() > bookHits);
+        assertTrue(cacheRegionsEndpoint.regions().get("authors").hits() > 0);
+        assertTrue(cacheRegionsEndpoint.regions().get("author-books").hits() > 0);
+    }
+
+    /**
+     * Verifies that a JPQL bulk update is visible to subsequent loads of a cached book.
+     */
+    @Test
+    void bulkUpdateShouldInvalidateCachedBooks() {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        booksRepository.findById(book.getId());
+        int originalPrice = book.getPrice();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Books b SET b.price = :price WHERE b.id = :id")
+                .setParameter("price", originalPrice + 1)
+                .setParameter("id", book.getId())
+                .executeUpdate());
+        Books reloaded = booksRepository.findById(book.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(originalPrice + 1, reloaded.getPrice());
+
+        // Restore the shared fixture
+        reloaded.setPrice(originalPrice);
+        booksRepository.save(reloaded);
+    }
+
+    /**
+     * Verifies that another application context, on its own database, gets its own cache regions.
+     */
+    @Test
+    void otherContextShouldNotShareCacheManager() {
+        // Act
+        try (CacheManager other = new SecondLevelCacheConfig().hibernateCacheManager()) {
+
+            // Assert
+            assertNotSame(hibernateCacheManager, other);
+            assertNotNull(other.getCache("books"));
+        }
+    }
+}
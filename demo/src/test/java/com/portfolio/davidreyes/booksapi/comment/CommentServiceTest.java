@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +34,9 @@ class CommentServiceTest {
     @Mock
     private BooksRepository booksRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -61,7 +65,7 @@ class CommentServiceTest {
         mockBook.setId(bookId);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(booksRepository.findById(bookId)).thenReturn(Optional.of(mockBook));
+        when(booksRepository.findByIdForUpdate(bookId)).thenReturn(Optional.of(mockBook));
 
         // Act
         commentService.addComment(userId, bookId, commentText);
@@ -120,7 +124,7 @@ class CommentServiceTest {
         mockUser.setId(userId);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(booksRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(booksRepository.findByIdForUpdate(bookId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> commentService.addComment(userId, bookId, commentText));
@@ -0,0 +1,257 @@
+package com.portfolio.davidreyes.booksapi.inventory;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.order.OrderService;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import com.portfolio.davidreyes.booksapi.wishlist.Wishlist;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistRepository;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the stock of books over the seeded catalog.
+ * Verifies that concurrent reservations of a hot title never oversell it, that carts, books moved
+ * from wishlists and checkouts reserve, release and sell copies, that checkouts on several instances cannot
+ * oversell a book, and that expired reservations give their copies back.
+ * Sweeps and reconciliation are effectively off, so they only run when the tests call them.
+ */
+@SpringBootTest(properties = {
+        "booksapi.outbox.poll-interval=PT1H",
+        "booksapi.sales.flush-interval=PT1H",
+        "booksapi.inventory.sweep-interval=PT1H",
+        "booksapi.inventory.reconcile-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class InventoryServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private BookStockRepository bookStockRepository;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Verifies that thousands of concurrent reservations of one title succeed exactly as often as there
+     * are copies, and that the database and the reservation metrics agree.
+     */
+    @Test
+    void concurrentReservationsShouldNeverOversellHotTitle() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Launch Title", null, 30, null, "Fiction", "Inventory Test", 2020, 0));
+        inventoryService.restock(book.getId(), 500);
+        List<User> users = userRepository.findAll(PageRequest.of(0, 50)).getContent();
+        double reservedBefore = meterRegistry.counter("booksapi.inventory.reservations", "outcome", "reserved").count();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                Long userId = users.get(i % users.size()).getId();
+                attempts.add(executor.submit(() -> {
+                    try {
+                        inventoryService.reserve(userId, book.getId());
+                        reserved.incrementAndGet();
+                    } catch (OutOfStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        inventoryService.reconcile();
+
+        // Assert
+        assertEquals(500, reserved.get());
+        assertEquals(1500, rejected.get());
+        assertEquals(0, inventoryService.getStock(book.getId()).available());
+        assertEquals(0L, bookStockRepository.findAvailable(book.getId(), Instant.now()).orElseThrow().getAvailable());
+        assertEquals(500, meterRegistry.counter("booksapi.inventory.reservations", "outcome", "reserved").count() - reservedBefore);
+    }
+
+    /**
+     * Verifies that a book in a cart holds its copy until it is taken out, that a cart cannot take a copy
+     * that is not there, and that a checkout sells the copy reserved for the cart.
+     */
+    @Test
+    void cartsShouldReserveAndCheckoutShouldSell() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Last Copy", null, 15, null, "Fiction", "Inventory Test", 2020, 0));
+        inventoryService.restock(book.getId(), 1);
+        List<User> users = userRepository.findAll(PageRequest.of(3, 10)).getContent();
+        Long first = users.get(0).getId();
+        Long second = users.get(1).getId();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/shopping-cart/add-to-cart").param("userId", first.toString()).param("bookId", book.getId().toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/shopping-cart/add-to-cart").param("userId", second.toString()).param("bookId", book.getId().toString()))
+                .andExpect(status().isConflict());
+        shoppingCartService.deleteBookFromUserShoppingCart(first, book.getId());
+        shoppingCartService.addBookToUserShoppingCart(second, book.getId());
+        orderService.checkout(second);
+        inventoryService.reconcile();
+
+        assertEquals(0, inventoryService.getStock(book.getId()).available());
+        assertEquals(0, bookStockRepository.findById(book.getId()).orElseThrow().getOnHand());
+        assertTrue(reservationRepository.findActive(second, book.getId(), Instant.now()).isEmpty());
+    }
+
+    /**
+     * Verifies that a checkout on another instance, whose counter still counts a copy this instance sold,
+     * is refused by the database rather than overselling the book.
+     */
+    @Test
+    void checkoutShouldNotOversellCopyReservedByAnotherInstance() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Two Instances", null, 15, null, "Fiction", "Inventory Test", 2020, 0));
+        inventoryService.restock(book.getId(), 1);
+        InventoryService otherInstance = new InventoryService(bookStockRepository, reservationRepository, booksRepository,
+                transactionManager, new SimpleMeterRegistry(), Duration.ofMinutes(15));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<User> users = userRepository.findAll(PageRequest.of(3, 10)).getContent();
+        Long first = users.get(6).getId();
+        Long second = users.get(7).getId();
+        otherInstance.getStock(book.getId());
+
+        // Act
+        shoppingCartService.addBookToUserShoppingCart(first, book.getId());
+        orderService.checkout(first);
+        transactionTemplate.executeWithoutResult(status -> otherInstance.reserve(second, book.getId()));
+
+        // Assert
+        assertThrows(OutOfStockException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                otherInstance.confirm(second, book.getId(), Long.MAX_VALUE)));
+        assertEquals(1, bookStockRepository.findById(book.getId()).orElseThrow().getHeld());
+        inventoryService.reconcile();
+        BookStock stock = bookStockRepository.findById(book.getId()).orElseThrow();
+        assertEquals(0, stock.getOnHand());
+        assertEquals(0, stock.getHeld());
+    }
+
+    /**
+     * Verifies that a book moved from a wishlist to the cart reserves its copy like a book added to the cart,
+     * and that the move is rejected with 409 once no copy is left.
+     */
+    @Test
+    void movingBookFromWishlistToCartShouldReserve() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Wished For", null, 18, null, "Fiction", "Inventory Test", 2020, 0));
+        inventoryService.restock(book.getId(), 1);
+        List<User> users = userRepository.findAll(PageRequest.of(3, 10)).getContent();
+        Long first = users.get(4).getId();
+        Long second = users.get(5).getId();
+        Long firstWishlist = createWishlistWith(first, book.getId());
+        Long secondWishlist = createWishlistWith(second, book.getId());
+
+        // Act
+        wishlistService.removeBookFromWishlistAndAddToCart(firstWishlist, book.getId());
+
+        // Assert
+        assertEquals(0, inventoryService.getStock(book.getId()).available());
+        assertEquals(1, reservationRepository.findActive(first, book.getId(), Instant.now()).size());
+        mockMvc.perform(post("/api/v1/wishlists/wishlist/" + secondWishlist + "/remove-book/" + book.getId() + "/to-cart"))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Verifies that an expired reservation gives its copy back to be reserved again.
+     */
+    @Test
+    void expiredReservationShouldBeReleased() {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Abandoned Cart", null, 15, null, "Fiction", "Inventory Test", 2020, 0));
+        inventoryService.restock(book.getId(), 1);
+        List<User> users = userRepository.findAll(PageRequest.of(3, 10)).getContent();
+        Long first = users.get(2).getId();
+        Long second = users.get(3).getId();
+        inventoryService.reserve(first, book.getId());
+        StockReservation reservation = reservationRepository.findActive(first, book.getId(), Instant.now()).get(0);
+        reservation.setExpiresAt(Instant.now().minus(Duration.ofMinutes(1)));
+        reservationRepository.save(reservation);
+        int availableBeforeSweep = inventoryService.getStock(book.getId()).available();
+
+        // Act
+        inventoryService.releaseExpired();
+        int availableAfterSweep = inventoryService.getStock(book.getId()).available();
+        inventoryService.reserve(second, book.getId());
+
+        // Assert
+        assertEquals(0, availableBeforeSweep);
+        assertEquals(1, availableAfterSweep);
+        assertEquals(0, inventoryService.getStock(book.getId()).available());
+        assertThrows(OutOfStockException.class, () -> inventoryService.reserve(first, book.getId()));
+    }
+
+    /**
+     * Creates a wishlist for a user with one book in it and returns its ID.
+     */
+    private Long createWishlistWith(Long userId, Long bookId) {
+        String name = "Inventory Test " + userId;
+        wishlistService.createWishlist(name, userId);
+        Wishlist wishlist = wishlistRepository.findByNameAndUserId(name, userId).orElseThrow();
+        wishlistService.addBookToWishlist(wishlist.getId(), bookId);
+        return wishlist.getId();
+    }
+}
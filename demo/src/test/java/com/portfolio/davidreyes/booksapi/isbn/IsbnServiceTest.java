@@ -0,0 +1,68 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IsbnService class.
+ * Verifies bulk validation of line-based feeds and checking of ISBN lists.
+ */
+class IsbnServiceTest {
+
+    /**
+     * Verifies that a feed is counted line by line, skipping blank lines and reporting invalid line numbers.
+     */
+    @Test
+    void validateLinesShouldCountValidAndInvalidIsbns() {
+        // Arrange
+        IsbnService service = new IsbnService(10);
+        InputStream feed = new ByteArrayInputStream(
+                "978-0-306-40615-7\r\n0-8044-2957-X\n\nnot an isbn\n9780306406158\n0306406152".getBytes(StandardCharsets.US_ASCII));
+
+        // Act
+        IsbnValidationReport report = service.validateLines(feed);
+
+        // Assert
+        assertEquals(new IsbnValidationReport(5, 3, 2, List.of(4L, 5L)), report);
+    }
+
+    /**
+     * Verifies that only the configured number of invalid line numbers is reported.
+     */
+    @Test
+    void validateLinesShouldCapReportedInvalidLines() {
+        // Arrange
+        IsbnService service = new IsbnService(2);
+        InputStream feed = new ByteArrayInputStream("1\n2\n3\n4\n".getBytes(StandardCharsets.US_ASCII));
+
+        // Act
+        IsbnValidationReport report = service.validateLines(feed);
+
+        // Assert
+        assertEquals(4, report.invalid());
+        assertEquals(List.of(1L, 2L), report.invalidLines());
+    }
+
+    /**
+     * Verifies that checked ISBNs carry their normalized forms.
+     */
+    @Test
+    void checkShouldReturnNormalizedForms() {
+        // Arrange
+        IsbnService service = new IsbnService(10);
+
+        // Act
+        List<IsbnCheck> results = service.check(List.of("0-8044-2957-X", "979-10-90636-07-1", "12345"));
+
+        // Assert
+        assertEquals(new IsbnCheck("0-8044-2957-X", true, 9780804429573L, "080442957X"), results.get(0));
+        assertEquals(new IsbnCheck("979-10-90636-07-1", true, 9791090636071L, null), results.get(1));
+        assertFalse(results.get(2).valid());
+    }
+}
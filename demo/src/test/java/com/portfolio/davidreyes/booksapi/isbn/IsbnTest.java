@@ -0,0 +1,89 @@
+package com.portfolio.davidreyes.booksapi.isbn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Isbn class.
+ * Verifies check digits, parsing of written ISBNs, numeric validation and conversion between ISBN-10 and ISBN-13.
+ */
+class IsbnTest {
+
+    /**
+     * Verifies the check digits of known ISBNs, including an ISBN-10 whose check digit is X.
+     */
+    @Test
+    void checkDigitsShouldMatchKnownIsbns() {
+        // Act & Assert
+        assertEquals(7, Isbn.isbn13CheckDigit(978030640615L));
+        assertEquals(2, Isbn.isbn10CheckDigit(30640615L));
+        assertEquals(10, Isbn.isbn10CheckDigit(80442957L));
+    }
+
+    /**
+     * Verifies that hyphenated ISBN-10s and ISBN-13s parse to the same canonical ISBN-13.
+     */
+    @Test
+    void parseShouldNormalizeWrittenIsbns() {
+        // Act & Assert
+        assertEquals(9780306406157L, Isbn.parse("978-0-306-40615-7"));
+        assertEquals(9780306406157L, Isbn.parse("0-306-40615-2"));
+        assertEquals(9780306406157L, Isbn.parse(" 0306406152 "));
+        assertEquals(9780804429573L, Isbn.parse("0-8044-2957-X"));
+        assertEquals(9780804429573L, Isbn.parse("080442957x"));
+    }
+
+    /**
+     * Verifies that malformed input and wrong check digits are rejected.
+     */
+    @Test
+    void parseShouldRejectInvalidIsbns() {
+        // Act & Assert
+        assertEquals(Isbn.INVALID, Isbn.parse("978-0-306-40615-8"));
+        assertEquals(Isbn.INVALID, Isbn.parse("0-306-40615-3"));
+        assertEquals(Isbn.INVALID, Isbn.parse("X-306-40615-2"));
+        assertEquals(Isbn.INVALID, Isbn.parse("0-8044-2957-X1"));
+        assertEquals(Isbn.INVALID, Isbn.parse("123-0-306-40615-7"));
+        assertEquals(Isbn.INVALID, Isbn.parse("ISBN 9780306406157"));
+        assertEquals(Isbn.INVALID, Isbn.parse(""));
+        assertEquals(Isbn.INVALID, Isbn.parse(null));
+    }
+
+    /**
+     * Verifies that numeric ISBN-10s that lost their leading zero are still accepted.
+     */
+    @Test
+    void validateShouldAcceptIsbn10WithoutLeadingZeros() {
+        // Act & Assert
+        assertTrue(Isbn.isValid(306406152L));
+        assertTrue(Isbn.isValid(9780306406157L));
+        assertDoesNotThrow(() -> Isbn.validate(306406152L));
+        assertEquals(9780306406157L, Isbn.toIsbn13(306406152L));
+    }
+
+    /**
+     * Verifies the errors reported for invalid numeric ISBNs.
+     */
+    @Test
+    void validateShouldRejectInvalidNumericIsbns() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Isbn.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> Isbn.validate(0L));
+        assertThrows(IllegalArgumentException.class, () -> Isbn.validate(12345678901L));
+        assertThrows(IllegalArgumentException.class, () -> Isbn.validate(9780306406158L));
+        assertThrows(IllegalArgumentException.class, () -> Isbn.validate(306406153L));
+    }
+
+    /**
+     * Verifies conversion from ISBN-13 to ISBN-10, and that 979-prefixed ISBNs have no ISBN-10.
+     */
+    @Test
+    void toIsbn10ShouldRestoreLeadingZerosAndCheckDigitX() {
+        // Act & Assert
+        assertEquals("0306406152", Isbn.toIsbn10(9780306406157L));
+        assertEquals("080442957X", Isbn.toIsbn10(9780804429573L));
+        assertTrue(Isbn.isValidIsbn13(9791090636071L));
+        assertThrows(IllegalArgumentException.class, () -> Isbn.toIsbn10(9791090636071L));
+    }
+}
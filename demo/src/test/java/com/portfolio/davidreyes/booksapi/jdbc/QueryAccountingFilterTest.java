@@ -0,0 +1,72 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Tests for the per-request SQL accounting.
+ * Verifies the response headers, the detection of repeated statements and the redaction of logged SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryAccountingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Verifies that a request reading from the database reports its statements and database time.
+     */
+    @Test
+    void responseShouldCarryQueryCountAndServerTiming() throws Exception {
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/book/top-sellers")).andReturn().getResponse();
+
+        // Assert
+        assertTrue(Integer.parseInt(response.getHeader(QueryAccountingFilter.QUERY_COUNT_HEADER)) >= 1);
+        assertTrue(response.getHeader(QueryAccountingFilter.SERVER_TIMING_HEADER).startsWith("db;dur="));
+    }
+
+    /**
+     * Verifies that only statements executed at least the threshold number of times are reported.
+     */
+    @Test
+    void repeatedStatementsShouldReportStatementsAboveThreshold() {
+        // Arrange
+        RequestQueryStats stats = new RequestQueryStats();
+        stats.statementFinished(List.of("select * from books"));
+        for (int i = 0; i < 3; i++) {
+            stats.statementFinished(List.of("select * from author where id=?"));
+        }
+
+        // Act
+        Map<String, Integer> repeated = stats.repeatedStatements(3);
+
+        // Assert
+        assertEquals(4, stats.statements());
+        assertEquals(Map.of("select * from author where id=?", 3), repeated);
+    }
+
+    /**
+     * Verifies that literal values are removed from logged statements while identifiers are kept.
+     */
+    @Test
+    void redactShouldReplaceLiterals() {
+        // Act
+        String redacted = QueryAccountingListener.redact(
+                "select u1_0.id from users u1_0 where u1_0.email='a''b@example.com' and u1_0.id>42 fetch first ? rows only");
+
+        // Assert
+        assertEquals("select u1_0.id from users u1_0 where u1_0.email=? and u1_0.id>? fetch first ? rows only", redacted);
+    }
+}
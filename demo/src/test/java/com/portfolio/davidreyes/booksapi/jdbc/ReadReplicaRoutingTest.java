@@ -0,0 +1,140 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for read replica routing, with two in-memory H2 databases as the primary and the replica.
+ * The replica is a snapshot of the primary taken before each test, so changes made afterwards play the part
+ * of writes the replica has not applied yet.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "booksapi.datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "booksapi.datasource.replica.max-lag=1m",
+        "booksapi.jpa.second-level-cache.enabled=false",
+        "booksapi.response-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    static Path snapshotDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Copies the primary into the replica.
+     */
+    @BeforeEach
+    void replicate() throws SQLException {
+        String snapshot = snapshotDirectory.resolve("snapshot.sql").toString().replace("'", "''");
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + snapshot + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + snapshot + "'");
+        }
+    }
+
+    /**
+     * Verifies that a read-only request is served by the replica, which has not seen a later change on the primary.
+     */
+    @Test
+    void readOnlyRequestShouldBeServedByReplica() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        updatePriceOnPrimary(book.getId(), book.getPrice() + 100);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/book/" + book.getIsbn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(book.getPrice()));
+    }
+
+    /**
+     * Verifies that a write returns a consistency token and that only requests sending it back read the
+     * write from the primary.
+     */
+    @Test
+    void consistencyTokenShouldRouteReadsToPrimaryAfterWrite() throws Exception {
+        // Arrange
+        Books book = booksRepository.findAll().get(0);
+        int newPrice = book.getPrice() + 200;
+
+        // Act
+        String token = mockMvc.perform(put("/api/v1/book/" + book.getId()).param("price", Integer.toString(newPrice)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ReadYourWritesFilter.CONSISTENCY_TOKEN_HEADER);
+
+        // Assert
+        assertNotNull(token);
+        mockMvc.perform(get("/api/v1/book/" + book.getIsbn()).header(ReadYourWritesFilter.CONSISTENCY_TOKEN_HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(newPrice));
+        mockMvc.perform(get("/api/v1/book/" + book.getIsbn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(book.getPrice()));
+    }
+
+    /**
+     * Verifies that the primary and replica pools publish their own connection metrics once they serve connections.
+     */
+    @Test
+    void poolsShouldPublishMetricsPerPool() throws Exception {
+        // Act
+        Books book = booksRepository.findAll().get(0);
+        mockMvc.perform(put("/api/v1/book/" + book.getId()).param("price", Integer.toString(book.getPrice())))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+    }
+
+    /**
+     * Changes a book's price on the primary only.
+     */
+    private static void updatePriceOnPrimary(Long bookId, int price) throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             PreparedStatement statement = primary.prepareStatement("UPDATE books SET price = ? WHERE id = ?")) {
+            statement.setInt(1, price);
+            statement.setLong(2, bookId);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.portfolio.davidreyes.booksapi.jdbc;
+
+import com.portfolio.davidreyes.booksapi.DemoApplication;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.comment.CommentRepository;
+import com.portfolio.davidreyes.booksapi.inventory.BookStockRepository;
+import com.portfolio.davidreyes.booksapi.inventory.StockReservationRepository;
+import com.portfolio.davidreyes.booksapi.order.OrderLineRepository;
+import com.portfolio.davidreyes.booksapi.order.OrderRepository;
+import com.portfolio.davidreyes.booksapi.rating.RatingRepository;
+import com.portfolio.davidreyes.booksapi.recommendation.InteractionRepository;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartRepository;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistBookRepository;
+import com.portfolio.davidreyes.booksapi.wishlist.WishlistRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the query plans of the repository queries over the seeded catalog.
+ * Each query is run once while its SQL and parameters are recorded, then explained with the same
+ * parameters; a plan that scans a whole table fails the test.
+ */
+@SpringBootTest(classes = {DemoApplication.class, RepositoryQueryPlanTest.RecordingConfig.class})
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private WishlistBookRepository wishlistBookRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InteractionRepository interactionRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookStockRepository bookStockRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    private Books book;
+
+    /**
+     * Loads the first seeded book, whose attributes are the query parameters.
+     */
+    @BeforeEach
+    void setUp() {
+        RecordingConfig.QUERIES.setRecording(false);
+        book = transactionTemplate.execute(status -> {
+            Books found = booksRepository.findById(1L).orElseThrow();
+            found.getAuthor().getId();
+            return found;
+        });
+    }
+
+    /**
+     * Verifies that the queries of BooksRepository use indexes.
+     */
+    @Test
+    void booksQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> booksRepository.findBookByIsbn(book.getIsbn())));
+        scans.addAll(explain(() -> transactionTemplate.execute(status -> booksRepository.findByIdForUpdate(book.getId()))));
+        scans.addAll(explain(() -> transactionTemplate.execute(status -> booksRepository.findAllByIdForUpdate(List.of(book.getId(), 2L)))));
+        scans.addAll(explain(() -> booksRepository.findByAuthorId(book.getAuthor().getId())));
+        scans.addAll(explain(() -> booksRepository.findByGenre(book.getGenre())));
+        scans.addAll(explain(() -> booksRepository.findIdsByGenre(book.getGenre())));
+        scans.addAll(explain(() -> booksRepository.findTopSellers(PageRequest.of(0, 10))));
+        scans.addAll(explain(() -> booksRepository.findTopSellerIds(PageRequest.of(0, 10))));
+        scans.addAll(explain(() -> booksRepository.findByRatingGreaterThanEqual(4.5)));
+        scans.addAll(explain(() -> booksRepository.findIdsByRatingGreaterThanEqual(4.5)));
+        scans.addAll(explain(() -> booksRepository.findByPublisher(book.getPublisher())));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that the queries of RatingRepository and CommentRepository use indexes.
+     */
+    @Test
+    void ratingAndCommentQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> ratingRepository.findByBookId(book.getId())));
+        scans.addAll(explain(() -> commentRepository.findByBookId(book.getId())));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that the queries of WishlistRepository and WishlistBookRepository use indexes.
+     */
+    @Test
+    void wishlistQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> wishlistRepository.findByNameAndUserId("reader1's wishlist", 1L)));
+        scans.addAll(explain(() -> wishlistRepository.findSummariesByUserId(1L)));
+        scans.addAll(explain(() -> wishlistBookRepository.findBooksByWishlistId(1L, PageRequest.of(0, 2))));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that the queries of ShoppingCartRepository and UserRepository use indexes.
+     * Streaming every username is a full read by design and is left out.
+     */
+    @Test
+    void shoppingCartAndUserQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> shoppingCartRepository.findByUserId(1L)));
+        scans.addAll(explain(() -> transactionTemplate.execute(status -> shoppingCartRepository.findByUserIdForUpdate(1L))));
+        scans.addAll(explain(() -> shoppingCartRepository.findBooksInUserShoppingCart(1L)));
+        scans.addAll(explain(() -> userRepository.findByUsername("reader1")));
+        scans.addAll(explain(() -> userRepository.existsByUsername("reader1")));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that reading the books of one user for the recommendations uses indexes.
+     * Reading the interactions of every user is a full read by design and is left out.
+     */
+    @Test
+    void interactionQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = explain(() -> interactionRepository.findBooksOfUser(1L));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that the queries of OrderRepository and OrderLineRepository use indexes.
+     */
+    @Test
+    void orderQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> orderRepository.findWithLinesById(1L)));
+        scans.addAll(explain(() -> orderRepository.findUncountedIds(Instant.now(), PageRequest.of(0, 500))));
+        scans.addAll(explain(() -> orderLineRepository.sumCopiesByBook(List.of(1L, 2L))));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Verifies that the queries of BookStockRepository and StockReservationRepository use indexes.
+     * Computing the stock of every tracked book is a full read by design and is left out.
+     */
+    @Test
+    void inventoryQueriesShouldNotScanTables() {
+        // Act
+        List<String> scans = new ArrayList<>();
+        scans.addAll(explain(() -> bookStockRepository.findAvailable(1L, Instant.now())));
+        scans.addAll(explain(() -> stockReservationRepository.findActive(1L, 1L, Instant.now())));
+        scans.addAll(explain(() -> stockReservationRepository.findExpired(Instant.now(), PageRequest.of(0, 500))));
+        scans.addAll(explain(() -> stockReservationRepository.findConfirmed(PageRequest.of(0, 500))));
+
+        // Assert
+        assertEquals(List.of(), scans);
+    }
+
+    /**
+     * Runs a repository call, then explains every select it issued.
+     *
+     * @return The statements with their plans whose plans scan a whole table.
+     */
+    private List<String> explain(Runnable call) {
+        RecordingConfig.QUERIES.clear();
+        RecordingConfig.QUERIES.setRecording(true);
+        try {
+            call.run();
+        } finally {
+            RecordingConfig.QUERIES.setRecording(false);
+        }
+        List<RecordedQuery> queries = RecordingConfig.QUERIES.queries();
+        assertFalse(queries.isEmpty(), "The call issued no query");
+
+        List<String> scans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            String explain = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()) ? "EXPLAIN (COSTS OFF) " : "EXPLAIN ";
+            for (RecordedQuery query : queries) {
+                try (PreparedStatement statement = connection.prepareStatement(explain + query.sql())) {
+                    for (ParameterSetOperation parameter : query.parameters()) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    String plan = plan(statement);
+                    if (isSequentialScan(plan)) {
+                        scans.add(query.sql() + "\n" + plan);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Explaining the queries failed", e);
+        }
+        return scans;
+    }
+
+    /**
+     * Reads the rows of a plan into one text.
+     */
+    private static String plan(PreparedStatement statement) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Recognizes a full table scan in the plans of PostgreSQL and H2.
+     */
+    private static boolean isSequentialScan(String plan) {
+        return plan.contains("Seq Scan") || plan.contains(".tableScan");
+    }
+
+    /**
+     * A select with the parameters it was executed with.
+     */
+    record RecordedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Records the selects issued while recording is on, by the thread that turned it on, so that
+     * scheduled background work is left out.
+     */
+    static class QueryRecorder implements QueryExecutionListener {
+
+        private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+        private volatile Thread recording;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (recording != Thread.currentThread()) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                if (queryInfo.getQuery().trim().toLowerCase().startsWith("select")) {
+                    List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                            ? List.of() : List.copyOf(queryInfo.getParametersList().get(0));
+                    queries.add(new RecordedQuery(queryInfo.getQuery(), parameters));
+                }
+            }
+        }
+
+        void setRecording(boolean recording) {
+            this.recording = recording ? Thread.currentThread() : null;
+        }
+
+        void clear() {
+            queries.clear();
+        }
+
+        List<RecordedQuery> queries() {
+            return List.copyOf(queries);
+        }
+    }
+
+    /**
+     * Wraps the data source so that the recorder sees every statement the repositories run.
+     */
+    @TestConfiguration
+    static class RecordingConfig {
+
+        static final QueryRecorder QUERIES = new QueryRecorder();
+
+        @Bean
+        static BeanPostProcessor queryRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return ProxyDataSourceBuilder.create(beanName, dataSource).listener(QUERIES).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
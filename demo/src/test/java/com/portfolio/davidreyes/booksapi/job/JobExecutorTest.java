@@ -0,0 +1,274 @@
+package com.portfolio.davidreyes.booksapi.job;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.books.RemoveDuplicateBooksJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for background jobs over the seeded catalog.
+ * Verifies that bulk operations are accepted as jobs, run in chunks, resume from their checkpoint, are processed
+ * once when two workers race on them, and can be cancelled.
+ * Polling is effectively off, so jobs only start when the tests dispatch them.
+ */
+@SpringBootTest(properties = {
+        "booksapi.jobs.chunk-size=50",
+        "booksapi.jobs.poll-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class JobExecutorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExecutor jobExecutor;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifies that removing duplicate books answers 202 with the job, which then deletes the duplicates.
+     */
+    @Test
+    void removeDuplicateBooksShouldBeAcceptedAndRunAsJob() throws Exception {
+        // Arrange
+        Books kept = booksRepository.save(new Books(null, "Without ISBN", null, 10, null, "Fiction", "Job Test", 2020, 0));
+        Books duplicate = booksRepository.save(new Books(null, "Without ISBN", null, 10, null, "Fiction", "Job Test", 2020, 0));
+
+        // Act
+        String location = mockMvc.perform(post("/api/v1/book/remove-duplicates"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value(RemoveDuplicateBooksJob.TYPE))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        Long jobId = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        Job job = awaitFinished(jobId);
+
+        // Assert
+        assertEquals("/api/v1/jobs/" + jobId, location);
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(job.getTotal(), job.getProcessed());
+        assertEquals(1, job.getAffected());
+        assertTrue(booksRepository.existsById(kept.getId()));
+        assertFalse(booksRepository.existsById(duplicate.getId()));
+        booksRepository.deleteById(kept.getId());
+    }
+
+    /**
+     * Verifies that a running job whose heartbeat stopped is resumed after its checkpoint.
+     */
+    @Test
+    void interruptedJobShouldResumeAfterItsCheckpoint() throws Exception {
+        // Arrange
+        List<Books> done = booksRepository.findByIdGreaterThanOrderById(Long.MIN_VALUE, PageRequest.of(0, 100));
+        long total = booksRepository.count();
+        Job job = new Job();
+        job.setType(RemoveDuplicateBooksJob.TYPE);
+        job.setParameters(Map.of());
+        job.setStatus(JobStatus.RUNNING);
+        job.setCheckpoint(done.get(done.size() - 1).getId());
+        job.setTotal(total);
+        job.setProcessed(done.size());
+        job.setCreatedAt(Instant.now().minus(Duration.ofHours(1)));
+        job.setHeartbeatAt(Instant.now().minus(Duration.ofHours(1)));
+        jobRepository.save(job);
+
+        // Act
+        jobExecutor.dispatch();
+        Job resumed = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(JobStatus.SUCCEEDED, resumed.getStatus());
+        assertEquals(total, resumed.getProcessed());
+        assertEquals(booksRepository.findAll().stream().mapToLong(Books::getId).max().orElseThrow(), resumed.getCheckpoint());
+    }
+
+    /**
+     * Verifies that when a worker's chunk outlasts the stale time and another worker takes the job over,
+     * the first worker's chunk is rolled back instead of applied a second time.
+     */
+    @Test
+    void slowWorkerShouldNotRepeatChunkOfReclaimedJob() throws Exception {
+        // Arrange
+        List<Long> bookIds = List.of(
+                booksRepository.save(new Books(9_990_000_000_501L, "Raced One", null, 10, null, "Fiction", "Job Test", 2020, 0)).getId(),
+                booksRepository.save(new Books(9_990_000_000_502L, "Raced Two", null, 10, null, "Fiction", "Job Test", 2020, 0)).getId());
+        CountDownLatch slowChunkStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowChunk = new CountDownLatch(1);
+        CountDownLatch slowChunkEnded = new CountDownLatch(1);
+        JobHandler handler = new PriceIncrementHandler(bookIds, slowChunkStarted, releaseSlowChunk, slowChunkEnded);
+        Duration staleAfter = Duration.ofMillis(200);
+        JobExecutor slowWorker = new JobExecutor(jobRepository, List.of(handler), transactionManager, 1, 1, staleAfter);
+        JobExecutor otherWorker = new JobExecutor(jobRepository, List.of(handler), transactionManager, 1, 1, staleAfter);
+        Job job = new Job();
+        job.setType(handler.type());
+        job.setParameters(Map.of());
+        job.setStatus(JobStatus.QUEUED);
+        job.setCreatedAt(Instant.now());
+        jobRepository.save(job);
+
+        // Act
+        try {
+            slowWorker.dispatch();
+            assertTrue(slowChunkStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(staleAfter.multipliedBy(2).toMillis());
+            otherWorker.dispatch();
+            Job finished = awaitFinished(job.getId());
+            releaseSlowChunk.countDown();
+            assertTrue(slowChunkEnded.await(10, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(JobStatus.SUCCEEDED, finished.getStatus());
+            assertEquals(2, jobRepository.findById(job.getId()).orElseThrow().getProcessed());
+            for (Long bookId : bookIds) {
+                assertEquals(11, jdbcTemplate.queryForObject("SELECT price FROM books WHERE id = ?", Integer.class, bookId));
+            }
+        } finally {
+            releaseSlowChunk.countDown();
+            slowWorker.stop();
+            otherWorker.stop();
+        }
+    }
+
+    /**
+     * Verifies that a cancelled queued job is never started.
+     */
+    @Test
+    void cancelShouldStopQueuedJob() throws Exception {
+        // Arrange
+        Job job = new Job();
+        job.setType(RemoveDuplicateBooksJob.TYPE);
+        job.setParameters(Map.of());
+        job.setStatus(JobStatus.QUEUED);
+        job.setCreatedAt(Instant.now());
+        jobRepository.save(job);
+
+        // Act
+        mockMvc.perform(post("/api/v1/jobs/" + job.getId() + "/cancel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        jobExecutor.dispatch();
+
+        // Assert
+        Job cancelled = jobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(0, cancelled.getProcessed());
+    }
+
+    /**
+     * Verifies that discounting the prices of a publisher without books is rejected before a job is queued.
+     */
+    @Test
+    void updatePriceByUnknownPublisherShouldReturnNotFound() throws Exception {
+        // Arrange
+        long jobs = jobRepository.count();
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/book/update-price-by-publisher")
+                        .param("publisher", "No Such Publisher")
+                        .param("discount", "10"))
+                .andExpect(status().isNotFound());
+        assertEquals(jobs, jobRepository.count());
+    }
+
+    /**
+     * A job that adds 1 to the price of each of a list of books, which is not idempotent.
+     * Its first chunk waits to be released, to outlast the stale time.
+     */
+    private class PriceIncrementHandler implements JobHandler {
+
+        private final List<Long> bookIds;
+        private final CountDownLatch slowChunkStarted;
+        private final CountDownLatch releaseSlowChunk;
+        private final CountDownLatch slowChunkEnded;
+        private final AtomicBoolean first = new AtomicBoolean(true);
+
+        PriceIncrementHandler(List<Long> bookIds, CountDownLatch slowChunkStarted, CountDownLatch releaseSlowChunk,
+                              CountDownLatch slowChunkEnded) {
+            this.bookIds = bookIds;
+            this.slowChunkStarted = slowChunkStarted;
+            this.releaseSlowChunk = releaseSlowChunk;
+            this.slowChunkEnded = slowChunkEnded;
+        }
+
+        @Override
+        public String type() {
+            return "price-increment-test";
+        }
+
+        @Override
+        public long count(Map<String, String> parameters) {
+            return bookIds.size();
+        }
+
+        @Override
+        public Chunk process(Map<String, String> parameters, Long checkpoint, int chunkSize) {
+            if (first.compareAndSet(true, false)) {
+                slowChunkStarted.countDown();
+                try {
+                    releaseSlowChunk.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        slowChunkEnded.countDown();
+                    }
+                });
+            }
+            List<Long> chunk = bookIds.stream().filter(id -> checkpoint == null || id > checkpoint).limit(chunkSize).toList();
+            chunk.forEach(id -> jdbcTemplate.update("UPDATE books SET price = price + 1 WHERE id = ?", id));
+            return new Chunk(chunk.isEmpty() ? checkpoint : chunk.get(chunk.size() - 1), chunk.size(), chunk.size());
+        }
+    }
+
+    /**
+     * Polls a job until it is no longer queued or running, failing after 30 seconds.
+     */
+    private Job awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            Job job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() != JobStatus.QUEUED && job.getStatus() != JobStatus.RUNNING) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        fail("Job " + jobId + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxDispatcher;
+import com.portfolio.davidreyes.booksapi.rating.RatingService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the top rated leaderboards over the seeded catalog.
+ * Verifies that new ratings reach the leaderboards through the outbox, that a rebuild counts no rating twice
+ * and misses none committed while it ran, and that the leaderboards are served per genre.
+ * Rebuilds and polling are effectively off, so the leaderboards only change when the tests rebuild them or dispatch the outbox.
+ */
+@SpringBootTest(properties = {
+        "booksapi.outbox.poll-interval=PT1H",
+        "booksapi.leaderboards.initial-delay=PT1H",
+        "booksapi.leaderboards.rebuild-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class LeaderboardServiceTest {
+
+    private static final String GENRE = "Leaderboard Test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private LeaderboardBuilder leaderboardBuilder;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Delivers the events of earlier tests and rebuilds the leaderboards from the database.
+     */
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher.dispatch();
+        leaderboardBuilder.rebuild();
+    }
+
+    /**
+     * Verifies that a book with many high ratings outranks a book with a single perfect one,
+     * and that rebuilding and replaying the outbox leaves the counts unchanged.
+     */
+    @Test
+    void manyHighRatingsShouldOutrankSinglePerfectRating() {
+        // Arrange
+        Books single = booksRepository.save(new Books(null, "One Vote", null, 10, null, GENRE, "Leaderboard Test", 2020, 0));
+        Books many = booksRepository.save(new Books(null, "Many Votes", null, 10, null, GENRE, "Leaderboard Test", 2020, 0));
+        leaderboardBuilder.rebuild();
+        List<User> users = userRepository.findAll(PageRequest.of(0, 10)).getContent();
+        ratingService.addRating(users.get(0).getId(), single.getId(), 5);
+        for (int i = 0; i < users.size(); i++) {
+            ratingService.addRating(users.get(i).getId(), many.getId(), i < 8 ? 5 : 4);
+        }
+
+        // Act
+        outboxDispatcher.dispatch();
+        List<RankedBook> top = leaderboardService.topRated(GENRE, 10);
+        leaderboardBuilder.rebuild();
+        outboxDispatcher.dispatch();
+        List<RankedBook> rebuilt = leaderboardService.topRated(GENRE, 10);
+
+        // Assert
+        assertEquals(List.of(many.getId(), single.getId()), top.stream().map(RankedBook::bookId).toList());
+        assertEquals(10, top.get(0).ratings());
+        assertEquals(4.8, top.get(0).averageRating(), 1e-9);
+        assertEquals(top.stream().map(RankedBook::ratings).toList(), rebuilt.stream().map(RankedBook::ratings).toList());
+    }
+
+    /**
+     * Verifies that a rating whose transaction was still open when a rebuild started, behind a later rating that
+     * had committed, is counted once it commits, and that the later rating is counted once.
+     */
+    @Test
+    void ratingCommittedDuringRebuildShouldBeCountedOnce() throws Exception {
+        // Arrange
+        Books slow = booksRepository.save(new Books(null, "Slow Vote", null, 10, null, GENRE, "Leaderboard Test", 2020, 0));
+        Books fast = booksRepository.save(new Books(null, "Fast Vote", null, 10, null, GENRE, "Leaderboard Test", 2020, 0));
+        List<User> users = userRepository.findAll(PageRequest.of(1, 2)).getContent();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rating = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                ratingService.addRating(users.get(0).getId(), slow.getId(), 5);
+                written.countDown();
+                try {
+                    commit.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(30, TimeUnit.SECONDS));
+            ratingService.addRating(users.get(1).getId(), fast.getId(), 4);
+
+            // Act
+            leaderboardBuilder.rebuild();
+            commit.countDown();
+            rating.get();
+            outboxDispatcher.dispatch();
+            Map<Long, Integer> ratings = leaderboardService.topRated(GENRE, 10).stream()
+                    .collect(Collectors.toMap(RankedBook::bookId, RankedBook::ratings));
+
+            // Assert
+            assertEquals(1, ratings.get(slow.getId()));
+            assertEquals(1, ratings.get(fast.getId()));
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the overall leaderboard is served best first, and that a limit out of range is rejected with 400.
+     */
+    @Test
+    void topRatedShouldBeServedBestFirst() throws Exception {
+        // Arrange
+        List<RankedBook> top = leaderboardService.topRated(null, 3);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/book/top-rated").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(top.size()))
+                .andExpect(jsonPath("$[0].bookId").value(top.get(0).bookId()));
+        assertTrue(top.get(0).score() >= top.get(top.size() - 1).score());
+        mockMvc.perform(get("/api/v1/book/top-rated").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
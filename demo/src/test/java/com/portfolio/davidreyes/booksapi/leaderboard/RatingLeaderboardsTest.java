@@ -0,0 +1,131 @@
+package com.portfolio.davidreyes.booksapi.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RatingLeaderboards class.
+ * Verifies the Bayesian ranking, and that incrementally updated leaderboards match a full ranking of every book.
+ */
+class RatingLeaderboardsTest {
+
+    private static final List<String> GENRES = List.of("Fiction", "Poetry", "Travel");
+
+    /**
+     * Verifies that many high ratings outrank a single perfect one.
+     */
+    @Test
+    void manyHighRatingsShouldOutrankSinglePerfectRating() {
+        // Arrange
+        RatingLeaderboards leaderboards = RatingLeaderboards.builder(10, 10)
+                .add(1, "Fiction", 1, 5, 1)
+                .add(2, "Fiction", 1000, 4800, 1001)
+                .add(3, "Fiction", 100, 300, 1101)
+                .build();
+
+        // Act
+        List<RankedBook> top = leaderboards.top("Fiction", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L, 3L), top.stream().map(RankedBook::bookId).toList());
+        assertEquals(4.8, top.get(0).averageRating(), 1e-9);
+        assertEquals(1000, top.get(0).ratings());
+    }
+
+    /**
+     * Verifies that a rating already counted, such as one delivered again, is skipped.
+     */
+    @Test
+    void countedRatingShouldBeSkipped() {
+        // Arrange
+        RatingLeaderboards leaderboards = RatingLeaderboards.builder(10, 10).add(1, "Fiction", 2, 8, 7).build();
+
+        // Act
+        leaderboards.addRating(1, 7, 1);
+        leaderboards.addRating(1, 8, 5);
+        leaderboards.addRating(1, 8, 5);
+
+        // Assert
+        assertEquals(3, leaderboards.top(null, 1).get(0).ratings());
+    }
+
+    /**
+     * Verifies that random ratings, genre changes and deletions keep every leaderboard equal to a full ranking.
+     */
+    @Test
+    void incrementalUpdatesShouldMatchFullRanking() {
+        // Arrange
+        Random random = new Random(42);
+        int books = 500;
+        RatingLeaderboards.Builder builder = RatingLeaderboards.builder(5, 3);
+        Map<Long, long[]> expected = new HashMap<>();
+        Map<Long, String> genres = new HashMap<>();
+        long ratingId = 0;
+        for (long id = 1; id <= books; id++) {
+            int count = random.nextInt(4);
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += 1 + random.nextInt(5);
+            }
+            ratingId += count;
+            String genre = GENRES.get(random.nextInt(GENRES.size()));
+            builder.add(id, genre, count, sum, count == 0 ? 0 : ratingId);
+            expected.put(id, new long[]{count, sum});
+            genres.put(id, genre);
+        }
+        RatingLeaderboards leaderboards = builder.build();
+
+        // Act & Assert
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(books);
+            int action = random.nextInt(100);
+            if (action < 2 && expected.containsKey(id)) {
+                leaderboards.remove(id);
+                expected.remove(id);
+                genres.remove(id);
+            } else if (action < 5 && expected.containsKey(id)) {
+                String genre = GENRES.get(random.nextInt(GENRES.size()));
+                leaderboards.setGenre(id, genre);
+                genres.put(id, genre);
+            } else if (expected.containsKey(id)) {
+                int rating = 1 + random.nextInt(5);
+                leaderboards.addRating(id, ++ratingId, rating);
+                expected.get(id)[0]++;
+                expected.get(id)[1] += rating;
+            }
+            if (step % 500 == 0) {
+                assertEquals(ranking(expected, genres, null, leaderboards.priorMean()), ids(leaderboards.top(null, 5)));
+                for (String genre : GENRES) {
+                    assertEquals(ranking(expected, genres, genre, leaderboards.priorMean()), ids(leaderboards.top(genre, 5)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Ranks every rated book of a genre, or all of them, the way the leaderboards should.
+     */
+    private static List<Long> ranking(Map<Long, long[]> ratings, Map<Long, String> genres, String genre, double mean) {
+        List<Long> ids = new ArrayList<>();
+        ratings.forEach((id, countAndSum) -> {
+            if (countAndSum[0] > 0 && (genre == null || genre.equals(genres.get(id)))) {
+                ids.add(id);
+            }
+        });
+        Comparator<Long> byScore = Comparator.comparingDouble(id -> (3 * mean + ratings.get(id)[1]) / (3 + ratings.get(id)[0]));
+        ids.sort(byScore.reversed().thenComparing(Comparator.naturalOrder()));
+        return ids.subList(0, Math.min(5, ids.size()));
+    }
+
+    private static List<Long> ids(List<RankedBook> books) {
+        return books.stream().map(RankedBook::bookId).toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.portfolio.davidreyes.booksapi.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the Prometheus metrics endpoint.
+ * Verifies that endpoint, repository, connection pool, Hibernate, JVM and cache meters are exported.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Verifies that a request and its repository call show up in the scrape alongside the infrastructure meters.
+     */
+    @Test
+    void prometheusEndpointShouldExportApplicationAndInfrastructureMeters() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/v1/book/top-sellers"));
+
+        // Act
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "endpoint timer histogram");
+        assertTrue(scrape.contains("uri=\"/api/v1/book/top-sellers\""), "endpoint tag");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"), "repository timer histogram");
+        assertTrue(scrape.contains("repository=\"BooksRepository\""), "repository tag");
+        assertTrue(scrape.contains("hikaricp_connections_active"), "connection pool gauges");
+        assertTrue(scrape.contains("hibernate_query_executions_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("jvm_gc_"), "GC metrics");
+        assertTrue(scrape.contains("cache_gets_total{") && scrape.contains("cache=\"users\""), "cache metrics");
+    }
+}
@@ -0,0 +1,167 @@
+package com.portfolio.davidreyes.booksapi.order;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartRepository;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for checking out shopping carts over the seeded catalog.
+ * Verifies that a checkout orders and empties the cart, and that the copies sold are counted exactly once,
+ * whether flushed from the in-memory counters or recovered from the orders.
+ * Flushes and recovery are effectively off, so copies sold only change when the tests flush or recover.
+ */
+@SpringBootTest(properties = {
+        "booksapi.outbox.poll-interval=PT1H",
+        "booksapi.sales.flush-interval=PT1H",
+        "booksapi.sales.recovery-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class OrderServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesLedger salesLedger;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Flushes the copies of earlier tests.
+     */
+    @BeforeEach
+    void setUp() {
+        salesLedger.flush();
+    }
+
+    /**
+     * Verifies that a checkout orders every book in the cart and empties it, that the copies are added
+     * to the book on the next flush, and that checking out the empty cart is rejected with 400.
+     */
+    @Test
+    void checkoutShouldOrderCartAndCountCopiesOnFlush() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Checked Out", null, 12, null, "Fiction", "Order Test", 2020, 5));
+        User user = userRepository.findAll(PageRequest.of(4, 10)).getContent().get(0);
+        shoppingCartService.addBookToUserShoppingCart(user.getId(), book.getId());
+        int booksInCart = shoppingCartRepository.findBooksInUserShoppingCart(user.getId()).size();
+
+        // Act
+        mockMvc.perform(post("/api/v1/orders/checkout").param("userId", user.getId().toString()))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.userId").value(user.getId()))
+                .andExpect(jsonPath("$.lines.length()").value(booksInCart));
+        int copiesBeforeFlush = booksRepository.findById(book.getId()).orElseThrow().getCopiesSold();
+        salesLedger.flush();
+
+        // Assert
+        assertEquals(5, copiesBeforeFlush);
+        assertEquals(6, booksRepository.findById(book.getId()).orElseThrow().getCopiesSold());
+        assertEquals(List.of(), shoppingCartRepository.findBooksInUserShoppingCart(user.getId()));
+        assertEquals(0, salesLedger.pendingCopies());
+        mockMvc.perform(post("/api/v1/orders/checkout").param("userId", user.getId().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Verifies that concurrent checkouts of the same book are all counted, once each.
+     */
+    @Test
+    void concurrentCheckoutsShouldCountEveryCopyOnce() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Best Seller", null, 20, null, "Fiction", "Order Test", 2020, 0));
+        List<User> users = userRepository.findAll(PageRequest.of(4, 10)).getContent().subList(1, 9);
+        for (User user : users) {
+            shoppingCartService.addBookToUserShoppingCart(user.getId(), book.getId());
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        try {
+            List<Future<PurchaseOrder>> orders = new ArrayList<>();
+            for (User user : users) {
+                orders.add(executor.submit(() -> orderService.checkout(user.getId())));
+            }
+            for (Future<PurchaseOrder> order : orders) {
+                order.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        salesLedger.flush();
+        salesLedger.flush();
+
+        // Assert
+        assertEquals(users.size(), booksRepository.findById(book.getId()).orElseThrow().getCopiesSold());
+    }
+
+    /**
+     * Verifies that an order never flushed, as if the application stopped right after the checkout,
+     * is counted once by the recovery.
+     */
+    @Test
+    void unflushedOrderShouldBeRecoveredOnce() {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Recovered", null, 8, null, "Fiction", "Order Test", 2020, 1));
+        User user = userRepository.findAll(PageRequest.of(4, 10)).getContent().get(9);
+        PurchaseOrder order = transactionTemplate.execute(status -> {
+            PurchaseOrder placed = new PurchaseOrder(user.getId(), Instant.now().minus(Duration.ofHours(1)));
+            placed.addLine(book, 2);
+            return orderRepository.save(placed);
+        });
+
+        // Act
+        salesLedger.recover();
+        salesLedger.recover();
+        salesLedger.flush();
+
+        // Assert
+        assertEquals(3, booksRepository.findById(book.getId()).orElseThrow().getCopiesSold());
+        assertTrue(orderRepository.findById(order.getId()).orElseThrow().isCounted());
+    }
+}
@@ -0,0 +1,345 @@
+package com.portfolio.davidreyes.booksapi.outbox;
+
+import com.portfolio.davidreyes.booksapi.books.BookChangedEvent;
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.rating.RatingAddedEvent;
+import com.portfolio.davidreyes.booksapi.rating.RatingService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the outbox over the seeded catalog.
+ * Verifies that events commit with their change and are delivered in order, at least once, and again on replay,
+ * and that an event committed late is waited for, and still delivered once its ID was skipped.
+ * Polling is effectively off, so events are only delivered when the tests dispatch them.
+ */
+@SpringBootTest(properties = {
+        "booksapi.outbox.poll-interval=PT1H",
+        "booksapi.outbox.settle-time=500ms"
+})
+class OutboxDispatcherTest {
+
+    private static final Duration SETTLE_TIME = Duration.ofMillis(500);
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+    private Long bookId;
+
+    /**
+     * Delivers the events of earlier tests and picks a user and a book to rate.
+     */
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher.dispatch();
+        subscriber.received.clear();
+        subscriber.failures = 0;
+        User user = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        Books book = booksRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        userId = user.getId();
+        bookId = book.getId();
+    }
+
+    /**
+     * Verifies that rating a book delivers the rating and the book's new average, in the order they were published.
+     */
+    @Test
+    void ratingShouldBeDeliveredInOrder() {
+        // Act
+        ratingService.addRating(userId, bookId, 5);
+        outboxDispatcher.dispatch();
+
+        // Assert
+        assertEquals(2, subscriber.received.size());
+        assertInstanceOf(RatingAddedEvent.class, subscriber.received.get(0).event());
+        assertEquals(new RatingAddedEvent(((RatingAddedEvent) subscriber.received.get(0).event()).ratingId(), bookId, userId, 5),
+                subscriber.received.get(0).event());
+        BookChangedEvent changed = assertInstanceOf(BookChangedEvent.class, subscriber.received.get(1).event());
+        assertEquals(bookId, changed.bookId());
+        assertTrue(subscriber.received.get(0).id() < subscriber.received.get(1).id());
+        assertEquals(0, outboxDispatcher.status().get(RecordingSubscriber.NAME).lag());
+    }
+
+    /**
+     * Verifies that a change which rolls back leaves no event behind.
+     */
+    @Test
+    void rolledBackChangeShouldWriteNoEvent() {
+        // Arrange
+        long events = outboxEventRepository.count();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ratingService.addRating(userId, bookId, 3);
+            status.setRollbackOnly();
+        });
+        outboxDispatcher.dispatch();
+
+        // Assert
+        assertEquals(events, outboxEventRepository.count());
+        assertTrue(subscriber.received.isEmpty());
+    }
+
+    /**
+     * Verifies that a batch the subscriber fails to handle is delivered again on the next dispatch.
+     */
+    @Test
+    void failedBatchShouldBeRedelivered() {
+        // Arrange
+        ratingService.addRating(userId, bookId, 4);
+        subscriber.failures = 1;
+
+        // Act
+        outboxDispatcher.dispatch();
+        long lagAfterFailure = outboxDispatcher.status().get(RecordingSubscriber.NAME).lag();
+        outboxDispatcher.dispatch();
+
+        // Assert
+        assertEquals(2, lagAfterFailure);
+        assertEquals(2, subscriber.received.size());
+        assertEquals(0, outboxDispatcher.status().get(RecordingSubscriber.NAME).lag());
+    }
+
+    /**
+     * Verifies that an event whose transaction commits long after it was written is delivered, in order,
+     * although the event written after it is older than the settle time when the gap is first seen.
+     */
+    @Test
+    void slowCommitShouldNotBeSkipped() throws Exception {
+        // Arrange
+        Books book = booksRepository.findById(bookId).orElseThrow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong slowId = new AtomicLong();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                outboxWriter.onDomainEvent(BookChangedEvent.updated(BookChangedEvent.Snapshot.of(book), book));
+                slowId.set(outboxEventRepository.findLatestId());
+                written.countDown();
+                try {
+                    commit.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(30, TimeUnit.SECONDS));
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxWriter.onDomainEvent(BookChangedEvent.updated(BookChangedEvent.Snapshot.of(book), book)));
+            long laterId = outboxEventRepository.findLatestId();
+            jdbcTemplate.update("UPDATE outbox_event SET created_at = ? WHERE id = ?",
+                    Timestamp.from(Instant.now().minus(Duration.ofMinutes(1))), laterId);
+
+            // Act
+            outboxDispatcher.dispatch();
+            List<Long> beforeCommit = deliveredFrom(slowId.get());
+            commit.countDown();
+            slow.get();
+            Thread.sleep(SETTLE_TIME.multipliedBy(2).toMillis()); // Lets earlier tests' rolled back IDs settle
+            outboxDispatcher.dispatch();
+
+            // Assert
+            assertEquals(List.of(), beforeCommit);
+            assertEquals(List.of(slowId.get(), laterId), deliveredFrom(slowId.get()));
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that an event whose transaction commits after its ID was skipped is still delivered, followed
+     * again by the event of the same book that was delivered in its place, so the book's events end in order.
+     */
+    @Test
+    void eventCommittedAfterSettleTimeShouldBeDeliveredLate() throws Exception {
+        // Arrange
+        Books book = booksRepository.findById(bookId).orElseThrow();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong slowId = new AtomicLong();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                outboxWriter.onDomainEvent(BookChangedEvent.updated(BookChangedEvent.Snapshot.of(book), book));
+                slowId.set(outboxEventRepository.findLatestId());
+                written.countDown();
+                try {
+                    commit.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(30, TimeUnit.SECONDS));
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxWriter.onDomainEvent(BookChangedEvent.updated(BookChangedEvent.Snapshot.of(book), book)));
+            long laterId = outboxEventRepository.findLatestId();
+
+            // Act
+            outboxDispatcher.dispatch();
+            Thread.sleep(SETTLE_TIME.multipliedBy(2).toMillis());
+            outboxDispatcher.dispatch();
+            List<Long> beforeCommit = deliveredFrom(slowId.get());
+            commit.countDown();
+            slow.get();
+            outboxDispatcher.dispatch();
+            outboxDispatcher.dispatch();
+
+            // Assert
+            assertEquals(List.of(laterId), beforeCommit);
+            assertEquals(List.of(laterId, slowId.get(), laterId), deliveredFrom(slowId.get()));
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that replaying from an event delivers it and every later event again.
+     */
+    @Test
+    void replayShouldRedeliverEvents() {
+        // Arrange
+        ratingService.addRating(userId, bookId, 2);
+        outboxDispatcher.dispatch();
+        List<OutboxMessage> delivered = List.copyOf(subscriber.received);
+        subscriber.received.clear();
+
+        // Act
+        outboxDispatcher.replay(RecordingSubscriber.NAME, delivered.get(0).id());
+        outboxDispatcher.dispatch();
+
+        // Assert
+        assertEquals(delivered, subscriber.received);
+    }
+
+    /**
+     * Verifies that events every subscriber has handled are purged once they are older than the retention,
+     * and that a replay from the first event then starts at the oldest event left.
+     */
+    @Test
+    void handledEventsShouldBePurgedAfterRetention() {
+        // Arrange
+        ratingService.addRating(userId, bookId, 4);
+        outboxDispatcher.dispatch();
+        long handled = outboxEventRepository.findLatestId();
+        ratingService.addRating(userId, bookId, 3);
+        jdbcTemplate.update("UPDATE outbox_event SET created_at = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(8))));
+        subscriber.received.clear();
+
+        // Act
+        outboxDispatcher.purge();
+        outboxDispatcher.replay(RecordingSubscriber.NAME, 1);
+        outboxDispatcher.dispatch();
+
+        // Assert
+        assertEquals(handled + 1, outboxEventRepository.findOldestId());
+        assertEquals(List.of(handled + 1, handled + 2), deliveredFrom(1));
+    }
+
+    /**
+     * Verifies that replaying to a subscriber that does not exist is rejected.
+     */
+    @Test
+    void replayShouldRejectUnknownSubscriber() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> outboxDispatcher.replay("unknown", 1));
+    }
+
+    /**
+     * Returns the IDs of the events delivered to the recording subscriber from an event on.
+     */
+    private List<Long> deliveredFrom(long eventId) {
+        return subscriber.received.stream().map(OutboxMessage::id).filter(id -> id >= eventId).toList();
+    }
+
+    /**
+     * Subscriber recording the events it is delivered, which can be made to fail.
+     */
+    static class RecordingSubscriber implements OutboxSubscriber {
+
+        static final String NAME = "recording";
+
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        volatile int failures;
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public void onEvents(List<OutboxMessage> messages) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Failing on purpose");
+            }
+            received.addAll(messages);
+        }
+    }
+
+    /**
+     * Registers the recording subscriber.
+     */
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +34,9 @@ class RatingServiceTest {
     @Mock
     private BooksRepository booksRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -62,16 +66,18 @@ class RatingServiceTest {
 
         // Configure mocks to return the mock objects when findById is called
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(booksRepository.findById(bookId)).thenReturn(Optional.of(mockBook));
+        when(booksRepository.findByIdForUpdate(bookId)).thenReturn(Optional.of(mockBook));
 
-        // Assume there are already ratings, leading to a list of Rating objects
-        List<Rating> existingRatings = List.of(
+        // Assume there are already ratings; the new rating is saved before the ratings are read back,
+        // so the repository returns it along with them
+        List<Rating> savedRatings = List.of(
                 new Rating(mockBook, mockUser, 4),
-                new Rating(mockBook, mockUser, 3)
+                new Rating(mockBook, mockUser, 3),
+                new Rating(mockBook, mockUser, ratingValue)
         );
 
-        // Mock the repository to return existing ratings
-        when(ratingRepository.findByBookId(bookId)).thenReturn(existingRatings);
+        // Mock the repository to return the saved ratings
+        when(ratingRepository.findByBookId(bookId)).thenReturn(savedRatings);
 
         // Act
         ratingService.addRating(userId, bookId, ratingValue);
@@ -98,7 +104,7 @@ class RatingServiceTest {
         Long bookId = 1L;
         int ratingValue = 5;
 
-        when(booksRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(booksRepository.findByIdForUpdate(bookId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> ratingService.addRating(userId, bookId, ratingValue));
@@ -0,0 +1,205 @@
+package com.portfolio.davidreyes.booksapi.recommendation;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.outbox.OutboxDispatcher;
+import com.portfolio.davidreyes.booksapi.shoppingcart.ShoppingCartService;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the recommendations over the seeded catalog.
+ * Verifies that the index is kept current from the outbox, agrees with a rebuild, misses no change committed
+ * across a rebuild and counts none twice, and is served per book.
+ * Rebuilds and polling are effectively off, so the index only changes when the tests rebuild it or dispatch the outbox.
+ */
+@SpringBootTest(properties = {
+        "booksapi.outbox.poll-interval=PT1H",
+        "booksapi.recommendations.initial-delay=PT1H",
+        "booksapi.recommendations.rebuild-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class RecommendationServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private RecommendationBuilder recommendationBuilder;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Delivers the events of earlier tests and rebuilds the index from the database.
+     */
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher.dispatch();
+        recommendationBuilder.rebuild();
+    }
+
+    /**
+     * Verifies that books put in the same carts are recommended for each other, most shared first,
+     * and that the incrementally updated index agrees with a rebuild.
+     */
+    @Test
+    void booksInSameCartsShouldBeRecommended() {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Recommended", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books oftenWith = booksRepository.save(new Books(null, "Often Together", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books onceWith = booksRepository.save(new Books(null, "Once Together", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        List<User> users = userRepository.findAll(PageRequest.of(0, 4)).getContent();
+        for (User user : users.subList(0, 3)) {
+            shoppingCartService.addBookToUserShoppingCart(user.getId(), book.getId());
+            shoppingCartService.addBookToUserShoppingCart(user.getId(), oftenWith.getId());
+        }
+        shoppingCartService.addBookToUserShoppingCart(users.get(3).getId(), book.getId());
+        shoppingCartService.addBookToUserShoppingCart(users.get(3).getId(), onceWith.getId());
+
+        // Act
+        outboxDispatcher.dispatch();
+        List<CooccurrenceIndex.Similarity> updated = recommendationService.index().similar(book.getId(), RecommendationService.MAX_LIMIT);
+        List<Books> similar = recommendationService.similarBooks(book.getId(), 3);
+        recommendationBuilder.rebuild();
+        List<CooccurrenceIndex.Similarity> rebuilt = recommendationService.index().similar(book.getId(), RecommendationService.MAX_LIMIT);
+
+        // Assert
+        assertEquals(oftenWith.getId(), similar.get(0).getId());
+        assertTrue(updated.stream().anyMatch(similarity -> similarity.bookId() == onceWith.getId()));
+        assertEquals(rebuilt, updated);
+    }
+
+    /**
+     * Verifies that changes a rebuild already read are not counted again when the outbox is replayed after it.
+     */
+    @Test
+    void changesReadByRebuildShouldNotBeCountedTwice() {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Read Twice", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books together = booksRepository.save(new Books(null, "Read Twice Companion", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books alone = booksRepository.save(new Books(null, "Read Twice Alone", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        List<User> users = userRepository.findAll(PageRequest.of(3, 3)).getContent();
+        for (User user : users.subList(0, 2)) {
+            shoppingCartService.addBookToUserShoppingCart(user.getId(), book.getId());
+            shoppingCartService.addBookToUserShoppingCart(user.getId(), together.getId());
+        }
+        shoppingCartService.addBookToUserShoppingCart(users.get(2).getId(), book.getId());
+        shoppingCartService.addBookToUserShoppingCart(users.get(2).getId(), alone.getId());
+
+        // Act
+        recommendationBuilder.rebuild();
+        List<CooccurrenceIndex.Similarity> rebuilt = recommendationService.index().similar(book.getId(), RecommendationService.MAX_LIMIT);
+        outboxDispatcher.dispatch();
+        List<CooccurrenceIndex.Similarity> replayed = recommendationService.index().similar(book.getId(), RecommendationService.MAX_LIMIT);
+
+        // Assert
+        assertTrue(rebuilt.stream().anyMatch(similarity -> similarity.bookId() == together.getId()));
+        assertEquals(rebuilt, replayed);
+    }
+
+    /**
+     * Verifies that a change whose transaction was still open when a rebuild started, behind a later change that
+     * had committed, is applied once it commits.
+     */
+    @Test
+    void changeCommittedDuringRebuildShouldBeApplied() throws Exception {
+        // Arrange
+        Books book = booksRepository.save(new Books(null, "Slow Cart", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books together = booksRepository.save(new Books(null, "Slow Cart Companion", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        Books other = booksRepository.save(new Books(null, "Fast Cart", null, 10, null, "Fiction", "Recommendation Test", 2020, 0));
+        List<User> users = userRepository.findAll(PageRequest.of(2, 2)).getContent();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                shoppingCartService.addBookToUserShoppingCart(users.get(0).getId(), book.getId());
+                shoppingCartService.addBookToUserShoppingCart(users.get(0).getId(), together.getId());
+                written.countDown();
+                try {
+                    commit.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(30, TimeUnit.SECONDS));
+            shoppingCartService.addBookToUserShoppingCart(users.get(1).getId(), other.getId());
+
+            // Act
+            recommendationBuilder.rebuild();
+            commit.countDown();
+            slow.get();
+            outboxDispatcher.dispatch();
+
+            // Assert
+            assertTrue(recommendationService.index().similar(book.getId(), RecommendationService.MAX_LIMIT).stream()
+                    .anyMatch(similarity -> similarity.bookId() == together.getId()));
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the similar books of a book that does not exist answer 404.
+     */
+    @Test
+    void similarBooksOfUnknownBookShouldReturnNotFound() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/book/{bookId}/similar", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Verifies that a limit out of range is rejected with 400, and that a valid request answers a list.
+     */
+    @Test
+    void similarBooksShouldValidateLimit() throws Exception {
+        // Arrange
+        Long bookId = booksRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/book/{bookId}/similar", bookId).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/book/{bookId}/similar", bookId).param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+}
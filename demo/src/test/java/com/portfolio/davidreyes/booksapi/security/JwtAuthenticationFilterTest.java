@@ -0,0 +1,91 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import com.portfolio.davidreyes.booksapi.user.UserProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JwtAuthenticationFilter class.
+ * Verifies that valid tokens expose the caller, and that invalid tokens and unauthenticated
+ * requests to secured paths are rejected while public paths stay open.
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+
+    private JwtAuthenticationFilter filter;
+
+    /**
+     * Creates a filter that secures the current-user endpoint.
+     */
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService("0123456789abcdef0123456789abcdef", Duration.ofMinutes(5), 100);
+        filter = new JwtAuthenticationFilter(jwtService, new String[]{"/api/v1/user/me"});
+    }
+
+    /**
+     * Verifies that a valid bearer token makes the caller available as a request attribute.
+     */
+    @Test
+    void validTokenShouldExposeCaller() throws Exception {
+        // Arrange
+        String token = jwtService.issue(new UserProfile(7L, "reader", null, null, null)).token();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        AuthenticatedUser caller = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        assertEquals("reader", caller.username());
+    }
+
+    /**
+     * Verifies that secured paths require a token while other paths do not.
+     */
+    @Test
+    void missingTokenShouldOnlyBeRejectedOnSecuredPaths() throws Exception {
+        // Arrange
+        MockHttpServletResponse securedResponse = new MockHttpServletResponse();
+        MockFilterChain publicChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/user/me"), securedResponse, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/books"), new MockHttpServletResponse(), publicChain);
+
+        // Assert
+        assertEquals(401, securedResponse.getStatus());
+        assertEquals("Bearer", securedResponse.getHeader("WWW-Authenticate"));
+        assertNotNull(publicChain.getRequest());
+    }
+
+    /**
+     * Verifies that an invalid token is rejected even on public paths.
+     */
+    @Test
+    void invalidTokenShouldBeRejected() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import com.portfolio.davidreyes.booksapi.user.UserProfile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JwtService class.
+ * Verifies that issued tokens round-trip, and that tampered, foreign and expired tokens are rejected.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserProfile profile = new UserProfile(7L, "reader", "Reader", "reader@example.com", null);
+
+    /**
+     * Verifies that an issued token resolves to the user it was issued to, including on a cached repeat.
+     */
+    @Test
+    void authenticateShouldResolveIssuedToken() {
+        // Arrange
+        JwtService jwtService = new JwtService(SECRET, Duration.ofMinutes(5), 100);
+        JwtService.IssuedToken issued = jwtService.issue(profile);
+
+        // Act
+        Optional<AuthenticatedUser> first = jwtService.authenticate(issued.token());
+        Optional<AuthenticatedUser> second = jwtService.authenticate(issued.token());
+
+        // Assert
+        assertEquals(new AuthenticatedUser(7L, "reader", issued.expiresAt()), first.orElseThrow());
+        assertSame(first.get(), second.orElseThrow());
+    }
+
+    /**
+     * Verifies that tokens with a modified payload or signed with another key are rejected.
+     */
+    @Test
+    void authenticateShouldRejectTamperedAndForeignTokens() {
+        // Arrange
+        JwtService jwtService = new JwtService(SECRET, Duration.ofMinutes(5), 100);
+        JwtService otherService = new JwtService("fedcba9876543210fedcba9876543210", Duration.ofMinutes(5), 100);
+        String token = jwtService.issue(profile).token();
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+
+        // Act & Assert
+        assertTrue(jwtService.authenticate(tampered).isEmpty());
+        assertTrue(jwtService.authenticate(otherService.issue(profile).token()).isEmpty());
+        assertTrue(jwtService.authenticate("not-a-jwt").isEmpty());
+    }
+
+    /**
+     * Verifies that expired tokens are rejected.
+     */
+    @Test
+    void authenticateShouldRejectExpiredToken() {
+        // Arrange
+        JwtService jwtService = new JwtService(SECRET, Duration.ofSeconds(-10), 100);
+
+        // Act & Assert
+        assertTrue(jwtService.authenticate(jwtService.issue(profile).token()).isEmpty());
+    }
+
+    /**
+     * Verifies that secrets too short for HS256 are refused at startup.
+     */
+    @Test
+    void constructorShouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new JwtService("short", Duration.ofMinutes(5), 100));
+    }
+}
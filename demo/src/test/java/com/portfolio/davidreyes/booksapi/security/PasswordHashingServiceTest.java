@@ -0,0 +1,65 @@
+package com.portfolio.davidreyes.booksapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PasswordHashingService class.
+ * Verifies hashing, rehash detection after a cost change, and rejection when the pool is saturated.
+ */
+class PasswordHashingServiceTest {
+
+    /**
+     * Verifies that a hashed password verifies and does not need rehashing at the same cost.
+     */
+    @Test
+    void hashShouldProduceVerifiableBcryptHash() {
+        // Arrange
+        PasswordHashingService service = new PasswordHashingService(4, 1, 16, Duration.ofSeconds(10), new SimpleMeterRegistry());
+
+        // Act
+        String hash = service.hash("correct horse");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertEquals(new PasswordHashingService.Verification(true, false), service.verify("correct horse", hash));
+        assertFalse(service.verify("battery staple", hash).matches());
+    }
+
+    /**
+     * Verifies that hashes made with a lower cost factor are flagged for rehashing.
+     */
+    @Test
+    void verifyShouldRequestRehashWhenCostIncreases() {
+        // Arrange
+        String oldHash = new PasswordHashingService(4, 1, 16, Duration.ofSeconds(10), new SimpleMeterRegistry()).hash("correct horse");
+        PasswordHashingService upgraded = new PasswordHashingService(5, 1, 16, Duration.ofSeconds(10), new SimpleMeterRegistry());
+
+        // Act
+        PasswordHashingService.Verification verification = upgraded.verify("correct horse", oldHash);
+
+        // Assert
+        assertTrue(verification.matches());
+        assertTrue(verification.needsRehash());
+    }
+
+    /**
+     * Verifies that a caller is rejected instead of waiting indefinitely when hashing cannot keep up.
+     */
+    @Test
+    void hashShouldRejectWhenWaitLimitIsExceeded() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(14, 1, 1, Duration.ofMillis(1), registry);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> service.hash("correct horse"));
+        assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+        service.shutdown();
+    }
+}
@@ -0,0 +1,125 @@
+package com.portfolio.davidreyes.booksapi.seed;
+
+import com.portfolio.davidreyes.booksapi.isbn.Isbn;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CatalogGenerator class.
+ * Verifies that generation is deterministic, skewed by popularity and consistent across tables.
+ */
+class CatalogGeneratorTest {
+
+    private static final SeedPlan PLAN = new SeedPlan(42, 100, 10_000, 1_000, 100_000, 1_000, 3, 5, 1.0);
+
+    private final CatalogGenerator generator = new CatalogGenerator(PLAN, "hash");
+
+    /**
+     * Verifies that a table generates the same rows in one chunk as in several.
+     */
+    @Test
+    void generateShouldNotDependOnChunking() {
+        // Act
+        List<List<Object>> whole = rows(generator, SeedTable.RATING, 0, 1_000);
+        List<List<Object>> chunked = rows(generator, SeedTable.RATING, 0, 400);
+        chunked.addAll(rows(new CatalogGenerator(PLAN, "hash"), SeedTable.RATING, 400, 1_000));
+
+        // Assert
+        assertEquals(whole, chunked);
+    }
+
+    /**
+     * Verifies that the most popular 1% of books collect a large share of the ratings.
+     */
+    @Test
+    void ratingsShouldConcentrateOnPopularBooks() {
+        // Act
+        Map<Object, Integer> ratingsPerBook = new HashMap<>();
+        generator.generate(SeedTable.RATING, 0, PLAN.ratings(), values -> ratingsPerBook.merge(values[2], 1, Integer::sum));
+
+        // Assert
+        int top = ratingsPerBook.values().stream().sorted((a, b) -> b - a).limit(PLAN.books() / 100).mapToInt(Integer::intValue).sum();
+        assertTrue(top > 0.4 * PLAN.ratings(), "top 1% of books has " + top + " ratings");
+    }
+
+    /**
+     * Verifies that each book stores the average of its generated ratings and a valid ISBN-13.
+     */
+    @Test
+    void booksShouldCarryTheirRatingAverageAndValidIsbn() {
+        // Arrange
+        Map<Long, int[]> ratings = new HashMap<>();
+        generator.generate(SeedTable.RATING, 0, PLAN.ratings(), values -> {
+            int[] tally = ratings.computeIfAbsent((Long) values[2], book -> new int[2]);
+            tally[0]++;
+            tally[1] += (Integer) values[1];
+        });
+
+        // Act
+        List<List<Object>> books = rows(generator, SeedTable.BOOKS, 0, PLAN.books());
+
+        // Assert
+        for (List<Object> book : books) {
+            int[] tally = ratings.getOrDefault((Long) book.get(0), new int[2]);
+            assertEquals(tally[0] == 0 ? 0 : (double) tally[1] / tally[0], (Double) book.get(10), 1e-9);
+            assertTrue(Isbn.isValidIsbn13((Long) book.get(1)));
+        }
+        assertEquals(PLAN.books(), books.stream().map(book -> book.get(1)).distinct().count());
+    }
+
+    /**
+     * Verifies that no shopping cart holds the same book twice.
+     */
+    @Test
+    void cartsShouldHoldDistinctBooks() {
+        // Act
+        Set<List<Object>> entries = new HashSet<>();
+        List<List<Object>> rows = rows(generator, SeedTable.CART_BOOKS, 0, PLAN.users());
+
+        // Assert
+        assertFalse(rows.isEmpty());
+        rows.forEach(row -> assertTrue(entries.add(row), "duplicate cart entry " + row));
+    }
+
+    /**
+     * Verifies that the Zipf sampler draws the first rank about as often as its probability.
+     */
+    @Test
+    void zipfDistributionShouldMatchFirstRankProbability() {
+        // Arrange
+        ZipfDistribution zipf = new ZipfDistribution(1_000, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        double harmonic = 0;
+        for (int k = 1; k <= 1_000; k++) {
+            harmonic += 1.0 / k;
+        }
+
+        // Act
+        int firsts = 0;
+        for (int i = 0; i < 200_000; i++) {
+            firsts += zipf.sample(random) == 1 ? 1 : 0;
+        }
+
+        // Assert
+        assertEquals(1 / harmonic, firsts / 200_000.0, 0.005);
+    }
+
+    /**
+     * Collects the rows a generator produces for a range of units.
+     */
+    private static List<List<Object>> rows(CatalogGenerator generator, SeedTable table, long from, long to) {
+        List<List<Object>> rows = new ArrayList<>();
+        generator.generate(table, from, to, values -> rows.add(Arrays.asList(values)));
+        return rows;
+    }
+}
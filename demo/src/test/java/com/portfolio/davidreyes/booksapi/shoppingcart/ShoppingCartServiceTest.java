@@ -2,14 +2,16 @@ package com.portfolio.davidreyes.booksapi.shoppingcart;
 
 import com.portfolio.davidreyes.booksapi.books.Books;
 import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.inventory.InventoryService;
 import com.portfolio.davidreyes.booksapi.user.User;
 import com.portfolio.davidreyes.booksapi.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -23,7 +25,7 @@ import static org.mockito.Mockito.*;
 /**
  * Unit tests for ShoppingCartService.
  */
-@SpringBootTest
+@ExtendWith(MockitoExtension.class)
 public class ShoppingCartServiceTest {
 
     @Mock
@@ -35,6 +37,12 @@ public class ShoppingCartServiceTest {
     @Mock
     private ShoppingCartRepository shoppingCartRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShoppingCartService shoppingCartService;
 
@@ -46,8 +54,6 @@ public class ShoppingCartServiceTest {
      */
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
-
         // Initialize a mock User
         user = new User();
         user.setId(1L);
@@ -65,9 +71,9 @@ public class ShoppingCartServiceTest {
         book.setId(1L);
         book.setPrice(100); // Set a price for testing calculations
 
-        // Mock repository behaviors
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(booksRepository.findById(1L)).thenReturn(Optional.of(book));
+        // Mock repository behaviors, which not every test uses
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        lenient().when(booksRepository.findById(1L)).thenReturn(Optional.of(book));
     }
 
     /**
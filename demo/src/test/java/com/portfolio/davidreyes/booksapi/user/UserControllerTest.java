@@ -0,0 +1,61 @@
+package com.portfolio.davidreyes.booksapi.user;
+
+import com.portfolio.davidreyes.booksapi.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the profile of the caller identified by an access token.
+ * Verifies that a token keeps resolving to the caller's current profile after the caller is renamed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    /**
+     * Verifies that a token issued before a rename still resolves to the renamed user on {@code /me}.
+     */
+    @Test
+    void currentUserShouldFollowRename() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUsername("before-rename");
+        user.setPassword("password");
+        user.setName("Renamed Reader");
+        userService.createUser(user);
+        String token = jwtService.issue(userService.getUserByUsername("before-rename")).token();
+        mockMvc.perform(get("/api/v1/user/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("before-rename"));
+
+        // Act
+        mockMvc.perform(patch("/api/v1/user/update/before-rename")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newUsername\":\"after-rename\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/v1/user/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.username").value("after-rename"));
+    }
+}
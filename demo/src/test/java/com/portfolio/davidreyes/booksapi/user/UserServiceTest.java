@@ -0,0 +1,211 @@
+package com.portfolio.davidreyes.booksapi.user;
+
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.creditcard.CreditCard;
+import com.portfolio.davidreyes.booksapi.creditcard.CreditCardRepository;
+import com.portfolio.davidreyes.booksapi.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the UserService class.
+ * Verifies that username lookups are served from the user cache, that the cache is
+ * invalidated when user details change, and that passwords are stored hashed.
+ */
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BooksRepository booksRepository;
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    private PasswordHashingService passwordHashingService;
+
+    private UserService userService;
+
+    private User user;
+
+    /**
+     * Initializes Mockito mocks and a user service backed by a real user cache and password hasher.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        passwordHashingService = new PasswordHashingService(4, 1, 16, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        userService = new UserService(userRepository, booksRepository, creditCardRepository, new UserCache(100, 1000, 0.01),
+                passwordHashingService, TransactionOperations.withoutTransaction());
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("reader");
+        user.setPassword("secret");
+        user.setName("Reader");
+
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.of("reader"));
+        when(userRepository.findByUsername("reader")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userService.loadUsernames();
+    }
+
+    /**
+     * Verifies that repeated lookups of the same username query the database only once.
+     */
+    @Test
+    void getUserByUsernameShouldServeRepeatedLookupsFromCache() {
+        // Act
+        UserProfile first = userService.getUserByUsername("reader");
+        UserProfile second = userService.getUserByUsername("reader");
+
+        // Assert
+        assertEquals(1L, first.id());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByUsername("reader");
+    }
+
+    /**
+     * Verifies that usernames unknown to the Bloom filter are still confirmed against the database.
+     */
+    @Test
+    void unknownUsernamesShouldBeConfirmedByTheDatabase() {
+        // Act & Assert
+        assertTrue(userService.isUsernameAvailable("nobody"));
+        assertThrows(RuntimeException.class, () -> userService.getUserByUsername("nobody"));
+        assertTrue(userService.authenticate("nobody", "secret").isEmpty());
+        verify(userRepository, times(1)).existsByUsername("nobody");
+        verify(userRepository, times(2)).findByUsername("nobody");
+    }
+
+    /**
+     * Verifies that a user registered through another instance, after this instance loaded its Bloom filter,
+     * can be looked up, logged in and is not offered as available.
+     */
+    @Test
+    void userCreatedElsewhereShouldBeFound() {
+        // Arrange
+        User elsewhere = new User();
+        elsewhere.setId(2L);
+        elsewhere.setUsername("elsewhere");
+        elsewhere.setPassword(passwordHashingService.hash("secret"));
+        when(userRepository.findByUsername("elsewhere")).thenReturn(Optional.of(elsewhere));
+        when(userRepository.existsByUsername("elsewhere")).thenReturn(true);
+
+        // Act
+        UserProfile first = userService.getUserByUsername("elsewhere");
+        UserProfile second = userService.getUserByUsername("elsewhere");
+
+        // Assert
+        assertEquals(2L, first.id());
+        assertEquals(first, second);
+        assertFalse(userService.isUsernameAvailable("elsewhere"));
+        assertTrue(userService.authenticate("elsewhere", "secret").isPresent());
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    /**
+     * Verifies that renaming a user evicts the old username and makes the new one unavailable.
+     */
+    @Test
+    void updateUserDetailsShouldInvalidateRenamedUsername() {
+        // Arrange
+        userService.getUserByUsername("reader");
+        when(userRepository.existsByUsername("reader2")).thenReturn(false);
+
+        // Act
+        userService.updateUserDetails("reader", "reader2", null, null, null);
+        when(userRepository.findByUsername("reader")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("reader2")).thenReturn(true);
+
+        // Assert
+        assertEquals("reader2", user.getUsername());
+        assertThrows(RuntimeException.class, () -> userService.getUserByUsername("reader"));
+        assertFalse(userService.isUsernameAvailable("reader2"));
+    }
+
+    /**
+     * Verifies that a lookup by user ID is served from the cache and finds the user again after a rename.
+     */
+    @Test
+    void getUserByIdShouldFollowRename() {
+        // Arrange
+        userService.getUserById(1L);
+        userService.getUserById(1L);
+        when(userRepository.existsByUsername("reader2")).thenReturn(false);
+
+        // Act
+        userService.updateUserDetails("reader", "reader2", null, null, null);
+        UserProfile renamed = userService.getUserById(1L);
+
+        // Assert
+        assertEquals("reader2", renamed.username());
+        verify(userRepository, times(3)).findById(1L);
+    }
+
+    /**
+     * Verifies that adding a credit card attaches the user by reference once the user ID is cached.
+     */
+    @Test
+    void addCreditCardToUserShouldUseCachedUserId() {
+        // Arrange
+        userService.getUserByUsername("reader");
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        CreditCard creditCard = new CreditCard();
+
+        // Act
+        userService.addCreditCardToUser("reader", creditCard);
+
+        // Assert
+        assertSame(user, creditCard.getUser());
+        verify(userRepository, times(1)).findByUsername("reader");
+        verify(creditCardRepository, times(1)).save(creditCard);
+    }
+
+    /**
+     * Verifies that a new user's password is hashed before the user is saved.
+     */
+    @Test
+    void createUserShouldStoreHashedPassword() {
+        // Arrange
+        User newUser = new User();
+        newUser.setUsername("newReader");
+        newUser.setPassword("plain-password");
+
+        // Act
+        userService.createUser(newUser);
+
+        // Assert
+        verify(userRepository, times(1)).save(newUser);
+        assertNotEquals("plain-password", newUser.getPassword());
+        assertTrue(passwordHashingService.verify("plain-password", newUser.getPassword()).matches());
+    }
+
+    /**
+     * Verifies that logging in with a legacy plain-text password succeeds and replaces it with a hash.
+     */
+    @Test
+    void authenticateShouldRehashLegacyPassword() {
+        // Act
+        Optional<UserProfile> profile = userService.authenticate("reader", "secret");
+
+        // Assert
+        assertTrue(profile.isPresent());
+        assertNotEquals("secret", user.getPassword());
+        assertTrue(passwordHashingService.verify("secret", user.getPassword()).matches());
+        assertTrue(userService.authenticate("reader", "wrong").isEmpty());
+    }
+}
@@ -0,0 +1,175 @@
+package com.portfolio.davidreyes.booksapi.wishlist;
+
+import com.portfolio.davidreyes.booksapi.books.Books;
+import com.portfolio.davidreyes.booksapi.books.BooksRepository;
+import com.portfolio.davidreyes.booksapi.user.User;
+import com.portfolio.davidreyes.booksapi.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for reading wishlists.
+ * Verifies that the books of a wishlist are paged in the order they were added, and that the summaries
+ * of a user's wishlists count empty wishlists and reject unknown users.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WishlistServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private WishlistRepository wishlistRepository;
+
+    @Autowired
+    private WishlistBookRepository wishlistBookRepository;
+
+    @Autowired
+    private BooksRepository booksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Verifies that books are paged oldest first, not in ID order, that the last page holds the remainder,
+     * and that a page past the end of an existing wishlist is empty.
+     */
+    @Test
+    void getBooksInWishlistShouldPageInInsertionOrder() {
+        // Arrange
+        User user = createUser("wishlist-pager");
+        Wishlist wishlist = createWishlist("Paged", user);
+        Books first = createBook("Paged One", 10);
+        Books second = createBook("Paged Two", 20);
+        Books third = createBook("Paged Three", 30);
+        LocalDateTime added = LocalDateTime.now().minusHours(1);
+        addBook(wishlist, third, added);
+        addBook(wishlist, first, added.plusMinutes(1));
+        addBook(wishlist, second, added.plusMinutes(2));
+
+        // Act
+        Page<WishlistBookView> firstPage = wishlistService.getBooksInWishlist(wishlist.getId(), 0, 2);
+        Page<WishlistBookView> lastPage = wishlistService.getBooksInWishlist(wishlist.getId(), 1, 2);
+        Page<WishlistBookView> pastEnd = wishlistService.getBooksInWishlist(wishlist.getId(), 2, 2);
+
+        // Assert
+        assertEquals(List.of(third.getId(), first.getId()), firstPage.getContent().stream().map(WishlistBookView::getBookId).toList());
+        assertEquals(List.of(second.getId()), lastPage.getContent().stream().map(WishlistBookView::getBookId).toList());
+        assertEquals(3, firstPage.getTotalElements());
+        assertEquals(2, firstPage.getTotalPages());
+        assertTrue(lastPage.isLast());
+        assertTrue(pastEnd.isEmpty());
+    }
+
+    /**
+     * Verifies that an empty wishlist is an empty page, and that an unknown wishlist is rejected.
+     */
+    @Test
+    void getBooksInWishlistShouldTellEmptyFromUnknownWishlist() {
+        // Arrange
+        User user = createUser("wishlist-empty-pager");
+        Wishlist wishlist = createWishlist("Empty Paged", user);
+
+        // Act
+        Page<WishlistBookView> books = wishlistService.getBooksInWishlist(wishlist.getId(), 0, 20);
+
+        // Assert
+        assertTrue(books.isEmpty());
+        assertEquals(0, books.getTotalElements());
+        assertThrows(IllegalStateException.class, () -> wishlistService.getBooksInWishlist(Long.MAX_VALUE, 0, 20));
+    }
+
+    /**
+     * Verifies that every wishlist of a user is summarized in ID order with its book count and total price,
+     * an empty wishlist with zero for both.
+     */
+    @Test
+    void getUserWishlistsShouldSummarizeEveryWishlist() throws Exception {
+        // Arrange
+        User user = createUser("wishlist-summaries");
+        Wishlist filled = createWishlist("Filled", user);
+        Wishlist empty = createWishlist("Empty", user);
+        LocalDateTime added = LocalDateTime.now();
+        addBook(filled, createBook("Summed One", 12), added);
+        addBook(filled, createBook("Summed Two", 30), added);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/user/" + user.getId() + "/wishlists"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].wishlistId").value(filled.getId()))
+                .andExpect(jsonPath("$[0].name").value("Filled " + user.getId()))
+                .andExpect(jsonPath("$[0].bookCount").value(2))
+                .andExpect(jsonPath("$[0].totalPrice").value(42))
+                .andExpect(jsonPath("$[1].wishlistId").value(empty.getId()))
+                .andExpect(jsonPath("$[1].bookCount").value(0))
+                .andExpect(jsonPath("$[1].totalPrice").value(0));
+    }
+
+    /**
+     * Verifies that a user without wishlists gets an empty list, and that an unknown user is answered with 404.
+     */
+    @Test
+    void getUserWishlistsShouldTellUserWithoutWishlistsFromUnknownUser() throws Exception {
+        // Arrange
+        User user = createUser("wishlist-none");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/user/" + user.getId() + "/wishlists"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/user/" + Long.MAX_VALUE + "/wishlists"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Saves a new user.
+     */
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+
+    /**
+     * Creates a wishlist for a user and returns it; wishlist names are unique, so they are suffixed with the user's ID.
+     */
+    private Wishlist createWishlist(String name, User user) {
+        String uniqueName = name + " " + user.getId();
+        wishlistService.createWishlist(uniqueName, user.getId());
+        return wishlistRepository.findByNameAndUserId(uniqueName, user.getId()).orElseThrow();
+    }
+
+    /**
+     * Saves a new book with a price.
+     */
+    private Books createBook(String name, int price) {
+        return booksRepository.save(new Books(null, name, null, price, null, "Fiction", "Wishlist Test", 2020, 0));
+    }
+
+    /**
+     * Adds a book to a wishlist at a given time.
+     */
+    private void addBook(Wishlist wishlist, Books book, LocalDateTime addedAt) {
+        WishlistBook entry = new WishlistBook(wishlist, book);
+        entry.setAddedAt(addedAt);
+        wishlistBookRepository.save(entry);
+    }
+}